@@ -0,0 +1,117 @@
+package com.instructure.canvasapi.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.model.Attachment;
+import com.instructure.canvasapi.model.Course;
+import com.instructure.canvasapi.model.DiscussionTopic;
+import com.instructure.canvasapi.model.StreamItem;
+import com.instructure.canvasapi.model.Submission;
+import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixtures reads the JSON embedded in the model unit tests in src/androidTest and scales it up to
+ * benchmark sizes, so the benchmarks parse the same shapes the tests check.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class Fixtures {
+
+    public enum Model {
+        STREAM_ITEM("StreamUnitTest", "personalStreamJSON", StreamItem[].class),
+        ASSIGNMENT("AssignmentUnitTest", "assignmentJSON", Assignment[].class),
+        COURSE("CourseUnitTest", "courseJSON", Course[].class),
+        DISCUSSION_TOPIC("DiscussionTopicUnitTest", "discussionTopicJSON", DiscussionTopic[].class),
+        SUBMISSION("SubmissionUnitTest", "submissionJson", Submission[].class),
+        ATTACHMENT("AttachmentUnitTest", "JSON", Attachment[].class);
+
+        private final String testClass;
+        private final String field;
+        private final Class<?> arrayType;
+
+        Model(String testClass, String field, Class<?> arrayType) {
+            this.testClass = testClass;
+            this.field = field;
+            this.arrayType = arrayType;
+        }
+
+        public Class<?> getArrayType() {
+            return arrayType;
+        }
+
+        /**
+         * @return The fixture as it's written in the unit test.
+         */
+        public String getFixture() {
+            return readField(testClass, field);
+        }
+    }
+
+    /**
+     * Returns a JSON array of count items copied from the model's fixture. Each copy gets its own id.
+     */
+    public static String scale(Model model, int count) {
+        return new Gson().toJson(scaleToArray(model, 1, count));
+    }
+
+    /**
+     * Returns one item of the model as a JSON object with the given id.
+     */
+    public static String item(Model model, long id) {
+        return new Gson().toJson(scaleToArray(model, id, 1).get(0));
+    }
+
+    private static JsonArray scaleToArray(Model model, long firstId, int count) {
+        JsonElement fixture = new JsonParser().parse(model.getFixture());
+
+        List<JsonObject> templates = new ArrayList<JsonObject>();
+        if (fixture.isJsonArray()) {
+            for (JsonElement element : fixture.getAsJsonArray()) {
+                templates.add(element.getAsJsonObject());
+            }
+        } else {
+            templates.add(fixture.getAsJsonObject());
+        }
+
+        JsonArray scaled = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            JsonObject copy = copy(templates.get(i % templates.size()));
+            if (copy.has("id")) {
+                copy.addProperty("id", firstId + i);
+            }
+            scaled.add(copy);
+        }
+        return scaled;
+    }
+
+    /**
+     * Decodes count items of the model with the library's parser.
+     */
+    public static Object[] decode(Model model, int count) {
+        return (Object[]) CanvasRestAdapter.getGSONParser().fromJson(scale(model, count), model.getArrayType());
+    }
+
+    private static JsonObject copy(JsonObject object) {
+        return new JsonParser().parse(object.toString()).getAsJsonObject();
+    }
+
+    //The unit tests are in the default package and keep their fixtures in package private fields.
+    private static String readField(String testClass, String fieldName) {
+        try {
+            Class<?> clazz = Class.forName(testClass);
+            Field field = clazz.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return (String) field.get(clazz.newInstance());
+        } catch (Exception E) {
+            throw new IllegalStateException("Missing fixture " + testClass + "." + fieldName, E);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.instructure.canvasapi.benchmarks;
+
+import com.instructure.canvasapi.core.FileCacheStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache writes and reads of decoded models. FileUtilities.SerializableToFile and FileToSerializable hand
+ * off to a FileCacheStore in the app's files directory, so this measures the same serialization and I/O
+ * with a temp directory instead.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheBenchmark {
+
+    private final static String CACHE_FILE_NAME = "/courses/1/benchmark";
+
+    @Param({"STREAM_ITEM", "ASSIGNMENT", "COURSE", "DISCUSSION_TOPIC", "SUBMISSION"})
+    public Fixtures.Model model;
+
+    @Param({"30", "1000"})
+    public int count;
+
+    private File directory;
+    private FileCacheStore cacheStore;
+    private Serializable items;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = File.createTempFile("cache", "benchmark");
+        directory.delete();
+        cacheStore = new FileCacheStore(directory);
+        items = (Serializable) Fixtures.decode(model, count);
+        cacheStore.write(CACHE_FILE_NAME, items);
+    }
+
+    @TearDown
+    public void tearDown() {
+        cacheStore.clear();
+        directory.delete();
+    }
+
+    @Benchmark
+    public boolean write() {
+        return cacheStore.write(CACHE_FILE_NAME, items);
+    }
+
+    @Benchmark
+    public Object read() {
+        return cacheStore.read(CACHE_FILE_NAME);
+    }
+}
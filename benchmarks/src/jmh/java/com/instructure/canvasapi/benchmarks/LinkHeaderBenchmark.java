@@ -0,0 +1,88 @@
+package com.instructure.canvasapi.benchmarks;
+
+import com.instructure.canvasapi.core.LinkHeaderParser;
+import com.instructure.canvasapi.core.UrlHelpers;
+import com.instructure.canvasapi.utilities.LinkHeaders;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LinkHeaderParser against the split based parser it replaced, on a numbered header and on a bookmark
+ * header like the ones the users and submissions endpoints send. Run with the gc profiler to compare
+ * allocations.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LinkHeaderBenchmark {
+
+    @Param({"numbered", "bookmark"})
+    public String header;
+
+    private String value;
+
+    @Setup
+    public void setup() {
+        String url = "https://mobiledev.instructure.com/api/v1/courses/24219/users?include[]=enrollments&include[]=avatar_url";
+        if ("numbered".equals(header)) {
+            value = link(url + "&page=2&per_page=30", "current") + ","
+                    + link(url + "&page=3&per_page=30", "next") + ","
+                    + link(url + "&page=1&per_page=30", "prev") + ","
+                    + link(url + "&page=1&per_page=30", "first") + ","
+                    + link(url + "&page=12&per_page=30", "last");
+        } else {
+            StringBuilder bookmark = new StringBuilder("bookmark:");
+            for (int i = 0; i < 40; i++) {
+                bookmark.append("WyJzb3J0YWJsZV9uYW1lIiwiMjQyMTki");
+            }
+            value = link(url + "&page=" + bookmark + "&per_page=100", "current") + ","
+                    + link(url + "&page=" + bookmark + "A&per_page=100", "next") + ","
+                    + link(url + "&page=first&per_page=100", "first");
+        }
+    }
+
+    private static String link(String url, String rel) {
+        return "<" + url + ">; rel=\"" + rel + "\"";
+    }
+
+    @Benchmark
+    public LinkHeaders parse() {
+        LinkHeaders linkHeaders = new LinkHeaders();
+        LinkHeaderParser.parse(value, linkHeaders);
+        return linkHeaders;
+    }
+
+    @Benchmark
+    public LinkHeaders legacyParse() {
+        LinkHeaders linkHeaders = new LinkHeaders();
+        String[] split = value.split(",");
+        for (int j = 0; j < split.length; j++) {
+            int index = split[j].indexOf(">");
+            String url = split[j].substring(0, index);
+            url = url.substring(1);
+            url = UrlHelpers.removeDomainFromUrl(url);
+
+            if (split[j].contains("rel=\"next\"")) {
+                linkHeaders.nextURL = url;
+            } else if (split[j].contains("rel=\"prev\"")) {
+                linkHeaders.prevURL = url;
+            } else if (split[j].contains("rel=\"first\"")) {
+                linkHeaders.firstURL = url;
+            } else if (split[j].contains("rel=\"last\"")) {
+                linkHeaders.lastURL = url;
+            }
+        }
+        return linkHeaders;
+    }
+}
@@ -0,0 +1,47 @@
+package com.instructure.canvasapi.benchmarks;
+
+import com.google.gson.Gson;
+import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson decode of a page of each major model, through the same parser the RestAdapter uses.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ModelDecodeBenchmark {
+
+    @Param({"STREAM_ITEM", "ASSIGNMENT", "COURSE", "DISCUSSION_TOPIC", "SUBMISSION"})
+    public Fixtures.Model model;
+
+    //A single item, a default page, and a full exhaustive crawl.
+    @Param({"1", "30", "1000"})
+    public int count;
+
+    private Gson gson;
+    private String json;
+
+    @Setup
+    public void setup() {
+        gson = CanvasRestAdapter.getGSONParser();
+        json = Fixtures.scale(model, count);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return gson.fromJson(json, model.getArrayType());
+    }
+}
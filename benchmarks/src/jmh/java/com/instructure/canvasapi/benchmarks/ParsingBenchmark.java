@@ -0,0 +1,57 @@
+package com.instructure.canvasapi.benchmarks;
+
+import com.instructure.canvasapi.utilities.APIHelpers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import retrofit.client.Header;
+
+/**
+ * The small parsers every response goes through: dates in the models and the Link header of each page.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParsingBenchmark {
+
+    private final String date = "2014-07-15T21:46:46Z";
+    private final String dateWithOffset = "2013-05-29T15:50:24-06:00";
+
+    //What Canvas sends for a middle page.
+    private final List<Header> headers = Arrays.asList(
+            new Header("Content-Type", "application/json; charset=utf-8"),
+            new Header("Status", "200 OK"),
+            new Header("Link", "<https://mobiledev.instructure.com/api/v1/courses/24219/assignments?page=2&per_page=30>; rel=\"current\","
+                    + "<https://mobiledev.instructure.com/api/v1/courses/24219/assignments?page=3&per_page=30>; rel=\"next\","
+                    + "<https://mobiledev.instructure.com/api/v1/courses/24219/assignments?page=1&per_page=30>; rel=\"prev\","
+                    + "<https://mobiledev.instructure.com/api/v1/courses/24219/assignments?page=1&per_page=30>; rel=\"first\","
+                    + "<https://mobiledev.instructure.com/api/v1/courses/24219/assignments?page=12&per_page=30>; rel=\"last\""),
+            new Header("X-Request-Cost", "0.0341"));
+
+    @Benchmark
+    public Date stringToDate() {
+        return APIHelpers.stringToDate(date);
+    }
+
+    @Benchmark
+    public Date stringToDateWithOffset() {
+        return APIHelpers.stringToDate(dateWithOffset);
+    }
+
+    @Benchmark
+    public Object parseLinkHeaderResponse() {
+        return APIHelpers.parseLinkHeaderResponse(null, headers);
+    }
+}
@@ -0,0 +1,63 @@
+package com.instructure.canvasapi.benchmarks;
+
+import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.model.StreamItem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting through CanvasComparable, which compares dates, then strings, then ids. Each op sorts a fresh
+ * shuffled copy, so the copy is part of the measurement.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortBenchmark {
+
+    @Param({"30", "1000"})
+    public int count;
+
+    private Assignment[] assignments;
+    private StreamItem[] streamItems;
+
+    @Setup
+    public void setup() {
+        assignments = shuffle((Assignment[]) Fixtures.decode(Fixtures.Model.ASSIGNMENT, count));
+        streamItems = shuffle((StreamItem[]) Fixtures.decode(Fixtures.Model.STREAM_ITEM, count));
+    }
+
+    private static <T> T[] shuffle(T[] items) {
+        List<T> list = Arrays.asList(items);
+        Collections.shuffle(list, new Random(42));
+        return items;
+    }
+
+    @Benchmark
+    public Assignment[] sortAssignments() {
+        Assignment[] copy = Arrays.copyOf(assignments, assignments.length);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public StreamItem[] sortStreamItems() {
+        StreamItem[] copy = Arrays.copyOf(streamItems, streamItems.length);
+        Arrays.sort(copy);
+        return copy;
+    }
+}
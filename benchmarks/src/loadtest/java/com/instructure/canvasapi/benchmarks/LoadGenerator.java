@@ -0,0 +1,390 @@
+package com.instructure.canvasapi.benchmarks;
+
+import com.instructure.canvasapi.core.BlockingClient;
+import com.instructure.canvasapi.core.CanvasClient;
+import com.instructure.canvasapi.core.CanvasException;
+import com.instructure.canvasapi.core.CanvasMetrics;
+import com.instructure.canvasapi.core.LinkHeaderParser;
+import com.instructure.canvasapi.core.MemoryKeyValueStore;
+import com.instructure.canvasapi.core.StoreSession;
+import com.instructure.canvasapi.core.api.SubmissionsInterface;
+import com.instructure.canvasapi.model.Attachment;
+import com.instructure.canvasapi.model.Course;
+import com.instructure.canvasapi.model.FileUploadParams;
+import com.instructure.canvasapi.model.Submission;
+import com.instructure.canvasapi.utilities.LinkHeaders;
+import com.squareup.okhttp.OkHttpClient;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import retrofit.Callback;
+import retrofit.RestAdapter;
+import retrofit.RetrofitError;
+import retrofit.client.OkClient;
+import retrofit.client.Response;
+import retrofit.mime.TypedFile;
+
+/**
+ * LoadGenerator drives the library against a MockCanvasServer from several threads at once and reports
+ * throughput and latency percentiles per scenario.
+ *
+ * The static APIs need an Android context and main looper, so the scenarios make the same calls through
+ * a CanvasClient, with the same Retrofit interfaces and paths:
+ *
+ *      COURSES     Every course, following the Link headers like CourseAPI.getAllCourses.
+ *      SUBMISSIONS The first page of submissions for a course, async through SubmissionsInterface.
+ *      EXHAUSTIVE  Every submission for a course, chaining getNextPageSubmissions from the callback the
+ *                  way ExhaustiveBridgeCallback does.
+ *      UPLOAD      The three step file submission: upload params, the multipart upload, then the submission.
+ *
+ * Run it with:
+ *
+ *      ./gradlew :benchmarks:loadTest -PloadArgs="--threads=16 --seconds=30 --latency=80 --errors=0.01"
+ *
+ * Options (defaults in brackets): --threads [8], --seconds [10], --courses [120], --submissions [300],
+ * --latency ms [20], --bandwidth bytes per second [0, no cap], --errors fraction [0], --rate-limit fraction [0],
+ * --upload-size bytes [65536], --seed [42].
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class LoadGenerator {
+
+    public enum Scenario {
+        COURSES, SUBMISSIONS, EXHAUSTIVE, UPLOAD
+    }
+
+    private final static long COURSE_ID = 1;
+    private final static long ASSIGNMENT_ID = 1;
+
+    //An async scenario that hasn't called back by then counts as failed instead of hanging its thread.
+    private final static long CALLBACK_TIMEOUT_SECONDS = 60;
+
+    private final static Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable runnable) {
+            runnable.run();
+        }
+    };
+
+    private final CanvasClient canvasClient;
+    private final BlockingClient blockingClient;
+    private final File uploadFile;
+    private final Map<Scenario, Stats> stats = new HashMap<Scenario, Stats>();
+
+    public LoadGenerator(CanvasClient canvasClient, File uploadFile) {
+        this.canvasClient = canvasClient;
+        this.blockingClient = new BlockingClient(canvasClient);
+        this.uploadFile = uploadFile;
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new Stats());
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Running
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Runs every scenario in turn on each thread until the time is up.
+     */
+    public void run(int threads, long durationMillis) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + durationMillis;
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            final int offset = i;
+            workers.execute(new Runnable() {
+                @Override
+                public void run() {
+                    Scenario[] scenarios = Scenario.values();
+                    for (int op = offset; System.currentTimeMillis() < deadline; op++) {
+                        runOnce(scenarios[op % scenarios.length]);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(durationMillis + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS);
+    }
+
+    public void runOnce(Scenario scenario) {
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            switch (scenario) {
+                case COURSES:
+                    success = getAllCourses();
+                    break;
+                case SUBMISSIONS:
+                    success = getSubmissions();
+                    break;
+                case EXHAUSTIVE:
+                    success = getAllSubmissions();
+                    break;
+                case UPLOAD:
+                    success = uploadSubmission();
+                    break;
+                default:
+                    success = false;
+                    break;
+            }
+        } catch (CanvasException e) {
+            success = false;
+        } catch (RetrofitError e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        stats.get(scenario).record(System.nanoTime() - start, success);
+    }
+
+    public Stats getStats(Scenario scenario) {
+        return stats.get(scenario);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Scenarios
+    ///////////////////////////////////////////////////////////////////////////
+
+    private boolean getAllCourses() throws CanvasException {
+        List<Course> courses = blockingClient.getAll("courses?include[]=term&include[]=total_scores&include[]=license&include[]=is_public&include[]=needs_grading_count&include[]=permissions", Course[].class);
+        return !courses.isEmpty();
+    }
+
+    private boolean getSubmissions() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicBoolean success = new AtomicBoolean();
+        submissionsInterface("courses/").getSubmissions(COURSE_ID, new Callback<Submission[]>() {
+            @Override
+            public void success(Submission[] submissions, Response response) {
+                success.set(submissions.length > 0);
+                done.countDown();
+            }
+
+            @Override
+            public void failure(RetrofitError error) {
+                done.countDown();
+            }
+        });
+        return done.await(CALLBACK_TIMEOUT_SECONDS, TimeUnit.SECONDS) && success.get();
+    }
+
+    private boolean getAllSubmissions() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicBoolean success = new AtomicBoolean();
+        final List<Submission> allItems = Collections.synchronizedList(new ArrayList<Submission>());
+
+        submissionsInterface("courses/").getSubmissions(COURSE_ID, new Callback<Submission[]>() {
+            @Override
+            public void success(Submission[] submissions, Response response) {
+                Collections.addAll(allItems, submissions);
+                LinkHeaders linkHeaders = LinkHeaderParser.parse(response.getHeaders());
+                if (linkHeaders.nextURL == null) {
+                    success.set(true);
+                    done.countDown();
+                } else {
+                    submissionsInterface("").getNextPageSubmissions(linkHeaders.nextURL, this);
+                }
+            }
+
+            @Override
+            public void failure(RetrofitError error) {
+                done.countDown();
+            }
+        });
+        return done.await(CALLBACK_TIMEOUT_SECONDS, TimeUnit.SECONDS) && success.get() && !allItems.isEmpty();
+    }
+
+    private boolean uploadSubmission() {
+        SubmissionsInterface api = submissionsInterface("");
+        FileUploadParams params = api.getFileUploadParams(COURSE_ID, ASSIGNMENT_ID, uploadFile.length(), uploadFile.getName(), "text/plain");
+
+        RestAdapter uploadAdapter = new RestAdapter.Builder()
+                .setEndpoint(params.getUploadUrl())
+                .setClient(canvasClient.getClient())
+                .setConverter(canvasClient.getConverter())
+                .build();
+        Attachment attachment = uploadAdapter.create(SubmissionsInterface.class)
+                .uploadCourseFile(params.getUploadParams(), new TypedFile("text/plain", uploadFile));
+
+        ArrayList<String> attachmentIds = new ArrayList<String>();
+        attachmentIds.add(Long.toString(attachment.getId()));
+        Submission submission = api.postSubmissionAttachments(COURSE_ID, ASSIGNMENT_ID, "online_upload", attachmentIds);
+        return submission != null;
+    }
+
+    private SubmissionsInterface submissionsInterface(String apiContext) {
+        return canvasClient.create(SubmissionsInterface.class, apiContext);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Stats
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Counts every op, but only keeps a fixed size uniform sample of the successful ones' latencies,
+     * so a long run doesn't grow without bound. Failures are fast or timed out and would skew the percentiles.
+     */
+    public static class Stats {
+        private final static int SAMPLE_SIZE = 10000;
+
+        private final long[] samples = new long[SAMPLE_SIZE];
+        private final Random random = new Random(42);
+        private long successes = 0;
+        private long failures = 0;
+        private long maxNanos = 0;
+
+        synchronized void record(long nanos, boolean success) {
+            if (!success) {
+                failures++;
+                return;
+            }
+            successes++;
+            maxNanos = Math.max(maxNanos, nanos);
+            //Reservoir sampling: the nth success replaces a random sample with probability SAMPLE_SIZE / n.
+            if (successes <= SAMPLE_SIZE) {
+                samples[(int) successes - 1] = nanos;
+            } else {
+                long slot = (long) (random.nextDouble() * successes);
+                if (slot < SAMPLE_SIZE) {
+                    samples[(int) slot] = nanos;
+                }
+            }
+        }
+
+        public synchronized long getCount() {
+            return successes + failures;
+        }
+
+        public synchronized long getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return Milliseconds, the slowest successful op. Exact, unlike the sampled percentiles.
+         */
+        public synchronized double getMax() {
+            return maxNanos / 1e6;
+        }
+
+        /**
+         * @param percentile 0 to 100
+         * @return Milliseconds, over successful ops only.
+         */
+        public synchronized double getPercentile(double percentile) {
+            int size = (int) Math.min(successes, SAMPLE_SIZE);
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * size) - 1;
+            return sorted[Math.max(0, Math.min(size - 1, index))] / 1e6;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Main
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int threads = getInt(options, "threads", 8);
+        int seconds = getInt(options, "seconds", 10);
+
+        MockCanvasServer server = new MockCanvasServer(getInt(options, "courses", 120), getInt(options, "submissions", 300),
+                getInt(options, "seed", 42));
+        server.setLatency(getInt(options, "latency", 20));
+        server.setBandwidth(getInt(options, "bandwidth", 0));
+        server.setErrorRate(getDouble(options, "errors", 0));
+        server.setRateLimitRate(getDouble(options, "rate-limit", 0));
+        server.start();
+
+        File uploadFile = File.createTempFile("upload", ".txt");
+        uploadFile.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(uploadFile);
+        try {
+            out.write(new byte[getInt(options, "upload-size", 64 * 1024)]);
+        } finally {
+            out.close();
+        }
+
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+        session.setup(server.getDomain(), "token");
+        CanvasMetrics metrics = new CanvasMetrics();
+        ExecutorService httpExecutor = Executors.newCachedThreadPool();
+        CanvasClient canvasClient = new CanvasClient.Builder(session)
+                .setClient(new OkClient(new OkHttpClient()))
+                .setExecutors(httpExecutor, DIRECT)
+                .setMetrics(metrics)
+                .build();
+
+        LoadGenerator generator = new LoadGenerator(canvasClient, uploadFile);
+        System.out.println("Running " + threads + " threads for " + seconds + "s against " + server.getDomain() + " " + options);
+        long start = System.currentTimeMillis();
+        try {
+            generator.run(threads, TimeUnit.SECONDS.toMillis(seconds));
+        } finally {
+            httpExecutor.shutdownNow();
+            server.shutdown();
+        }
+        double elapsed = (System.currentTimeMillis() - start) / 1000.0;
+
+        System.out.println();
+        System.out.println(String.format("%-12s %8s %8s %9s %9s %9s %9s %9s", "scenario", "ops", "failed", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (Scenario scenario : Scenario.values()) {
+            Stats stats = generator.getStats(scenario);
+            System.out.println(String.format("%-12s %8d %8d %9.1f %9.1f %9.1f %9.1f %9.1f", scenario, stats.getCount(), stats.getFailures(),
+                    stats.getCount() / elapsed, stats.getPercentile(50), stats.getPercentile(90), stats.getPercentile(99), stats.getMax()));
+        }
+
+        System.out.println();
+        System.out.println(String.format("%-40s %8s %9s %9s %9s", "endpoint", "requests", "p50 ms", "p99 ms", "decode p99"));
+        for (CanvasMetrics.EndpointSnapshot endpoint : metrics.snapshot().getEndpoints().values()) {
+            CanvasMetrics.HistogramSnapshot network = endpoint.getLatency(CanvasMetrics.Phase.NETWORK);
+            System.out.println(String.format("%-40s %8d %9d %9d %9d", endpoint.getEndpointTemplate(), endpoint.getRequestCount(),
+                    network.getPercentile(50), network.getPercentile(99), endpoint.getLatency(CanvasMetrics.Phase.DECODE).getPercentile(99)));
+        }
+
+        System.out.println();
+        System.out.println(String.format("server: %d requests, %.1f/s, by status %s", server.getRequestCount(),
+                server.getRequestCount() / elapsed, server.getStatusCounts()));
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals == -1) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private static int getInt(Map<String, String> options, String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private static double getDouble(Map<String, String> options, String name, double defaultValue) {
+        return options.containsKey(name) ? Double.parseDouble(options.get(name)) : defaultValue;
+    }
+}
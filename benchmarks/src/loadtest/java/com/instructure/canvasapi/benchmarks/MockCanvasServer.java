@@ -0,0 +1,292 @@
+package com.instructure.canvasapi.benchmarks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.instructure.canvasapi.core.UrlHelpers;
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * MockCanvasServer is a local stand-in for Canvas built on MockWebServer. It serves the unit test fixtures
+ * with real Link headers and can inject latency, limited bandwidth, server errors and rate limiting.
+ *
+ * Endpoints:
+ *
+ *      GET  /api/v1/courses, /api/v1/users/self/favorites/courses    paginated courses
+ *      GET  /api/v1/courses/:id/students/submissions                 paginated submissions
+ *      POST /api/v1/courses/:id/assignments/:id/submissions/self/files   upload params
+ *      POST /files                                                   the upload itself, returns an attachment
+ *      POST /api/v1/courses/:id/assignments/:id/submissions          the submission
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class MockCanvasServer {
+
+    private final static Pattern SUBMISSIONS = Pattern.compile("/api/v1/courses/\\d+/students/submissions");
+    private final static Pattern UPLOAD_PARAMS = Pattern.compile("/api/v1/courses/\\d+/assignments/\\d+/submissions/self/files");
+    private final static Pattern SUBMIT = Pattern.compile("/api/v1/courses/\\d+/assignments/\\d+/submissions");
+    private final static String UPLOAD_PATH = "/files";
+
+    private final MockWebServer server = new MockWebServer();
+    private final List<String> courses;
+    private final List<String> submissions;
+
+    private volatile long latencyMillis = 0;
+    private volatile int bytesPerSecond = 0;
+    private volatile double errorRate = 0;
+    private volatile double rateLimitRate = 0;
+    private final Random random;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong attachmentIds = new AtomicLong();
+    private final ConcurrentHashMap<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<Integer, AtomicLong>();
+
+    /**
+     * @param courseCount How many courses the user is in.
+     * @param submissionCount How many submissions each course has.
+     * @param seed For the error and rate limit injection.
+     */
+    public MockCanvasServer(int courseCount, int submissionCount, long seed) {
+        courses = toItems(Fixtures.scale(Fixtures.Model.COURSE, courseCount));
+        submissions = toItems(Fixtures.scale(Fixtures.Model.SUBMISSION, submissionCount));
+        random = new Random(seed);
+
+        //MockWebServer logs every request.
+        Logger.getLogger(MockWebServer.class.getName()).setLevel(Level.WARNING);
+
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                MockResponse response = respond(request);
+                count(response);
+                return response;
+            }
+        });
+    }
+
+    private static List<String> toItems(String json) {
+        List<String> items = new ArrayList<String>();
+        for (JsonElement element : new JsonParser().parse(json).getAsJsonArray()) {
+            items.add(element.toString());
+        }
+        return items;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Lifecycle
+    ///////////////////////////////////////////////////////////////////////////
+
+    public void start() throws IOException {
+        server.play();
+    }
+
+    public void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * @return e.g. http://localhost:53422
+     */
+    public String getDomain() {
+        String url = server.getUrl("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Injection
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Time before each response's headers.
+     */
+    public void setLatency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Caps how fast bodies are written. 0 for no cap.
+     */
+    public void setBandwidth(int bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * Fraction of requests that get a 500.
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Fraction of requests that get Canvas' 403 Rate Limit Exceeded.
+     */
+    public void setRateLimitRate(double rateLimitRate) {
+        this.rateLimitRate = rateLimitRate;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Stats
+    ///////////////////////////////////////////////////////////////////////////
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return How many responses were sent with each status code.
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> counts = new TreeMap<Integer, Long>();
+        for (Map.Entry<Integer, AtomicLong> entry : statusCounts.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+        return counts;
+    }
+
+    private void count(MockResponse response) {
+        requestCount.incrementAndGet();
+        int status = Integer.parseInt(response.getStatus().split(" ")[1]);
+        AtomicLong count = statusCounts.get(status);
+        if (count == null) {
+            statusCounts.putIfAbsent(status, new AtomicLong());
+            count = statusCounts.get(status);
+        }
+        count.incrementAndGet();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Responses
+    ///////////////////////////////////////////////////////////////////////////
+
+    private MockResponse respond(RecordedRequest request) throws InterruptedException {
+        if (latencyMillis > 0) {
+            Thread.sleep(latencyMillis);
+        }
+
+        double roll;
+        synchronized (random) {
+            roll = random.nextDouble();
+        }
+        if (roll < rateLimitRate) {
+            return json(403, "{\"errors\":[{\"message\":\"403 Forbidden (Rate Limit Exceeded)\"}]}")
+                    .setStatus("HTTP/1.1 403 Forbidden (Rate Limit Exceeded)")
+                    .setHeader("X-Rate-Limit-Remaining", "0.0");
+        }
+        if (roll < rateLimitRate + errorRate) {
+            return json(500, "{\"errors\":[{\"message\":\"An error occurred.\"}]}");
+        }
+
+        //Retrofit joins the context and path with a double slash.
+        String fullPath = request.getPath().replaceAll("/+", "/");
+        int query = fullPath.indexOf('?');
+        String path = query == -1 ? fullPath : fullPath.substring(0, query);
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        //The client is expected to fold a next page's own query into its Link header url. Don't paper over it here.
+        if (query != -1 && fullPath.indexOf('?', query + 1) != -1) {
+            return json(400, "{\"errors\":[{\"message\":\"Malformed query string.\"}]}");
+        }
+
+        if ("GET".equals(request.getMethod())) {
+            if (path.equals("/api/v1/courses") || path.equals("/api/v1/users/self/favorites/courses")) {
+                return page(fullPath, courses);
+            }
+            if (SUBMISSIONS.matcher(path).matches()) {
+                return page(fullPath, submissions);
+            }
+        } else if ("POST".equals(request.getMethod())) {
+            if (UPLOAD_PARAMS.matcher(path).matches()) {
+                String name = UrlHelpers.getQueryParam(fullPath, "name");
+                return json(200, "{\"upload_url\":\"" + getDomain() + UPLOAD_PATH + "\","
+                        + "\"upload_params\":{\"key\":\"/users/1/files/" + name + "\",\"Filename\":\"" + name + "\"}}");
+            }
+            if (path.equals(UPLOAD_PATH)) {
+                return json(201, Fixtures.item(Fixtures.Model.ATTACHMENT, attachmentIds.incrementAndGet()));
+            }
+            if (SUBMIT.matcher(path).matches()) {
+                return json(201, Fixtures.item(Fixtures.Model.SUBMISSION, 1));
+            }
+        }
+        return json(404, "{\"errors\":[{\"message\":\"The specified resource does not exist.\"}]}");
+    }
+
+    /**
+     * Serves one page of items with the Link header Canvas sends: current, next, prev, first and last.
+     */
+    private MockResponse page(String fullPath, List<String> items) {
+        int perPage = parseInt(UrlHelpers.getQueryParam(fullPath, "per_page"), 10);
+        int page = Math.max(1, parseInt(UrlHelpers.getQueryParam(fullPath, "page"), 1));
+        int lastPage = Math.max(1, (items.size() + perPage - 1) / perPage);
+
+        StringBuilder body = new StringBuilder("[");
+        int end = Math.min(items.size(), page * perPage);
+        for (int i = (page - 1) * perPage; i < end; i++) {
+            if (body.length() > 1) {
+                body.append(',');
+            }
+            body.append(items.get(i));
+        }
+        body.append(']');
+
+        StringBuilder link = new StringBuilder();
+        appendLink(link, fullPath, page, perPage, "current");
+        if (page < lastPage) {
+            appendLink(link, fullPath, page + 1, perPage, "next");
+        }
+        if (page > 1) {
+            appendLink(link, fullPath, page - 1, perPage, "prev");
+        }
+        appendLink(link, fullPath, 1, perPage, "first");
+        appendLink(link, fullPath, lastPage, perPage, "last");
+
+        return json(200, body.toString()).setHeader("Link", link.toString());
+    }
+
+    private void appendLink(StringBuilder link, String fullPath, int page, int perPage, String rel) {
+        String url = UrlHelpers.setQueryParam(fullPath, "page", Integer.toString(page));
+        url = UrlHelpers.setQueryParam(url, "per_page", Integer.toString(perPage));
+        if (link.length() > 0) {
+            link.append(',');
+        }
+        link.append('<').append(getDomain()).append(url).append(">; rel=\"").append(rel).append('"');
+    }
+
+    private MockResponse json(int status, String body) {
+        MockResponse response = new MockResponse()
+                .setResponseCode(status)
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody(body);
+        if (bytesPerSecond > 0) {
+            //Write in 10 chunks a second so small bodies still feel the cap.
+            response.throttleBody(Math.max(1, bytesPerSecond / 10), 100, TimeUnit.MILLISECONDS);
+        }
+        return response;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
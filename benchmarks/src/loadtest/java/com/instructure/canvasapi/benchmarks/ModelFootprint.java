@@ -0,0 +1,86 @@
+package com.instructure.canvasapi.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.instructure.canvasapi.core.InternedStringAdapter;
+import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+
+/**
+ * ModelFootprint measures the retained heap of a large decoded array, in bytes per model, three ways:
+ *
+ *      plain       a bare Gson, like before ModelCompactor and ModelIdentityMap
+ *      compacted   CanvasRestAdapter.getGSONParser(), which compacts collections
+ *      deduped     the same with the identity map and InternedStringAdapter enabled
+ *
+ * Each array is decoded, the heap is collected until it settles, and the growth in used heap is divided by
+ * the count. Run with a fixed heap (-Xms = -Xmx) so the numbers don't move with resizing, and with the parallel
+ * or G1 collector. The footprint task does both:
+ *
+ *      ./gradlew :benchmarks:footprint -PfootprintArgs="--count=20000"
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class ModelFootprint {
+
+    public static void main(String[] args) throws Exception {
+        int count = 10000;
+        for (String arg : args) {
+            if (arg.startsWith("--count=")) {
+                count = Integer.parseInt(arg.substring("--count=".length()));
+            } else {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+
+        System.out.println(String.format("%-18s %12s %12s %12s", "model (x" + count + ")", "plain B", "compacted B", "deduped B"));
+        for (Fixtures.Model model : Fixtures.Model.values()) {
+            String json = Fixtures.scale(model, count);
+            long plain = measure(new GsonBuilder().create(), json, model, count);
+            long compacted = measure(CanvasRestAdapter.getGSONParser(), json, model, count);
+
+            CanvasRestAdapter.getIdentityMap().setEnabled(true);
+            InternedStringAdapter.setEnabled(true);
+            long deduped = measure(CanvasRestAdapter.getGSONParser(), json, model, count);
+            CanvasRestAdapter.getIdentityMap().setEnabled(false);
+            InternedStringAdapter.setEnabled(false);
+
+            System.out.println(String.format("%-18s %12d %12d %12d", model, plain, compacted, deduped));
+        }
+    }
+
+    /**
+     * @return Retained bytes per model.
+     */
+    private static long measure(Gson gson, String json, Fixtures.Model model, int count) throws InterruptedException {
+        //Warm up so Gson's adapters aren't counted.
+        gson.fromJson(Fixtures.scale(model, 1), model.getArrayType());
+
+        long before = settledHeap();
+        Object[] models = (Object[]) gson.fromJson(json, model.getArrayType());
+        long after = settledHeap();
+
+        if (models.length != count) {
+            throw new IllegalStateException("Decoded " + models.length + " of " + count);
+        }
+        return (after - before) / count;
+    }
+
+    private static long settledHeap() throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(50);
+            long now = usedAfterGc();
+            if (Math.abs(used - now) < 1024) {
+                return now;
+            }
+            used = now;
+        }
+        return used;
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,436 @@
+package com.instructure.canvasapi.core;
+
+import com.instructure.canvasapi.utilities.LinkHeaders;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Type;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import retrofit.RequestInterceptor;
+import retrofit.RetrofitError;
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.client.UrlConnectionClient;
+import retrofit.converter.ConversionException;
+import retrofit.converter.Converter;
+
+/**
+ * BlockingClient makes blocking calls against a CanvasClient. It's meant for worker threads, thread pools and
+ * sync adapters. Never call it from the main thread.
+ *
+ * Unlike the old Synchronous methods, nothing returns null on failure. Every call either returns the value or
+ * throws a CanvasException that says what went wrong.
+ *
+ * It covers two things and nothing more:
+ *      execute()   - a synchronous method on an interface from com.instructure.canvasapi.core.api, typed by
+ *                    the interface. Most interface methods are async and can't be used here. The synchronous
+ *                    ones are:
+ *                      GET   CoursesInterface.getCoursesSynchronous, GroupsInterface.getGroupsSynchronous,
+ *                            ConversationsInterface.getFirstPageConversationList and getDetailedConversationSynchronous,
+ *                            StreamInterface.getUserStreamSynchronous, ToDosInterface.getUserTodos and getCourseTodos,
+ *                            CalendarEventsInterface.getUpcomingEvents,
+ *                            UnreadCountsInterface.getUnreadConversationCountSynchronous
+ *                      POST  CoursesInterface, UsersInterface and SubmissionsInterface getFileUploadParams,
+ *                            CoursesInterface.uploadCourseFile, SubmissionsInterface.uploadCourseFile,
+ *                            UsersInterface.uploadUserFile, SubmissionsInterface.postSubmissionAttachments
+ *                    Any other write (PUT, DELETE, or a POST not listed) has no blocking form yet.
+ *      get/getAll  - GETs by path, for paginated reads and bulk fetches that the interfaces only expose a
+ *                    page at a time. Paths are relative to /api/v1/ and use the same strings as the interfaces,
+ *                    e.g. "courses?include[]=term" or "courses/123/assignments".
+ *
+ * Usage:
+ *
+ *      BlockingClient blocking = new BlockingClient(client);
+ *      final CoursesInterface courses = client.create(CoursesInterface.class);
+ *      Course[] firstPage = blocking.execute(new BlockingClient.Call<Course[]>() {
+ *          public Course[] call() { return courses.getCoursesSynchronous(1); }
+ *      });
+ *
+ *      List<Course> all = blocking.getAll("courses?include[]=term", Course[].class);
+ *
+ *      BlockingClient.BulkResult<Long, Assignment> assignments = blocking.getAll(courseIds, new BlockingClient.PathBuilder<Long>() {
+ *          public String getPath(Long courseId) { return "courses/" + courseId + "/assignments"; }
+ *      }, Assignment[].class, executor);
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class BlockingClient {
+
+    private final CanvasClient canvasClient;
+    private final Client httpClient;
+
+    public BlockingClient(CanvasClient canvasClient) {
+        if (canvasClient == null) {
+            throw new IllegalArgumentException("CanvasClient cannot be null");
+        }
+        this.canvasClient = canvasClient;
+        this.httpClient = canvasClient.getClient() != null ? canvasClient.getClient() : new UrlConnectionClient();
+    }
+
+    public CanvasClient getCanvasClient() {
+        return canvasClient;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Interface
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Any synchronous Retrofit call, e.g. a method on an interface from CanvasClient.create().
+     */
+    public interface Call<T> {
+        public T call();
+    }
+
+    /**
+     * Builds the path for one of the contexts in a bulk call.
+     */
+    public interface PathBuilder<K> {
+        public String getPath(K key);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Single Requests
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Runs a synchronous Retrofit call and turns a RetrofitError into a CanvasException.
+     *
+     * @param call
+     * @return
+     * @throws CanvasException
+     */
+    public <T> T execute(Call<T> call) throws CanvasException {
+        try {
+            return call.call();
+        } catch (RetrofitError retrofitError) {
+            throw CanvasException.from(retrofitError);
+        }
+    }
+
+    /**
+     * GETs a single object.
+     *
+     * @param path e.g. "courses/123"
+     * @param type e.g. Course.class
+     * @return
+     * @throws CanvasException
+     */
+    public <T> T get(String path, Type type) throws CanvasException {
+        Response response = executeGet(path, false);
+        return convert(response, type);
+    }
+
+    /**
+     * GETs a single page.
+     *
+     * @param path A path, or a nextURL from a previous page.
+     * @param type e.g. Course[].class
+     * @return
+     * @throws CanvasException
+     */
+    public <T> Page<T> getPage(String path, Class<T[]> type) throws CanvasException {
+        //Next urls (and paths that set their own per_page) already have one.
+        boolean hasPageParams = path.contains("page=");
+        Response response = executeGet(path, !hasPageParams);
+        T[] items = convert(response, type);
+        return new Page<T>(items, LinkHeaderParser.parse(response.getHeaders()));
+    }
+
+    /**
+     * Returns an iterator that fetches one page every time next() is called.
+     *
+     * @param path
+     * @param type
+     * @return
+     */
+    public <T> PageIterator<T> pages(String path, Class<T[]> type) {
+        return new PageIterator<T>(path, type);
+    }
+
+    /**
+     * GETs every page and joins them. All or nothing: if any page fails, the whole call fails.
+     *
+     * @param path
+     * @param type
+     * @return
+     * @throws CanvasException
+     */
+    public <T> List<T> getAll(String path, Class<T[]> type) throws CanvasException {
+        List<T> all = new ArrayList<T>();
+        PageIterator<T> iterator = pages(path, type);
+        while (iterator.hasNext()) {
+            Collections.addAll(all, iterator.next());
+        }
+        return all;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Bulk Requests
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Fetches every page of the same endpoint for each key (a course id, a CanvasContext, ...) in parallel.
+     *
+     * Each key runs as its own task on the given executor, so the executor decides how many run at once.
+     * A key that fails doesn't fail the others; its exception is on the BulkResult.
+     *
+     * Blocks until every key has finished. If the calling thread is interrupted the remaining tasks are cancelled.
+     *
+     * @param keys
+     * @param pathBuilder
+     * @param type
+     * @param executor
+     * @return
+     * @throws InterruptedException
+     */
+    public <K, T> BulkResult<K, T> getAll(Collection<K> keys, final PathBuilder<K> pathBuilder, final Class<T[]> type,
+                                          Executor executor) throws InterruptedException {
+
+        Map<K, FutureTask<List<T>>> tasks = new LinkedHashMap<K, FutureTask<List<T>>>();
+        for (final K key : keys) {
+            if (tasks.containsKey(key)) {
+                continue;
+            }
+            FutureTask<List<T>> task = new FutureTask<List<T>>(new Callable<List<T>>() {
+                @Override
+                public List<T> call() throws Exception {
+                    return getAll(pathBuilder.getPath(key), type);
+                }
+            });
+            tasks.put(key, task);
+            executor.execute(task);
+        }
+
+        BulkResult<K, T> result = new BulkResult<K, T>();
+        try {
+            for (Map.Entry<K, FutureTask<List<T>>> entry : tasks.entrySet()) {
+                try {
+                    result.values.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof CanvasException) {
+                        result.errors.put(entry.getKey(), (CanvasException) cause);
+                    } else {
+                        result.errors.put(entry.getKey(), new CanvasException(null, String.valueOf(cause), cause));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            for (FutureTask<List<T>> task : tasks.values()) {
+                task.cancel(true);
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Results
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static class Page<T> {
+        private final T[] items;
+        private final LinkHeaders linkHeaders;
+
+        public Page(T[] items, LinkHeaders linkHeaders) {
+            this.items = items;
+            this.linkHeaders = linkHeaders;
+        }
+
+        public T[] getItems() {
+            return items;
+        }
+
+        public LinkHeaders getLinkHeaders() {
+            return linkHeaders;
+        }
+
+        public String getNextURL() {
+            return linkHeaders.nextURL;
+        }
+
+        public boolean isLastPage() {
+            return linkHeaders.nextURL == null;
+        }
+    }
+
+    /**
+     * Walks the next links one page at a time. Not thread safe.
+     */
+    public class PageIterator<T> {
+        private final Class<T[]> type;
+        private String nextPath;
+
+        private PageIterator(String path, Class<T[]> type) {
+            this.nextPath = path;
+            this.type = type;
+        }
+
+        public boolean hasNext() {
+            return nextPath != null;
+        }
+
+        /**
+         * @return The next page's items.
+         * @throws CanvasException The iterator stays on the failed page, so calling next() again retries it.
+         */
+        public T[] next() throws CanvasException {
+            if (nextPath == null) {
+                throw new NoSuchElementException();
+            }
+            Page<T> page = getPage(nextPath, type);
+            nextPath = page.getNextURL();
+            return page.getItems();
+        }
+
+        /**
+         * @return The path next() will fetch, or null at the end. Save it to pick up where you left off.
+         */
+        public String getNextPath() {
+            return nextPath;
+        }
+    }
+
+    public static class BulkResult<K, T> {
+        private final Map<K, List<T>> values = new LinkedHashMap<K, List<T>>();
+        private final Map<K, CanvasException> errors = new LinkedHashMap<K, CanvasException>();
+
+        /**
+         * @return Every item for the key, or null if it failed.
+         */
+        public List<T> get(K key) {
+            return values.get(key);
+        }
+
+        public CanvasException getError(K key) {
+            return errors.get(key);
+        }
+
+        public boolean isSuccessful() {
+            return errors.isEmpty();
+        }
+
+        public Map<K, List<T>> getValues() {
+            return Collections.unmodifiableMap(values);
+        }
+
+        public Map<K, CanvasException> getErrors() {
+            return Collections.unmodifiableMap(errors);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    private Response executeGet(String path, boolean addPerPageQueryParam) throws CanvasException {
+        String domain = UrlHelpers.getFullDomain(canvasClient.getSession());
+        if (domain.equals("")) {
+            throw new CanvasException(null, "The CanvasClient's session hasn't been set up yet.", null);
+        }
+
+        while (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+
+        UrlFacade facade = new UrlFacade(domain + UrlHelpers.API_PREFIX + path);
+        new SessionRequestInterceptor(canvasClient.getSession(), addPerPageQueryParam, canvasClient.getPerPage()).intercept(facade);
+        String url = facade.getUrl();
+
+        Response response;
+        try {
+            response = httpClient.execute(new Request("GET", url, facade.headers, null));
+        } catch (IOException e) {
+            throw CanvasException.from(RetrofitError.networkError(url, e));
+        } catch (RuntimeException e) {
+            throw CanvasException.from(RetrofitError.unexpectedError(url, e));
+        }
+
+        if (response.getStatus() < 200 || response.getStatus() >= 300) {
+            throw new CanvasException.CanvasHttpException(url, response, null);
+        }
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T convert(Response response, Type type) throws CanvasException {
+        Converter converter = canvasClient.getConverter();
+        try {
+            return (T) converter.fromBody(response.getBody(), type);
+        } catch (ConversionException e) {
+            throw CanvasException.from(RetrofitError.conversionError(response.getUrl(), response, converter, type, e));
+        } catch (RuntimeException e) {
+            throw new CanvasException.CanvasConversionException(response.getUrl(), e);
+        }
+    }
+
+    /**
+     * Collects what a RequestInterceptor adds so a request can be built without a RestAdapter.
+     * Path params fill in the matching {name} in the path, like Retrofit does.
+     */
+    private static class UrlFacade implements RequestInterceptor.RequestFacade {
+        private final StringBuilder url;
+        private final List<Header> headers = new ArrayList<Header>();
+
+        private UrlFacade(String url) {
+            this.url = new StringBuilder(url);
+        }
+
+        private String getUrl() {
+            return url.toString();
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.add(new Header(name, value));
+        }
+
+        @Override
+        public void addPathParam(String name, String value) {
+            //Path segments encode spaces as %20, not '+'.
+            addEncodedPathParam(name, encode(value).replace("+", "%20"));
+        }
+
+        @Override
+        public void addEncodedPathParam(String name, String value) {
+            String placeholder = "{" + name + "}";
+            int start;
+            while ((start = url.indexOf(placeholder)) != -1) {
+                url.replace(start, start + placeholder.length(), value);
+            }
+        }
+
+        @Override
+        public void addQueryParam(String name, String value) {
+            addEncodedQueryParam(name, encode(value));
+        }
+
+        private static String encode(String value) {
+            try {
+                return URLEncoder.encode(value, "UTF-8");
+            } catch (UnsupportedEncodingException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void addEncodedQueryParam(String name, String value) {
+            url.append(url.indexOf("?") == -1 ? '?' : '&').append(name).append('=').append(value);
+        }
+    }
+}
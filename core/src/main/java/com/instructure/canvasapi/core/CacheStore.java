@@ -0,0 +1,27 @@
+package com.instructure.canvasapi.core;
+
+import java.io.Serializable;
+
+/**
+ * Storage port for cached API responses.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface CacheStore {
+    /**
+     * @return true if the value was written.
+     */
+    public boolean write(String cacheFileName, Serializable serializable);
+
+    /**
+     * @return the cached value, or null if there isn't one or it can't be read.
+     */
+    public Serializable read(String cacheFileName);
+
+    public boolean delete(String cacheFileName);
+
+    /**
+     * Deletes everything in the cache.
+     */
+    public boolean clear();
+}
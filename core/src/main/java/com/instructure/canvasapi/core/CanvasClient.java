@@ -0,0 +1,411 @@
+package com.instructure.canvasapi.core;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import retrofit.RestAdapter;
+import retrofit.client.Client;
+import retrofit.client.UrlConnectionClient;
+import retrofit.converter.Converter;
+import retrofit.converter.GsonConverter;
+
+/**
+ * A CanvasClient is one user on one Canvas domain.
+ *
+ * It carries its own session (domain, token, masquerade id), cache, executors, page sizing, error delegate
+ * and RestAdapters, so any number of them can be used at the same time from the same process without
+ * stepping on each other.
+ *
+ * Usage:
+ *
+ *      StoreSession session = new StoreSession(new MemoryKeyValueStore());
+ *      session.setup("school.instructure.com", token);
+ *
+ *      CanvasClient client = new CanvasClient.Builder(session)
+ *              .setCacheDirectory(cacheRoot, "school-user-42")
+ *              .build();
+ *
+ *      CoursesInterface courses = client.create(CoursesInterface.class);
+ *
+ * The Retrofit interfaces are in com.instructure.canvasapi.core.api. On Android the static *API calls
+ * use this client when it's set on their callback with CanvasCallback.setClient().
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class CanvasClient {
+
+    private final CanvasSession session;
+    private final CacheStore cacheStore;
+    private final CanvasLogger logger;
+    private final Client client;
+    private final Converter converter;
+    private final Executor httpExecutor;
+    private final Executor callbackExecutor;
+    private final int perPage;
+    private final CanvasMetrics metrics;
+    private final CanvasTracer tracer;
+    private final PageSizeController pageSizeController;
+    private final ErrorDelegate errorDelegate;
+
+    //What the builder was given, before any metrics wrappers. Used by newBuilder().
+    private final Client rawClient;
+    private final Converter rawConverter;
+    private final Executor rawHttpExecutor;
+
+    private final ConcurrentHashMap<String, RestAdapter> adapters = new ConcurrentHashMap<String, RestAdapter>();
+
+    private CanvasClient(Builder builder) {
+        this.session = builder.session;
+        this.cacheStore = builder.cacheStore;
+        this.logger = builder.logger;
+        this.callbackExecutor = builder.callbackExecutor;
+        this.perPage = builder.perPage;
+        this.metrics = builder.metrics;
+        this.tracer = builder.tracer;
+        this.pageSizeController = builder.pageSizeController;
+        this.errorDelegate = builder.errorDelegate;
+
+        this.rawClient = builder.client;
+        this.rawConverter = builder.converter;
+        this.rawHttpExecutor = builder.httpExecutor;
+
+        Client client = builder.client;
+        if (pageSizeController != null) {
+            client = new PageSizeClient(client != null ? client : new UrlConnectionClient(), pageSizeController, perPage);
+        }
+
+        if (metrics != null || tracer != null) {
+            this.client = new MetricsClient(client != null ? client : new UrlConnectionClient(), metrics, tracer);
+            this.converter = new MetricsConverter(builder.converter, metrics, tracer);
+            this.httpExecutor = builder.httpExecutor != null ? new MetricsExecutor(builder.httpExecutor, tracer) : null;
+        } else {
+            this.client = client;
+            this.converter = builder.converter;
+            this.httpExecutor = builder.httpExecutor;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Getters
+    ///////////////////////////////////////////////////////////////////////////
+
+    public CanvasSession getSession() {
+        return session;
+    }
+
+    /**
+     * @return This client's cache. Never shared with another client unless they were built with the same one.
+     */
+    public CacheStore getCacheStore() {
+        return cacheStore;
+    }
+
+    public CanvasLogger getLogger() {
+        return logger;
+    }
+
+    /**
+     * @return The http client, or null if Retrofit's default is used.
+     */
+    public Client getClient() {
+        return client;
+    }
+
+    public Converter getConverter() {
+        return converter;
+    }
+
+    public Executor getHttpExecutor() {
+        return httpExecutor;
+    }
+
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    public int getPerPage() {
+        return perPage;
+    }
+
+    /**
+     * @return Where this client records its metrics, or null if it doesn't.
+     */
+    public CanvasMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return Where this client records its spans, or null if it doesn't.
+     */
+    public CanvasTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * @return What sizes this client's per_page, or null if it always sends getPerPage().
+     */
+    public PageSizeController getPageSizeController() {
+        return pageSizeController;
+    }
+
+    /**
+     * @return The error delegate for callbacks that weren't given one, or null to use the app wide default.
+     */
+    public ErrorDelegate getErrorDelegate() {
+        return errorDelegate;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Adapters
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns a RestAdapter that points at :domain/api/v1/
+     */
+    public RestAdapter getRestAdapter() {
+        return getRestAdapter("", true);
+    }
+
+    /**
+     * Returns a RestAdapter that points at :domain/api/v1/:apiContext
+     *
+     * Adapters are pooled per domain, apiContext and per_page flag. The session is read on every request,
+     * so a new token is picked up without rebuilding anything.
+     *
+     * @param apiContext e.g. "courses/", "groups/" or "" for the root.
+     * @param addPerPageQueryParam Specify if you want to add the per page query param
+     * @return A RestAdapter. If the session has no domain, returns an invalid RestAdapter.
+     */
+    public RestAdapter getRestAdapter(String apiContext, boolean addPerPageQueryParam) {
+        String domain = UrlHelpers.getFullDomain(session);
+        if (domain.equals("")) {
+            logger.d("The CanvasClient's session hasn't been set up yet.");
+            return new RestAdapter.Builder().setEndpoint(CoreRestAdapter.INVALID_ENDPOINT).build();
+        }
+
+        if (apiContext == null) {
+            apiContext = "";
+        }
+
+        String key = domain + "|" + apiContext + "|" + addPerPageQueryParam;
+        RestAdapter restAdapter = adapters.get(key);
+        if (restAdapter == null) {
+            RestAdapter.Builder builder = new RestAdapter.Builder()
+                    .setEndpoint(domain + UrlHelpers.API_PREFIX + apiContext)
+                    .setRequestInterceptor(new SessionRequestInterceptor(session, addPerPageQueryParam, perPage))
+                    .setConverter(converter);
+
+            if (client != null) {
+                builder.setClient(client);
+            }
+            if (httpExecutor != null && callbackExecutor != null) {
+                builder.setExecutors(httpExecutor, callbackExecutor);
+            }
+
+            restAdapter = builder.build();
+            RestAdapter existing = adapters.putIfAbsent(key, restAdapter);
+            if (existing != null) {
+                restAdapter = existing;
+            }
+        }
+        return restAdapter;
+    }
+
+    public <T> T create(Class<T> service) {
+        return getRestAdapter().create(service);
+    }
+
+    public <T> T create(Class<T> service, String apiContext) {
+        return getRestAdapter(apiContext, true).create(service);
+    }
+
+    /**
+     * Drops every pooled RestAdapter. Call after changing the session's domain.
+     */
+    public void clearAdapters() {
+        adapters.clear();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Masquerading
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns a client that acts as the given user. It shares this client's executors and http client,
+     * but has its own adapters, and its own cache namespace when this client's cache is a FileCacheStore.
+     *
+     * @param masqueradeId The id of the user to act as.
+     * @return
+     */
+    public CanvasClient masquerade(final long masqueradeId) {
+        CanvasSession masqueradeSession = new CanvasSession() {
+            @Override public String getDomain() { return session.getDomain(); }
+            @Override public String getProtocol() { return session.getProtocol(); }
+            @Override public String getToken() { return session.getToken(); }
+            @Override public String getUserAgent() { return session.getUserAgent(); }
+            @Override public long getMasqueradeId() { return masqueradeId; }
+        };
+
+        CacheStore masqueradeCache = cacheStore;
+        if (cacheStore instanceof FileCacheStore) {
+            File directory = new File(((FileCacheStore) cacheStore).getDirectory(), "masquerade-" + masqueradeId);
+            masqueradeCache = new FileCacheStore(directory, logger);
+        }
+
+        return newBuilder(masqueradeSession).setCacheStore(masqueradeCache).build();
+    }
+
+    /**
+     * Returns a Builder with this client's settings and the given session.
+     */
+    public Builder newBuilder(CanvasSession session) {
+        Builder builder = new Builder(session);
+        builder.cacheStore = cacheStore;
+        builder.logger = logger;
+        builder.client = rawClient;
+        builder.converter = rawConverter;
+        builder.httpExecutor = rawHttpExecutor;
+        builder.callbackExecutor = callbackExecutor;
+        builder.perPage = perPage;
+        builder.metrics = metrics;
+        builder.tracer = tracer;
+        builder.pageSizeController = pageSizeController;
+        builder.errorDelegate = errorDelegate;
+        return builder;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Builder
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static class Builder {
+        private final CanvasSession session;
+        private CacheStore cacheStore;
+        private CanvasLogger logger = CanvasLogger.NONE;
+        private Client client;
+        private Converter converter;
+        private Executor httpExecutor;
+        private Executor callbackExecutor;
+        private int perPage = CoreRestAdapter.DEFAULT_PER_PAGE;
+        private CanvasMetrics metrics;
+        private CanvasTracer tracer;
+        private PageSizeController pageSizeController;
+        private ErrorDelegate errorDelegate;
+
+        public Builder(CanvasSession session) {
+            if (session == null) {
+                throw new IllegalArgumentException("CanvasSession cannot be null");
+            }
+            this.session = session;
+        }
+
+        public Builder setCacheStore(CacheStore cacheStore) {
+            this.cacheStore = cacheStore;
+            return this;
+        }
+
+        /**
+         * Caches under root/namespace. Use a different namespace per tenant and user.
+         */
+        public Builder setCacheDirectory(File root, String namespace) {
+            this.cacheStore = new FileCacheStore(new File(root, namespace), logger);
+            return this;
+        }
+
+        public Builder setLogger(CanvasLogger logger) {
+            this.logger = logger == null ? CanvasLogger.NONE : logger;
+            return this;
+        }
+
+        /**
+         * The http client. Leave unset to use Retrofit's default.
+         */
+        public Builder setClient(Client client) {
+            this.client = client;
+            return this;
+        }
+
+        /**
+         * Leave unset to use CoreRestAdapter's Gson parser.
+         */
+        public Builder setConverter(Converter converter) {
+            this.converter = converter;
+            return this;
+        }
+
+        /**
+         * Leave unset to use Retrofit's default executors.
+         *
+         * @param httpExecutor Runs the requests.
+         * @param callbackExecutor Runs the callbacks.
+         */
+        public Builder setExecutors(Executor httpExecutor, Executor callbackExecutor) {
+            this.httpExecutor = httpExecutor;
+            this.callbackExecutor = callbackExecutor;
+            return this;
+        }
+
+        public Builder setPerPage(int perPage) {
+            if (perPage > 0) {
+                this.perPage = perPage;
+            }
+            return this;
+        }
+
+        /**
+         * Records latency, bytes, pages and errors for every request into the given metrics.
+         * Queue time is only measured when executors are set.
+         */
+        public Builder setMetrics(CanvasMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Records queue, http and decode spans for every request into the given tracer.
+         * Queue spans are only recorded when executors are set.
+         */
+        public Builder setTracer(CanvasTracer tracer) {
+            this.tracer = tracer;
+            return this;
+        }
+
+        /**
+         * Sizes each endpoint's per_page with the given controller. Clients that share one share what it's learned.
+         */
+        public Builder setPageSizeController(PageSizeController pageSizeController) {
+            this.pageSizeController = pageSizeController;
+            return this;
+        }
+
+        /**
+         * Handles the errors of callbacks that weren't given their own error delegate.
+         */
+        public Builder setErrorDelegate(ErrorDelegate errorDelegate) {
+            this.errorDelegate = errorDelegate;
+            return this;
+        }
+
+        public CanvasClient build() {
+            if (converter == null) {
+                converter = new GsonConverter(CoreRestAdapter.getGSONParser());
+            }
+            if (cacheStore == null) {
+                cacheStore = NO_CACHE;
+            }
+            return new CanvasClient(this);
+        }
+    }
+
+    /**
+     * Used when a client is built without a cache.
+     */
+    private static final CacheStore NO_CACHE = new CacheStore() {
+        @Override public boolean write(String cacheFileName, Serializable serializable) { return false; }
+        @Override public Serializable read(String cacheFileName) { return null; }
+        @Override public boolean delete(String cacheFileName) { return false; }
+        @Override public boolean clear() { return true; }
+    };
+}
@@ -0,0 +1,39 @@
+package com.instructure.canvasapi.core;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * ISO 8601 helpers that don't need a Context. Handles strings of the form "2008-03-01T13:00:00+01:00",
+ * including the "Z" timezone.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class CanvasDates {
+
+    /**
+     * Transform Date to ISO 8601 string.
+     */
+    public static String dateToString(final Date date) {
+        if (date == null){
+            return null;
+        }
+
+        String formatted = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ", Locale.US).format(date);
+        return formatted.substring(0, 22) + ":" + formatted.substring(22);
+    }
+
+    /**
+     * Transform ISO 8601 string to Date.
+     */
+    public static Date stringToDate(final String iso8601string) {
+        try {
+            String s = iso8601string.replace("Z", "+00:00");
+            s = s.substring(0, 22) + s.substring(23);
+            return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ", Locale.US).parse(s);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.instructure.canvasapi.core;
+
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+
+/**
+ * Thrown by the BlockingClient when a request fails.
+ *
+ * Catch one of the subclasses to handle a specific failure:
+ *      CanvasNetworkException      - no network, timeouts, dropped connections. Usually worth retrying.
+ *      CanvasHttpException         - the server answered with a non 2xx status.
+ *      CanvasConversionException   - the body couldn't be parsed into the expected type.
+ *
+ * Anything else is thrown as a plain CanvasException.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class CanvasException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String url;
+
+    public CanvasException(String url, String message, Throwable cause) {
+        super(message, cause);
+        this.url = url;
+    }
+
+    /**
+     * @return The url of the request that failed. May be null.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Maps a RetrofitError onto the matching CanvasException.
+     *
+     * @param retrofitError
+     * @return
+     */
+    public static CanvasException from(RetrofitError retrofitError) {
+        String url = retrofitError.getUrl();
+        switch (retrofitError.getKind()) {
+            case NETWORK:
+                return new CanvasNetworkException(url, retrofitError);
+            case HTTP:
+                return new CanvasHttpException(url, retrofitError.getResponse(), retrofitError);
+            case CONVERSION:
+                return new CanvasConversionException(url, retrofitError);
+            default:
+                return new CanvasException(url, retrofitError.getMessage(), retrofitError);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Subclasses
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static class CanvasNetworkException extends CanvasException {
+        private static final long serialVersionUID = 1L;
+
+        public CanvasNetworkException(String url, Throwable cause) {
+            super(url, "Network error: " + url, cause);
+        }
+    }
+
+    public static class CanvasHttpException extends CanvasException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+        private final String reason;
+
+        public CanvasHttpException(String url, Response response, Throwable cause) {
+            super(url, (response == null ? "HTTP error" : response.getStatus() + " " + response.getReason()) + ": " + url, cause);
+            this.status = response == null ? 0 : response.getStatus();
+            this.reason = response == null ? null : response.getReason();
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        //The token has expired or been revoked.
+        public boolean isUnauthorized() {
+            return status == 401;
+        }
+
+        public boolean isForbidden() {
+            return status == 403;
+        }
+
+        public boolean isNotFound() {
+            return status == 404;
+        }
+
+        public boolean isServerError() {
+            return status >= 500;
+        }
+    }
+
+    public static class CanvasConversionException extends CanvasException {
+        private static final long serialVersionUID = 1L;
+
+        public CanvasConversionException(String url, Throwable cause) {
+            super(url, "Unable to parse the response: " + url, cause);
+        }
+    }
+}
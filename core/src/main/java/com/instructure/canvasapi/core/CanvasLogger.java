@@ -0,0 +1,37 @@
+package com.instructure.canvasapi.core;
+
+/**
+ * Logging port. On Android this goes to Log, on a server JVM plug in whatever logging you use.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface CanvasLogger {
+
+    public static final String LOG_TAG = "canvas-api";
+
+    public void d(String message);
+    public void e(String message, Throwable throwable);
+
+    /**
+     * Drops everything.
+     */
+    public static final CanvasLogger NONE = new CanvasLogger() {
+        @Override public void d(String message) { }
+        @Override public void e(String message, Throwable throwable) { }
+    };
+
+    /**
+     * Writes to System.out and System.err.
+     */
+    public static final CanvasLogger SYSTEM = new CanvasLogger() {
+        @Override
+        public void d(String message) {
+            System.out.println(LOG_TAG + ": " + message);
+        }
+
+        @Override
+        public void e(String message, Throwable throwable) {
+            System.err.println(LOG_TAG + ": " + message + (throwable == null ? "" : " " + throwable));
+        }
+    };
+}
@@ -0,0 +1,477 @@
+package com.instructure.canvasapi.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import retrofit.RetrofitError;
+
+/**
+ * CanvasMetrics collects what each endpoint costs: latency per phase, response bytes, pages,
+ * cache hit/miss/stale counts and errors by RetrofitError.Kind.
+ *
+ * Everything is keyed by endpoint template (see UrlHelpers.getEndpointTemplate) so courses/1/tabs and
+ * courses/2/tabs land in the same bucket. Histograms use fixed buckets, so recording is a couple of
+ * array increments and memory doesn't grow with traffic.
+ *
+ * Read the numbers with snapshot(), or add a Listener to forward every measurement to your own telemetry.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class CanvasMetrics {
+
+    /**
+     * QUEUE        - waiting for an http thread.
+     * NETWORK      - from sending the request until the headers come back.
+     * DECODE       - reading the body and converting it.
+     * CACHE_WRITE  - serializing the result to the cache.
+     */
+    public enum Phase {
+        QUEUE, NETWORK, DECODE, CACHE_WRITE
+    }
+
+    /**
+     * STALE is a hit that was older than the stale age when it was read.
+     */
+    public enum CacheResult {
+        HIT, MISS, STALE
+    }
+
+    public interface Listener {
+        public void onLatency(String endpointTemplate, Phase phase, long millis);
+        public void onResponse(String endpointTemplate, long bytes, boolean isPage);
+        public void onCacheRead(String endpointTemplate, CacheResult result);
+        public void onError(String endpointTemplate, RetrofitError.Kind kind);
+    }
+
+    //Upper bounds of the histogram buckets. Anything bigger goes in the last bucket.
+    public final static long[] LATENCY_BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, 60000};
+    public final static long[] BYTE_BUCKETS = {256, 1024, 4096, 16384, 65536, 262144, 1048576, 4194304, 16777216};
+
+    public final static long DEFAULT_STALE_AGE = 24 * 60 * 60 * 1000;
+
+    private final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<String, EndpointMetrics>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+    private volatile boolean enabled = true;
+    private volatile long staleAge = DEFAULT_STALE_AGE;
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Getters and Setters
+    ///////////////////////////////////////////////////////////////////////////
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * While disabled nothing is recorded and listeners aren't called.
+     * @param enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getStaleAge() {
+        return staleAge;
+    }
+
+    /**
+     * Cache hits older than this are counted as STALE.
+     * @param staleAge
+     */
+    public void setStaleAge(long staleAge) {
+        if (staleAge > 0) {
+            this.staleAge = staleAge;
+        }
+    }
+
+    public void addListener(Listener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Recording
+    ///////////////////////////////////////////////////////////////////////////
+
+    public void recordLatency(String endpointTemplate, Phase phase, long millis) {
+        if (!enabled || endpointTemplate == null || millis < 0) {
+            return;
+        }
+        getEndpoint(endpointTemplate).recordLatency(phase, millis);
+        for (Listener listener : listeners) {
+            listener.onLatency(endpointTemplate, phase, millis);
+        }
+    }
+
+    public void recordResponse(String endpointTemplate, long bytes, boolean isPage) {
+        if (!enabled || endpointTemplate == null) {
+            return;
+        }
+        getEndpoint(endpointTemplate).recordResponse(bytes, isPage);
+        for (Listener listener : listeners) {
+            listener.onResponse(endpointTemplate, bytes, isPage);
+        }
+    }
+
+    public void recordCacheRead(String endpointTemplate, CacheResult result) {
+        if (!enabled || endpointTemplate == null) {
+            return;
+        }
+        getEndpoint(endpointTemplate).recordCacheRead(result);
+        for (Listener listener : listeners) {
+            listener.onCacheRead(endpointTemplate, result);
+        }
+    }
+
+    /**
+     * Records a cache read given the age of the cached value, or -1 for a miss.
+     */
+    public void recordCacheRead(String endpointTemplate, long ageMillis) {
+        if (ageMillis < 0) {
+            recordCacheRead(endpointTemplate, CacheResult.MISS);
+        } else {
+            recordCacheRead(endpointTemplate, ageMillis > staleAge ? CacheResult.STALE : CacheResult.HIT);
+        }
+    }
+
+    public void recordError(String endpointTemplate, RetrofitError.Kind kind) {
+        if (!enabled || endpointTemplate == null || kind == null) {
+            return;
+        }
+        getEndpoint(endpointTemplate).recordError(kind);
+        for (Listener listener : listeners) {
+            listener.onError(endpointTemplate, kind);
+        }
+    }
+
+    private EndpointMetrics getEndpoint(String endpointTemplate) {
+        EndpointMetrics endpointMetrics = endpoints.get(endpointTemplate);
+        if (endpointMetrics == null) {
+            endpointMetrics = new EndpointMetrics();
+            EndpointMetrics existing = endpoints.putIfAbsent(endpointTemplate, endpointMetrics);
+            if (existing != null) {
+                endpointMetrics = existing;
+            }
+        }
+        return endpointMetrics;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Snapshots
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return A copy of everything recorded so far. Later recordings don't change it.
+     */
+    public Snapshot snapshot() {
+        Map<String, EndpointSnapshot> snapshots = new HashMap<String, EndpointSnapshot>();
+        for (Map.Entry<String, EndpointMetrics> entry : endpoints.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+        }
+        return new Snapshot(snapshots);
+    }
+
+    public static class Snapshot {
+        private final Map<String, EndpointSnapshot> endpoints;
+
+        private Snapshot(Map<String, EndpointSnapshot> endpoints) {
+            this.endpoints = Collections.unmodifiableMap(endpoints);
+        }
+
+        public Map<String, EndpointSnapshot> getEndpoints() {
+            return endpoints;
+        }
+
+        /**
+         * @return The endpoint, or null if nothing has been recorded for it.
+         */
+        public EndpointSnapshot getEndpoint(String endpointTemplate) {
+            return endpoints.get(endpointTemplate);
+        }
+
+        /**
+         * @return Endpoints sorted by the given percentile of a phase, slowest first.
+         */
+        public List<EndpointSnapshot> getSlowestEndpoints(final Phase phase, final double percentile) {
+            List<EndpointSnapshot> sorted = new ArrayList<EndpointSnapshot>(endpoints.values());
+            Collections.sort(sorted, new Comparator<EndpointSnapshot>() {
+                @Override
+                public int compare(EndpointSnapshot lhs, EndpointSnapshot rhs) {
+                    long left = lhs.getLatency(phase).getPercentile(percentile);
+                    long right = rhs.getLatency(phase).getPercentile(percentile);
+                    return left > right ? -1 : (left == right ? 0 : 1);
+                }
+            });
+            return sorted;
+        }
+    }
+
+    public static class EndpointSnapshot {
+        private final String endpointTemplate;
+        private final Map<Phase, HistogramSnapshot> latencies;
+        private final HistogramSnapshot responseBytes;
+        private final long pageCount;
+        private final long[] cacheReads;
+        private final Map<RetrofitError.Kind, Long> errors;
+
+        private EndpointSnapshot(String endpointTemplate, Map<Phase, HistogramSnapshot> latencies, HistogramSnapshot responseBytes,
+                                 long pageCount, long[] cacheReads, Map<RetrofitError.Kind, Long> errors) {
+            this.endpointTemplate = endpointTemplate;
+            this.latencies = latencies;
+            this.responseBytes = responseBytes;
+            this.pageCount = pageCount;
+            this.cacheReads = cacheReads;
+            this.errors = errors;
+        }
+
+        public String getEndpointTemplate() {
+            return endpointTemplate;
+        }
+
+        public HistogramSnapshot getLatency(Phase phase) {
+            return latencies.get(phase);
+        }
+
+        public HistogramSnapshot getResponseBytes() {
+            return responseBytes;
+        }
+
+        public long getRequestCount() {
+            return responseBytes.getCount();
+        }
+
+        public long getPageCount() {
+            return pageCount;
+        }
+
+        public long getCacheReads(CacheResult result) {
+            return cacheReads[result.ordinal()];
+        }
+
+        /**
+         * @return Hits (fresh or stale) over all cache reads, or 0 if the cache was never read.
+         */
+        public double getCacheHitRate() {
+            long hits = cacheReads[CacheResult.HIT.ordinal()] + cacheReads[CacheResult.STALE.ordinal()];
+            long total = hits + cacheReads[CacheResult.MISS.ordinal()];
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        public long getErrorCount(RetrofitError.Kind kind) {
+            Long count = errors.get(kind);
+            return count == null ? 0 : count;
+        }
+
+        public long getErrorCount() {
+            long total = 0;
+            for (Long count : errors.values()) {
+                total += count;
+            }
+            return total;
+        }
+    }
+
+    public static class HistogramSnapshot {
+        private final long[] bounds;
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        private HistogramSnapshot(long[] bounds, long[] counts, long count, long sum, long min, long max) {
+            this.bounds = bounds;
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public long getMin() {
+            return count == 0 ? 0 : min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Estimates a percentile from the buckets. The result is the upper bound of the bucket the
+         * percentile falls in, capped at the largest value seen.
+         *
+         * @param percentile between 0 and 100
+         * @return
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * Math.max(0, Math.min(100, percentile)) / 100);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return i < bounds.length ? Math.min(bounds[i], max) : max;
+                }
+            }
+            return max;
+        }
+
+        /**
+         * @return The count in each bucket. Bucket i holds values up to getBucketBounds()[i]; the last one holds the rest.
+         */
+        public long[] getBucketCounts() {
+            return counts.clone();
+        }
+
+        public long[] getBucketBounds() {
+            return bounds.clone();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Internals
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static class Histogram {
+        private final long[] bounds;
+        private final long[] counts;
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max;
+
+        Histogram(long[] bounds) {
+            this.bounds = bounds;
+            this.counts = new long[bounds.length + 1];
+        }
+
+        void record(long value) {
+            int bucket = 0;
+            while (bucket < bounds.length && value > bounds[bucket]) {
+                bucket++;
+            }
+            counts[bucket]++;
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        HistogramSnapshot snapshot() {
+            return new HistogramSnapshot(bounds, counts.clone(), count, sum, min, max);
+        }
+    }
+
+    private static class EndpointMetrics {
+        private final Histogram[] latencies = new Histogram[Phase.values().length];
+        private final Histogram responseBytes = new Histogram(BYTE_BUCKETS);
+        private final long[] cacheReads = new long[CacheResult.values().length];
+        private final long[] errors = new long[RetrofitError.Kind.values().length];
+        private long pageCount;
+
+        EndpointMetrics() {
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new Histogram(LATENCY_BUCKETS);
+            }
+        }
+
+        synchronized void recordLatency(Phase phase, long millis) {
+            latencies[phase.ordinal()].record(millis);
+        }
+
+        synchronized void recordResponse(long bytes, boolean isPage) {
+            responseBytes.record(Math.max(0, bytes));
+            if (isPage) {
+                pageCount++;
+            }
+        }
+
+        synchronized void recordCacheRead(CacheResult result) {
+            cacheReads[result.ordinal()]++;
+        }
+
+        synchronized void recordError(RetrofitError.Kind kind) {
+            errors[kind.ordinal()]++;
+        }
+
+        synchronized EndpointSnapshot snapshot(String endpointTemplate) {
+            Map<Phase, HistogramSnapshot> latencySnapshots = new EnumMap<Phase, HistogramSnapshot>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                latencySnapshots.put(phase, latencies[phase.ordinal()].snapshot());
+            }
+
+            Map<RetrofitError.Kind, Long> errorCounts = new EnumMap<RetrofitError.Kind, Long>(RetrofitError.Kind.class);
+            for (RetrofitError.Kind kind : RetrofitError.Kind.values()) {
+                if (errors[kind.ordinal()] > 0) {
+                    errorCounts.put(kind, errors[kind.ordinal()]);
+                }
+            }
+
+            return new EndpointSnapshot(endpointTemplate, Collections.unmodifiableMap(latencySnapshots), responseBytes.snapshot(),
+                    pageCount, cacheReads.clone(), Collections.unmodifiableMap(errorCounts));
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Request Context
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Carries what's known about the request running on the current http thread from the executor to the
+     * client to the converter, since Retrofit doesn't hand any of them the others' state.
+     */
+    static class RequestContext {
+        long queuedAt = -1;
+        //For CanvasTracer, which shares this context. Set by the executor for the whole task.
+        long correlationId = CanvasTracer.NO_CORRELATION_ID;
+
+        //Set by the client for the request being decoded.
+        String endpointTemplate;
+        long requestCorrelationId = CanvasTracer.NO_CORRELATION_ID;
+
+        void endRequest() {
+            endpointTemplate = null;
+            requestCorrelationId = CanvasTracer.NO_CORRELATION_ID;
+        }
+    }
+
+    static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<RequestContext>() {
+        @Override
+        protected RequestContext initialValue() {
+            return new RequestContext();
+        }
+    };
+}
@@ -0,0 +1,34 @@
+package com.instructure.canvasapi.core;
+
+/**
+ * Everything a request needs to know about who is signed in and where.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface CanvasSession {
+
+    /**
+     * @return The domain without protocol or trailing slashes, or "" if it isn't set.
+     */
+    public String getDomain();
+
+    /**
+     * @return "https" or "http".
+     */
+    public String getProtocol();
+
+    /**
+     * @return The OAuth token, or "" if there isn't one.
+     */
+    public String getToken();
+
+    /**
+     * @return The user agent, or "" if there isn't one.
+     */
+    public String getUserAgent();
+
+    /**
+     * @return The id of the user being masqueraded as, or -1 if not masquerading.
+     */
+    public long getMasqueradeId();
+}
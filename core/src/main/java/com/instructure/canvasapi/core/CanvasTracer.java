@@ -0,0 +1,350 @@
+package com.instructure.canvasapi.core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CanvasTracer records a span for each phase of a request (building the adapter, waiting for a thread,
+ * the http exchange, decoding, writing the cache, delivering the page) into a fixed size ring buffer.
+ *
+ * Spans carry a correlation id so every page of a pagination chain, including ExhaustiveBridgeCallback hops,
+ * can be picked out of the trace. The buffer can be written out as Chrome trace_event JSON and opened in
+ * chrome://tracing or Perfetto.
+ *
+ * Disabled by default. While disabled now() returns -1 and every other call returns right away, so the cost
+ * at a call site is a volatile read.
+ *
+ * Usage:
+ *
+ *      long start = tracer.now();
+ *      ...
+ *      tracer.complete("decode", CanvasTracer.CATEGORY_NETWORK, start, correlationId);
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class CanvasTracer {
+
+    public final static String CATEGORY_NETWORK = "network";
+    public final static String CATEGORY_CACHE = "cache";
+    public final static String CATEGORY_CALLBACK = "callback";
+
+    public final static int DEFAULT_CAPACITY = 4096;
+
+    //0 means the span isn't tied to a request.
+    public final static long NO_CORRELATION_ID = 0;
+
+    private final static AtomicLong correlationIds = new AtomicLong();
+    private final static ThreadLocal<long[]> pendingCorrelationId = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            return new long[] {NO_CORRELATION_ID};
+        }
+    };
+
+    private final Span[] ring;
+    private int next = 0;
+    private int size = 0;
+    private volatile boolean enabled = false;
+
+    public CanvasTracer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity How many spans to keep. Older spans are overwritten.
+     */
+    public CanvasTracer(int capacity) {
+        ring = new Span[Math.max(1, capacity)];
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Getters and Setters
+    ///////////////////////////////////////////////////////////////////////////
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = null;
+        }
+        next = 0;
+        size = 0;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Correlation Ids
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static long nextCorrelationId() {
+        return correlationIds.incrementAndGet();
+    }
+
+    /**
+     * Marks the next request made from this thread as belonging to the correlation id.
+     * Retrofit doesn't tie the callback to the request, so this is how the http thread finds out.
+     * The id is taken by the MetricsExecutor the request is handed to, or by the MetricsClient of a
+     * synchronous request. If no request follows, the next setPendingCorrelationId replaces it.
+     */
+    public static void setPendingCorrelationId(long correlationId) {
+        pendingCorrelationId.get()[0] = correlationId;
+    }
+
+    /**
+     * Returns and clears the pending correlation id for this thread.
+     */
+    public static long takePendingCorrelationId() {
+        long[] pending = pendingCorrelationId.get();
+        long correlationId = pending[0];
+        pending[0] = NO_CORRELATION_ID;
+        return correlationId;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Recording
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The current time in microseconds, or -1 if tracing is disabled.
+     */
+    public long now() {
+        return enabled ? System.nanoTime() / 1000 : -1;
+    }
+
+    public void complete(String name, String category, long start, long correlationId) {
+        complete(name, category, start, correlationId, null, null);
+    }
+
+    /**
+     * Records a span from start until now.
+     *
+     * @param name
+     * @param category
+     * @param start From now(). Nothing is recorded if it's negative.
+     * @param correlationId
+     * @param argName Optional
+     * @param argValue Optional
+     */
+    public void complete(String name, String category, long start, long correlationId, String argName, Object argValue) {
+        if (start < 0 || !enabled) {
+            return;
+        }
+        long end = System.nanoTime() / 1000;
+        Thread thread = Thread.currentThread();
+        add(new Span(name, category, start, end - start, thread.getId(), thread.getName(), correlationId,
+                argName, argValue == null ? null : String.valueOf(argValue)));
+    }
+
+    /**
+     * Records a zero length event, e.g. a pagination hop.
+     */
+    public void instant(String name, String category, long correlationId, String argName, Object argValue) {
+        complete(name, category, now(), correlationId, argName, argValue);
+    }
+
+    private synchronized void add(Span span) {
+        ring[next] = span;
+        next = (next + 1) % ring.length;
+        size = Math.min(size + 1, ring.length);
+    }
+
+    /**
+     * @return Every span in the buffer, oldest first.
+     */
+    public synchronized List<Span> getSpans() {
+        List<Span> spans = new ArrayList<Span>(size);
+        int start = (next - size + ring.length) % ring.length;
+        for (int i = 0; i < size; i++) {
+            spans.add(ring[(start + i) % ring.length]);
+        }
+        return spans;
+    }
+
+    /**
+     * @return The spans for one correlation id, oldest first.
+     */
+    public List<Span> getSpans(long correlationId) {
+        List<Span> spans = new ArrayList<Span>();
+        for (Span span : getSpans()) {
+            if (span.correlationId == correlationId) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Export
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Writes the buffer as Chrome trace_event JSON. Each span is a complete ("X") event and each thread gets
+     * a thread_name metadata event.
+     *
+     * @param writer Not closed.
+     * @throws IOException
+     */
+    public void writeChromeTrace(Writer writer) throws IOException {
+        List<Span> spans = getSpans();
+        Map<Long, String> threadNames = new HashMap<Long, String>();
+
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        boolean first = true;
+        for (Span span : spans) {
+            threadNames.put(span.threadId, span.threadName);
+
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+
+            writer.write("{\"name\":");
+            writeString(writer, span.name);
+            writer.write(",\"cat\":");
+            writeString(writer, span.category);
+            writer.write(",\"ph\":\"X\",\"pid\":1,\"tid\":");
+            writer.write(Long.toString(span.threadId));
+            writer.write(",\"ts\":");
+            writer.write(Long.toString(span.start));
+            writer.write(",\"dur\":");
+            writer.write(Long.toString(span.duration));
+            writer.write(",\"args\":{\"correlationId\":");
+            writer.write(Long.toString(span.correlationId));
+            if (span.argName != null) {
+                writer.write(',');
+                writeString(writer, span.argName);
+                writer.write(':');
+                writeString(writer, span.argValue);
+            }
+            writer.write("}}");
+        }
+
+        for (Map.Entry<Long, String> thread : threadNames.entrySet()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+
+            writer.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":");
+            writer.write(Long.toString(thread.getKey()));
+            writer.write(",\"args\":{\"name\":");
+            writeString(writer, thread.getValue());
+            writer.write("}}");
+        }
+        writer.write("]}");
+        writer.flush();
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                    break;
+            }
+        }
+        writer.write('"');
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Span
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static class Span {
+        private final String name;
+        private final String category;
+        private final long start;
+        private final long duration;
+        private final long threadId;
+        private final String threadName;
+        private final long correlationId;
+        private final String argName;
+        private final String argValue;
+
+        Span(String name, String category, long start, long duration, long threadId, String threadName,
+             long correlationId, String argName, String argValue) {
+            this.name = name;
+            this.category = category;
+            this.start = start;
+            this.duration = duration;
+            this.threadId = threadId;
+            this.threadName = threadName;
+            this.correlationId = correlationId;
+            this.argName = argName;
+            this.argValue = argValue;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        /**
+         * @return Microseconds, on the System.nanoTime() clock.
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * @return Microseconds
+         */
+        public long getDuration() {
+            return duration;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public long getCorrelationId() {
+            return correlationId;
+        }
+
+        public String getArgValue() {
+            return argValue;
+        }
+    }
+}
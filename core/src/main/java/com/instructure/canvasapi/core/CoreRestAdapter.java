@@ -0,0 +1,81 @@
+package com.instructure.canvasapi.core;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.util.concurrent.Executor;
+
+import retrofit.RestAdapter;
+import retrofit.client.Client;
+import retrofit.converter.GsonConverter;
+
+/**
+ * Builds RestAdapters from a CanvasSession. No Context needed, so this works on a server JVM.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class CoreRestAdapter {
+
+    public final static int DEFAULT_PER_PAGE = 30;
+    public final static String INVALID_ENDPOINT = "http://invalid.domain.com";
+
+    private static final ModelIdentityMap identityMap = new ModelIdentityMap();
+
+    /**
+     * Returns a RestAdapter that points at :domain/api/v1/
+     *
+     * @param session
+     * @param client The http client, or null for Retrofit's default.
+     * @param httpExecutor Runs the requests, or null for Retrofit's default.
+     * @param callbackExecutor Runs the callbacks, or null for Retrofit's default.
+     * @param addPerPageQueryParam Specify if you want to add the per page query param
+     * @param perPage
+     * @return A RestAdapter. If the session has no domain, returns an invalid RestAdapter.
+     */
+    public static RestAdapter buildAdapter(CanvasSession session, Client client, Executor httpExecutor, Executor callbackExecutor,
+                                           boolean addPerPageQueryParam, int perPage) {
+        String domain = UrlHelpers.getFullDomain(session);
+        if (domain.equals("")) {
+            return new RestAdapter.Builder().setEndpoint(INVALID_ENDPOINT).build();
+        }
+
+        RestAdapter.Builder builder = new RestAdapter.Builder()
+                .setEndpoint(domain + UrlHelpers.API_PREFIX)
+                .setRequestInterceptor(new SessionRequestInterceptor(session, addPerPageQueryParam, perPage))
+                .setConverter(new GsonConverter(getGSONParser()));
+
+        if (client != null) {
+            builder.setClient(client);
+        }
+        if (httpExecutor != null && callbackExecutor != null) {
+            builder.setExecutors(httpExecutor, callbackExecutor);
+        }
+
+        return builder.build();
+    }
+
+    public static RestAdapter buildAdapter(CanvasSession session) {
+        return buildAdapter(session, null, null, null, true, DEFAULT_PER_PAGE);
+    }
+
+    /**
+     * Returns the identity map every parser from getGSONParser() shares. It's disabled by default.
+     * Call getIdentityMap().setEnabled(true) so repeated users, courses and assignments decode to one instance.
+     */
+    public static ModelIdentityMap getIdentityMap() {
+        return identityMap;
+    }
+
+    /**
+     * Gets our custom GSON parser. The Android library parses with this one too.
+     *
+     * @return Our custom GSON parser with custom deserializers.
+     */
+    public static Gson getGSONParser() {
+        GsonBuilder b = new GsonBuilder();
+        b.registerTypeAdapterFactory(new ModelCompactor());
+        //Registered last so it's asked first, and keeps the compacted instances.
+        b.registerTypeAdapterFactory(identityMap);
+        return b.create();
+    }
+}
@@ -0,0 +1,177 @@
+package com.instructure.canvasapi.core;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A saved position in an exhaustive crawl: the url of the next page and the items of every page before it.
+ *
+ * Checkpoints are written to a CacheStore after every page so a crawl that fails on page 40 can pick up
+ * at page 40 instead of page 1. Each page's items are stored on their own next to a small cursor (next url,
+ * page count, start time), so checkpointing a page writes that page and the cursor, not every page so far.
+ * load() stitches the pages back together. The cursor's name doubles as the resume token handed to callers.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class CrawlCheckpoint<T extends Serializable> implements Serializable {
+
+    //2: items moved out of the cursor into one entry per page.
+    private static final long serialVersionUID = 2L;
+
+    public final static String CHECKPOINT_SUFFIX = "_checkpoint";
+    public final static String PAGE_SUFFIX = "_page";
+
+    //Checkpoints older than this are thrown away. The data would be too stale to stitch onto.
+    public final static long DEFAULT_MAX_AGE = 60 * 60 * 1000;
+
+    private final String nextURL;
+    private final int pageCount;
+    private final long createdAt;
+
+    //Filled in by load() from the page entries. Not part of the cursor.
+    private transient ArrayList<T> items;
+
+    public CrawlCheckpoint(String nextURL, int pageCount, long createdAt) {
+        this.nextURL = nextURL;
+        this.pageCount = pageCount;
+        this.createdAt = createdAt;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Getters
+    ///////////////////////////////////////////////////////////////////////////
+
+    public String getNextURL() {
+        return nextURL;
+    }
+
+    /**
+     * @return Every item of the saved pages, in order. Empty unless the checkpoint came from load().
+     */
+    public List<T> getItems() {
+        return items == null ? Collections.<T>emptyList() : items;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * @return When the crawl this checkpoint belongs to was started.
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isExpired(long now, long maxAge) {
+        return now - createdAt > maxAge || now < createdAt;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Storage
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the name to checkpoint a crawl under, given the cache file name of its joined result.
+     */
+    public static String getCheckpointName(String cacheFileName) {
+        return cacheFileName + CHECKPOINT_SUFFIX;
+    }
+
+    /**
+     * Returns the name the given page of a checkpoint is stored under.
+     * @param page 1 based.
+     */
+    public static String getPageName(String checkpointName, int page) {
+        return checkpointName + PAGE_SUFFIX + page;
+    }
+
+    /**
+     * Saves one page of a crawl and moves the cursor past it. The page is written first, so the cursor
+     * never counts a page that isn't there.
+     *
+     * @param cacheStore
+     * @param checkpointName
+     * @param page 1 based.
+     * @param items The items of this page only.
+     * @param nextURL The page after this one.
+     * @param createdAt When the crawl was started.
+     * @return
+     */
+    public static <T extends Serializable> boolean savePage(CacheStore cacheStore, String checkpointName, int page,
+                                                          List<T> items, String nextURL, long createdAt) {
+        if (cacheStore == null || checkpointName == null || items == null || page < 1) {
+            return false;
+        }
+        if (!cacheStore.write(getPageName(checkpointName, page), new ArrayList<T>(items))) {
+            return false;
+        }
+        return cacheStore.write(checkpointName, new CrawlCheckpoint<T>(nextURL, page, createdAt));
+    }
+
+    /**
+     * Returns the checkpoint saved under the name with the items of every saved page, or null if there
+     * isn't a usable one. Expired or incomplete checkpoints are deleted.
+     *
+     * @param cacheStore
+     * @param checkpointName
+     * @param now
+     * @param maxAge
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Serializable> CrawlCheckpoint<T> load(CacheStore cacheStore, String checkpointName, long now, long maxAge) {
+        if (cacheStore == null || checkpointName == null) {
+            return null;
+        }
+
+        Serializable serializable = cacheStore.read(checkpointName);
+        if (!(serializable instanceof CrawlCheckpoint)) {
+            return null;
+        }
+
+        CrawlCheckpoint<T> checkpoint = (CrawlCheckpoint<T>) serializable;
+        if (checkpoint.nextURL == null || checkpoint.isExpired(now, maxAge)) {
+            delete(cacheStore, checkpointName);
+            return null;
+        }
+
+        ArrayList<T> items = new ArrayList<T>();
+        for (int page = 1; page <= checkpoint.pageCount; page++) {
+            Serializable pageItems = cacheStore.read(getPageName(checkpointName, page));
+            if (!(pageItems instanceof ArrayList)) {
+                //A page went missing. Stitching around it would drop items.
+                delete(cacheStore, checkpointName);
+                return null;
+            }
+            items.addAll((ArrayList<T>) pageItems);
+        }
+        checkpoint.items = items;
+        return checkpoint;
+    }
+
+    /**
+     * Deletes the cursor and every page saved under the name.
+     */
+    public static boolean delete(CacheStore cacheStore, String checkpointName) {
+        if (cacheStore == null || checkpointName == null) {
+            return false;
+        }
+
+        Serializable serializable = cacheStore.read(checkpointName);
+        int pageCount = serializable instanceof CrawlCheckpoint ? ((CrawlCheckpoint<?>) serializable).pageCount : 0;
+        boolean deleted = cacheStore.delete(checkpointName);
+
+        //A page is written before the cursor that counts it, so keep going until one is missing.
+        for (int page = 1; ; page++) {
+            boolean pageDeleted = cacheStore.delete(getPageName(checkpointName, page));
+            deleted |= pageDeleted;
+            if (!pageDeleted && page > pageCount) {
+                break;
+            }
+        }
+        return deleted;
+    }
+}
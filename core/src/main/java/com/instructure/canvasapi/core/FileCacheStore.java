@@ -0,0 +1,126 @@
+package com.instructure.canvasapi.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * A CacheStore that writes each entry as a serialized file under a root directory.
+ *
+ * Uses the same file layout as FileUtilities so the Android cache stays readable.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class FileCacheStore implements CacheStore {
+
+    public final static String FILE_SUFFIX = ".serializable";
+
+    private final File directory;
+    private final CanvasLogger logger;
+
+    public FileCacheStore(File directory) {
+        this(directory, CanvasLogger.NONE);
+    }
+
+    public FileCacheStore(File directory, CanvasLogger logger) {
+        this.directory = directory;
+        this.logger = logger == null ? CanvasLogger.NONE : logger;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public File getFile(String cacheFileName) {
+        return new File(directory, cacheFileName + FILE_SUFFIX);
+    }
+
+    @Override
+    public boolean write(String cacheFileName, Serializable serializable) {
+        if (cacheFileName == null || serializable == null) {
+            return false;
+        }
+
+        try {
+            File file = getFile(cacheFileName);
+            file.getParentFile().mkdirs();
+            file.createNewFile();
+
+            ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            try {
+                output.writeObject(serializable);
+                output.flush();
+            } finally {
+                output.close();
+            }
+            return true;
+        } catch (Exception E) {
+            logger.e("Could not cache serializable: " + cacheFileName, E);
+            return false;
+        }
+    }
+
+    @Override
+    public Serializable read(String cacheFileName) {
+        if (cacheFileName == null) {
+            return null;
+        }
+
+        try {
+            File file = getFile(cacheFileName);
+            if (!file.exists()) {
+                return null;
+            }
+
+            ObjectInputStream input = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                return (Serializable) input.readObject();
+            } finally {
+                input.close();
+            }
+        } catch (Exception E) {
+            logger.d("NO CACHE: " + cacheFileName);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean delete(String cacheFileName) {
+        if (cacheFileName == null) {
+            return false;
+        }
+        return getFile(cacheFileName).delete();
+    }
+
+    @Override
+    public boolean clear() {
+        return deleteRecursively(directory);
+    }
+
+    /**
+     * deleteRecursively will RECURSIVELY delete all files/folders in a directory, including the directory.
+     * @param startFile
+     * @return
+     */
+    public static boolean deleteRecursively(File startFile) {
+        try {
+            if (startFile.isDirectory()) {
+                String[] files = startFile.list();
+                if (files != null) {
+                    for (String fileName : files) {
+                        deleteRecursively(new File(startFile, fileName));
+                    }
+                }
+            }
+            startFile.delete();
+            return true;
+        } catch (Exception E) {
+            return false;
+        }
+    }
+}
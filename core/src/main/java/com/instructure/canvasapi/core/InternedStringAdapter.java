@@ -0,0 +1,82 @@
+package com.instructure.canvasapi.core;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * InternedStringAdapter decodes a string field through a shared pool, so every model holds the same
+ * "submitted" or "Course" instead of its own copy.
+ *
+ * Use it on fields with a handful of possible values like workflow_state, type and context_type:
+ *
+ *      @JsonAdapter(InternedStringAdapter.class)
+ *      private String workflow_state;
+ *
+ * The pool is ours rather than String.intern() so it stays bounded. Once it holds MAX_POOL_SIZE strings,
+ * new values are returned as decoded.
+ *
+ * Disabled by default, in which case values are returned as decoded and nothing is pooled. The pool is
+ * shared by every parser in the process, so it's up to the app to turn it on with setEnabled(true).
+ * Disabling it empties the pool.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class InternedStringAdapter extends TypeAdapter<String> {
+
+    public final static int MAX_POOL_SIZE = 1024;
+
+    //Longer values aren't worth looking up.
+    private final static int MAX_LENGTH = 64;
+
+    private final static Map<String, String> pool = new HashMap<String, String>();
+    private static volatile boolean enabled = false;
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        InternedStringAdapter.enabled = enabled;
+        if (!enabled) {
+            synchronized (pool) {
+                pool.clear();
+            }
+        }
+    }
+
+    public static String intern(String value) {
+        if (!enabled || value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        synchronized (pool) {
+            String interned = pool.get(value);
+            if (interned != null) {
+                return interned;
+            }
+            if (pool.size() < MAX_POOL_SIZE) {
+                pool.put(value, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void write(JsonWriter out, String value) throws IOException {
+        out.value(value);
+    }
+
+    @Override
+    public String read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return intern(in.nextString());
+    }
+}
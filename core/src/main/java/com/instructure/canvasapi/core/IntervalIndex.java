@@ -0,0 +1,143 @@
+package com.instructure.canvasapi.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * IntervalIndex answers "which intervals overlap [from, to)" over a fixed set of [start, end) intervals in
+ * epoch millis, like calendar events, in O(log n) plus O(log n) per match.
+ *
+ * The intervals are sorted by start, so the ones starting before to are a prefix found by binary search.
+ * A max-end tree over that order then skips every run of intervals that all end by from. A plain sorted array
+ * would have to scan back over every earlier event in case one of them is long enough to still be going.
+ *
+ * An interval whose end isn't after its start is the single instant start, so an assignment due at t
+ * overlaps [from, to) when from <= t < to.
+ *
+ * Immutable once built. Build a new one when the intervals change.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class IntervalIndex {
+
+    private final static int[] EMPTY = new int[0];
+
+    //Sorted by start.
+    private final long[] starts;
+    private final long[] ends;
+    //The caller's index of each.
+    private final int[] items;
+    //maxEnds[node] is the latest end in the node's range, with the root at 1.
+    private final long[] maxEnds;
+
+    /**
+     * @param starts
+     * @param ends Same length as starts.
+     */
+    public IntervalIndex(final long[] starts, long[] ends) {
+        if (starts.length != ends.length) {
+            throw new IllegalArgumentException("starts and ends need the same length");
+        }
+        int size = starts.length;
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return starts[a] < starts[b] ? -1 : (starts[a] == starts[b] ? 0 : 1);
+            }
+        });
+
+        this.starts = new long[size];
+        this.ends = new long[size];
+        this.items = new int[size];
+        for (int i = 0; i < size; i++) {
+            int item = order[i];
+            this.items[i] = item;
+            this.starts[i] = starts[item];
+            this.ends[i] = Math.max(ends[item], starts[item] + 1);
+        }
+
+        maxEnds = new long[Math.max(1, 4 * size)];
+        if (size > 0) {
+            build(1, 0, size);
+        }
+    }
+
+    private long build(int node, int from, int to) {
+        if (to - from == 1) {
+            maxEnds[node] = ends[from];
+        } else {
+            int middle = (from + to) >>> 1;
+            maxEnds[node] = Math.max(build(node * 2, from, middle), build(node * 2 + 1, middle, to));
+        }
+        return maxEnds[node];
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * @return The caller's indexes of every interval overlapping [from, to), in start order.
+     */
+    public int[] query(long from, long to) {
+        if (items.length == 0 || from >= to) {
+            return EMPTY;
+        }
+
+        //Everything from here on starts at or after to.
+        int end = lowerBound(starts, to);
+        if (end == 0) {
+            return EMPTY;
+        }
+
+        Matches matches = new Matches();
+        collect(1, 0, items.length, end, from, matches);
+        return Arrays.copyOf(matches.items, matches.count);
+    }
+
+    private static class Matches {
+        private int[] items = new int[8];
+        private int count = 0;
+
+        private void add(int item) {
+            if (count == items.length) {
+                items = Arrays.copyOf(items, count * 2);
+            }
+            items[count++] = item;
+        }
+    }
+
+    //Recursion is only as deep as the tree, about log2(n).
+    private void collect(int node, int rangeFrom, int rangeTo, int end, long from, Matches matches) {
+        if (rangeFrom >= end || maxEnds[node] <= from) {
+            return;
+        }
+        if (rangeTo - rangeFrom == 1) {
+            matches.add(items[rangeFrom]);
+            return;
+        }
+        int middle = (rangeFrom + rangeTo) >>> 1;
+        collect(node * 2, rangeFrom, middle, end, from, matches);
+        collect(node * 2 + 1, middle, rangeTo, end, from, matches);
+    }
+
+    //The first index whose value is >= key.
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,22 @@
+package com.instructure.canvasapi.core;
+
+/**
+ * Storage port for small settings (domain, token, masquerading...).
+ *
+ * On Android this is backed by SharedPreferences. On a server JVM use MemoryKeyValueStore or your own.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface KeyValueStore {
+    public String getString(String key, String defaultValue);
+    public boolean putString(String key, String value);
+
+    public long getLong(String key, long defaultValue);
+    public boolean putLong(String key, long value);
+
+    public boolean getBoolean(String key, boolean defaultValue);
+    public boolean putBoolean(String key, boolean value);
+
+    public boolean remove(String key);
+    public boolean clear();
+}
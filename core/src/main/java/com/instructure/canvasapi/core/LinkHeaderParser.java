@@ -0,0 +1,259 @@
+package com.instructure.canvasapi.core;
+
+import com.instructure.canvasapi.utilities.LinkHeaders;
+
+import java.util.List;
+
+import retrofit.client.Header;
+
+/**
+ * Parses the Link header Canvas uses for pagination.
+ *
+ * The header is walked once by index. Apart from the LinkHeaders and the url of each link it keeps, nothing
+ * is allocated, which matters since every response goes through here and bookmark cursors can make the
+ * header several kilobytes long.
+ *
+ * Follows RFC 5988: urls are read between '<' and '>' so commas inside them are fine, parameter values can be
+ * quoted, and rel can hold several space separated values. Unknown rels are skipped.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class LinkHeaderParser {
+
+    private final static int REL_NEXT = 1;
+    private final static int REL_PREV = 1 << 1;
+    private final static int REL_FIRST = 1 << 2;
+    private final static int REL_LAST = 1 << 3;
+    private final static int REL_CURRENT = 1 << 4;
+
+    /**
+     * parse returns the first, next, prev, and last urls with the domain removed.
+     * @param headers
+     * @return
+     */
+    public static LinkHeaders parse(List<Header> headers) {
+        LinkHeaders linkHeaders = new LinkHeaders();
+
+        for (int i = 0; i < headers.size(); i++) {
+            if ("link".equalsIgnoreCase(headers.get(i).getName())) {
+                parse(headers.get(i).getValue(), linkHeaders);
+                break;
+            }
+        }
+
+        return linkHeaders;
+    }
+
+    /**
+     * Parses a single Link header value into linkHeaders. Malformed links are skipped.
+     * @param value
+     * @param linkHeaders
+     */
+    public static void parse(String value, LinkHeaders linkHeaders) {
+        if (value == null) {
+            return;
+        }
+
+        int length = value.length();
+        int position = 0;
+        while (position < length) {
+            int open = value.indexOf('<', position);
+            if (open == -1) {
+                return;
+            }
+            int close = value.indexOf('>', open + 1);
+            if (close == -1) {
+                return;
+            }
+
+            //Parameters run until the next comma that isn't in a quoted string.
+            int rels = 0;
+            int p = close + 1;
+            while (p < length && value.charAt(p) != ',') {
+                if (value.charAt(p) != ';') {
+                    p++;
+                    continue;
+                }
+
+                p = skipWhitespace(value, p + 1, length);
+                int nameStart = p;
+                while (p < length && isTokenChar(value.charAt(p))) {
+                    p++;
+                }
+                int nameEnd = p;
+                p = skipWhitespace(value, p, length);
+                if (p >= length || value.charAt(p) != '=') {
+                    continue;
+                }
+
+                p = skipWhitespace(value, p + 1, length);
+                int valueStart;
+                int valueEnd;
+                if (p < length && value.charAt(p) == '"') {
+                    valueStart = p + 1;
+                    p = valueStart;
+                    while (p < length && value.charAt(p) != '"') {
+                        //Skip escaped characters.
+                        p += value.charAt(p) == '\\' ? 2 : 1;
+                    }
+                    valueEnd = Math.min(p, length);
+                    p = Math.min(p + 1, length);
+                } else {
+                    valueStart = p;
+                    while (p < length && value.charAt(p) != ';' && value.charAt(p) != ',') {
+                        p++;
+                    }
+                    valueEnd = p;
+                    while (valueEnd > valueStart && Character.isWhitespace(value.charAt(valueEnd - 1))) {
+                        valueEnd--;
+                    }
+                }
+
+                if (nameEnd - nameStart == 3 && value.regionMatches(true, nameStart, "rel", 0, 3)) {
+                    rels |= parseRels(value, valueStart, valueEnd);
+                }
+            }
+
+            if (rels != 0) {
+                setLink(value, open + 1, close, rels, linkHeaders);
+            }
+            position = p + 1;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static int parseRels(String value, int start, int end) {
+        int rels = 0;
+        int p = start;
+        while (p < end) {
+            p = skipWhitespace(value, p, end);
+            int relStart = p;
+            while (p < end && !Character.isWhitespace(value.charAt(p))) {
+                p++;
+            }
+            rels |= getRel(value, relStart, p - relStart);
+        }
+        return rels;
+    }
+
+    private static int getRel(String value, int start, int length) {
+        if (matches(value, start, length, "next")) {
+            return REL_NEXT;
+        } else if (matches(value, start, length, "prev") || matches(value, start, length, "previous")) {
+            return REL_PREV;
+        } else if (matches(value, start, length, "first")) {
+            return REL_FIRST;
+        } else if (matches(value, start, length, "last")) {
+            return REL_LAST;
+        } else if (matches(value, start, length, "current")) {
+            return REL_CURRENT;
+        }
+        return 0;
+    }
+
+    private static boolean matches(String value, int start, int length, String rel) {
+        return length == rel.length() && value.regionMatches(true, start, rel, 0, length);
+    }
+
+    private static void setLink(String value, int start, int end, int rels, LinkHeaders linkHeaders) {
+        //Remove the domain.
+        int prefix = indexOf(value, UrlHelpers.API_PREFIX, start, end);
+        if (prefix != -1) {
+            start = prefix + UrlHelpers.API_PREFIX.length();
+        }
+        String url = value.substring(start, end);
+        int page = getNumberParam(value, start, end, "page");
+
+        if ((rels & REL_NEXT) != 0) {
+            linkHeaders.nextURL = url;
+            linkHeaders.nextPage = page;
+        }
+        if ((rels & REL_PREV) != 0) {
+            linkHeaders.prevURL = url;
+            linkHeaders.prevPage = page;
+        }
+        if ((rels & REL_FIRST) != 0) {
+            linkHeaders.firstURL = url;
+        }
+        if ((rels & REL_LAST) != 0) {
+            linkHeaders.lastURL = url;
+            linkHeaders.lastPage = page;
+        }
+        if ((rels & REL_CURRENT) != 0) {
+            linkHeaders.currentURL = url;
+            linkHeaders.currentPage = page;
+        }
+
+        if (linkHeaders.perPage == -1) {
+            linkHeaders.perPage = getNumberParam(value, start, end, "per_page");
+        }
+    }
+
+    /**
+     * Returns the value of a numeric query param in value[start, end), or -1 if it's missing or not a number
+     * (e.g. a bookmark).
+     */
+    static int getNumberParam(String value, int start, int end, String name) {
+        int p = start;
+        while (p < end && value.charAt(p) != '?') {
+            p++;
+        }
+
+        while (p < end) {
+            int paramStart = p + 1;
+            int paramEnd = paramStart;
+            while (paramEnd < end && value.charAt(paramEnd) != '&') {
+                paramEnd++;
+            }
+
+            int valueStart = paramStart + name.length() + 1;
+            if (valueStart <= paramEnd && value.startsWith(name, paramStart) && value.charAt(paramStart + name.length()) == '=') {
+                return parseNumber(value, valueStart, paramEnd);
+            }
+            p = paramEnd;
+        }
+        return -1;
+    }
+
+    private static int parseNumber(String value, int start, int end) {
+        if (start == end || end - start > 9) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    /**
+     * String.indexOf bounded to [start, end), so a missing target doesn't scan the rest of the header.
+     */
+    private static int indexOf(String value, String target, int start, int end) {
+        int last = end - target.length();
+        for (int i = start; i <= last; i++) {
+            if (value.startsWith(target, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(String value, int p, int end) {
+        while (p < end && Character.isWhitespace(value.charAt(p))) {
+            p++;
+        }
+        return p;
+    }
+
+    private static boolean isTokenChar(char c) {
+        return c > ' ' && c < 127 && c != '=' && c != ';' && c != ',' && c != '"';
+    }
+}
@@ -0,0 +1,116 @@
+package com.instructure.canvasapi.core;
+
+import java.util.Arrays;
+
+/**
+ * LongHashSet is a set of longs in one open addressed long[], without boxing each id into a Long and an
+ * entry like HashSet<Long> or HashMap<Long, Boolean> does.
+ *
+ * Sized for about twice as many slots as values, and grows when it gets more than half full.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class LongHashSet {
+
+    //Marks an empty slot. 0 itself is tracked on the side.
+    private final static long EMPTY = 0;
+
+    private long[] slots;
+    private boolean hasEmptyValue = false;
+    private int size = 0;
+
+    public LongHashSet() {
+        this(8);
+    }
+
+    public LongHashSet(int expectedSize) {
+        slots = new long[capacityFor(expectedSize)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return hasEmptyValue;
+        }
+        int mask = slots.length - 1;
+        for (int slot = hash(value) & mask; ; slot = (slot + 1) & mask) {
+            if (slots[slot] == EMPTY) {
+                return false;
+            } else if (slots[slot] == value) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return false if it was already in the set.
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (hasEmptyValue) {
+                return false;
+            }
+            hasEmptyValue = true;
+            size++;
+            return true;
+        }
+
+        int mask = slots.length - 1;
+        int slot = hash(value) & mask;
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = value;
+        size++;
+
+        if (size * 2 > slots.length) {
+            grow();
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        hasEmptyValue = false;
+        size = 0;
+    }
+
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        int mask = slots.length - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int slot = hash(value) & mask;
+                while (slots[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = value;
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 8;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    //Ids are mostly sequential, so mix the bits before masking.
+    private static int hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
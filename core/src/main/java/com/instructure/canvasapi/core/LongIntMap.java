@@ -0,0 +1,208 @@
+package com.instructure.canvasapi.core;
+
+import android.os.Parcel;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * LongIntMap maps long keys to int values with two sorted arrays, like Android's SparseIntArray but
+ * with long keys (LongSparseArray needs API 16 and boxes its values).
+ *
+ * A HashMap<Long, Integer> costs about 50 bytes an entry (entry, Long and Integer); this costs 12.
+ * Lookups are a binary search. Inserts shift the arrays, which is fine for maps that are filled once
+ * while decoding.
+ *
+ * Decodes from a JSON object with numeric keys, e.g. Canvas' entry_ratings: {"1019": 1, "1020": 1}
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class LongIntMap implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final static long[] EMPTY_KEYS = new long[0];
+    private final static int[] EMPTY_VALUES = new int[0];
+
+    private long[] keys = EMPTY_KEYS;
+    private int[] values = EMPTY_VALUES;
+    private int size = 0;
+
+    public LongIntMap() {}
+
+    public LongIntMap(Map<Long, Integer> map) {
+        if (map != null) {
+            for (Map.Entry<Long, Integer> entry : map.entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(long key) {
+        return Arrays.binarySearch(keys, 0, size, key) >= 0;
+    }
+
+    public int get(long key, int valueIfMissing) {
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        return index >= 0 ? values[index] : valueIfMissing;
+    }
+
+    public void put(long key, int value) {
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+
+        index = -index - 1;
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        keys[index] = key;
+        values[index] = value;
+        size++;
+    }
+
+    public void remove(long key) {
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+    }
+
+    /**
+     * @return The index-th smallest key.
+     */
+    public long keyAt(int index) {
+        checkIndex(index);
+        return keys[index];
+    }
+
+    public int valueAt(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    //The arrays have spare slots past size, which would otherwise read as 0.
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new ArrayIndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+    }
+
+    public void trimToSize() {
+        if (size == 0) {
+            keys = EMPTY_KEYS;
+            values = EMPTY_VALUES;
+        } else if (size < keys.length) {
+            keys = Arrays.copyOf(keys, size);
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    public HashMap<Long, Integer> toHashMap() {
+        HashMap<Long, Integer> map = new HashMap<Long, Integer>();
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Parcel
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Writes the two arrays as they are, instead of serializing the map. map can be null.
+     */
+    public static void writeToParcel(Parcel dest, LongIntMap map) {
+        if (map == null) {
+            dest.writeInt(-1);
+            return;
+        }
+        dest.writeInt(map.size);
+        dest.writeLongArray(Arrays.copyOf(map.keys, map.size));
+        dest.writeIntArray(Arrays.copyOf(map.values, map.size));
+    }
+
+    public static LongIntMap readFromParcel(Parcel in) {
+        int size = in.readInt();
+        if (size == -1) {
+            return null;
+        }
+        LongIntMap map = new LongIntMap();
+        map.keys = in.createLongArray();
+        map.values = in.createIntArray();
+        map.size = size;
+        return map;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Gson
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Use on a field with @JsonAdapter(LongIntMap.GsonAdapter.class). Keys that aren't numbers are skipped.
+     */
+    public static class GsonAdapter extends TypeAdapter<LongIntMap> {
+        @Override
+        public void write(JsonWriter out, LongIntMap map) throws IOException {
+            if (map == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            for (int i = 0; i < map.size; i++) {
+                out.name(Long.toString(map.keys[i])).value(map.values[i]);
+            }
+            out.endObject();
+        }
+
+        @Override
+        public LongIntMap read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            LongIntMap map = new LongIntMap();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() != JsonToken.NUMBER) {
+                    in.skipValue();
+                    continue;
+                }
+                int value = in.nextInt();
+                try {
+                    map.put(Long.parseLong(name), value);
+                } catch (NumberFormatException E) {
+                    //Skip it.
+                }
+            }
+            in.endObject();
+            map.trimToSize();
+            return map;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.instructure.canvasapi.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A KeyValueStore that only lives as long as the process. Thread safe.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class MemoryKeyValueStore implements KeyValueStore {
+
+    private final ConcurrentHashMap<String, Object> values = new ConcurrentHashMap<String, Object>();
+
+    @Override
+    public String getString(String key, String defaultValue) {
+        Object value = values.get(key);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    @Override
+    public boolean putString(String key, String value) {
+        if (value == null) {
+            return remove(key);
+        }
+        values.put(key, value);
+        return true;
+    }
+
+    @Override
+    public long getLong(String key, long defaultValue) {
+        Object value = values.get(key);
+        return value instanceof Long ? (Long) value : defaultValue;
+    }
+
+    @Override
+    public boolean putLong(String key, long value) {
+        values.put(key, value);
+        return true;
+    }
+
+    @Override
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Object value = values.get(key);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    @Override
+    public boolean putBoolean(String key, boolean value) {
+        values.put(key, value);
+        return true;
+    }
+
+    @Override
+    public boolean remove(String key) {
+        values.remove(key);
+        return true;
+    }
+
+    @Override
+    public boolean clear() {
+        values.clear();
+        return true;
+    }
+}
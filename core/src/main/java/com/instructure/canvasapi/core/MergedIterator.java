@@ -0,0 +1,219 @@
+package com.instructure.canvasapi.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * MergedIterator merges sources that are each already in time order, like activity streams, conversations and
+ * announcements, into one stream in that order. It's a k-way merge over a heap of each source's next item.
+ *
+ * Sources are read one item at a time. The first hasNext() reads the first item of every source, and after that
+ * a source is only advanced once the item it gave has been returned. With PagedIterator sources that means a
+ * source's next page is fetched when the merge gets to the end of its current one, so the first screen needs
+ * a page from every source rather than all of them. The ids used for de-duplicating are kept for as long as
+ * the iterator is, so memory still grows with how far it's read.
+ *
+ * Each item's time and id are read once, through Keys, when it becomes a source's head. Items with the same
+ * class and id are only returned the first time, so an item in both a course stream and the user stream
+ * shows up once.
+ *
+ * Usage:
+ *
+ *      List<PagedIterator<StreamItem>> sources = ...; //users/self/activity_stream, courses/1/activity_stream, ...
+ *      MergedIterator<StreamItem> feed = new MergedIterator<StreamItem>(sources, keys, true);
+ *      try {
+ *          for (int i = 0; i < 20 && feed.hasNext(); i++) {
+ *              show(feed.next());
+ *          }
+ *      } finally {
+ *          feed.close();
+ *      }
+ *
+ * A source that fails throws out of hasNext() (a PageFetchException for a PagedIterator). Not thread safe.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class MergedIterator<T> implements Iterator<T>, Closeable {
+
+    //An item without a time goes after every item with one.
+    public final static long NO_TIME = Long.MIN_VALUE;
+    //An item without an id is never treated as a duplicate.
+    public final static long NO_ID = Long.MIN_VALUE;
+
+    public interface Keys<T> {
+        /**
+         * @return Epoch millis, or NO_TIME.
+         */
+        long getTime(T item);
+
+        /**
+         * @return The id to de-duplicate by, or NO_ID.
+         */
+        long getId(T item);
+    }
+
+    private static class Head<T> {
+        private final T item;
+        private final long time;
+        private final long id;
+        private final int source;
+
+        private Head(T item, long time, long id, int source) {
+            this.item = item;
+            this.time = time;
+            this.id = id;
+            this.source = source;
+        }
+    }
+
+    private final List<Iterator<? extends T>> sources;
+    private final Keys<? super T> keys;
+    private final PriorityQueue<Head<T>> heads;
+    private final Map<Class<?>, Set<Long>> seen = new HashMap<Class<?>, Set<Long>>();
+
+    private boolean started = false;
+    //The source whose head was just returned. Advanced on the next hasNext().
+    private int pendingSource = -1;
+    private Head<T> next;
+    private int duplicateCount = 0;
+
+    /**
+     * @param sources Each in the same order as newestFirst asks for.
+     * @param keys
+     * @param newestFirst true for sources newest first, like Canvas' streams. false for oldest first.
+     */
+    public MergedIterator(List<? extends Iterator<? extends T>> sources, Keys<? super T> keys, final boolean newestFirst) {
+        if (sources == null || keys == null) {
+            throw new IllegalArgumentException("sources and keys cannot be null");
+        }
+        this.sources = new ArrayList<Iterator<? extends T>>(sources);
+        this.keys = keys;
+        this.heads = new PriorityQueue<Head<T>>(Math.max(1, sources.size()), new Comparator<Head<T>>() {
+            @Override
+            public int compare(Head<T> a, Head<T> b) {
+                if (a.time != b.time) {
+                    if (a.time == NO_TIME) {
+                        return 1;
+                    } else if (b.time == NO_TIME) {
+                        return -1;
+                    }
+                    boolean aFirst = newestFirst ? a.time > b.time : a.time < b.time;
+                    return aFirst ? -1 : 1;
+                }
+                //Earlier sources win ties, so equal times come out in a stable order.
+                return a.source < b.source ? -1 : (a.source == b.source ? 0 : 1);
+            }
+        });
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator
+    ///////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            for (int i = 0; i < sources.size(); i++) {
+                advance(i);
+            }
+        }
+
+        while (next == null) {
+            if (pendingSource != -1) {
+                int source = pendingSource;
+                pendingSource = -1;
+                advance(source);
+            }
+
+            Head<T> head = heads.poll();
+            if (head == null) {
+                return false;
+            }
+            pendingSource = head.source;
+
+            if (head.id != NO_ID && !markSeen(head)) {
+                duplicateCount++;
+                continue;
+            }
+            next = head;
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = next.item;
+        next = null;
+        return item;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Closes every source that's Closeable, like PagedIterator.
+     */
+    @Override
+    public void close() {
+        for (Iterator<? extends T> source : sources) {
+            if (source instanceof Closeable) {
+                try {
+                    ((Closeable) source).close();
+                } catch (IOException E) {
+                    //Keep closing the rest.
+                }
+            }
+        }
+        heads.clear();
+        next = null;
+        pendingSource = -1;
+    }
+
+    /**
+     * @return How many items were skipped because an earlier one had the same class and id.
+     */
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void advance(int source) {
+        Iterator<? extends T> iterator = sources.get(source);
+        if (iterator.hasNext()) {
+            T item = iterator.next();
+            heads.add(new Head<T>(item, keys.getTime(item), keys.getId(item), source));
+        }
+    }
+
+    /**
+     * @return false if it was already seen.
+     */
+    private boolean markSeen(Head<T> head) {
+        Class<?> type = head.item == null ? null : head.item.getClass();
+        Set<Long> ids = seen.get(type);
+        if (ids == null) {
+            ids = new HashSet<Long>();
+            seen.put(type, ids);
+        }
+        return ids.add(head.id);
+    }
+}
@@ -0,0 +1,204 @@
+package com.instructure.canvasapi.core;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import retrofit.RetrofitError;
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedInput;
+
+/**
+ * A Retrofit Client wrapper that records network latency, response bytes, pages and transport errors
+ * into CanvasMetrics. Bytes are counted as the converter reads the body, so this wrapper adds no copy of
+ * its own (a PageSizeClient underneath may still buffer it).
+ * With a CanvasTracer each exchange is also recorded as an "http" span.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class MetricsClient implements Client {
+
+    private final Client client;
+    private final CanvasMetrics metrics;
+    private final CanvasTracer tracer;
+
+    public MetricsClient(Client client, CanvasMetrics metrics) {
+        this(client, metrics, null);
+    }
+
+    /**
+     * @param client
+     * @param metrics Can be null if there's a tracer.
+     * @param tracer Records an "http" span per request. Optional.
+     */
+    public MetricsClient(Client client, CanvasMetrics metrics, CanvasTracer tracer) {
+        if (client == null || (metrics == null && tracer == null)) {
+            throw new IllegalArgumentException("client and one of metrics or tracer cannot be null");
+        }
+        this.client = client;
+        this.metrics = metrics;
+        this.tracer = tracer;
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        //A synchronous call runs here on the thread that made it, without a MetricsExecutor to take its id.
+        long pendingCorrelationId = CanvasTracer.takePendingCorrelationId();
+
+        final boolean measure = metrics != null && metrics.isEnabled();
+        long traceStart = tracer != null ? tracer.now() : -1;
+        if (!measure && traceStart < 0) {
+            return client.execute(request);
+        }
+
+        final String template = UrlHelpers.getEndpointTemplate(request.getUrl());
+        long start = System.currentTimeMillis();
+
+        CanvasMetrics.RequestContext requestContext = CanvasMetrics.CURRENT.get();
+        if (requestContext.queuedAt != -1) {
+            if (measure) {
+                metrics.recordLatency(template, CanvasMetrics.Phase.QUEUE, start - requestContext.queuedAt);
+            }
+            //Only the first request of a task waited in the queue.
+            requestContext.queuedAt = -1;
+        }
+        long correlationId = pendingCorrelationId != CanvasTracer.NO_CORRELATION_ID ? pendingCorrelationId : requestContext.correlationId;
+        requestContext.endpointTemplate = template;
+        requestContext.requestCorrelationId = correlationId;
+
+        //Retrofit only decodes successful bodies on this thread. Otherwise the converter won't end the request.
+        boolean decodes = false;
+        try {
+            Response response;
+            try {
+                response = client.execute(request);
+            } catch (IOException e) {
+                if (measure) {
+                    metrics.recordError(template, RetrofitError.Kind.NETWORK);
+                }
+                traceHttp(traceStart, correlationId, template, e.getClass().getSimpleName());
+                throw e;
+            }
+            traceHttp(traceStart, correlationId, template, response.getStatus());
+            boolean isSuccess = response.getStatus() >= 200 && response.getStatus() < 300;
+            decodes = isSuccess && response.getBody() != null;
+
+            if (!measure) {
+                return response;
+            }
+
+            metrics.recordLatency(template, CanvasMetrics.Phase.NETWORK, System.currentTimeMillis() - start);
+
+            if (!isSuccess) {
+                metrics.recordError(template, RetrofitError.Kind.HTTP);
+            }
+
+            final boolean isPage = hasLinkHeader(response);
+            TypedInput body = response.getBody();
+            if (body == null) {
+                metrics.recordResponse(template, 0, isPage);
+                return response;
+            }
+
+            return new Response(response.getUrl(), response.getStatus(), response.getReason(), response.getHeaders(),
+                    new CountingTypedInput(body) {
+                        @Override
+                        void onRead(long bytes) {
+                            metrics.recordResponse(template, bytes, isPage);
+                        }
+                    });
+        } finally {
+            if (!decodes) {
+                requestContext.endRequest();
+            }
+        }
+    }
+
+    private void traceHttp(long traceStart, long correlationId, String template, Object result) {
+        if (traceStart >= 0) {
+            tracer.complete("http " + template, CanvasTracer.CATEGORY_NETWORK, traceStart, correlationId, "result", result);
+        }
+    }
+
+    private static boolean hasLinkHeader(Response response) {
+        for (Header header : response.getHeaders()) {
+            if ("link".equalsIgnoreCase(header.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reports how many bytes were read once the body hits the end or is closed.
+     */
+    private abstract static class CountingTypedInput implements TypedInput {
+        private final TypedInput body;
+        private boolean reported = false;
+
+        CountingTypedInput(TypedInput body) {
+            this.body = body;
+        }
+
+        abstract void onRead(long bytes);
+
+        @Override
+        public String mimeType() {
+            return body.mimeType();
+        }
+
+        @Override
+        public long length() {
+            return body.length();
+        }
+
+        @Override
+        public InputStream in() throws IOException {
+            return new FilterInputStream(body.in()) {
+                private long count = 0;
+
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b == -1) {
+                        report(count);
+                    } else {
+                        count++;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read == -1) {
+                        report(count);
+                    } else {
+                        count += read;
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    report(count);
+                    super.close();
+                }
+            };
+        }
+
+        private synchronized void report(long count) {
+            if (!reported) {
+                reported = true;
+                onRead(count);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.instructure.canvasapi.core;
+
+import java.lang.reflect.Type;
+
+import retrofit.RetrofitError;
+import retrofit.converter.ConversionException;
+import retrofit.converter.Converter;
+import retrofit.mime.TypedInput;
+import retrofit.mime.TypedOutput;
+
+/**
+ * A Converter wrapper that records how long each response takes to decode, and conversion errors.
+ * Only bodies that came through a MetricsClient on the same thread are measured.
+ * With a CanvasTracer each decode is also recorded as a "decode" span.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class MetricsConverter implements Converter {
+
+    private final Converter converter;
+    private final CanvasMetrics metrics;
+    private final CanvasTracer tracer;
+
+    public MetricsConverter(Converter converter, CanvasMetrics metrics) {
+        this(converter, metrics, null);
+    }
+
+    /**
+     * @param converter
+     * @param metrics Can be null if there's a tracer.
+     * @param tracer Records a "decode" span per response. Optional.
+     */
+    public MetricsConverter(Converter converter, CanvasMetrics metrics, CanvasTracer tracer) {
+        if (converter == null || (metrics == null && tracer == null)) {
+            throw new IllegalArgumentException("converter and one of metrics or tracer cannot be null");
+        }
+        this.converter = converter;
+        this.metrics = metrics;
+        this.tracer = tracer;
+    }
+
+    public Converter getConverter() {
+        return converter;
+    }
+
+    @Override
+    public Object fromBody(TypedInput body, Type type) throws ConversionException {
+        CanvasMetrics.RequestContext requestContext = CanvasMetrics.CURRENT.get();
+        String template = requestContext.endpointTemplate;
+        long correlationId = requestContext.requestCorrelationId;
+        //A request decodes its body once. Don't leave it on the thread for the next one.
+        requestContext.endRequest();
+        boolean measure = metrics != null && metrics.isEnabled();
+        long traceStart = tracer != null ? tracer.now() : -1;
+        if (template == null || (!measure && traceStart < 0)) {
+            return converter.fromBody(body, type);
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            return converter.fromBody(body, type);
+        } catch (ConversionException e) {
+            if (measure) {
+                metrics.recordError(template, RetrofitError.Kind.CONVERSION);
+            }
+            throw e;
+        } finally {
+            if (measure) {
+                metrics.recordLatency(template, CanvasMetrics.Phase.DECODE, System.currentTimeMillis() - start);
+            }
+            if (traceStart >= 0) {
+                tracer.complete("decode " + template, CanvasTracer.CATEGORY_NETWORK, traceStart, correlationId);
+            }
+        }
+    }
+
+    @Override
+    public TypedOutput toBody(Object object) {
+        return converter.toBody(object);
+    }
+}
@@ -0,0 +1,60 @@
+package com.instructure.canvasapi.core;
+
+import java.util.concurrent.Executor;
+
+/**
+ * An Executor wrapper for the http executor that lets MetricsClient measure how long each request
+ * waited for a thread.
+ *
+ * With a CanvasTracer it also records the wait as a "queue" span and carries the submitting thread's
+ * pending correlation id over to the http thread.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class MetricsExecutor implements Executor {
+
+    private final Executor executor;
+    private final CanvasTracer tracer;
+
+    public MetricsExecutor(Executor executor) {
+        this(executor, null);
+    }
+
+    /**
+     * @param executor
+     * @param tracer Optional
+     */
+    public MetricsExecutor(Executor executor, CanvasTracer tracer) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        this.executor = executor;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void execute(final Runnable runnable) {
+        final long queuedAt = System.currentTimeMillis();
+        final long traceStart = tracer != null ? tracer.now() : -1;
+        final long correlationId = CanvasTracer.takePendingCorrelationId();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (traceStart >= 0) {
+                    tracer.complete("queue", CanvasTracer.CATEGORY_NETWORK, traceStart, correlationId);
+                }
+
+                CanvasMetrics.RequestContext requestContext = CanvasMetrics.CURRENT.get();
+                requestContext.queuedAt = queuedAt;
+                requestContext.correlationId = correlationId;
+                try {
+                    runnable.run();
+                } finally {
+                    requestContext.queuedAt = -1;
+                    requestContext.endRequest();
+                    requestContext.correlationId = CanvasTracer.NO_CORRELATION_ID;
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.instructure.canvasapi.core;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ModelCompactor calls compact() on every Compactable model right after Gson decodes it.
+ *
+ * Models allocate their lists up front so they're never null, and Gson then replaces most of them or leaves
+ * them empty. Compacting trims every ArrayList to its size, so a page of Assignments doesn't keep five
+ * spare 10 slot arrays per item. An empty ArrayList trims to the shared empty array, and stays mutable.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class ModelCompactor implements TypeAdapterFactory {
+
+    public interface Compactable {
+        /**
+         * Called once after the model is decoded.
+         */
+        void compact();
+    }
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!Compactable.class.isAssignableFrom(type.getRawType())) {
+            return null;
+        }
+
+        final TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        return new TypeAdapter<T>() {
+            @Override
+            public void write(JsonWriter out, T value) throws IOException {
+                delegate.write(out, value);
+            }
+
+            @Override
+            public T read(JsonReader in) throws IOException {
+                T value = delegate.read(in);
+                if (value != null) {
+                    ((Compactable) value).compact();
+                }
+                return value;
+            }
+        };
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return list trimmed to size, or an empty list with no backing slots if list is null.
+     */
+    public static <T> List<T> compact(List<T> list) {
+        if (list == null) {
+            return new ArrayList<T>(0);
+        }
+        if (list instanceof ArrayList) {
+            ((ArrayList<T>) list).trimToSize();
+        }
+        return list;
+    }
+
+    /**
+     * Same as compact(), and interns each value. For lists of enum-like values such as submission_types.
+     */
+    public static List<String> compactStrings(List<String> list) {
+        list = compact(list);
+        for (int i = 0; i < list.size(); i++) {
+            list.set(i, InternedStringAdapter.intern(list.get(i)));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,272 @@
+package com.instructure.canvasapi.core;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.model.Author;
+import com.instructure.canvasapi.model.BasicUser;
+import com.instructure.canvasapi.model.CanvasModel;
+import com.instructure.canvasapi.model.Course;
+import com.instructure.canvasapi.model.DiscussionParticipant;
+import com.instructure.canvasapi.model.User;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ModelIdentityMap makes Gson return one instance per (model class, id) instead of a new copy every time
+ * the same entity shows up. Every StreamItem embeds its user and assignment, every Submission its
+ * Assignment and every DiscussionEntry its author, so a long list can otherwise hold hundreds of equal copies.
+ *
+ * Each entity is decoded straight from the stream, then hashed by writing it back out through a Writer that
+ * only keeps a hash, so no JsonElement tree is built. The kept instance is only reused if the new copy hashes
+ * the same. When Canvas sends a changed copy, it takes over the entry; lists that already hold the old
+ * instance keep it. Entries are weak, so an entity nothing else holds can still be collected.
+ *
+ * Instances are shared, so treat decoded models as read only while this is enabled. A setter called on one
+ * is seen by every list that holds it.
+ *
+ * Disabled by default. CanvasRestAdapter.getGSONParser() always registers the shared map, so enabling it
+ * takes effect for the static APIs and the cache right away.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class ModelIdentityMap implements TypeAdapterFactory {
+
+    public final static List<Class<? extends CanvasModel<?>>> DEFAULT_TYPES = Arrays.<Class<? extends CanvasModel<?>>>asList(
+            User.class, BasicUser.class, Author.class, DiscussionParticipant.class, Course.class, Assignment.class);
+
+    private final static long FNV_OFFSET = 0xcbf29ce484222325L;
+    private final static long FNV_PRIME = 0x100000001b3L;
+
+    private final Set<Class<?>> types;
+    private final Map<Key, Instance> instances = new HashMap<Key, Instance>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<Object>();
+
+    private volatile boolean enabled = false;
+    private long hits = 0;
+    private long misses = 0;
+
+    public ModelIdentityMap() {
+        this(DEFAULT_TYPES);
+    }
+
+    /**
+     * @param types Exact classes to deduplicate. Subclasses aren't included.
+     */
+    public ModelIdentityMap(List<Class<? extends CanvasModel<?>>> types) {
+        this.types = new HashSet<Class<?>>(types);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Getters and Setters
+    ///////////////////////////////////////////////////////////////////////////
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    /**
+     * @return How many decoded entities were replaced by an instance already in the map.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return How many entries are in the map. Includes collected ones that haven't been purged yet.
+     */
+    public synchronized int size() {
+        purge();
+        return instances.size();
+    }
+
+    public synchronized void clear() {
+        instances.clear();
+        hits = 0;
+        misses = 0;
+        purge();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // TypeAdapterFactory
+    ///////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!types.contains(type.getRawType())) {
+            return null;
+        }
+
+        final Class<?> rawType = type.getRawType();
+        final TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+
+        return new TypeAdapter<T>() {
+            @Override
+            public void write(JsonWriter out, T value) throws IOException {
+                delegate.write(out, value);
+            }
+
+            @Override
+            public T read(JsonReader in) throws IOException {
+                if (!enabled || in.peek() != JsonToken.BEGIN_OBJECT) {
+                    return delegate.read(in);
+                }
+
+                T value = delegate.read(in);
+                //Only CanvasModel types are registered.
+                long id = ((CanvasModel<?>) value).getId();
+                if (id <= 0) {
+                    return value;
+                }
+
+                Key key = new Key(rawType, id);
+                HashingWriter hashingWriter = new HashingWriter();
+                delegate.write(new JsonWriter(hashingWriter), value);
+                long hash = hashingWriter.hash;
+
+                T instance = ModelIdentityMap.this.<T>get(key, hash);
+                if (instance == null) {
+                    put(key, hash, value);
+                    return value;
+                }
+                return instance;
+            }
+        };
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Map
+    ///////////////////////////////////////////////////////////////////////////
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> T get(Key key, long hash) {
+        Instance instance = instances.get(key);
+        if (instance != null && instance.hash == hash) {
+            Object value = instance.get();
+            if (value != null) {
+                hits++;
+                return (T) value;
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    private synchronized void put(Key key, long hash, Object value) {
+        purge();
+        instances.put(key, new Instance(key, hash, value, collected));
+    }
+
+    //Drops the entries whose instance was collected.
+    private void purge() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            Instance instance = (Instance) reference;
+            if (instances.get(instance.key) == instance) {
+                instances.remove(instance.key);
+            }
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * 64 bit FNV-1a over everything written to it. Two versions of the same entity colliding is the only way
+     * a stale instance could be handed out, so 32 bits isn't enough.
+     */
+    private static class HashingWriter extends Writer {
+        private long hash = FNV_OFFSET;
+
+        @Override
+        public void write(int c) {
+            hash = (hash ^ (c & 0xffff)) * FNV_PRIME;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            long h = hash;
+            for (int i = offset; i < offset + length; i++) {
+                h = (h ^ buffer[i]) * FNV_PRIME;
+            }
+            hash = h;
+        }
+
+        @Override
+        public void write(String value, int offset, int length) {
+            long h = hash;
+            for (int i = offset; i < offset + length; i++) {
+                h = (h ^ value.charAt(i)) * FNV_PRIME;
+            }
+            hash = h;
+        }
+
+        @Override
+        public void flush() { }
+
+        @Override
+        public void close() { }
+    }
+
+    private static class Key {
+        private final Class<?> type;
+        private final long id;
+
+        Key(Class<?> type, long id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + (int) (id ^ (id >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return type == other.type && id == other.id;
+        }
+    }
+
+    private static class Instance extends WeakReference<Object> {
+        private final Key key;
+        private final long hash;
+
+        Instance(Key key, long hash, Object value, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.key = key;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.instructure.canvasapi.core;
+
+import android.content.Context;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * The user facing strings and date formats a few models build (Assignment, ScheduleItem, StreamItem...).
+ * On Android they come from the library's resources, which core can't see, so the models go through this port.
+ *
+ * The Android library's AndroidModelResources is picked up on its own. Anywhere else the default is English
+ * strings and the JVM's date formats, or call setInstance() with your own.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public abstract class ModelResources {
+
+    private final static String ANDROID_IMPLEMENTATION = "com.instructure.canvasapi.utilities.AndroidModelResources";
+
+    public enum Key {
+        ONLINE("Online"),
+        ON_PAPER("On Paper"),
+        NONE("None"),
+        DISCUSSION("Discussion"),
+        DISCUSSION_TOPIC("Discussion Topic"),
+        QUIZ("Quiz"),
+        ONLINE_QUIZ("Online Quiz"),
+        EXTERNAL_TOOL("External Tool"),
+        ONLINE_UPLOAD("Online Upload"),
+        ONLINE_TEXT_ENTRY("Online Text Entry"),
+        ONLINE_URL("Online URL"),
+        MEDIA_RECORDING("Media Recording"),
+        ATTENDANCE("Attendance"),
+        NOT_GRADED("Not Graded"),
+        PASS_FAIL("Pass Fail"),
+        PERCENT("Percent"),
+        LETTER_GRADE("Letter Grade"),
+        POINTS("Points"),
+        GPA_SCALE("GPA Scale"),
+        MESSAGE("Message"),
+        LOADING("Loading\u2026"),
+        DELETED("Deleted"),
+        ALL_DAY_EVENT("All Day Event"),
+        STARTS("Starts"),
+        ENDS("Ends"),
+        TO("to");
+
+        private final String english;
+
+        Key(String english) {
+            this.english = english;
+        }
+
+        public String getEnglish() {
+            return english;
+        }
+    }
+
+    private static ModelResources instance;
+
+    public static synchronized ModelResources getInstance() {
+        if (instance == null) {
+            instance = loadDefault();
+        }
+        return instance;
+    }
+
+    public static synchronized void setInstance(ModelResources modelResources) {
+        instance = modelResources;
+    }
+
+    private static ModelResources loadDefault() {
+        try {
+            return (ModelResources) Class.forName(ANDROID_IMPLEMENTATION).newInstance();
+        } catch (Exception E) {
+            //Not on Android.
+            return new English();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Resources
+    ///////////////////////////////////////////////////////////////////////////
+
+    public abstract String getString(Context context, Key key);
+
+    /**
+     * @return The signed in user's domain, without the protocol or trailing slashes.
+     */
+    public abstract String getDomain(Context context);
+
+    public abstract String getFormattedDate(Context context, Date date);
+
+    public abstract String getFormattedTime(Context context, Date date);
+
+    public String getDateTimeString(Context context, Date date) {
+        return getFormattedDate(context, date) + " " + getFormattedTime(context, date);
+    }
+
+    public String createPrefixedDateString(Context context, Key prefix, Date date) {
+        return getString(context, prefix) + ": " + getFormattedDate(context, date);
+    }
+
+    public String createPrefixedDateTimeString(Context context, Key prefix, Date date) {
+        return getString(context, prefix) + ": " + getDateTimeString(context, date);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Default
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * English strings and the default locale's medium date format. There's no signed in domain.
+     */
+    public static class English extends ModelResources {
+
+        @Override
+        public String getString(Context context, Key key) {
+            return key.getEnglish();
+        }
+
+        @Override
+        public String getDomain(Context context) {
+            return "";
+        }
+
+        @Override
+        public String getFormattedDate(Context context, Date date) {
+            return DateFormat.getDateInstance(DateFormat.MEDIUM).format(date);
+        }
+
+        @Override
+        public String getFormattedTime(Context context, Date date) {
+            return new SimpleDateFormat("hh:mm a", Locale.getDefault()).format(date);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.instructure.canvasapi.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import retrofit.client.Client;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedByteArray;
+import retrofit.mime.TypedInput;
+
+/**
+ * A Retrofit Client wrapper that lets the PageSizeController size each first page and
+ * reports the size and latency of every JSON array response back to it.
+ *
+ * Every paginated request leaves with exactly one per_page. Next pages are requested as "/{next}"
+ * plus the method's own query, so Retrofit appends a second '?' and the interceptor's per_page after
+ * the one in the Link header, and Rails keeps the last one. Next pages keep the per_page from their
+ * Link header so the chain doesn't skip or repeat items. First pages get the controller's value.
+ *
+ * When the controller is disabled only the per_page is fixed up. Nothing is resized or buffered.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class PageSizeClient implements Client {
+
+    private final static String PER_PAGE = "per_page=";
+    private final static String PAGE = "page=";
+
+    private final Client client;
+    private final PageSizeController controller;
+    private final int defaultPerPage;
+
+    public PageSizeClient(Client client, PageSizeController controller) {
+        this(client, controller, CoreRestAdapter.DEFAULT_PER_PAGE);
+    }
+
+    /**
+     * @param defaultPerPage Used when a request's per_page isn't a number.
+     */
+    public PageSizeClient(Client client, PageSizeController controller, int defaultPerPage) {
+        this.client = client;
+        this.controller = controller;
+        this.defaultPerPage = defaultPerPage;
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        String url = request.getUrl();
+        PagedUrl pagedUrl = PagedUrl.parse(url);
+
+        //Nothing to learn from requests that aren't paginated.
+        if (pagedUrl == null) {
+            return client.execute(request);
+        }
+
+        boolean enabled = controller.isEnabled();
+        String template = PageSizeController.getEndpointTemplate(url);
+        String perPage;
+        if (pagedUrl.isNextPage()) {
+            perPage = pagedUrl.firstPerPage;
+        } else if (enabled) {
+            perPage = Integer.toString(controller.getPageSize(template, parsePerPage(pagedUrl.lastPerPage)));
+        } else {
+            perPage = pagedUrl.lastPerPage;
+        }
+
+        String normalized = pagedUrl.toUrl(perPage);
+        if (!normalized.equals(url)) {
+            request = new Request(request.getMethod(), normalized, request.getHeaders(), request.getBody());
+        }
+
+        if (!enabled) {
+            return client.execute(request);
+        }
+
+        long start = System.currentTimeMillis();
+        Response response = client.execute(request);
+
+        TypedInput body = response.getBody();
+        if (body == null || response.getStatus() < 200 || response.getStatus() >= 300) {
+            return response;
+        }
+
+        byte[] bytes = readBody(body);
+        long latency = System.currentTimeMillis() - start;
+
+        controller.recordResponse(template, countTopLevelItems(bytes), bytes.length, latency);
+
+        return new Response(response.getUrl(), response.getStatus(), response.getReason(), response.getHeaders(),
+                new TypedByteArray(body.mimeType(), bytes));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * normalizePerPage returns the url with any stray '?' in its query turned into '&', empty params
+     * dropped and a single per_page. Next pages keep the first per_page, which came from the Link header.
+     *
+     * @param url
+     * @return The url unchanged if it has no per_page.
+     */
+    public static String normalizePerPage(String url) {
+        PagedUrl pagedUrl = PagedUrl.parse(url);
+        if (pagedUrl == null) {
+            return url;
+        }
+        return pagedUrl.toUrl(pagedUrl.isNextPage() ? pagedUrl.firstPerPage : pagedUrl.lastPerPage);
+    }
+
+    private int parsePerPage(String perPage) {
+        try {
+            return Integer.parseInt(perPage);
+        } catch (NumberFormatException E) {
+            return defaultPerPage;
+        }
+    }
+
+    /**
+     * A url split into everything but per_page, and the per_page values it had.
+     */
+    private static class PagedUrl {
+        private final String base;
+        private final ArrayList<String> params = new ArrayList<String>();
+        private String firstPerPage;
+        private String lastPerPage;
+        private boolean nextPage;
+
+        private PagedUrl(String base) {
+            this.base = base;
+        }
+
+        /**
+         * @return null if the url has no per_page.
+         */
+        private static PagedUrl parse(String url) {
+            int queryStart = url.indexOf('?');
+            if (queryStart == -1 || url.indexOf(PER_PAGE, queryStart) == -1) {
+                return null;
+            }
+
+            PagedUrl pagedUrl = new PagedUrl(url.substring(0, queryStart));
+            int length = url.length();
+            int start = queryStart + 1;
+            while (start <= length) {
+                int end = start;
+                while (end < length && url.charAt(end) != '&' && url.charAt(end) != '?') {
+                    end++;
+                }
+                if (end > start) {
+                    String param = url.substring(start, end);
+                    if (param.startsWith(PER_PAGE)) {
+                        String value = param.substring(PER_PAGE.length());
+                        if (pagedUrl.firstPerPage == null) {
+                            pagedUrl.firstPerPage = value;
+                        }
+                        pagedUrl.lastPerPage = value;
+                    } else {
+                        if (param.startsWith(PAGE)) {
+                            pagedUrl.nextPage = true;
+                        }
+                        pagedUrl.params.add(param);
+                    }
+                }
+                start = end + 1;
+            }
+            return pagedUrl.firstPerPage == null ? null : pagedUrl;
+        }
+
+        private boolean isNextPage() {
+            return nextPage;
+        }
+
+        private String toUrl(String perPage) {
+            StringBuilder builder = new StringBuilder(base);
+            char separator = '?';
+            for (String param : params) {
+                builder.append(separator).append(param);
+                separator = '&';
+            }
+            builder.append(separator).append(PER_PAGE).append(perPage);
+            return builder.toString();
+        }
+    }
+
+    private static byte[] readBody(TypedInput body) throws IOException {
+        if (body instanceof TypedByteArray) {
+            return ((TypedByteArray) body).getBytes();
+        }
+
+        InputStream inputStream = body.in();
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(body.length() > 0 ? (int) body.length() : 4096);
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * countTopLevelItems counts the elements of a JSON array without parsing it.
+     *
+     * @param json
+     * @return the number of elements, or 0 if the body isn't a JSON array.
+     */
+    public static int countTopLevelItems(byte[] json) {
+        int depth = 0;
+        int count = 0;
+        boolean inString = false;
+        boolean sawValue = false;
+
+        for (int i = 0; i < json.length; i++) {
+            byte b = json[i];
+
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (b) {
+                case '"':
+                    inString = true;
+                    sawValue = true;
+                    break;
+                case '[':
+                case '{':
+                    if (depth == 0 && b != '[') {
+                        return 0;
+                    }
+                    depth++;
+                    if (depth > 1) {
+                        sawValue = true;
+                    }
+                    break;
+                case ']':
+                case '}':
+                    depth--;
+                    if (depth == 0) {
+                        return sawValue ? count + 1 : count;
+                    }
+                    break;
+                case ',':
+                    if (depth == 1) {
+                        count++;
+                    }
+                    break;
+                case ' ':
+                case '\n':
+                case '\r':
+                case '\t':
+                    break;
+                default:
+                    if (depth == 0) {
+                        return 0;
+                    }
+                    sawValue = true;
+                    break;
+            }
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,205 @@
+package com.instructure.canvasapi.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * PageSizeController picks the per_page value for each endpoint template.
+ *
+ * It keeps a running average of bytes per item and milliseconds per item for every
+ * endpoint template (e.g. courses/{id}/assignments) and sizes the next first page so the
+ * response lands near the target size and time. Small objects like Tabs get big pages,
+ * heavy objects like Submissions with history get small ones.
+ *
+ * Pinned values win over the adaptive value. A disabled controller always returns the default.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class PageSizeController {
+
+    //Canvas won't return more than 100 items per page regardless of what we ask for.
+    public final static int CANVAS_MAX_PER_PAGE = 100;
+    public final static int MIN_PER_PAGE = 10;
+
+    public final static long DEFAULT_TARGET_BYTES = 256 * 1024;
+    public final static long DEFAULT_TARGET_MILLIS = 1500;
+
+    //Weight of the newest sample in the running averages.
+    private final static double SMOOTHING = 0.3;
+
+    private final Map<String, EndpointStats> stats = new HashMap<String, EndpointStats>();
+    private final Map<String, Integer> pinned = new HashMap<String, Integer>();
+
+    private boolean enabled = false;
+    private long targetBytes = DEFAULT_TARGET_BYTES;
+    private long targetMillis = DEFAULT_TARGET_MILLIS;
+    private int maxPerPage = CANVAS_MAX_PER_PAGE;
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Getters and Setters
+    ///////////////////////////////////////////////////////////////////////////
+
+    public synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * When disabled every endpoint uses the default per_page from CanvasRestAdapter and pins are ignored.
+     * @param enabled
+     */
+    public synchronized void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public synchronized long getTargetBytes() {
+        return targetBytes;
+    }
+
+    public synchronized void setTargetBytes(long targetBytes) {
+        if (targetBytes > 0) {
+            this.targetBytes = targetBytes;
+        }
+    }
+
+    public synchronized long getTargetMillis() {
+        return targetMillis;
+    }
+
+    public synchronized void setTargetMillis(long targetMillis) {
+        if (targetMillis > 0) {
+            this.targetMillis = targetMillis;
+        }
+    }
+
+    public synchronized int getMaxPerPage() {
+        return maxPerPage;
+    }
+
+    /**
+     * Sets the upper bound. Useful for Canvas instances that have raised or lowered the server max.
+     * @param maxPerPage
+     */
+    public synchronized void setMaxPerPage(int maxPerPage) {
+        if (maxPerPage >= MIN_PER_PAGE) {
+            this.maxPerPage = maxPerPage;
+        }
+    }
+
+    /**
+     * Pins the per_page for an endpoint template. Pinned values only apply while the controller is enabled.
+     * @param endpointTemplate A template from getEndpointTemplate(url), e.g. "courses/{id}/assignments"
+     * @param perPage
+     */
+    public synchronized void pin(String endpointTemplate, int perPage) {
+        if (endpointTemplate == null || perPage <= 0) {
+            return;
+        }
+        pinned.put(endpointTemplate, perPage);
+    }
+
+    public synchronized void unpin(String endpointTemplate) {
+        pinned.remove(endpointTemplate);
+    }
+
+    /**
+     * Forgets everything learned so far. Pinned values are kept.
+     */
+    public synchronized void reset() {
+        stats.clear();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Page Size
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * getPageSize returns the per_page to use for the given template.
+     *
+     * @param endpointTemplate
+     * @param defaultPerPage The value to fall back to when there are no samples yet.
+     * @return
+     */
+    public synchronized int getPageSize(String endpointTemplate, int defaultPerPage) {
+        if (!enabled) {
+            return defaultPerPage;
+        }
+
+        Integer pinnedValue = pinned.get(endpointTemplate);
+        if (pinnedValue != null) {
+            return pinnedValue;
+        }
+
+        EndpointStats endpointStats = stats.get(endpointTemplate);
+        if (endpointStats == null) {
+            return defaultPerPage;
+        }
+
+        double bySize = endpointStats.bytesPerItem > 0 ? targetBytes / endpointStats.bytesPerItem : maxPerPage;
+        double byTime = endpointStats.millisPerItem > 0 ? targetMillis / endpointStats.millisPerItem : maxPerPage;
+
+        int perPage = (int) Math.floor(Math.min(bySize, byTime));
+        return Math.max(MIN_PER_PAGE, Math.min(maxPerPage, perPage));
+    }
+
+    /**
+     * recordResponse feeds a completed page back into the controller.
+     *
+     * @param endpointTemplate
+     * @param itemCount Number of items in the page. Ignored if 0 or less.
+     * @param bytes Size of the response body.
+     * @param latencyMillis Time from sending the request until the body was read.
+     */
+    public synchronized void recordResponse(String endpointTemplate, int itemCount, long bytes, long latencyMillis) {
+        if (endpointTemplate == null || itemCount <= 0 || bytes < 0 || latencyMillis < 0) {
+            return;
+        }
+
+        double bytesPerItem = (double) bytes / itemCount;
+        double millisPerItem = (double) latencyMillis / itemCount;
+
+        EndpointStats endpointStats = stats.get(endpointTemplate);
+        if (endpointStats == null) {
+            endpointStats = new EndpointStats();
+            endpointStats.bytesPerItem = bytesPerItem;
+            endpointStats.millisPerItem = millisPerItem;
+            stats.put(endpointTemplate, endpointStats);
+        } else {
+            endpointStats.bytesPerItem += SMOOTHING * (bytesPerItem - endpointStats.bytesPerItem);
+            endpointStats.millisPerItem += SMOOTHING * (millisPerItem - endpointStats.millisPerItem);
+        }
+        endpointStats.samples++;
+    }
+
+    public synchronized double getBytesPerItem(String endpointTemplate) {
+        EndpointStats endpointStats = stats.get(endpointTemplate);
+        return endpointStats == null ? 0 : endpointStats.bytesPerItem;
+    }
+
+    public synchronized int getSampleCount(String endpointTemplate) {
+        EndpointStats endpointStats = stats.get(endpointTemplate);
+        return endpointStats == null ? 0 : endpointStats.samples;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * getEndpointTemplate turns a request url into a template so that every course (or user, or group)
+     * shares the same stats.
+     *
+     * https://x.instructure.com/api/v1/courses/123/assignments?per_page=30 becomes courses/{id}/assignments
+     *
+     * @param url
+     * @return
+     */
+    public static String getEndpointTemplate(String url) {
+        return UrlHelpers.getEndpointTemplate(url);
+    }
+
+    private static class EndpointStats {
+        double bytesPerItem;
+        double millisPerItem;
+        int samples;
+    }
+}
@@ -0,0 +1,406 @@
+package com.instructure.canvasapi.core;
+
+import java.io.Closeable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * PagedIterator walks every item of a paginated endpoint without holding the whole collection in memory.
+ *
+ * Pages are pulled as the items are consumed. With a prefetch executor the next pages are fetched in the
+ * background while the current one is being read. At most maxBufferedPages are fetched (or being fetched)
+ * ahead of the page being read. Without one, each page is fetched on the calling thread when the previous
+ * one runs out.
+ *
+ * Always close() an iterator you stop reading early. One that's dropped without it stops prefetching once
+ * it's garbage collected.
+ *
+ * For parallel work, split() cuts the endpoint into contiguous page ranges once the last page is known from
+ * the Link headers. Each range is its own PagedIterator and can be drained on its own thread.
+ *
+ * Since Iterator can't throw checked exceptions, a failed page is thrown as a PageFetchException that wraps
+ * the CanvasException.
+ *
+ * Usage:
+ *
+ *      PagedIterator<Submission> submissions = new PagedIterator<Submission>(blockingClient,
+ *              "courses/1/students/submissions?student_ids[]=all", Submission[].class, 2, executor);
+ *      try {
+ *          while (submissions.hasNext()) {
+ *              process(submissions.next());
+ *          }
+ *      } finally {
+ *          submissions.close();
+ *      }
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class PagedIterator<T> implements Iterator<T>, Closeable {
+
+    private final static Object END = new Object();
+
+    //How often a blocked producer checks whether its iterator was dropped.
+    private final static long OWNER_CHECK_MILLIS = 1000;
+
+    private final BlockingClient client;
+    private final Class<T[]> type;
+    private final PageSource<T> source;
+    private final int maxBufferedPages;
+    private final Executor prefetchExecutor;
+
+    private BlockingQueue<Object> queue;
+    private Semaphore permits;
+    private FutureTask<Void> producer;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private boolean done = false;
+
+    private T[] current;
+    private int index;
+    private int pagesRead = 0;
+
+    /**
+     * @param client
+     * @param path The first page, relative to /api/v1/
+     * @param type e.g. Submission[].class
+     * @param maxBufferedPages How many fetched pages can wait to be read. At least 1.
+     * @param prefetchExecutor Fetches pages in the background, or null to fetch on the calling thread.
+     */
+    public PagedIterator(BlockingClient client, String path, Class<T[]> type, int maxBufferedPages, Executor prefetchExecutor) {
+        this(client, type, new LinkSource<T>(null, path), maxBufferedPages, prefetchExecutor);
+    }
+
+    private PagedIterator(BlockingClient client, Class<T[]> type, PageSource<T> source, int maxBufferedPages, Executor prefetchExecutor) {
+        if (client == null || type == null) {
+            throw new IllegalArgumentException("client and type cannot be null");
+        }
+        this.client = client;
+        this.type = type;
+        this.source = source;
+        this.maxBufferedPages = Math.max(1, maxBufferedPages);
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator
+    ///////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public boolean hasNext() {
+        while (current == null || index >= current.length) {
+            if (done) {
+                return false;
+            }
+
+            Object next = takePage();
+            if (next == END) {
+                done = true;
+                current = null;
+                return false;
+            }
+            if (next instanceof CanvasException) {
+                done = true;
+                current = null;
+                throw new PageFetchException((CanvasException) next);
+            }
+
+            @SuppressWarnings("unchecked")
+            BlockingClient.Page<T> page = (BlockingClient.Page<T>) next;
+            current = page.getItems();
+            index = 0;
+            pagesRead++;
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = current[index];
+        //Let the page go as soon as it's read.
+        current[index++] = null;
+        return item;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Stops prefetching and drops any buffered pages.
+     */
+    @Override
+    public void close() {
+        closed.set(true);
+        done = true;
+        current = null;
+        if (producer != null) {
+            producer.cancel(true);
+        }
+        if (queue != null) {
+            queue.clear();
+        }
+    }
+
+    /**
+     * @return How many pages have been handed to the caller so far.
+     */
+    public int getPagesRead() {
+        return pagesRead;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Splitting
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Fetches the first page and, if the Link headers give a numbered last page, cuts the endpoint into at most
+     * maxParts contiguous page ranges. The ranges cover every page exactly once and, read in order, give the
+     * same items as a single iterator.
+     *
+     * Endpoints that paginate with bookmarks (no numbered last page) can't be split and come back as one iterator.
+     *
+     * @param client
+     * @param path The first page, relative to /api/v1/
+     * @param type
+     * @param maxParts
+     * @param maxBufferedPages Per iterator.
+     * @param prefetchExecutor Per iterator, or null.
+     * @return
+     * @throws CanvasException If the first page fails.
+     */
+    public static <T> List<PagedIterator<T>> split(BlockingClient client, String path, Class<T[]> type, int maxParts,
+                                                   int maxBufferedPages, Executor prefetchExecutor) throws CanvasException {
+        BlockingClient.Page<T> firstPage = client.getPage(path, type);
+        List<PagedIterator<T>> parts = new ArrayList<PagedIterator<T>>();
+
+        String nextURL = firstPage.getNextURL();
+        int lastPage = firstPage.getLinkHeaders().lastPage;
+
+        if (nextURL == null || lastPage < 2 || maxParts < 2 || firstPage.getLinkHeaders().nextPage != 2) {
+            parts.add(new PagedIterator<T>(client, type, new LinkSource<T>(firstPage, nextURL), maxBufferedPages, prefetchExecutor));
+            return parts;
+        }
+
+        //Page 1 is already here, so it goes with the first range.
+        int partCount = Math.min(maxParts, lastPage);
+        int start = 1;
+        for (int i = 0; i < partCount; i++) {
+            int end = start + (lastPage - start + 1) / (partCount - i) - 1;
+
+            List<String> paths = new ArrayList<String>();
+            for (int page = Math.max(start, 2); page <= end; page++) {
+                paths.add(UrlHelpers.setQueryParam(nextURL, "page", Integer.toString(page)));
+            }
+            BlockingClient.Page<T> seed = start == 1 ? firstPage : null;
+            parts.add(new PagedIterator<T>(client, type, new ListSource<T>(seed, paths), maxBufferedPages, prefetchExecutor));
+
+            start = end + 1;
+        }
+        return parts;
+    }
+
+    // Returns the numbered page of a url, or -1.
+    static int parsePage(String url) {
+        if (url == null) {
+            return -1;
+        }
+        return LinkHeaderParser.getNumberParam(url, 0, url.length(), "page");
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Fetching
+    ///////////////////////////////////////////////////////////////////////////
+
+    private Object takePage() {
+        if (prefetchExecutor == null) {
+            try {
+                return source.hasMore() ? source.fetch(client, type) : END;
+            } catch (CanvasException e) {
+                return e;
+            }
+        }
+
+        if (producer == null) {
+            startProducer();
+        }
+        try {
+            Object next = queue.take();
+            //Taken off the buffer, so the producer can fetch one more.
+            permits.release();
+            return next;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new PageFetchException(new CanvasException(null, "Interrupted while waiting for a page", e));
+        }
+    }
+
+    private void startProducer() {
+        queue = new LinkedBlockingQueue<Object>();
+        permits = new Semaphore(maxBufferedPages);
+        producer = new FutureTask<Void>(new Producer<T>(this, client, type, source, queue, permits, closed), null);
+        prefetchExecutor.execute(producer);
+    }
+
+    /**
+     * Fetches pages into the queue, taking a permit before each one. It only holds its iterator weakly, so an
+     * iterator that's dropped without close() can still be collected, and the producer gives up once it is.
+     */
+    private static class Producer<T> implements Runnable {
+        private final WeakReference<PagedIterator<T>> owner;
+        private final BlockingClient client;
+        private final Class<T[]> type;
+        private final PageSource<T> source;
+        private final BlockingQueue<Object> queue;
+        private final Semaphore permits;
+        private final AtomicBoolean closed;
+
+        Producer(PagedIterator<T> owner, BlockingClient client, Class<T[]> type, PageSource<T> source,
+                 BlockingQueue<Object> queue, Semaphore permits, AtomicBoolean closed) {
+            this.owner = new WeakReference<PagedIterator<T>>(owner);
+            this.client = client;
+            this.type = type;
+            this.source = source;
+            this.queue = queue;
+            this.permits = permits;
+            this.closed = closed;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Object result = END;
+                try {
+                    while (!closed.get() && source.hasMore()) {
+                        if (!acquire()) {
+                            return;
+                        }
+                        queue.put(source.fetch(client, type));
+                    }
+                } catch (CanvasException e) {
+                    result = e;
+                }
+                //The end marker doesn't take a permit. The reader is never waiting on more than one of them.
+                if (!closed.get()) {
+                    queue.put(result);
+                }
+            } catch (InterruptedException e) {
+                //Closed
+            }
+        }
+
+        /**
+         * @return false if the iterator was closed or collected while waiting for room.
+         */
+        private boolean acquire() throws InterruptedException {
+            while (!permits.tryAcquire(OWNER_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (closed.get() || owner.get() == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Page Sources
+    ///////////////////////////////////////////////////////////////////////////
+
+    private interface PageSource<T> {
+        boolean hasMore();
+        BlockingClient.Page<T> fetch(BlockingClient client, Class<T[]> type) throws CanvasException;
+    }
+
+    /**
+     * Follows the next links.
+     */
+    private static class LinkSource<T> implements PageSource<T> {
+        private BlockingClient.Page<T> seed;
+        private String nextPath;
+
+        LinkSource(BlockingClient.Page<T> seed, String nextPath) {
+            this.seed = seed;
+            this.nextPath = nextPath;
+        }
+
+        @Override
+        public synchronized boolean hasMore() {
+            return seed != null || nextPath != null;
+        }
+
+        @Override
+        public synchronized BlockingClient.Page<T> fetch(BlockingClient client, Class<T[]> type) throws CanvasException {
+            if (seed != null) {
+                BlockingClient.Page<T> page = seed;
+                seed = null;
+                return page;
+            }
+            BlockingClient.Page<T> page = client.getPage(nextPath, type);
+            nextPath = page.getNextURL();
+            return page;
+        }
+    }
+
+    /**
+     * Fetches a fixed range of numbered pages.
+     */
+    private static class ListSource<T> implements PageSource<T> {
+        private BlockingClient.Page<T> seed;
+        private final List<String> paths;
+        private int position = 0;
+
+        ListSource(BlockingClient.Page<T> seed, List<String> paths) {
+            this.seed = seed;
+            this.paths = paths;
+        }
+
+        @Override
+        public synchronized boolean hasMore() {
+            return seed != null || position < paths.size();
+        }
+
+        @Override
+        public synchronized BlockingClient.Page<T> fetch(BlockingClient client, Class<T[]> type) throws CanvasException {
+            if (seed != null) {
+                BlockingClient.Page<T> page = seed;
+                seed = null;
+                return page;
+            }
+            BlockingClient.Page<T> page = client.getPage(paths.get(position), type);
+            position++;
+            return page;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Exceptions
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Thrown from hasNext() and next() when a page fails.
+     */
+    public static class PageFetchException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public PageFetchException(CanvasException cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        public CanvasException getCanvasException() {
+            return (CanvasException) getCause();
+        }
+    }
+}
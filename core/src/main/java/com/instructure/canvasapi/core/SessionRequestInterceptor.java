@@ -0,0 +1,55 @@
+package com.instructure.canvasapi.core;
+
+import retrofit.RequestInterceptor;
+
+/**
+ * Injects the user agent and token, and handles masquerading and per_page, for a CanvasSession.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class SessionRequestInterceptor implements RequestInterceptor {
+
+    private final CanvasSession session;
+    private final boolean addPerPageQueryParam;
+    private final int perPage;
+
+    public SessionRequestInterceptor(CanvasSession session, boolean addPerPageQueryParam, int perPage) {
+        this.session = session;
+        this.addPerPageQueryParam = addPerPageQueryParam;
+        this.perPage = perPage;
+    }
+
+    @Override
+    public void intercept(RequestFacade requestFacade) {
+
+        final String token = session.getToken();
+        final String userAgent = session.getUserAgent();
+        final String domain = session.getProtocol() + "://" + session.getDomain();
+
+        //Set the UserAgent
+        if (userAgent != null && !userAgent.equals("")) {
+            requestFacade.addHeader("User-Agent", userAgent);
+        }
+
+        //Authenticate if possible
+        if (token != null && !token.equals("")) {
+            requestFacade.addHeader("Authorization", "Bearer " + token);
+        }
+
+        requestFacade.addHeader("Cache-Control", "no-cache");
+        //Some schools use an LTI tool called SlideShare that whitelists domains to be able to inject content into assignments.
+        //They check the referrer in order to do this.
+        requestFacade.addHeader("Referer", domain);
+
+        //Masquerade if necessary
+        long masqueradeId = session.getMasqueradeId();
+        if (masqueradeId != -1) {
+            requestFacade.addQueryParam("as_user_id", Long.toString(masqueradeId));
+        }
+
+        if (addPerPageQueryParam) {
+            //Sets the per_page count so we can get back more items with less round-trip calls.
+            requestFacade.addQueryParam("per_page", Integer.toString(perPage));
+        }
+    }
+}
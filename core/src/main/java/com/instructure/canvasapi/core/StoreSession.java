@@ -0,0 +1,74 @@
+package com.instructure.canvasapi.core;
+
+/**
+ * A CanvasSession kept in a KeyValueStore. Uses the same keys as APIHelpers.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class StoreSession implements CanvasSession {
+
+    public final static String KEY_DOMAIN = "domain";
+    public final static String KEY_TOKEN = "token";
+    public final static String KEY_USER_AGENT = "user_agent";
+    public final static String KEY_API_PROTOCOL = "api_protocol";
+    public final static String KEY_MASQUERADE_ID = "masqueradeId";
+
+    private final KeyValueStore store;
+
+    public StoreSession(KeyValueStore store) {
+        this.store = store;
+    }
+
+    public KeyValueStore getStore() {
+        return store;
+    }
+
+    /**
+     * Short hand for setting the domain, protocol and token.
+     *
+     * @return false if the token or domain are empty.
+     */
+    public boolean setup(String domain, String token) {
+        if (token == null || token.equals("") || domain == null || domain.equals("")) {
+            return false;
+        }
+
+        String protocol = domain.startsWith("http://") ? "http" : "https";
+        return store.putString(KEY_DOMAIN, UrlHelpers.removeProtocol(domain))
+                && store.putString(KEY_TOKEN, token)
+                && store.putString(KEY_API_PROTOCOL, protocol);
+    }
+
+    @Override
+    public String getDomain() {
+        return UrlHelpers.removeTrailingSlashes(store.getString(KEY_DOMAIN, ""));
+    }
+
+    @Override
+    public String getProtocol() {
+        return store.getString(KEY_API_PROTOCOL, "https");
+    }
+
+    @Override
+    public String getToken() {
+        return store.getString(KEY_TOKEN, "");
+    }
+
+    public boolean setUserAgent(String userAgent) {
+        return store.putString(KEY_USER_AGENT, userAgent);
+    }
+
+    @Override
+    public String getUserAgent() {
+        return store.getString(KEY_USER_AGENT, "");
+    }
+
+    public boolean setMasqueradeId(long masqueradeId) {
+        return store.putLong(KEY_MASQUERADE_ID, masqueradeId);
+    }
+
+    @Override
+    public long getMasqueradeId() {
+        return store.getLong(KEY_MASQUERADE_ID, -1);
+    }
+}
@@ -0,0 +1,153 @@
+package com.instructure.canvasapi.core;
+
+/**
+ * Url helpers that don't need a Context.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class UrlHelpers {
+
+    public final static String API_PREFIX = "/api/v1/";
+
+    /**
+     * removeDomainFromUrl is a helper function for removing the domain from a url. Used for pagination/routing
+     * @param url
+     * @return
+     */
+    public static String removeDomainFromUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        int index = url.indexOf(API_PREFIX);
+        if (index != -1) {
+            url = url.substring(index + API_PREFIX.length());
+        }
+        return url;
+    }
+
+    public static String removeProtocol(String domain) {
+        if (domain.contains("https://")) {
+            return domain.substring(8);
+        }
+        if (domain.startsWith("http://")) {
+            return domain.substring(7);
+        }
+        return domain;
+    }
+
+    public static String removeTrailingSlashes(String domain) {
+        while (domain != null && domain.endsWith("/")) {
+            domain = domain.substring(0, domain.length() - 1);
+        }
+        return domain;
+    }
+
+    /**
+     * getFullDomain returns the protocol plus the domain, or "" if either isn't set.
+     */
+    public static String getFullDomain(CanvasSession session) {
+        String protocol = session.getProtocol();
+        String domain = session.getDomain();
+
+        if (protocol == null || domain == null || protocol.equals("") || domain.equals("")) {
+            return "";
+        }
+
+        return protocol + "://" + domain;
+    }
+
+    /**
+     * getQueryParam returns the raw value of a query param, or null if the url doesn't have it.
+     */
+    public static String getQueryParam(String url, String name) {
+        int start = findQueryParam(url, name);
+        if (start == -1) {
+            return null;
+        }
+        int end = url.indexOf('&', start);
+        return url.substring(start, end == -1 ? url.length() : end);
+    }
+
+    /**
+     * setQueryParam replaces the value of a query param, or adds it if the url doesn't have it.
+     */
+    public static String setQueryParam(String url, String name, String value) {
+        int start = findQueryParam(url, name);
+        if (start == -1) {
+            return url + (url.indexOf('?') == -1 ? '?' : '&') + name + "=" + value;
+        }
+        int end = url.indexOf('&', start);
+        return url.substring(0, start) + value + (end == -1 ? "" : url.substring(end));
+    }
+
+    // Returns the index of the param's value, or -1.
+    private static int findQueryParam(String url, String name) {
+        int index = url.indexOf('?');
+        while (index != -1) {
+            if (url.startsWith(name + "=", index + 1)) {
+                return index + 1 + name.length() + 1;
+            }
+            index = url.indexOf('&', index + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * getEndpointTemplate turns a request url into a template so that every course (or user, or group)
+     * shares the same stats.
+     *
+     * https://x.instructure.com/api/v1/courses/123/assignments?per_page=30 becomes courses/{id}/assignments
+     *
+     * @param url
+     * @return
+     */
+    public static String getEndpointTemplate(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        String path = removeDomainFromUrl(url);
+        int queryIndex = path.indexOf('?');
+        if (queryIndex != -1) {
+            path = path.substring(0, queryIndex);
+        }
+
+        StringBuilder template = new StringBuilder(path.length());
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = path.length();
+            }
+
+            if (end > start) {
+                if (template.length() > 0) {
+                    template.append('/');
+                }
+                if (isIdSegment(path, start, end)) {
+                    template.append("{id}");
+                } else {
+                    template.append(path, start, end);
+                }
+            }
+            start = end + 1;
+        }
+
+        return template.toString();
+    }
+
+    // Canvas ids are numeric, but can also be "self" or sis/global ids with a ~ in them.
+    private static boolean isIdSegment(String path, int start, int end) {
+        if (path.regionMatches(start, "self", 0, 4) && end - start == 4) {
+            return true;
+        }
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if ((c < '0' || c > '9') && c != '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
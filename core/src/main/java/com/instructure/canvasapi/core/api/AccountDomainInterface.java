@@ -0,0 +1,24 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.AccountDomain;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2015 Instructure. All rights reserved.
+ */
+public interface AccountDomainInterface {
+
+    @GET("/accounts/search")
+    void getFirstPageAccountDomains(Callback<AccountDomain[]> callback);
+
+    @GET("/{next}")
+    void getNextPageAccountDomains(@Path(value = "next", encode = false) String nextURL, Callback<AccountDomain[]> callback);
+
+    @GET("/accounts/search")
+    void searchAccountDomains(@Query("name") String campusName, @Query("domain") String domain, @Query("latitude") float latitude, @Query("longitude") float longitude, Callback<AccountDomain[]> callback);
+
+}
@@ -0,0 +1,21 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.AccountNotification;
+
+import retrofit.Callback;
+import retrofit.http.DELETE;
+import retrofit.http.GET;
+import retrofit.http.Path;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface AccountNotificationInterface {
+
+    @GET("/accounts/self/users/self/account_notifications")
+    void getAccountNotifications(Callback<AccountNotification[]> callback);
+
+    @DELETE("/accounts/self/users/self/account_notifications/{account_notification_id}")
+    void deleteAccountNotification(@Path("account_notification_id") long account_notification_id, Callback<AccountNotification> callback);
+
+}
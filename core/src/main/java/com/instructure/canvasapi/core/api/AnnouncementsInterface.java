@@ -0,0 +1,18 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.DiscussionTopicHeader;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.Path;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface AnnouncementsInterface {
+    @GET("/{context_id}/discussion_topics?only_announcements=1")
+    void getFirstPageAnnouncementsList(@Path("context_id") long context_id, Callback<DiscussionTopicHeader[]> callback);
+
+    @GET("/{next}")
+    void getNextPageAnnouncementsList(@Path(value = "next", encode = false) String nextURL, Callback<DiscussionTopicHeader[]> callback);
+}
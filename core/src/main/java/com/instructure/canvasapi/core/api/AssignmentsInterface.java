@@ -0,0 +1,61 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.model.AssignmentGroup;
+import com.instructure.canvasapi.model.ScheduleItem;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.PUT;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface AssignmentsInterface {
+    @GET("/courses/{course_id}/assignments/{assignmentid}?include[]=submission&include[]=rubric_assessment&needs_grading_count_by_section=true&include[]=all_dates")
+    void getAssignment(@Path("course_id") long course_id, @Path("assignmentid") long assignment_id, Callback<Assignment> callback);
+
+    @GET("/courses/{course_id}/assignments?include[]=submission&include[]=rubric_assessment&needs_grading_count_by_section=true&include[]=all_dates")
+    void getAssignmentsList(@Path("course_id") long course_id, Callback<Assignment[]> callback);
+
+    @GET("/{next}")
+    void getNextPageAssignmentsList(@Path(value = "next", encode = false) String nextURL, Callback<Assignment[]>callback);
+
+    @GET("/courses/{course_id}/assignment_groups")
+    void getAssignmentGroupList(@Path("course_id") long course_id, Callback<AssignmentGroup[]> callback);
+
+    @GET("/courses/{course_id}/assignment_groups?include[]=assignments&include[]=discussion_topic&override_assignment_dates=true")
+    void getAssignmentGroupListWithAssignments(@Path("course_id") long course_id, Callback<AssignmentGroup[]> callback);
+
+    @GET("/calendar_events/{event_id}")
+    void getCalendarEvent(@Path("event_id") long event_id, Callback<ScheduleItem> callback);
+
+    @GET("/calendar_events?start_date=1990-01-01&end_date=2099-12-31")
+    void getCalendarEvents(@Query("context_codes[]") String context_id, Callback<ScheduleItem[]> callback);
+
+    @PUT("/courses/{course_id}/assignments/{assignment_id}")
+    void editAssignment(@Path("course_id") long courseId, @Path("assignment_id") long assignmentId,
+                        @Query("assignment[name]") String assignmentName,
+                        @Query("assignment[assignment_group_id]") Long assignmentGroupId,
+                        @Query(value = "assignment[submission_types][]", encodeValue = false) String submissionTypes,
+                        @Query("assignment[peer_reviews]") Integer hasPeerReviews,
+                        @Query("assignment[group_category_id]") Long groupId,
+                        @Query("assignment[points_possible]") Double pointsPossible,
+                        @Query("assignment[grading_type]") String gradingType,
+                        @Query("assignment[due_at]") String dueAt,
+                        @Query("assignment[description]") String description,
+                        @Query("assignment[notify_of_update]") Integer notifyOfUpdate,
+                        @Query("assignment[unlock_at]")String unlockAt,
+                        @Query("assignment[lock_at]") String lockAt,
+                        @Query(value = "assignment[html_url]", encodeValue = false) String htmlUrl,
+                        @Query(value = "assignment[url]", encodeValue = false) String url,
+                        @Query("assignment[quiz_id]") Long quizId,
+                        @Query(value = "assignment[muted]", encodeValue = false) boolean isMuted,
+                        Callback<Assignment> callback);
+
+    @GET("/courses/{course_id}/assignments?include[]=submission&include[]=rubric_assessment&needs_grading_count_by_section=true&include[]=all_dates")
+    void getAssignmentsWithBucket(@Path("course_id") long course_id, @Query("bucket") String bucket_type, Callback<Assignment[]> callback);
+
+}
@@ -0,0 +1,20 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.Avatar;
+import com.instructure.canvasapi.model.User;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.PUT;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface AvatarsInterface{
+    @GET("/users/self/avatars")
+    void getFirstPageOfAvatarList( Callback<Avatar[]> callback);
+
+    @PUT("/users/self")
+    void updateAvatar(@Query("user[avatar][url]") String avatarURL, Callback<User> callback);
+}
@@ -0,0 +1,49 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.ScheduleItem;
+
+import retrofit.Callback;
+import retrofit.http.EncodedQuery;
+import retrofit.http.GET;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface CalendarEventsInterface {
+    @GET("/calendar_events/{event_id}")
+    void getCalendarEvent(@Path("event_id") long event_id, Callback<ScheduleItem> callback);
+
+    @GET("/calendar_events?start_date=1990-01-01&end_date=2099-12-31")
+    void getCalendarEvents(@Query("context_codes[]") String context_id, Callback<ScheduleItem[]> callback);
+
+    @GET("/users/self/upcoming_events")
+    void getUpcomingEvents(Callback<ScheduleItem[]> callback);
+
+    @GET("/{next}")
+    void getNextPageCalendarEvents(@Path(value = "next", encode = false) String nextURL, Callback<ScheduleItem[]> callback);
+
+    @GET("/calendar_events/")
+    void getCalendarEvents(
+            @Query("all_events") boolean allEvents,
+            @Query("type") String type,
+            @EncodedQuery("context_codes[]") String contextCodes,
+            Callback<ScheduleItem[]> callback);
+
+    @GET("/calendar_events/")
+    void getCalendarEvents(
+            @Query("all_events") boolean allEvents,
+            @Query("type") String type,
+            @Query("start_date") String startDate,
+            @Query("end_date") String endDate,
+            @EncodedQuery("context_codes[]") String contextCodes,
+            Callback<ScheduleItem[]> callback);
+
+    /////////////////////////////////////////////////////////////////////////////
+    // Synchronous
+    /////////////////////////////////////////////////////////////////////////////
+
+    @GET("/users/self/upcoming_events")
+    ScheduleItem[] getUpcomingEvents();
+}
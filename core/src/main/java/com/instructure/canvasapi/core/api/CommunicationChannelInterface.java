@@ -0,0 +1,16 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.CommunicationChannel;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.Path;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface CommunicationChannelInterface {
+
+    @GET("/users/{user_id}/communication_channels")
+    void getCommunicationChannels(@Path("user_id") long userId, Callback<CommunicationChannel[]> callback);
+}
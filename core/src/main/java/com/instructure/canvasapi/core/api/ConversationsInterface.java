@@ -0,0 +1,69 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.Conversation;
+
+import retrofit.Callback;
+import retrofit.client.Response;
+import retrofit.http.DELETE;
+import retrofit.http.EncodedQuery;
+import retrofit.http.GET;
+import retrofit.http.POST;
+import retrofit.http.PUT;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface ConversationsInterface {
+    @GET("/conversations/?interleave_submissions=1")
+    void getFirstPageConversationList(@Query("scope") String scope, Callback<Conversation[]> callback);
+
+
+    @GET("/{next}")
+    void getNextPageConversationList(@Path(value = "next", encode = false) String nextURL, Callback<Conversation[]>callback);
+
+    @GET("/conversations/{id}/?interleave_submissions=1")
+    void getDetailedConversation(@Path("id") long conversation_id, @Query("auto_mark_as_read") int markAsRead, Callback<Conversation> callback);
+
+    @POST("/conversations/{id}/add_message")
+    void addMessageToConversation(@Path("id")long conversation_id, @Query("body")String message, Callback<Conversation> callback);
+
+    @POST("/conversations?mode=sync")
+    void createConversation(@EncodedQuery("recipients[]") String recipients, @Query("body") String message, @Query("group_conversation") int group, Callback<Response> callback);
+
+    @DELETE("/conversations/{conversationid}")
+    void deleteConversation(@Path("conversationid")long conversationID, Callback<Response>responseCallback);
+
+    @PUT("/conversations/{conversationid}?conversation[workflow_state]=unread")
+    void markConversationAsUnread(@Path("conversationid")long conversationID, Callback<Response>responseCallback);
+
+    @PUT("/conversations/{conversationid}?conversation[workflow_state]=archived")
+    void archiveConversation(@Path("conversationid")long conversationID, Callback<Response>responseCallback);
+
+    @PUT("/conversations/{conversationid}?conversation[workflow_state]=read")
+    void unArchiveConversation(@Path("conversationid")long conversationID, Callback<Response>responseCallback);
+
+    @PUT("/conversations/{conversationid}")
+    void setIsStarred(@Path("conversationid")long conversationID, @Query("conversation[starred]") boolean isStarred, Callback<Conversation>responseCallback);
+
+    @PUT("/conversations/{conversationid}")
+    void setIsSubscribed(@Path("conversationid")long conversationID, @Query("conversation[subscribed]") boolean isSubscribed, Callback<Conversation>responseCallback);
+
+    @PUT("/conversations/{conversationid}")
+    void setSubject(@Path("conversationid")long conversationID, @Query("conversation[subject]") String subject, Callback<Conversation>responseCallback);
+
+    @PUT("/conversations/{conversationid}")
+    void setWorkflowState(@Path("conversationid")long conversationID, @Query("conversation[workflow_state]") String workflowState, Callback<Conversation>responseCallback);
+
+    /////////////////////////////////////////////////////////////////////////////
+    // Synchronous
+    /////////////////////////////////////////////////////////////////////////////
+
+    @GET("/conversations/?interleave_submissions=1")
+    Conversation[] getFirstPageConversationList(@Query("scope") String scope, @Query("per_page") int number);
+
+    @GET("/conversations/{id}/?interleave_submissions=1")
+    Conversation getDetailedConversationSynchronous(@Path("id") long conversation_id);
+
+}
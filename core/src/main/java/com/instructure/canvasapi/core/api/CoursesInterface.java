@@ -0,0 +1,71 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.Attachment;
+import com.instructure.canvasapi.model.Course;
+import com.instructure.canvasapi.model.Favorite;
+import com.instructure.canvasapi.model.FileUploadParams;
+
+import java.util.LinkedHashMap;
+
+import retrofit.Callback;
+import retrofit.http.DELETE;
+import retrofit.http.GET;
+import retrofit.http.Multipart;
+import retrofit.http.POST;
+import retrofit.http.PUT;
+import retrofit.http.Part;
+import retrofit.http.PartMap;
+import retrofit.http.Path;
+import retrofit.http.Query;
+import retrofit.mime.TypedFile;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface CoursesInterface {
+
+    @PUT("/courses/{courseid}")
+    void updateCourse(@Path("courseid") long courseID,
+                      @Query("course[name]") String name, @Query("course[course_code]") String courseCode,
+                      @Query("course[start_at]") String startAt, @Query("course[end_at]") String endAt,
+                      @Query("course[license]") String license, @Query("course[is_public]") Integer isPublic,
+                      Callback<Course> callback);
+
+    @GET("/courses/{courseid}?include[]=term&include[]=permissions&include[]=license&include[]=is_public&include[]=needs_grading_count")
+    void getCourse(@Path("courseid") long courseId, Callback<Course> callback);
+
+    @GET("/courses/{courseid}?include[]=term&include[]=permissions&include[]=license&include[]=is_public&include[]=needs_grading_count&include[]=total_scores")
+    void getCourseWithGrade(@Path("courseid") long courseId, Callback<Course> callback);
+
+    @GET("/courses/{courseid}?include[]=syllabus_body&include[]=term&include[]=license&include[]=is_public&include[]=permissions")
+    void getCourseWithSyllabus(@Path("courseid") long courseId, Callback<Course> callback);
+
+    // I don't see why we wouldn't want to always get the grades
+    @GET("/courses?include[]=term&include[]=total_scores&include[]=license&include[]=is_public&include[]=needs_grading_count&include[]=permissions")
+    void getFirstPageCourses(Callback<Course[]> callback);
+
+    @GET("/{next}?&include[]=needs_grading_count&include[]=permissions")
+    void getNextPageCourses(@Path(value = "next", encode = false) String nextURL, Callback<Course[]> callback);
+
+    @GET("/users/self/favorites/courses?include[]=term&include[]=total_scores&include[]=license&include[]=is_public&include[]=needs_grading_count&include[]=permissions")
+    void getFavoriteCourses(Callback<Course[]> callback);
+
+    @POST("/users/self/favorites/courses/{courseId}")
+    void addCourseToFavorites(@Path("courseId") long courseId, Callback<Favorite> callback);
+
+    @DELETE("/users/self/favorites/courses/{courseId}")
+    void removeCourseFromFavorites(@Path("courseId") long courseId, Callback<Favorite> callback);
+
+    /////////////////////////////////////////////////////////////////////////////
+    // Synchronous
+    /////////////////////////////////////////////////////////////////////////////
+    @GET("/courses?include[]=term&include[]=total_scores&include[]=license&include[]=is_public&include[]=permissions")
+    Course[] getCoursesSynchronous(@Query("page") int page);
+
+    @POST("/courses/{courseId}/files")
+    FileUploadParams getFileUploadParams(@Path("courseId") long courseId, @Query("parent_folder_id") Long parentFolderId, @Query("size") long size, @Query("name") String fileName, @Query("content_type") String content_type);
+
+    @Multipart
+    @POST("/")
+    Attachment uploadCourseFile(@PartMap LinkedHashMap<String, String> params, @Part("file") TypedFile file);
+}
@@ -0,0 +1,28 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.ColumnDatum;
+import com.instructure.canvasapi.model.CustomColumn;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.POST;
+import retrofit.http.PUT;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2015 Instructure. All rights reserved.
+ */
+public interface CustomGradebookInterface {
+    @GET("/courses/{course_id}/custom_gradebook_columns")
+    void getGradebookColumns(@Path("course_id") long courseId, Callback<CustomColumn[]> callback);
+
+    @POST("/courses/{course_id}/custom_gradebook_columns")
+    void createGradebookColumn(@Path("course_id") long courseId, @Query("column[title]") String title, @Query("column[position]") int position, @Query("column[hidden]") boolean isHidden, @Query("column[teacher_notes]") boolean isTeacherNotes, Callback<CustomColumn> callback);
+
+    @GET("/courses/{course_id}/custom_gradebook_columns/{column_id}/data")
+    void getColumnData(@Path("course_id") long courseId, @Path("column_id") long columnId, Callback<ColumnDatum[]> callback);
+
+    @PUT("/courses/{course_id}/custom_gradebook_columns/{column_id}/data/{user_id}")
+    void updateColumnData(@Path("course_id") long courseId, @Path("column_id") long columnId, @Path("user_id") long user_Id, @Query("column_data[content]") String content, Callback<ColumnDatum> callback);
+}
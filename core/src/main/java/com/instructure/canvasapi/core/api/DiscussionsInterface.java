@@ -0,0 +1,58 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.DiscussionEntry;
+import com.instructure.canvasapi.model.DiscussionTopic;
+import com.instructure.canvasapi.model.DiscussionTopicHeader;
+
+import retrofit.Callback;
+import retrofit.client.Response;
+import retrofit.http.GET;
+import retrofit.http.POST;
+import retrofit.http.PUT;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface DiscussionsInterface {
+    @GET("/{context_id}/discussion_topics")
+    void getFirstPageDiscussions(@Path("context_id") long course_id, Callback<DiscussionTopicHeader[]> callback);
+
+    @GET("/{context_id}/discussion_topics?scope=pinned")
+    void getFirstPagePinnedDiscussions(@Path("context_id") long course_id, Callback<DiscussionTopicHeader[]> callback);
+
+    @GET("/{next}")
+    void getNextPageDiscussions(@Path(value = "next", encode = false) String nextURL, Callback<DiscussionTopicHeader[]> callback);
+
+    @GET("/{context_id}/discussion_topics/{discussionid}")
+    void getDetailedDiscussion(@Path("context_id") long courseId, @Path("discussionid") long discussionId, Callback<DiscussionTopicHeader> callback);
+
+    @GET("/{context_id}/discussion_topics/{discussionid}/view")
+    void getFullDiscussionTopic(@Path("context_id") long courseId, @Path("discussionid") long discussionId, Callback<DiscussionTopic> callback);
+
+    @GET("/{context_id}/discussion_topics/{discussionid}/view?include_new_entries=1")
+    void getFullDiscussionTopicWithNewEntries(@Path("context_id") long courseId, @Path("discussionid") long discussionId, Callback<DiscussionTopic> callback);
+
+    @GET("/{context_id}/discussion_topics/")
+    void getFilteredDiscussionTopic(@Path("context_id") long courseId, @Query("search_term") String searchTerm, Callback<DiscussionTopicHeader[]> callback);
+
+    @POST("/{context_id}/discussion_topics/{discussionid}/entries/")
+    void postDiscussionEntry(@Path("context_id") long courseId, @Path("discussionid") long discussionId, @Query("message") String message, Callback<DiscussionEntry> callback);
+
+    @POST("/{context_id}/discussion_topics/{discussionid}/entries/{entryid}/replies")
+    void postDiscussionReply(@Path("context_id") long courseId, @Path("discussionid") long discussionId, @Path("entryid") long entryId, @Query("message")String message, Callback<DiscussionEntry> callback);
+
+    @POST("/{context_id}/discussion_topics/")
+    void postNewDiscussion(@Path("context_id")long courseId, @Query("title") String title, @Query("message")String message, @Query("is_announcement")int announcement, @Query("discussion_type")String discussion_type, Callback<DiscussionTopicHeader> callback);
+
+    @POST("/{context_id}/discussion_topics/")
+    void postNewDiscussionAndPublish(@Path("context_id")long courseId, @Query("title") String title, @Query("message")String message, @Query("is_announcement")int announcement, @Query("published") int isPublished, @Query("discussion_type")String discussion_type, Callback<DiscussionTopicHeader> callback);
+
+    @PUT("/{context_id}/discussion_topics/{topic_id}")
+    void updateDiscussionTopic(@Path("context_id") long courseId, @Path("topic_id") long topicId, @Query("title") String title, @Query("message")String message, @Query("published") int isPublished, @Query("discussion_type")String discussion_type, Callback<DiscussionTopicHeader> callback);
+
+    @POST("/{context_id}/discussion_topics/{discussionId}/entries/{entryId}/rating")
+    void rateDiscussionEntry(@Path("context_id") long courseId, @Path("discussionId") long discussionId, @Path("entryId") long entryId, @Query("rating") int rating, Callback<Response> callback);
+
+}
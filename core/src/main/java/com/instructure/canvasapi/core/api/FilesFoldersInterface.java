@@ -0,0 +1,35 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.FileFolder;
+
+import retrofit.Callback;
+import retrofit.client.Response;
+import retrofit.http.DELETE;
+import retrofit.http.GET;
+import retrofit.http.Path;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface FilesFoldersInterface {
+    @GET("/{context_id}/folders/root")
+    void getRootFolderForContext(@Path("context_id") long context_id, Callback<FileFolder> callback);
+
+    @GET("/self/folders/root")
+    void getRootUserFolder(Callback<FileFolder> callback);
+
+    @GET("/folders/{folderid}/folders")
+    void getFirstPageFolders(@Path("folderid") long folder_id, Callback<FileFolder[]> callback);
+
+    @GET("/folders/{folderid}/files")
+    void getFirstPageFiles(@Path("folderid") long folder_id, Callback<FileFolder[]> callback);
+
+    @GET("/{fileurl}")
+    void getFileFolderFromURL(@Path(value = "fileurl", encode = false) String fileURL, Callback<FileFolder> callback);
+
+    @GET("/{next}")
+    void getNextPageFileFoldersList(@Path(value = "next", encode = false) String nextURL, Callback<FileFolder[]> callback);
+
+    @DELETE("/files/{fileid}")
+    void deleteFile(@Path("fileid")long fileId, Callback<Response> callback);
+}
@@ -0,0 +1,39 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.Group;
+import com.instructure.canvasapi.model.GroupCategory;
+import com.instructure.canvasapi.model.User;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.POST;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface GroupCategoriesInterface {
+
+    @GET("/group_categories/{group_categories_id}/users")
+    void getUsersForGroupCategory(@Path("group_categories_id") long groupCategoryId, Callback<User[]> callback);
+
+    @GET("/courses/{course_id}/group_categories")
+    void getFirstPageGroupCategories(@Path("course_id") long courseId, Callback<GroupCategory[]> callback);
+
+    @GET("/{next}")
+    void getNextPageGroupCategories(@Path(value = "next", encode = false) String nextURL, Callback<GroupCategory[]> callback);
+
+    @POST("/courses/{course_id}/group_categories")
+    void createGroupCategoryForCourse(@Path("course_id") long courseId, @Query("name") String name, Callback<GroupCategory> callback);
+
+    @GET("/group_categories/{group_category_id}/groups")
+    void getFirstPageGroupsFromCategory(@Path("group_category_id") long groupCategoryId, Callback<Group[]> callback);
+
+    @GET("/group_categories/{group_category_id}/users")
+    void getFirstPageUsersInCategory(@Path("group_category_id") long groupCategoryId, @Query("unassigned") boolean onlyIncludeUnassigned, Callback<User[]> callback);
+
+    @GET("/{next}")
+    void getNextPageUsersInCategory(@Path(value = "next", encode = false) String nextURL, Callback<User[]> callback);
+
+}
@@ -0,0 +1,56 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.Group;
+import com.instructure.canvasapi.model.User;
+
+import retrofit.Callback;
+import retrofit.client.Response;
+import retrofit.http.DELETE;
+import retrofit.http.GET;
+import retrofit.http.POST;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface GroupsInterface {
+    @GET("/users/self/groups")
+    void getFirstPageGroups(Callback<Group[]> callback);
+
+    @GET("/courses/{courseid}/groups")
+    void getFirstPageGroupsInCourse(@Path("courseid") long courseId, Callback<Group[]> callback);
+
+    @GET("/{next}")
+    void getNextPageGroups(@Path(value = "next", encode = false)String nextURL, Callback<Group[]> callback);
+
+    @GET("/groups/{groupid}?include[]=permissions")
+    void getDetailedGroup(@Path("groupid") long groupId, Callback<Group> callback);
+
+    @GET("/groups/{groupid}/users")
+    void getGroupUsers(@Path("groupid") long groupId, Callback<User[]> callback);
+
+    @GET("/groups/{groupid}/users?include[]=avatar_url")
+    void getGroupUsersWithAvatars(@Path("groupid") long groupId, Callback<User[]> callback);
+
+    @GET("/{next}")
+    void getNextPageGroupUsers(@Path(value = "next", encode = false) String nextURL, Callback<User[]> callback);
+
+    @POST("/groups")
+    void createGroup(@Query("name") String name, @Query("is_public") boolean isPublic, Callback<Group> callback);
+
+    @DELETE("/groups/{groupid}")
+    void deleteGroup(@Path("groupid") long groupId, Callback<Response> callback);
+
+    @POST("/groups/{groupid}/memberships")
+    void createMembership(@Path("groupid") long groupId, @Query("user_id") String userId, Callback<Response> callback);
+
+    @POST("/group_categories/{group_category_id}/groups")
+    void createGroupWithCategory(@Path("group_category_id") long groupCategoryId, @Query("name") String name, @Query("is_public") boolean isPublic, Callback<Group> callback);
+    /////////////////////////////////////////////////////////////////////////////
+    // Synchronous
+    /////////////////////////////////////////////////////////////////////////////
+
+    @GET("/users/self/groups")
+    Group[] getGroupsSynchronous(@Query("page") int page);
+}
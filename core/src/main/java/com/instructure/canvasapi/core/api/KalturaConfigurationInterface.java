@@ -0,0 +1,20 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.KalturaConfig;
+import com.instructure.canvasapi.model.KalturaSession;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.POST;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface KalturaConfigurationInterface {
+    @GET("/services/kaltura")
+    void getKalturaConfigaration(Callback<KalturaConfig> callback);
+
+    @POST("/services/kaltura_session")
+    void startKalturaSession(Callback<KalturaSession> callback);
+
+}
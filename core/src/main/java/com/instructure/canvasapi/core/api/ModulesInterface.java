@@ -0,0 +1,30 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.ModuleItem;
+import com.instructure.canvasapi.model.ModuleObject;
+
+import retrofit.Callback;
+import retrofit.client.Response;
+import retrofit.http.GET;
+import retrofit.http.POST;
+import retrofit.http.Path;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface ModulesInterface {
+    @GET("/{context_id}/modules")
+    void getFirstPageModuleObjects(@Path("context_id") long context_id, Callback<ModuleObject[]> callback);
+
+    @GET("/{next}")
+    void getNextPageModuleObjectList(@Path(value = "next", encode = false) String nextURL, Callback<ModuleObject[]> callback);
+
+    @GET("/{context_id}/modules/{moduleid}/items")
+    void getFirstPageModuleItems(@Path("context_id") long context_id, @Path("moduleid") long moduleID, Callback<ModuleItem[]> callback);
+
+    @GET("/{next}")
+    void getNextPageModuleItemList(@Path(value = "next", encode = false) String nextURL, Callback<ModuleItem[]> callback);
+
+    @POST("/{context_id}/modules/{moduleid}/items/{itemid}/mark_read")
+    void markModuleItemRead(@Path("context_id") long context_id, @Path("moduleid") long module_id, @Path("itemid") long item_id, Callback<Response> callback);
+}
@@ -0,0 +1,35 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.NotificationPreferenceResponse;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.PUT;
+import retrofit.http.Path;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface NotificationPreferencesInterface {
+
+    @GET("/users/{user_id}/communication_channels/{communication_channel_id}/notification_preferences")
+    void getNotificationPreferences(@Path("user_id") long userId, @Path("communication_channel_id") long communicationChannelId, Callback<NotificationPreferenceResponse> callback);
+
+    @GET("/users/{user_id}/communication_channels/{type}/{address}/notification_preferences")
+    void getNotificationPreferencesForType(@Path("user_id") long userId, @Path("type") String type, @Path("address") String address, Callback<NotificationPreferenceResponse> callback);
+
+    @GET("/users/{user_id}/communication_channels/{communication_channel_id}/notification_preferences/{notification}")
+    void getSingleNotificationPreference(@Path("user_id") long userId, @Path("communication_channel_id") long communicationChannelId, @Path("notification") String notification, Callback<NotificationPreferenceResponse> callback);
+
+    @GET("/users/{user_id}/communication_channels/{type}/{address}/notification_preferences/{notification}")
+    void getSingleNotificationPreferencesForType(@Path("user_id") long userId, @Path("type") String type, @Path("address") String address, @Path("notification") String notification, Callback<NotificationPreferenceResponse> callback);
+
+    @PUT("/users/self/communication_channels/{communication_channel_id}/notification_preferences/{notification}")
+    void updateSingleNotificationPreference(@Path("communication_channel_id") long communicationChannelId, @Path("notification") String notification, Callback<NotificationPreferenceResponse> callback);
+
+    @PUT("/users/self/communication_channels/{type}/{address}/notification_preferences/{notification}")
+    void updateSingleNotificationPreferenceForType(@Path("type") String type, @Path("address") String address, @Path("notification") String notification, Callback<NotificationPreferenceResponse> callback);
+
+    @PUT("/users/self/communication_channels/{communication_channel_id}/notification_preferences{notification_preferences}")
+    void updateMultipleNotificationPreferences(@Path("communication_channel_id") long communicationChannelId, @Path(value = "notification_preferences", encode = false) String notifications, Callback<NotificationPreferenceResponse> callback);
+}
@@ -0,0 +1,22 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.OAuthToken;
+
+import retrofit.Callback;
+import retrofit.client.Response;
+import retrofit.http.DELETE;
+import retrofit.http.EncodedQuery;
+import retrofit.http.POST;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface OAuthInterface {
+    @DELETE("/login/oauth2/token")
+    void deleteToken(Callback<Response> callback);
+
+    @POST("/login/oauth2/token")
+    void getToken(@Query("client_id") String clientId, @Query("client_secret") String clientSecret, @Query("code") String oAuthRequest, @EncodedQuery("redirect_uri")String redirectURI, Callback<OAuthToken>canvasCallback);
+
+}
@@ -0,0 +1,24 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.Page;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.Path;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface PagesInterface {
+    @GET("/{context_id}/pages?sort=title&order=asc")
+    void getFirstPagePagesList(@Path("context_id") long context_id, Callback<Page[]> callback);
+
+    @GET("/{next}")
+    void getNextPagePagesList(@Path(value = "next", encode = false) String nextURL, Callback<Page[]> callback);
+
+    @GET("/{context_id}/pages/{pageid}")
+    void getDetailedPage(@Path("context_id") long context_id, @Path("pageid") String page_id, Callback<Page> callback);
+
+    @GET("/{context_id}/front_page")
+    void getFrontPage(@Path("context_id") long context_id, Callback<Page> callback);
+}
@@ -0,0 +1,35 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.PollChoiceResponse;
+
+import retrofit.Callback;
+import retrofit.client.Response;
+import retrofit.http.DELETE;
+import retrofit.http.GET;
+import retrofit.http.POST;
+import retrofit.http.PUT;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface PollChoiceInterface {
+    @GET("/polls/{pollid}/poll_choices")
+    void getFirstPagePollChoicesList(@Path("pollid") long poll_id, Callback<PollChoiceResponse> callback);
+
+    @GET("/{next}")
+    void getNextPagePollChoicesList(@Path(value = "next", encode = false) String nextURL, Callback<PollChoiceResponse> callback);
+
+    @GET("/polls/{pollid}/poll_choices/{poll_choice_id}")
+    void getSinglePollChoice(@Path("pollid") long poll_id, @Path("poll_choice_id") long poll_choice_id, Callback<PollChoiceResponse> callback);
+
+    @POST("/polls/{pollid}/poll_choices")
+    void createPollChoice(@Path("pollid") long poll_id, @Query("poll_choices[][text]") String pollChoiceText, @Query("poll_choices[][is_correct]") boolean isCorrect, @Query("poll_choices[][position]") int position, Callback<PollChoiceResponse> callback);
+
+    @PUT("/polls/{pollid}/poll_choices/{poll_choice_id}")
+    void updatePollChoice(@Path("pollid") long poll_id, @Path("poll_choice_id") long poll_choice_id, @Query("poll_choices[][text]") String pollChoiceText, @Query("poll_choices[][is_correct]") boolean isCorrect, @Query("poll_choices[][position]") int position, Callback<PollChoiceResponse> callback);
+
+    @DELETE("/polls/{pollid}/poll_choices/{poll_choice_id}")
+    void deletePollChoice(@Path("pollid") long poll_id, @Path("poll_choice_id") long poll_choice_id, Callback<Response> callback);
+}
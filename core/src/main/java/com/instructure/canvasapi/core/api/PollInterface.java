@@ -0,0 +1,35 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.PollResponse;
+
+import retrofit.Callback;
+import retrofit.client.Response;
+import retrofit.http.DELETE;
+import retrofit.http.GET;
+import retrofit.http.POST;
+import retrofit.http.PUT;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface PollInterface {
+    @GET("/polls")
+    void getFirstPagePollsList(Callback<PollResponse> callback);
+
+    @GET("/{next}")
+    void getNextPagePollsList(@Path(value = "next", encode = false) String nextURL, Callback<PollResponse> callback);
+
+    @GET("/polls/{pollid}")
+    void getSinglePoll(@Path("pollid") long poll_id, Callback<PollResponse> callback);
+
+    @POST("/polls")
+    void createPoll(@Query("polls[][question]") String pollTitle, Callback<PollResponse> callback);
+
+    @PUT("/polls/{pollid}")
+    void updatePoll(@Path("pollid") long poll_id, @Query("polls[][question]") String pollTitle, Callback<PollResponse> callback);
+
+    @DELETE("/polls/{pollid}")
+    void deletePoll(@Path("pollid") long poll_id, Callback<Response> callback);
+}
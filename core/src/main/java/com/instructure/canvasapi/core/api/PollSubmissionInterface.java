@@ -0,0 +1,21 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.PollSubmissionResponse;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.POST;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface PollSubmissionInterface {
+    @GET("/polls/{pollid}/poll_sessions/{poll_session_id}/poll_submissions/{poll_submission_id}")
+    void getPollSubmission(@Path("pollid") long poll_id, @Path("poll_session_id") long poll_session_id, @Path("poll_submission_id") long poll_submission_id, Callback<PollSubmissionResponse> callback);
+
+    @POST("/polls/{pollid}/poll_sessions/{poll_session_id}/poll_submissions/")
+    void createPollSubmission(@Path("pollid") long poll_id, @Path("poll_session_id") long poll_session_id, @Query("poll_submissions[][poll_choice_id]") long poll_choice_id, Callback<PollSubmissionResponse> callback);
+
+}
@@ -0,0 +1,23 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.Recipient;
+
+import retrofit.Callback;
+import retrofit.http.EncodedQuery;
+import retrofit.http.GET;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface RecipientsInterface {
+    @GET("/search/recipients?synthetic_contexts=1")
+    void getFirstPageRecipientsList(@Query("search") String searchTerm, @EncodedQuery("context")String context, Callback<Recipient[]> callback);
+
+    @GET("/search/recipients?synthetic_contexts=1")
+    void getFirstPageRecipientsListNoContext(@Query("search") String searchTerm, Callback<Recipient[]> callback);
+
+    @GET("/{next}")
+    void getNextPageRecipientsList(@Path(value = "next", encode = false) String nextURL, Callback<Recipient[]> callback);
+}
@@ -0,0 +1,38 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.Section;
+import com.instructure.canvasapi.model.Submission;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.PUT;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface SectionsInterface {
+
+    @PUT("{courseid}/sections/{sectionid}")
+    void updateSection(@Path("courseid") long courseID, @Path("sectionid") long sectionID,
+            @Query("course_section[name]") String name,
+            @Query("course_section[start_at]") String startAt, @Query("course_section[end_at]") String endAt,
+            Callback<Section> callback
+    );
+
+    @GET("/{courseid}/sections")
+    void getFirstPageSectionsList(@Path("courseid") long courseID, Callback<Section[]> callback);
+
+    @GET("/{courseid}/sections?include[]=students&include[]=avatar_url")
+    void getCourseSectionsWithStudents(@Path("courseid") long courseID, Callback<Section[]> callback);
+
+    @GET("/{next}")
+    void getNextPageSectionsList(@Path(value = "next", encode = false) String nextURL, Callback<Section[]> callback);
+
+    @GET("/courses/{courseid}/sections/{sectionid}")
+    void getSingleSection(@Path("courseid") long courseID, @Path("sectionid") long sectionID, Callback<Section> callback);
+
+    @GET("/{section_id}/assignments/{assignment_id}/submissions")
+    void getAssignmentSubmissionsForSection(@Path("section_id") long section_id, @Path("assignment_id") long assignment_id, Callback<Submission[]> callback);
+}
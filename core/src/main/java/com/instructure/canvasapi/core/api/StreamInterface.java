@@ -0,0 +1,34 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.HiddenStreamItem;
+import com.instructure.canvasapi.model.StreamItem;
+
+import retrofit.Callback;
+import retrofit.http.DELETE;
+import retrofit.http.GET;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface StreamInterface {
+    @GET("/users/self/activity_stream")
+    void getUserStream(Callback<StreamItem[]> callback);
+
+    @DELETE("/users/self/activity_stream/{streamID}")
+    void hideStreamItem(@Path("streamID")long streamID, Callback<HiddenStreamItem> callback);
+
+    @GET("/{context_id}/activity_stream")
+    void getContextStream(@Path("context_id") long context_id, Callback<StreamItem[]> callback);
+
+    @GET("/{next}")
+    void getNextPageStream(@Path(value = "next", encode = false) String nextURL, Callback<StreamItem[]> callback);
+
+    /////////////////////////////////////////////////////////////////////////////
+    // Synchronous
+    /////////////////////////////////////////////////////////////////////////////
+
+    @GET("/users/self/activity_stream")
+    StreamItem[] getUserStreamSynchronous(@Query("per_page") int number);
+}
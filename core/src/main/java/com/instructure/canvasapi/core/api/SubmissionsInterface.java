@@ -0,0 +1,93 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.Attachment;
+import com.instructure.canvasapi.model.FileUploadParams;
+import com.instructure.canvasapi.model.LTITool;
+import com.instructure.canvasapi.model.StudentSubmission;
+import com.instructure.canvasapi.model.Submission;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.LinkedHashMap;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.Multipart;
+import retrofit.http.POST;
+import retrofit.http.PUT;
+import retrofit.http.Part;
+import retrofit.http.PartMap;
+import retrofit.http.Path;
+import retrofit.http.Query;
+import retrofit.http.QueryMap;
+import retrofit.mime.TypedFile;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface SubmissionsInterface {
+    @GET("/{context_id}/assignments/{assignmentID}/submissions?include[]=submission_comments")
+    void getSubmissionsWithComments(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, Callback<Submission[]> callback);
+
+    @GET("/{context_id}/assignments/{assignmentID}/submissions?include[]=submission_history")
+    void getSubmissionsWithHistory(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, Callback<Submission[]> callback);
+
+    @GET("/{context_id}/assignments/{assignmentID}/submissions?include[]=submission_comments&include[]=submission_history")
+    void getSubmissionsWithCommentsAndHistory(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, Callback<Submission[]> callback);
+
+    @GET("/{context_id}/assignments/{assignmentID}/submissions?include[]=submission_comments&include[]=submission_history&include[]=rubric_assessment&include[]=user")
+    void getSubmissionsWithCommentsHistoryAndRubric(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, Callback<Submission[]> callback);
+
+    @GET("/{context_id}/assignments/{assignmentID}/submissions/{submissionID}?include[]=rubric_assessment")
+    void getSubmission(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, @Path("submissionID") long submissionID, Callback<Submission> callback);
+
+    @GET("/{context_id}/assignments/{assignmentID}/submissions/{submissionID}?include[]=rubric_assessment&include[]=submission_comments&include[]=submission_history")
+    void getSubmissionWithCommentsAndHistory(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, @Path("submissionID") long userID, Callback<Submission> callback);
+
+    @GET("/{context_id}/students/submissions?include[]=assignment")
+    void getSubmissionsForMultipleStudents(@Path("context_id") long context_id, @Query("student_ids[]") String ids, Callback<Submission[]> callback);
+
+    @GET("/{context_id}/students/submissions?grouped=true&include[]=total_scores")
+    void getSubmissionsAndGradesForMultipleStudents(@Path("context_id") long context_id, @Query("student_ids[]") String ids, Callback<StudentSubmission[]> callback);
+
+    @GET("/{context_id}/students/submissions")
+    void getSubmissions(@Path("context_id") long context_id, Callback<Submission[]> callback);
+
+    @GET("/{next}")
+    void getNextPageSubmissions(@Path(value = "next", encode = false) String nextURL, Callback<Submission[]> callback);
+
+    @PUT("/{context_id}/assignments/{assignmentID}/submissions/{userID}")
+    void postSubmissionComment(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, @Path("userID") long userID, @Query("comment[text_comment]") String comment, Callback<Submission> callback);
+
+    @PUT("/{context_id}/assignments/{assignmentID}/submissions/{userID}")
+    void postMediaSubmissionComment(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, @Path("userID") long userID, @Query("comment[media_comment_id]") String media_id,
+                                    @Query("comment[media_comment_type]") String commentType, Callback<Submission> callback);
+    @POST("/{context_id}/assignments/{assignmentID}/submissions")
+    void postTextSubmission(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, @Query("submission[submission_type]") String submissionType, @Query("submission[body]") String text, Callback<Submission> callback);
+
+    @POST("/{context_id}/assignments/{assignmentID}/submissions")
+    void postURLSubmission(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, @Query("submission[submission_type]") String submissionType, @Query("submission[url]") String url, Callback<Submission> callback);
+
+    @POST("/{context_id}/assignments/{assignmentID}/submissions")
+    void postMediaSubmission(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, @Query("submission[submission_type]") String submissionType,
+                             @Query("submission[media_comment_id]") String kalturaId,@Query("submission[media_comment_type]") String mediaType, Callback<Submission> callback);
+
+    @GET("/{path}")
+    void getLTIFromAuthenticationURL(@Path(value = "path", encode = false) String url, Callback<LTITool> callback);
+
+    @PUT("/{context_id}/assignments/{assignmentID}/submissions/{userID}")
+    void postSubmissionRubricAssessmentMap(@Path("context_id") long context_id, @Path("assignmentID") long assignmentID, @Path("userID") long userID, @QueryMap Map<String, String> rubricAssessment, @Query("submission[posted_grade]") String assignmentScore, Callback<Submission> callback);
+
+    /////////////////////////////////////////////////////////////////////////////
+    // Synchronous
+    /////////////////////////////////////////////////////////////////////////////
+    @POST("/courses/{courseId}/assignments/{assignmentId}/submissions/self/files")
+    FileUploadParams getFileUploadParams(@Path("courseId") long courseId, @Path("assignmentId") long assignmentId, @Query("size") long size, @Query("name") String fileName, @Query("content_type") String content_type);
+
+    @Multipart
+    @POST("/")
+    Attachment uploadCourseFile(@PartMap LinkedHashMap<String, String> params, @Part("file") TypedFile file);
+
+    @POST("/courses/{courseId}/assignments/{assignmentID}/submissions")
+    Submission postSubmissionAttachments(@Path("courseId") long courseId, @Path("assignmentID") long assignmentID, @Query("submission[submission_type]") String submissionType, @Query("submission[file_ids][]") ArrayList<String> attachments);
+}
@@ -0,0 +1,21 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.Tab;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+import retrofit.http.PUT;
+import retrofit.http.Path;
+import retrofit.http.Query;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface TabsInterface {
+
+    @PUT("{/context_id}/tabs{tab_id}")
+    void updateTab(@Query("hidden") Integer hidden, @Query("position") Integer oneBasedIndexPosition, Callback<Tab> callback);
+
+    @GET("/{context_id}/tabs?include[]=external")
+    void getTabs(@Path("context_id") long context_id, Callback<Tab[]> callback);
+}
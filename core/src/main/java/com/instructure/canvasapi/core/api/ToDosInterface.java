@@ -0,0 +1,34 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.ToDo;
+
+import retrofit.Callback;
+import retrofit.client.Response;
+import retrofit.http.DELETE;
+import retrofit.http.GET;
+import retrofit.http.Path;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface ToDosInterface {
+    @GET("/users/self/todo")
+    void getUserTodos(Callback<ToDo[]> callback);
+
+    @GET("/{context_id}/todo")
+    void getCourseTodos(@Path("context_id") long context_id, Callback<ToDo[]> callback);
+
+    @DELETE("/{path}")
+    void dismissTodo(@Path(value = "path", encode = false)String path, Callback<Response>responseCallback);
+
+    /////////////////////////////////////////////////////////////////////////////
+    // Synchronous
+    /////////////////////////////////////////////////////////////////////////////
+
+    @GET("/{context_id}/todo")
+    ToDo[] getCourseTodos(@Path("context_id") long courseID);
+
+    @GET("/users/self/todo")
+    ToDo[] getUserTodos();
+
+}
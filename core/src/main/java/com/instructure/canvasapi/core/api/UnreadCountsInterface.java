@@ -0,0 +1,25 @@
+package com.instructure.canvasapi.core.api;
+
+import com.instructure.canvasapi.model.UnreadConversationCount;
+import com.instructure.canvasapi.model.UnreadNotificationCount;
+
+import retrofit.Callback;
+import retrofit.http.GET;
+
+/**
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public interface UnreadCountsInterface {
+    @GET("/conversations/unread_count")
+    void getUnreadConversationCount(Callback<UnreadConversationCount> callback);
+
+    @GET("/users/self/activity_stream/summary")
+    void getNotificationsCount(Callback<UnreadNotificationCount[]> callback);
+
+    /////////////////////////////////////////////////////////////////////////////
+    // Synchronous
+    /////////////////////////////////////////////////////////////////////////////
+
+    @GET("/conversations/unread_count")
+    UnreadConversationCount getUnreadConversationCountSynchronous();
+}
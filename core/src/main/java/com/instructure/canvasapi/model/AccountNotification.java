@@ -3,7 +3,7 @@ package com.instructure.canvasapi.model;
 import android.os.Parcel;
 
 import com.google.gson.annotations.SerializedName;
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.Date;
 
@@ -15,8 +15,6 @@ public class AccountNotification extends CanvasModel<AccountNotification> {
     public static final String ACCOUNT_NOTIFICATION_ERROR = "error";
     public static final String ACCOUNT_NOTIFICATION_CALENDAR = "calendar";
 
-
-
     @SerializedName("id")
     private long account_notification_id;
     private String subject;
@@ -47,14 +45,14 @@ public class AccountNotification extends CanvasModel<AccountNotification> {
         if(start_at == null) {
             return null;
         }
-        return APIHelpers.stringToDate(start_at);
+        return CanvasDates.stringToDate(start_at);
     }
 
     public Date getEndDate() {
         if(end_at == null) {
             return null;
         }
-        return APIHelpers.stringToDate(end_at);
+        return CanvasDates.stringToDate(end_at);
     }
 
     @Override
@@ -1,11 +1,13 @@
 package com.instructure.canvasapi.model;
 
-
 import android.content.Context;
 import android.os.Parcel;
 
-import com.instructure.canvasapi.R;
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.google.gson.annotations.JsonAdapter;
+import com.instructure.canvasapi.core.CanvasDates;
+import com.instructure.canvasapi.core.InternedStringAdapter;
+import com.instructure.canvasapi.core.ModelCompactor;
+import com.instructure.canvasapi.core.ModelResources;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -16,7 +18,7 @@ import java.util.List;
  *
  * Copyright (c) 2014 Instructure. All rights reserved.
  */
-public class Assignment extends CanvasModel<Assignment>{
+public class Assignment extends CanvasModel<Assignment> implements ModelCompactor.Compactable {
 
 	private long id;
 	private String name;
@@ -26,6 +28,7 @@ public class Assignment extends CanvasModel<Assignment>{
 	private double points_possible;
 	private long course_id;
 
+    @JsonAdapter(InternedStringAdapter.class)
     private String grading_type;
     private long needs_grading_count;
 
@@ -91,19 +94,19 @@ public class Assignment extends CanvasModel<Assignment>{
         if(due_at == null) {
             return null;
         }
-		return APIHelpers.stringToDate(due_at);
+		return CanvasDates.stringToDate(due_at);
 	}
     public Date getlockAtDate(){
         if(lock_at == null){
             return null;
         }
-        return APIHelpers.stringToDate(lock_at);
+        return CanvasDates.stringToDate(lock_at);
     }
 	public void setDueDate(String dueDate) {
 		this.due_at = dueDate;
 	}
     public void setDueDate(Date dueDate){
-        setDueDate(APIHelpers.dateToString(dueDate));
+        setDueDate(CanvasDates.dateToString(dueDate));
     }
     public void setLockAtDate(String lockAtDate){
         this.lock_at = lockAtDate;
@@ -252,11 +255,11 @@ public class Assignment extends CanvasModel<Assignment>{
         if(unlock_at == null){
             return null;
         }
-        return APIHelpers.stringToDate(unlock_at);
+        return CanvasDates.stringToDate(unlock_at);
     }
 
     public void setUnlockAt(Date unlockAt){
-        unlock_at = APIHelpers.dateToString(unlockAt);
+        unlock_at = CanvasDates.dateToString(unlockAt);
     }
 
     public boolean hasPeerReviews() {
@@ -342,6 +345,16 @@ public class Assignment extends CanvasModel<Assignment>{
     ///////////////////////////////////////////////////////////////////////////
     // Helpers
     ///////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void compact() {
+        submission_types = ModelCompactor.compactStrings(submission_types);
+        rubric = ModelCompactor.compact(rubric);
+        allowed_extensions = ModelCompactor.compactStrings(allowed_extensions);
+        needs_grading_count_by_section = ModelCompactor.compact(needs_grading_count_by_section);
+        all_dates = ModelCompactor.compact(all_dates);
+    }
+
     public static final SUBMISSION_TYPE[] ONLINE_SUBMISSIONS = {SUBMISSION_TYPE.ONLINE_UPLOAD, SUBMISSION_TYPE.ONLINE_URL, SUBMISSION_TYPE.ONLINE_TEXT_ENTRY, SUBMISSION_TYPE.MEDIA_RECORDING};
 
 
@@ -368,15 +381,15 @@ public class Assignment extends CanvasModel<Assignment>{
             return null;
         }
 
-        if(turnInType.equals(context.getString(R.string.canvasAPI_online))){
+        if(turnInType.equals(ModelResources.getInstance().getString(context, ModelResources.Key.ONLINE))){
             return TURN_IN_TYPE.ONLINE;
-        } else if(turnInType.equals(context.getString(R.string.canvasAPI_onPaper))){
+        } else if(turnInType.equals(ModelResources.getInstance().getString(context, ModelResources.Key.ON_PAPER))){
             return TURN_IN_TYPE.ON_PAPER;
-        } else if(turnInType.equals(context.getString(R.string.canvasAPI_discussion))){
+        } else if(turnInType.equals(ModelResources.getInstance().getString(context, ModelResources.Key.DISCUSSION))){
             return TURN_IN_TYPE.DISCUSSION;
-        } else if(turnInType.equals(context.getString(R.string.canvasAPI_quiz))){
+        } else if(turnInType.equals(ModelResources.getInstance().getString(context, ModelResources.Key.QUIZ))){
             return TURN_IN_TYPE.QUIZ;
-        } else if(turnInType.equals(context.getString(R.string.canvasAPI_externalTool))){
+        } else if(turnInType.equals(ModelResources.getInstance().getString(context, ModelResources.Key.EXTERNAL_TOOL))){
             return TURN_IN_TYPE.EXTERNAL_TOOL;
         } else{
             return TURN_IN_TYPE.NONE;
@@ -390,17 +403,17 @@ public class Assignment extends CanvasModel<Assignment>{
 
         switch (turnInType){
             case ONLINE:
-                return context.getString(R.string.canvasAPI_online);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.ONLINE);
             case ON_PAPER:
-                return context.getString(R.string.canvasAPI_onPaper);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.ON_PAPER);
             case NONE:
-                return context.getString(R.string.canvasAPI_none);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.NONE);
             case DISCUSSION:
-                return context.getString(R.string.canvasAPI_discussion);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.DISCUSSION);
             case QUIZ:
-                return context.getString(R.string.canvasAPI_quiz);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.QUIZ);
             case EXTERNAL_TOOL:
-                return context.getString(R.string.canvasAPI_externalTool);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.EXTERNAL_TOOL);
             default:
                 return null;
         }
@@ -545,27 +558,27 @@ public class Assignment extends CanvasModel<Assignment>{
 
         switch (submissionType){
             case  ONLINE_QUIZ:
-                return context.getString(R.string.canvasAPI_onlineQuiz);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.ONLINE_QUIZ);
             case NONE:
-                return context.getString(R.string.canvasAPI_none);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.NONE);
             case ON_PAPER:
-                return context.getString(R.string.canvasAPI_onPaper);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.ON_PAPER);
             case DISCUSSION_TOPIC:
-                return context.getString(R.string.canvasAPI_discussionTopic);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.DISCUSSION_TOPIC);
             case EXTERNAL_TOOL:
-                return context.getString(R.string.canvasAPI_externalTool);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.EXTERNAL_TOOL);
             case ONLINE_UPLOAD:
-                return context.getString(R.string.canvasAPI_onlineUpload);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.ONLINE_UPLOAD);
             case ONLINE_TEXT_ENTRY:
-                return context.getString(R.string.canvasAPI_onlineTextEntry);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.ONLINE_TEXT_ENTRY);
             case ONLINE_URL:
-                return context.getString(R.string.canvasAPI_onlineURL);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.ONLINE_URL);
             case MEDIA_RECORDING:
-                return context.getString(R.string.canvasAPI_mediaRecording);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.MEDIA_RECORDING);
             case ATTENDANCE:
-                return context.getString(R.string.canvasAPI_attendance);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.ATTENDANCE);
             case NOT_GRADED:
-                return context.getString(R.string.canvasAPI_notGraded);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.NOT_GRADED);
             default:
                 return "";
         }
@@ -574,17 +587,17 @@ public class Assignment extends CanvasModel<Assignment>{
     public enum GRADING_TYPE {PASS_FAIL, PERCENT, LETTER_GRADE, POINTS, GPA_SCALE, NOT_GRADED}
 
     public static GRADING_TYPE getGradingTypeFromString(String gradingType, Context context){
-        if(gradingType.equals("pass_fail") || gradingType.equals(context.getString(R.string.canvasAPI_passFail))){
+        if(gradingType.equals("pass_fail") || gradingType.equals(ModelResources.getInstance().getString(context, ModelResources.Key.PASS_FAIL))){
             return GRADING_TYPE.PASS_FAIL;
-        } else if(gradingType.equals("percent") || gradingType.equals(context.getString(R.string.canvasAPI_percent))){
+        } else if(gradingType.equals("percent") || gradingType.equals(ModelResources.getInstance().getString(context, ModelResources.Key.PERCENT))){
             return GRADING_TYPE.PERCENT;
-        } else if(gradingType.equals("letter_grade") || gradingType.equals(context.getString(R.string.canvasAPI_letterGrade))){
+        } else if(gradingType.equals("letter_grade") || gradingType.equals(ModelResources.getInstance().getString(context, ModelResources.Key.LETTER_GRADE))){
             return GRADING_TYPE.LETTER_GRADE;
-        } else if (gradingType.equals("points") || gradingType.equals(context.getString(R.string.canvasAPI_points))){
+        } else if (gradingType.equals("points") || gradingType.equals(ModelResources.getInstance().getString(context, ModelResources.Key.POINTS))){
             return GRADING_TYPE.POINTS;
-        } else if (gradingType.equals("gpa_scale") || gradingType.equals(context.getString(R.string.canvasAPI_gpaScale))){
+        } else if (gradingType.equals("gpa_scale") || gradingType.equals(ModelResources.getInstance().getString(context, ModelResources.Key.GPA_SCALE))){
             return GRADING_TYPE.GPA_SCALE;
-        } else if(gradingType.equals("not_graded") || gradingType.equals(context.getString(R.string.canvasAPI_notGraded))){
+        } else if(gradingType.equals("not_graded") || gradingType.equals(ModelResources.getInstance().getString(context, ModelResources.Key.NOT_GRADED))){
             return GRADING_TYPE.NOT_GRADED;
         }else {
             return null;
@@ -634,17 +647,17 @@ public class Assignment extends CanvasModel<Assignment>{
 
         switch (gradingType){
             case PASS_FAIL:
-                return context.getString(R.string.canvasAPI_passFail);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.PASS_FAIL);
             case PERCENT:
-                return context.getString(R.string.canvasAPI_percent);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.PERCENT);
             case LETTER_GRADE:
-                return context.getString(R.string.canvasAPI_letterGrade);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.LETTER_GRADE);
             case POINTS:
-                return context.getString(R.string.canvasAPI_points);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.POINTS);
             case GPA_SCALE:
-                return context.getString(R.string.canvasAPI_gpaScale);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.GPA_SCALE);
             case NOT_GRADED:
-                return context.getString(R.string.canvasAPI_notGraded);
+                return ModelResources.getInstance().getString(context, ModelResources.Key.NOT_GRADED);
             default:
                 return "";
         }
@@ -3,7 +3,7 @@ package com.instructure.canvasapi.model;
 import android.os.Parcel;
 import android.os.Parcelable;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.Date;
 
@@ -18,17 +18,17 @@ public class AssignmentDueDate extends CanvasModel<AssignmentDueDate> implements
 
     public Date getDueDate() {
         if(this.due_at == null) {return null;}
-        return APIHelpers.stringToDate(this.due_at);
+        return CanvasDates.stringToDate(this.due_at);
     }
 
     public Date getUnlockDate() {
         if(this.unlock_at == null) {return null;}
-        return APIHelpers.stringToDate(this.unlock_at);
+        return CanvasDates.stringToDate(this.unlock_at);
     }
 
     public Date getLockDate() {
         if(this.lock_at == null) {return null;}
-        return APIHelpers.stringToDate(this.lock_at);
+        return CanvasDates.stringToDate(this.lock_at);
     }
 
     @Override
@@ -17,6 +17,7 @@ public class AssignmentGroup extends CanvasModel<AssignmentGroup> {
 	private String name;
 	private int position;
     private double group_weight;
+    private AssignmentGroupRules rules;
 	private List<Assignment> assignments = new ArrayList<Assignment>();
 
     ///////////////////////////////////////////////////////////////////////////
@@ -50,6 +51,8 @@ public class AssignmentGroup extends CanvasModel<AssignmentGroup> {
 	}
     public double getGroupWeight() { return group_weight; }
     public void setGroupWeight(double group_weight) {this.group_weight = group_weight;}
+    public AssignmentGroupRules getRules() { return rules; }
+    public void setRules(AssignmentGroupRules rules) {this.rules = rules;}
 
     ///////////////////////////////////////////////////////////////////////////
     // Required Overrides
@@ -84,6 +87,7 @@ public class AssignmentGroup extends CanvasModel<AssignmentGroup> {
         dest.writeInt(this.position);
         dest.writeList(this.assignments);
         dest.writeDouble(this.group_weight);
+        dest.writeParcelable(this.rules, flags);
     }
 
     private AssignmentGroup(Parcel in) {
@@ -92,6 +96,7 @@ public class AssignmentGroup extends CanvasModel<AssignmentGroup> {
         this.position = in.readInt();
         in.readList(this.assignments, Assignment.class.getClassLoader());
         this.group_weight = in.readDouble();
+        this.rules = in.readParcelable(AssignmentGroupRules.class.getClassLoader());
     }
 
     public static Creator<AssignmentGroup> CREATOR = new Creator<AssignmentGroup>() {
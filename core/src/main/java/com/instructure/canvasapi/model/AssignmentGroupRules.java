@@ -0,0 +1,93 @@
+package com.instructure.canvasapi.model;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import java.io.Serializable;
+
+/**
+ * An assignment group's drop rules, from "rules" when assignment groups are requested.
+ * e.g. {"drop_lowest": 1, "drop_highest": 0, "never_drop": [33, 17]}
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class AssignmentGroupRules implements Serializable, Parcelable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int drop_lowest;
+    private int drop_highest;
+    private long[] never_drop;
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Getters and Setters
+    ///////////////////////////////////////////////////////////////////////////
+
+    public int getDropLowest() {
+        return drop_lowest;
+    }
+    public void setDropLowest(int dropLowest) {
+        this.drop_lowest = dropLowest;
+    }
+    public int getDropHighest() {
+        return drop_highest;
+    }
+    public void setDropHighest(int dropHighest) {
+        this.drop_highest = dropHighest;
+    }
+    public long[] getNeverDrop() {
+        return never_drop == null ? new long[0] : never_drop;
+    }
+    public void setNeverDrop(long[] neverDrop) {
+        this.never_drop = neverDrop;
+    }
+
+    public boolean isNeverDrop(long assignmentId) {
+        if (never_drop != null) {
+            for (long id : never_drop) {
+                if (id == assignmentId) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    ///////////////////////////////////////////////////////////////////////////
+
+    public AssignmentGroupRules() {}
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Parcelable
+    ///////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeInt(this.drop_lowest);
+        dest.writeInt(this.drop_highest);
+        dest.writeLongArray(this.never_drop);
+    }
+
+    private AssignmentGroupRules(Parcel in) {
+        this.drop_lowest = in.readInt();
+        this.drop_highest = in.readInt();
+        this.never_drop = in.createLongArray();
+    }
+
+    public static final Creator<AssignmentGroupRules> CREATOR = new Creator<AssignmentGroupRules>() {
+        public AssignmentGroupRules createFromParcel(Parcel source) {
+            return new AssignmentGroupRules(source);
+        }
+
+        public AssignmentGroupRules[] newArray(int size) {
+            return new AssignmentGroupRules[size];
+        }
+    };
+}
@@ -2,7 +2,9 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.google.gson.annotations.JsonAdapter;
+import com.instructure.canvasapi.core.CanvasDates;
+import com.instructure.canvasapi.core.InternedStringAdapter;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -20,6 +22,7 @@ public class Conversation extends CanvasModel<Conversation> {
 
     private long id;                        // The unique id for the conversation.
     private String subject;                 // Message Subject
+    @JsonAdapter(InternedStringAdapter.class)
     private String workflow_state;          // The workflowState of the conversation (unread, read, archived)
     private String last_message;            // 100 character preview of the last message.
     private String last_message_at;         // Date of the last message sent.
@@ -109,7 +112,7 @@ public class Conversation extends CanvasModel<Conversation> {
     }
     public Date getLastMessageSent() {
         if (lastMessageDate == null) {
-          lastMessageDate = APIHelpers.stringToDate(last_message_at);
+          lastMessageDate = CanvasDates.stringToDate(last_message_at);
         }
         return lastMessageDate;
     }
@@ -117,7 +120,7 @@ public class Conversation extends CanvasModel<Conversation> {
     public Date getLastAuthoredMessageSent() {
         Date lastAuthoredDate = null;
         if (last_authored_message_at != null) {
-            lastAuthoredDate = APIHelpers.stringToDate(last_authored_message_at);
+            lastAuthoredDate = CanvasDates.stringToDate(last_authored_message_at);
         }
         return lastAuthoredDate;
     }
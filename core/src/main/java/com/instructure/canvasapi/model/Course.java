@@ -2,7 +2,7 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -72,10 +72,10 @@ public class Course extends CanvasContext implements Comparable<CanvasContext>{
         course_code = courseCode;
     }
     public Date getStartDate() {
-        return APIHelpers.stringToDate(start_at);
+        return CanvasDates.stringToDate(start_at);
     }
     public Date getEndDate() {
-        return APIHelpers.stringToDate(end_at);
+        return CanvasDates.stringToDate(end_at);
     }
     public String getSyllabusBody() {
         return syllabus_body;
@@ -3,7 +3,7 @@ package com.instructure.canvasapi.model;
 import android.os.Parcel;
 
 import com.google.gson.annotations.SerializedName;
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.Date;
 
@@ -78,28 +78,28 @@ public class DiscussionAttachment extends CanvasModel<DiscussionAttachment> {
         this.size = fileSize;
     }
     public Date getLockAt() {
-        return APIHelpers.stringToDate(lock_at);
+        return CanvasDates.stringToDate(lock_at);
     }
     public void setLockAt(Date lockAt) {
-        this.lock_at = APIHelpers.dateToString(lockAt);
+        this.lock_at = CanvasDates.dateToString(lockAt);
     }
     public Date getUnlockAt() {
-        return APIHelpers.stringToDate(unlock_at);
+        return CanvasDates.stringToDate(unlock_at);
     }
     public void setUnlockAt(Date unlockAt) {
-        this.unlock_at = APIHelpers.dateToString(unlockAt);
+        this.unlock_at = CanvasDates.dateToString(unlockAt);
     }
     public Date getUpdatedAt() {
-        return APIHelpers.stringToDate(updated_at);
+        return CanvasDates.stringToDate(updated_at);
     }
     public void setUpdatedAt(Date updatedAt) {
-        this.updated_at = APIHelpers.dateToString(updatedAt);
+        this.updated_at = CanvasDates.dateToString(updatedAt);
     }
     public Date getCreatedAt() {
-        return APIHelpers.stringToDate(created_at);
+        return CanvasDates.stringToDate(created_at);
     }
     public void setCreatedAt(Date createdAt) {
-        this.created_at = APIHelpers.dateToString(createdAt);
+        this.created_at = CanvasDates.dateToString(createdAt);
     }
     public String getDisplayName() {
         return display_name;
@@ -165,7 +165,7 @@ public class DiscussionAttachment extends CanvasModel<DiscussionAttachment> {
         if (hidden || hidden_for_user) {
             return false;
         } else if (locked || locked_for_user) {
-            Date unlockAt = APIHelpers.stringToDate(unlock_at);
+            Date unlockAt = CanvasDates.stringToDate(unlock_at);
 
             if (unlock_at == null) {
                 return false;
@@ -2,9 +2,8 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -34,6 +33,7 @@ public class DiscussionEntry extends CanvasModel<DiscussionEntry>{
     private List<DiscussionAttachment> attachments = new ArrayList<DiscussionAttachment>();
     private int rating_count;
     private int rating_sum;
+    private transient int parceledDepth;    //Depth of a parceled entry, whose parent wasn't parceled with it.
 
     ///////////////////////////////////////////////////////////////////////////
     // Getters and Setters
@@ -89,19 +89,19 @@ public class DiscussionEntry extends CanvasModel<DiscussionEntry>{
     }
 
     public Date getCreatedAt() {
-        return APIHelpers.stringToDate(created_at);
+        return CanvasDates.stringToDate(created_at);
     }
 
     public void setCreatedAt(Date date) {
-        created_at = APIHelpers.dateToString(date);
+        created_at = CanvasDates.dateToString(date);
     }
 
     public Date getLastUpdated() {
-        return APIHelpers.stringToDate(updated_at);
+        return CanvasDates.stringToDate(updated_at);
     }
 
     public void setLastUpdated(Date date) {
-        updated_at = APIHelpers.dateToString(date);
+        updated_at = CanvasDates.dateToString(date);
     }
 
     public String getDescription() {
@@ -221,6 +221,10 @@ public class DiscussionEntry extends CanvasModel<DiscussionEntry>{
     public void init(DiscussionTopic topic, DiscussionEntry parent) {
         this.parent = parent;
 
+        //An entry reused by DiscussionMerge has been counted before.
+        totalChildren = 0;
+        unreadChildren = 0;
+
 
         HashMap<Long, DiscussionParticipant> participantHashMap = topic.getParticipantsMap();
         DiscussionParticipant discussionParticipant = participantHashMap.get(this.getUserId());
@@ -229,7 +233,7 @@ public class DiscussionEntry extends CanvasModel<DiscussionEntry>{
         }
 
         //Get whether or not the topic is unread;
-        unread = topic.getUnread_entriesMap().containsKey(this.getId());
+        unread = topic.isUnread(this.getId());
 
         for(DiscussionEntry reply : replies){
             reply.init(topic,this);
@@ -249,6 +253,29 @@ public class DiscussionEntry extends CanvasModel<DiscussionEntry>{
     // Helpers
     ///////////////////////////////////////////////////////////////////////////
 
+    /**
+     * @return true if other is the same entry with nothing about it edited. Replies aren't compared.
+     */
+    public boolean hasSameContent(DiscussionEntry other) {
+        return other != null
+                && id == other.id
+                && user_id == other.user_id
+                && deleted == other.deleted
+                && rating_count == other.rating_count
+                && rating_sum == other.rating_sum
+                && sameString(updated_at, other.updated_at)
+                && sameString(message, other.message)
+                && sizeOf(attachments) == sizeOf(other.attachments);
+    }
+
+    private static boolean sameString(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static int sizeOf(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
     public int getDepth() {
         int depth = 0;
         DiscussionEntry temp = this;
@@ -258,18 +285,110 @@ public class DiscussionEntry extends CanvasModel<DiscussionEntry>{
             temp = temp.getParent();
         }
 
-        return depth;
+        return depth + temp.parceledDepth;
     }
 
+    //The entry and all its replies, flat in pre-order with a reply count each, instead of serializing the
+    //replies. The parent isn't written, so a parceled entry comes back without one, but with its depth. Its replies get theirs.
     @Override
     public void writeToParcel(Parcel dest, int flags) {
+        List<DiscussionEntry> entry = new ArrayList<DiscussionEntry>(1);
+        entry.add(this);
+        writeEntries(dest, entry, flags);
+    }
+
+    /**
+     * Writes a list of entries and their replies, and the depth of each entry in the list.
+     * Without recursion, so a very deep thread can't overflow the stack.
+     * @param entries Can be null.
+     */
+    static void writeEntries(Parcel dest, List<DiscussionEntry> entries, int flags) {
+        if (entries == null) {
+            dest.writeInt(-1);
+            return;
+        }
+
+        List<DiscussionEntry> stack = new ArrayList<DiscussionEntry>();
+        int count = 0;
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (entries.get(i) != null) {
+                stack.add(entries.get(i));
+                count++;
+            }
+        }
+        dest.writeInt(count);
+
+        //The listed entries are at the bottom of the stack, under any replies.
+        int listed = count;
+        while (!stack.isEmpty()) {
+            DiscussionEntry entry = stack.remove(stack.size() - 1);
+            entry.writeFields(dest, flags);
+            if (stack.size() < listed) {
+                listed--;
+                dest.writeInt(entry.getDepth());
+            }
+
+            int replyCount = 0;
+            if (entry.replies != null) {
+                for (int i = entry.replies.size() - 1; i >= 0; i--) {
+                    if (entry.replies.get(i) != null) {
+                        stack.add(entry.replies.get(i));
+                        replyCount++;
+                    }
+                }
+            }
+            dest.writeInt(replyCount);
+        }
+    }
+
+    /**
+     * Reads what writeEntries() wrote, setting each reply's parent.
+     */
+    static List<DiscussionEntry> readEntries(Parcel in) {
+        int count = in.readInt();
+        if (count == -1) {
+            return null;
+        }
+
+        List<DiscussionEntry> entries = new ArrayList<DiscussionEntry>(count);
+        //Entries still waiting on replies, and how many each has left.
+        List<DiscussionEntry> parents = new ArrayList<DiscussionEntry>();
+        List<Integer> remaining = new ArrayList<Integer>();
+        for (int i = 0; i < count; i++) {
+            DiscussionEntry entry = readFields(in, null);
+            entry.parceledDepth = in.readInt();
+            entries.add(entry);
+            parents.add(entry);
+            remaining.add(in.readInt());
+
+            while (!parents.isEmpty()) {
+                int top = parents.size() - 1;
+                int left = remaining.get(top);
+                if (left == 0) {
+                    parents.remove(top);
+                    remaining.remove(top);
+                    continue;
+                }
+                remaining.set(top, left - 1);
+
+                DiscussionEntry reply = readFields(in, parents.get(top));
+                parents.get(top).replies.add(reply);
+                parents.add(reply);
+                remaining.add(in.readInt());
+            }
+        }
+        return entries;
+    }
+
+    private void writeFields(Parcel dest, int flags) {
         dest.writeLong(this.id);
         dest.writeByte(unread ? (byte) 1 : (byte) 0);
         dest.writeString(this.updated_at);
         dest.writeString(this.created_at);
-        //can't have a circular reference with parcelable, so it needs to be serializable
-        dest.writeSerializable(this.parent);
-        dest.writeParcelable(this.author, 0);
+        dest.writeByte(author != null ? (byte) 1 : (byte) 0);
+        if (author != null) {
+            author.writeToParcel(dest, flags);
+        }
         dest.writeString(this.description);
         dest.writeLong(this.user_id);
         dest.writeLong(this.parent_id);
@@ -277,36 +396,37 @@ public class DiscussionEntry extends CanvasModel<DiscussionEntry>{
         dest.writeByte(deleted ? (byte) 1 : (byte) 0);
         dest.writeInt(this.totalChildren);
         dest.writeInt(this.unreadChildren);
-        //can't have a circular reference with parcelable, so it needs to be serializable
-        dest.writeSerializable((Serializable)this.replies);
-        dest.writeList(this.attachments);
+        dest.writeTypedList(this.attachments);
         dest.writeInt(this.rating_count);
         dest.writeInt(this.rating_sum);
     }
 
-    private DiscussionEntry(Parcel in) {
-        this.id = in.readLong();
-        this.unread = in.readByte() != 0;
-        this.updated_at = in.readString();
-        this.created_at = in.readString();
-        this.parent = (DiscussionEntry)in.readSerializable();
-        this.author = in.readParcelable(DiscussionParticipant.class.getClassLoader());
-        this.description = in.readString();
-        this.user_id = in.readLong();
-        this.parent_id = in.readLong();
-        this.message = in.readString();
-        this.deleted = in.readByte() != 0;
-        this.totalChildren = in.readInt();
-        this.unreadChildren = in.readInt();
-        this.replies = (List<DiscussionEntry>)in.readSerializable();
-        in.readList(this.attachments, DiscussionAttachment.class.getClassLoader());
-        this.rating_count = in.readInt();
-        this.rating_sum = in.readInt();
+    private static DiscussionEntry readFields(Parcel in, DiscussionEntry parent) {
+        DiscussionEntry entry = new DiscussionEntry();
+        entry.parent = parent;
+        entry.id = in.readLong();
+        entry.unread = in.readByte() != 0;
+        entry.updated_at = in.readString();
+        entry.created_at = in.readString();
+        if (in.readByte() != 0) {
+            entry.author = DiscussionParticipant.CREATOR.createFromParcel(in);
+        }
+        entry.description = in.readString();
+        entry.user_id = in.readLong();
+        entry.parent_id = in.readLong();
+        entry.message = in.readString();
+        entry.deleted = in.readByte() != 0;
+        entry.totalChildren = in.readInt();
+        entry.unreadChildren = in.readInt();
+        entry.attachments = in.createTypedArrayList(DiscussionAttachment.CREATOR);
+        entry.rating_count = in.readInt();
+        entry.rating_sum = in.readInt();
+        return entry;
     }
 
     public static Creator<DiscussionEntry> CREATOR = new Creator<DiscussionEntry>() {
         public DiscussionEntry createFromParcel(Parcel source) {
-            return new DiscussionEntry(source);
+            return readEntries(source).get(0);
         }
 
         public DiscussionEntry[] newArray(int size) {
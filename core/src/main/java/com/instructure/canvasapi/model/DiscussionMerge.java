@@ -0,0 +1,245 @@
+package com.instructure.canvasapi.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DiscussionMerge merges a freshly downloaded discussion view into the one already on screen, by entry id.
+ *
+ * Entries that didn't change keep their cached DiscussionEntry object, so an adapter holding them doesn't
+ * have to rebind every row. Only what was added, edited or deleted is reported:
+ *
+ *      added       in the fresh view but not the cached one
+ *      edited      in both, but the updated_at, message, ratings or attachments differ
+ *      deleted     gone from the fresh view, or newly marked deleted (Canvas keeps deleted entries as placeholders)
+ *
+ * The merged topic is the fresh one, with the cached entries swapped in. Reused entries get their replies
+ * replaced, so the cached topic shouldn't be used after merging. Call init() on the roots as after
+ * getFullDiscussionTopic(), and getTree() is rebuilt on first use.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class DiscussionMerge {
+
+    private final DiscussionTopic topic;
+    private final List<DiscussionEntry> added;
+    private final List<DiscussionEntry> edited;
+    private final List<DiscussionEntry> deleted;
+    private final int reusedCount;
+
+    private DiscussionMerge(DiscussionTopic topic, List<DiscussionEntry> added, List<DiscussionEntry> edited, List<DiscussionEntry> deleted, int reusedCount) {
+        this.topic = topic;
+        this.added = added;
+        this.edited = edited;
+        this.deleted = deleted;
+        this.reusedCount = reusedCount;
+    }
+
+    /**
+     * @param cached What's on screen. Can be null, in which case every entry is added.
+     * @param fresh The view just downloaded. Its new_entries are folded in first.
+     */
+    public static DiscussionMerge merge(DiscussionTopic cached, DiscussionTopic fresh) {
+        foldNewEntries(fresh);
+
+        Map<Long, DiscussionEntry> cachedById = index(cached == null ? null : cached.getViews());
+        List<DiscussionEntry> freshOrder = preOrder(fresh.getViews());
+
+        List<DiscussionEntry> added = new ArrayList<DiscussionEntry>();
+        List<DiscussionEntry> edited = new ArrayList<DiscussionEntry>();
+        List<DiscussionEntry> deleted = new ArrayList<DiscussionEntry>();
+        int reusedCount = 0;
+
+        //Fresh entry to the one that goes in the merged view.
+        IdentityHashMap<DiscussionEntry, DiscussionEntry> merged = new IdentityHashMap<DiscussionEntry, DiscussionEntry>(freshOrder.size());
+        for (DiscussionEntry entry : freshOrder) {
+            DiscussionEntry old = cachedById.remove(entry.getId());
+            if (old == null) {
+                added.add(entry);
+                merged.put(entry, entry);
+            } else if (old.hasSameContent(entry)) {
+                reusedCount++;
+                merged.put(entry, old);
+            } else {
+                if (entry.isDeleted() && !old.isDeleted()) {
+                    deleted.add(entry);
+                } else {
+                    edited.add(entry);
+                }
+                merged.put(entry, entry);
+            }
+        }
+        //Whatever's left isn't in the view anymore.
+        deleted.addAll(cachedById.values());
+
+        //Now every entry is decided, point each one at its merged replies.
+        for (DiscussionEntry entry : freshOrder) {
+            DiscussionEntry target = merged.get(entry);
+            target.setReplies(mapEntries(entry.getReplies(), merged, target.getReplies()));
+        }
+        fresh.setViews(mapEntries(fresh.getViews(), merged, null));
+
+        return new DiscussionMerge(fresh, added, edited, deleted, reusedCount);
+    }
+
+    /**
+     * Moves the topic's new_entries into its view, each under its parent_id. Entries already in the view are
+     * skipped, and an entry whose parent can't be found is added at the top level rather than dropped.
+     */
+    public static void foldNewEntries(DiscussionTopic topic) {
+        List<DiscussionEntry> newEntries = topic.getNewEntries();
+        if (newEntries == null || newEntries.isEmpty()) {
+            return;
+        }
+
+        //Ids grow with time, so sorting puts every parent before its replies.
+        List<DiscussionEntry> sorted = new ArrayList<DiscussionEntry>(newEntries);
+        Collections.sort(sorted, new Comparator<DiscussionEntry>() {
+            @Override
+            public int compare(DiscussionEntry a, DiscussionEntry b) {
+                return a.getId() < b.getId() ? -1 : (a.getId() == b.getId() ? 0 : 1);
+            }
+        });
+
+        Map<Long, DiscussionEntry> byId = index(topic.getViews());
+        List<DiscussionEntry> roots = topic.getViews() == null ? new ArrayList<DiscussionEntry>() : new ArrayList<DiscussionEntry>(topic.getViews());
+        for (DiscussionEntry entry : sorted) {
+            if (byId.containsKey(entry.getId())) {
+                continue;
+            }
+
+            DiscussionEntry parent = byId.get(entry.getParentId());
+            if (parent != null) {
+                //Copied since decoded lists may be compacted and unmodifiable.
+                List<DiscussionEntry> replies = parent.getReplies() == null ? new ArrayList<DiscussionEntry>() : new ArrayList<DiscussionEntry>(parent.getReplies());
+                replies.add(entry);
+                parent.setReplies(replies);
+            } else {
+                roots.add(entry);
+            }
+            byId.put(entry.getId(), entry);
+        }
+
+        topic.setViews(roots);
+        topic.setNewEntries(null);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Getters
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The fresh topic with unchanged entries swapped for the cached ones.
+     */
+    public DiscussionTopic getTopic() {
+        return topic;
+    }
+
+    /**
+     * @return New entries, in thread order.
+     */
+    public List<DiscussionEntry> getAdded() {
+        return added;
+    }
+
+    /**
+     * @return The fresh version of each edited entry, in thread order.
+     */
+    public List<DiscussionEntry> getEdited() {
+        return edited;
+    }
+
+    /**
+     * @return Entries newly marked deleted (the fresh placeholder), then entries removed from the view (the cached one).
+     */
+    public List<DiscussionEntry> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return How many cached entries were kept as is.
+     */
+    public int getReusedCount() {
+        return reusedCount;
+    }
+
+    public boolean hasChanges() {
+        return !added.isEmpty() || !edited.isEmpty() || !deleted.isEmpty();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    //Every entry in the thread by id, in pre-order.
+    private static Map<Long, DiscussionEntry> index(List<DiscussionEntry> roots) {
+        List<DiscussionEntry> order = preOrder(roots);
+        Map<Long, DiscussionEntry> byId = new LinkedHashMap<Long, DiscussionEntry>(order.size() * 4 / 3 + 1);
+        for (DiscussionEntry entry : order) {
+            if (!byId.containsKey(entry.getId())) {
+                byId.put(entry.getId(), entry);
+            }
+        }
+        return byId;
+    }
+
+    //Without recursion, so a very deep thread can't overflow the stack.
+    private static List<DiscussionEntry> preOrder(List<DiscussionEntry> roots) {
+        List<DiscussionEntry> order = new ArrayList<DiscussionEntry>();
+        if (roots == null) {
+            return order;
+        }
+
+        List<DiscussionEntry> stack = new ArrayList<DiscussionEntry>();
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            stack.add(roots.get(i));
+        }
+        while (!stack.isEmpty()) {
+            DiscussionEntry entry = stack.remove(stack.size() - 1);
+            if (entry == null) {
+                continue;
+            }
+            order.add(entry);
+
+            List<DiscussionEntry> replies = entry.getReplies();
+            if (replies != null) {
+                for (int i = replies.size() - 1; i >= 0; i--) {
+                    stack.add(replies.get(i));
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * @return entries mapped through merged, or current if that already holds the same objects in the same order.
+     */
+    private static List<DiscussionEntry> mapEntries(List<DiscussionEntry> entries, IdentityHashMap<DiscussionEntry, DiscussionEntry> merged, List<DiscussionEntry> current) {
+        if (entries == null || entries.isEmpty()) {
+            return current != null && current.isEmpty() ? current : new ArrayList<DiscussionEntry>();
+        }
+
+        List<DiscussionEntry> mapped = new ArrayList<DiscussionEntry>(entries.size());
+        for (DiscussionEntry entry : entries) {
+            if (entry != null) {
+                mapped.add(merged.get(entry));
+            }
+        }
+
+        if (current != null && current.size() == mapped.size()) {
+            boolean same = true;
+            for (int i = 0; i < mapped.size() && same; i++) {
+                same = current.get(i) == mapped.get(i);
+            }
+            if (same) {
+                return current;
+            }
+        }
+        return mapped;
+    }
+}
@@ -0,0 +1,313 @@
+package com.instructure.canvasapi.model;
+
+import com.instructure.canvasapi.core.LongIntMap;
+import com.instructure.canvasapi.core.ModelCompactor;
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import com.google.gson.annotations.JsonAdapter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * @author Josh Ruesch
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class DiscussionTopic implements Parcelable, Serializable, ModelCompactor.Compactable {
+
+    //2: entry_ratings is a LongIntMap.
+    private static final long serialVersionUID = 2L;
+
+	//The user can't see it unless they post a high level reply (requireinitialpost).
+	private boolean forbidden = false;
+
+	//List of all the ids of the unread discussion entries.
+    private List<Long> unread_entries = new ArrayList<Long>();
+	
+	//List of the participants.
+    private List<DiscussionParticipant> participants = new ArrayList<DiscussionParticipant>();
+    private HashMap<Long, DiscussionParticipant> participantsMap = new HashMap<Long, DiscussionParticipant>();
+    @JsonAdapter(LongIntMap.GsonAdapter.class)
+    private LongIntMap entry_ratings = new LongIntMap();
+
+    //unread_entries sorted, for isUnread(). Built on first use.
+    private transient long[] unreadEntryIds;
+
+    //view flattened. Built on first use.
+    private transient DiscussionTree tree;
+
+    //List of all the discussion entries (views)
+    private List<DiscussionEntry> view;
+
+    //Entries posted after Canvas built the view, flat with their parent_id. Only asked for with include_new_entries.
+    private List<DiscussionEntry> new_entries;
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Getters and Setters
+    ///////////////////////////////////////////////////////////////////////////
+
+	public boolean isForbidden() {
+		return forbidden;
+	}
+	public void setForbidden(boolean forbidden) {
+		this.forbidden = forbidden;
+	}
+
+    /**
+     * @deprecated Builds a new map on every call. Use isUnread().
+     */
+    @Deprecated
+    public HashMap<Long,Boolean> getUnread_entriesMap(){
+        HashMap<Long, Boolean> unreadEntriesMap = new HashMap<Long, Boolean>();
+        for (Long unreadEntry : unread_entries) {
+            unreadEntriesMap.put(unreadEntry, true);
+        }
+        return unreadEntriesMap;
+    }
+
+    //Binary search over a sorted copy of unread_entries instead of a HashMap of boxed keys.
+    //The copy is dropped whenever unread_entries is handed out or replaced, since it can change without us.
+    public boolean isUnread(long entryId) {
+        return Arrays.binarySearch(getUnreadEntryIds(), entryId) >= 0;
+    }
+
+    private long[] getUnreadEntryIds() {
+        long[] ids = unreadEntryIds;
+        if (ids == null) {
+            ids = new long[unread_entries.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = unread_entries.get(i);
+            }
+            Arrays.sort(ids);
+            unreadEntryIds = ids;
+        }
+        return ids;
+    }
+
+    /**
+     * Marks the entry read or unread in unread_entries, isUnread() and getTree() at once.
+     */
+    public void setEntryUnread(long entryId, boolean unread) {
+        long[] ids = getUnreadEntryIds();
+        int index = Arrays.binarySearch(ids, entryId);
+        if (unread == index >= 0) {
+            return;
+        }
+
+        long[] updated = new long[unread ? ids.length + 1 : ids.length - 1];
+        if (unread) {
+            int insert = -index - 1;
+            System.arraycopy(ids, 0, updated, 0, insert);
+            updated[insert] = entryId;
+            System.arraycopy(ids, insert, updated, insert + 1, ids.length - insert);
+            unread_entries.add(entryId);
+        } else {
+            System.arraycopy(ids, 0, updated, 0, index);
+            System.arraycopy(ids, index + 1, updated, index, ids.length - index - 1);
+            unread_entries.remove(Long.valueOf(entryId));
+        }
+        unreadEntryIds = updated;
+
+        if (tree != null) {
+            int row = tree.indexOf(entryId);
+            if (row != -1) {
+                if (unread) {
+                    tree.markUnread(row);
+                } else {
+                    tree.markRead(row);
+                }
+            }
+        }
+    }
+
+    //For DiscussionTree.markAllRead(), which updates itself.
+    void setEntriesRead(long[] entryIds) {
+        long[] sorted = Arrays.copyOf(entryIds, entryIds.length);
+        Arrays.sort(sorted);
+        List<Long> stillUnread = new ArrayList<Long>();
+        for (Long id : unread_entries) {
+            if (Arrays.binarySearch(sorted, id) < 0) {
+                stillUnread.add(id);
+            }
+        }
+        unread_entries = stillUnread;
+        unreadEntryIds = null;
+    }
+
+    /**
+     * The list is live. Handing it out drops isUnread()'s sorted copy, so a change made right away is seen,
+     * but one made later through a kept reference isn't. Use setEntryUnread() for that.
+     */
+    public List<Long> getUnreadEntries() {
+        unreadEntryIds = null;
+		return unread_entries;
+	}
+
+    //This should only have to get built once.
+    //MUCH faster for lookups.
+    //So instead of n linear operations, we have 1 linear operations and (n-1) constant ones.
+    public HashMap<Long,DiscussionParticipant> getParticipantsMap(){
+        if(participantsMap == null || participantsMap.isEmpty()){
+            participantsMap = new HashMap<Long, DiscussionParticipant>();
+            if(participants != null){
+                for(DiscussionParticipant discussionParticipant : participants){
+                    participantsMap.put(discussionParticipant.getId(), discussionParticipant);
+                }
+            }
+        }
+        return participantsMap;
+    }
+
+    public void setUnreadEntries(List<Long> unread_entries) {
+        this.unread_entries = unread_entries == null ? new ArrayList<Long>() : unread_entries;
+        this.unreadEntryIds = null;
+        //Its unread flags and counts came from the old list.
+        this.tree = null;
+    }
+    public List<DiscussionParticipant> getParticipants() {
+        return participants;
+    }
+    public void setParticipants(List<DiscussionParticipant> participants) {
+        this.participants = participants;
+    }
+	public List<DiscussionEntry> getViews() {
+		return view;
+	}
+
+    public void setViews(List<DiscussionEntry> views) {
+		this.view = views;
+		this.tree = null;
+	}
+
+    /**
+     * @return Entries posted since Canvas built the view, not yet in getViews(). DiscussionMerge.foldNewEntries() moves them in.
+     */
+    public List<DiscussionEntry> getNewEntries() {
+        return new_entries;
+    }
+
+    public void setNewEntries(List<DiscussionEntry> new_entries) {
+        this.new_entries = new_entries;
+    }
+
+    /**
+     * Returns the entries flattened with their depth, reply and unread counts precomputed.
+     * Built the first time it's asked for, and again after setViews() or setUnreadEntries().
+     */
+    public DiscussionTree getTree() {
+        if (tree == null) {
+            tree = DiscussionTree.build(this);
+        }
+        return tree;
+    }
+
+    /**
+     * @deprecated Builds a new map on every call. Use getEntryRating().
+     */
+    @Deprecated
+    public HashMap<Long, Integer> getEntryRatings() {
+        return entry_ratings == null ? new HashMap<Long, Integer>() : entry_ratings.toHashMap();
+    }
+
+    public void setEntryRatings(HashMap<Long, Integer> entry_ratings) {
+        this.entry_ratings = new LongIntMap(entry_ratings);
+    }
+
+    /**
+     * @return The user's rating of the entry, or 0 if they haven't rated it.
+     */
+    public int getEntryRating(long entryId) {
+        return entry_ratings == null ? 0 : entry_ratings.get(entryId, 0);
+    }
+
+    public void setEntryRating(long entryId, int rating) {
+        if (entry_ratings == null) {
+            entry_ratings = new LongIntMap();
+        }
+        entry_ratings.put(entryId, rating);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    ///////////////////////////////////////////////////////////////////////////
+
+    public DiscussionTopic() {}
+
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void compact() {
+        unread_entries = ModelCompactor.compact(unread_entries);
+        participants = ModelCompactor.compact(participants);
+        if (view != null) {
+            view = ModelCompactor.compact(view);
+        }
+        if (new_entries != null) {
+            new_entries = ModelCompactor.compact(new_entries);
+        }
+        //Built from participants when it's needed.
+        if (participantsMap != null && participantsMap.isEmpty()) {
+            participantsMap = null;
+        }
+        if (entry_ratings != null) {
+            entry_ratings.trimToSize();
+        }
+    }
+
+    public static String getDiscussionURL(String api_protocol,String domain, long courseId, long topicId) {
+        //https://mobiledev.instructure.com/api/v1/courses/24219/discussion_topics/1129998/
+        return api_protocol + "://" + domain + "/courses/"+courseId+"/discussion_topics/"+topicId;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    //Written by hand rather than with writeSerializable, which is slow and much bigger for a large discussion.
+    //participantsMap isn't written. It's rebuilt from participants on first use.
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeByte(forbidden ? (byte) 1 : (byte) 0);
+        long[] unreadIds = new long[unread_entries == null ? 0 : unread_entries.size()];
+        for (int i = 0; i < unreadIds.length; i++) {
+            unreadIds[i] = unread_entries.get(i);
+        }
+        dest.writeLongArray(unreadIds);
+        dest.writeTypedList(this.participants);
+        DiscussionEntry.writeEntries(dest, this.view, flags);
+        DiscussionEntry.writeEntries(dest, this.new_entries, flags);
+        LongIntMap.writeToParcel(dest, this.entry_ratings);
+    }
+
+    private DiscussionTopic(Parcel in) {
+        this.forbidden = in.readByte() != 0;
+        long[] unreadIds = in.createLongArray();
+        this.unread_entries = new ArrayList<Long>(unreadIds.length);
+        for (long unreadId : unreadIds) {
+            this.unread_entries.add(unreadId);
+        }
+        this.participants = in.createTypedArrayList(DiscussionParticipant.CREATOR);
+        this.view = DiscussionEntry.readEntries(in);
+        this.new_entries = DiscussionEntry.readEntries(in);
+        this.entry_ratings = LongIntMap.readFromParcel(in);
+    }
+
+    public static Creator<DiscussionTopic> CREATOR = new Creator<DiscussionTopic>() {
+        public DiscussionTopic createFromParcel(Parcel source) {
+            return new DiscussionTopic(source);
+        }
+
+        public DiscussionTopic[] newArray(int size) {
+            return new DiscussionTopic[size];
+        }
+    };
+}
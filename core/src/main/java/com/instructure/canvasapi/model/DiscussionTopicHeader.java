@@ -2,7 +2,7 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -116,22 +116,22 @@ public class DiscussionTopicHeader extends CanvasModel<DiscussionTopicHeader>{
 		this.html_url = html_url;
 	}
 	public Date getPostedAt() {
-		return APIHelpers.stringToDate(posted_at);
+		return CanvasDates.stringToDate(posted_at);
 	}
 	public void setPostedAt(Date posted_at) {
-		this.posted_at = APIHelpers.dateToString(posted_at);
+		this.posted_at = CanvasDates.dateToString(posted_at);
 	}
 	public Date getDelayedPostAt() {
-		return APIHelpers.stringToDate(delayed_post_at);
+		return CanvasDates.stringToDate(delayed_post_at);
 	}
 	public void setDelayedPostAt(Date delayed_post_at) {
-		this.delayed_post_at = APIHelpers.dateToString(delayed_post_at);
+		this.delayed_post_at = CanvasDates.dateToString(delayed_post_at);
 	}
 	public Date getLastReply() {
-		return APIHelpers.stringToDate(last_reply_at);
+		return CanvasDates.stringToDate(last_reply_at);
 	}
 	public void setLastReply(Date last_reply) {
-		this.last_reply_at = APIHelpers.dateToString(last_reply);
+		this.last_reply_at = CanvasDates.dateToString(last_reply);
 	}
 	public boolean requiresInitialPost() {
 		return require_initial_post;
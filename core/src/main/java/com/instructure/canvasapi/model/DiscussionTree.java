@@ -0,0 +1,404 @@
+package com.instructure.canvasapi.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DiscussionTree is a discussion's entries flattened in pre-order (each entry followed by its replies) into
+ * parallel arrays: id, parent index, depth, subtree size and unread flag, plus the unread count of each subtree.
+ *
+ * It's built once from DiscussionTopic.getViews() so rendering a thread with thousands of entries doesn't walk
+ * the reply lists again for every row. Since an entry's replies are the getSubtreeSize(index) rows right after it:
+ *
+ *      - the next visible row is found in O(1), skipping a collapsed entry's replies in one step
+ *      - marking an entry read updates its ancestors' unread counts in O(depth)
+ *
+ * Which rows are visible is also kept in a Fenwick tree, so the visible count is O(1) and going between a row
+ * and its position in the list on screen (getVisibleRow(), getVisiblePosition()) is O(log n). Collapsing or
+ * expanding an entry costs O(log n) for each row it hides or shows.
+ *
+ * Rows are addressed by their pre-order index. Use indexOf() to go from an entry id to its row.
+ *
+ * Marking entries read or unread here also updates the topic's unread entries, and the other way around
+ * through DiscussionTopic.setEntryUnread().
+ *
+ * Not thread safe. Build and use it on one thread.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class DiscussionTree {
+
+    public final static int NO_PARENT = -1;
+
+    private final DiscussionTopic topic;
+    private final DiscussionEntry[] entries;
+    private final long[] ids;
+    private final int[] parents;
+    private final int[] depths;
+    private final int[] subtreeSizes;
+    private final boolean[] unread;
+    private final int[] unreadInSubtree;
+    private final boolean[] collapsed;
+
+    //Whether each row is visible, and the same as a Fenwick tree (1 based) for counting visible rows before a row.
+    private final boolean[] visible;
+    private final int[] visibleTree;
+    private int visibleCount;
+
+    //ids sorted, and the row each one is at, for indexOf().
+    private final long[] sortedIds;
+    private final int[] sortedRows;
+
+    private int unreadCount = 0;
+
+    /**
+     * @param topic Its view and unread entries.
+     */
+    public static DiscussionTree build(DiscussionTopic topic) {
+        return new DiscussionTree(topic.getViews(), topic);
+    }
+
+    /**
+     * @param roots The top level entries.
+     * @param topic Decides which entries are unread, and is kept in step with markRead() and markUnread().
+     *              If null, each entry's isUnread() is used.
+     */
+    public DiscussionTree(List<DiscussionEntry> roots, DiscussionTopic topic) {
+        this.topic = topic;
+        List<DiscussionEntry> order = new ArrayList<DiscussionEntry>();
+        List<Integer> orderParents = new ArrayList<Integer>();
+        flatten(roots, order, orderParents);
+
+        int size = order.size();
+        entries = order.toArray(new DiscussionEntry[size]);
+        ids = new long[size];
+        parents = new int[size];
+        depths = new int[size];
+        subtreeSizes = new int[size];
+        unread = new boolean[size];
+        unreadInSubtree = new int[size];
+        collapsed = new boolean[size];
+        visible = new boolean[size];
+        visibleTree = new int[size + 1];
+
+        for (int i = 0; i < size; i++) {
+            ids[i] = entries[i].getId();
+            parents[i] = orderParents.get(i);
+            depths[i] = parents[i] == NO_PARENT ? 0 : depths[parents[i]] + 1;
+            unread[i] = topic != null ? topic.isUnread(ids[i]) : entries[i].isUnread();
+            if (unread[i]) {
+                unreadCount++;
+            }
+        }
+
+        //Children come after their parents, so walking backwards finishes each subtree before its parent.
+        for (int i = size - 1; i >= 0; i--) {
+            int parent = parents[i];
+            if (parent != NO_PARENT) {
+                subtreeSizes[parent] += subtreeSizes[i] + 1;
+                unreadInSubtree[parent] += unreadInSubtree[i] + (unread[i] ? 1 : 0);
+            }
+        }
+
+        showAll();
+
+        //Sort the ids, then find each row's slot. A repeated id takes the next free slot with that id.
+        sortedIds = Arrays.copyOf(ids, size);
+        Arrays.sort(sortedIds);
+        sortedRows = new int[size];
+        Arrays.fill(sortedRows, -1);
+        for (int i = 0; i < size; i++) {
+            int slot = Arrays.binarySearch(sortedIds, ids[i]);
+            while (slot > 0 && sortedIds[slot - 1] == ids[i]) {
+                slot--;
+            }
+            while (sortedRows[slot] != -1) {
+                slot++;
+            }
+            sortedRows[slot] = i;
+        }
+    }
+
+    //Pre-order without recursion, so a very deep thread can't overflow the stack.
+    private static void flatten(List<DiscussionEntry> roots, List<DiscussionEntry> order, List<Integer> orderParents) {
+        if (roots == null) {
+            return;
+        }
+
+        List<DiscussionEntry> stack = new ArrayList<DiscussionEntry>();
+        List<Integer> stackParents = new ArrayList<Integer>();
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            stack.add(roots.get(i));
+            stackParents.add(NO_PARENT);
+        }
+
+        while (!stack.isEmpty()) {
+            DiscussionEntry entry = stack.remove(stack.size() - 1);
+            int parent = stackParents.remove(stackParents.size() - 1);
+            if (entry == null) {
+                continue;
+            }
+
+            int row = order.size();
+            order.add(entry);
+            orderParents.add(parent);
+
+            List<DiscussionEntry> replies = entry.getReplies();
+            if (replies != null) {
+                for (int i = replies.size() - 1; i >= 0; i--) {
+                    stack.add(replies.get(i));
+                    stackParents.add(row);
+                }
+            }
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Rows
+    ///////////////////////////////////////////////////////////////////////////
+
+    public int size() {
+        return entries.length;
+    }
+
+    public DiscussionEntry getEntry(int index) {
+        return entries[index];
+    }
+
+    public long getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * @return The parent's row, or NO_PARENT for a top level entry.
+     */
+    public int getParent(int index) {
+        return parents[index];
+    }
+
+    /**
+     * @return 0 for a top level entry.
+     */
+    public int getDepth(int index) {
+        return depths[index];
+    }
+
+    /**
+     * @return How many replies are under the entry, at any depth. They're the rows right after it.
+     */
+    public int getSubtreeSize(int index) {
+        return subtreeSizes[index];
+    }
+
+    /**
+     * @return The row of the entry with the id, or -1.
+     */
+    public int indexOf(long entryId) {
+        int sorted = Arrays.binarySearch(sortedIds, entryId);
+        return sorted >= 0 ? sortedRows[sorted] : -1;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Unread
+    ///////////////////////////////////////////////////////////////////////////
+
+    public boolean isUnread(int index) {
+        return unread[index];
+    }
+
+    /**
+     * @return How many replies under the entry are unread, at any depth.
+     */
+    public int getUnreadInSubtree(int index) {
+        return unreadInSubtree[index];
+    }
+
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+
+    /**
+     * Marks the entry read and takes it off its ancestors' unread counts.
+     * @return false if it was already read.
+     */
+    public boolean markRead(int index) {
+        if (!unread[index]) {
+            return false;
+        }
+        unread[index] = false;
+        entries[index].setUnread(false);
+        unreadCount--;
+        for (int parent = parents[index]; parent != NO_PARENT; parent = parents[parent]) {
+            unreadInSubtree[parent]--;
+        }
+        if (topic != null) {
+            topic.setEntryUnread(ids[index], false);
+        }
+        return true;
+    }
+
+    public boolean markUnread(int index) {
+        if (unread[index]) {
+            return false;
+        }
+        unread[index] = true;
+        entries[index].setUnread(true);
+        unreadCount++;
+        for (int parent = parents[index]; parent != NO_PARENT; parent = parents[parent]) {
+            unreadInSubtree[parent]++;
+        }
+        if (topic != null) {
+            topic.setEntryUnread(ids[index], true);
+        }
+        return true;
+    }
+
+    public void markAllRead() {
+        if (topic != null) {
+            topic.setEntriesRead(ids);
+        }
+        Arrays.fill(unread, false);
+        Arrays.fill(unreadInSubtree, 0);
+        for (DiscussionEntry entry : entries) {
+            entry.setUnread(false);
+        }
+        unreadCount = 0;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Collapsing
+    ///////////////////////////////////////////////////////////////////////////
+
+    public boolean isCollapsed(int index) {
+        return collapsed[index];
+    }
+
+    /**
+     * Hides the entry's replies. The entry itself stays visible.
+     */
+    public void setCollapsed(int index, boolean isCollapsed) {
+        if (collapsed[index] == isCollapsed) {
+            return;
+        }
+        collapsed[index] = isCollapsed;
+        if (!visible[index]) {
+            //Under a collapsed ancestor. Its replies are hidden either way.
+            return;
+        }
+
+        //The replies that change are the ones not under another collapsed reply.
+        int end = index + subtreeSizes[index];
+        for (int row = index + 1; row <= end; row = collapsed[row] ? row + subtreeSizes[row] + 1 : row + 1) {
+            setVisible(row, !isCollapsed);
+        }
+    }
+
+    public void expandAll() {
+        Arrays.fill(collapsed, false);
+        showAll();
+    }
+
+    /**
+     * @return The first visible row, or -1 if there are no entries.
+     */
+    public int firstVisible() {
+        return entries.length > 0 ? 0 : -1;
+    }
+
+    /**
+     * @param index A visible row.
+     * @return The next visible row, or -1 at the end. Skips a collapsed entry's replies in one step.
+     */
+    public int nextVisible(int index) {
+        int next = collapsed[index] ? index + subtreeSizes[index] + 1 : index + 1;
+        return next < entries.length ? next : -1;
+    }
+
+    /**
+     * Fills rows with the visible rows from start on, for a screen's worth of a RecyclerView or ListView.
+     *
+     * @param start A visible row.
+     * @param rows Filled from 0.
+     * @return How many rows were filled.
+     */
+    public int getVisibleWindow(int start, int[] rows) {
+        int count = 0;
+        for (int index = start; index != -1 && count < rows.length; index = nextVisible(index)) {
+            rows[count++] = index;
+        }
+        return count;
+    }
+
+    /**
+     * @return How many rows are visible.
+     */
+    public int getVisibleCount() {
+        return visibleCount;
+    }
+
+    public boolean isVisible(int index) {
+        return visible[index];
+    }
+
+    /**
+     * @param position 0 to getVisibleCount() - 1, e.g. an adapter position.
+     * @return The row shown at that position.
+     */
+    public int getVisibleRow(int position) {
+        if (position < 0 || position >= visibleCount) {
+            throw new IndexOutOfBoundsException("position " + position + ", visible count " + visibleCount);
+        }
+        //The smallest row with position + 1 visible rows up to and including it.
+        int row = 0;
+        int remaining = position + 1;
+        for (int step = Integer.highestOneBit(entries.length); step > 0; step >>= 1) {
+            int next = row + step;
+            if (next <= entries.length && visibleTree[next] < remaining) {
+                row = next;
+                remaining -= visibleTree[next];
+            }
+        }
+        return row;
+    }
+
+    /**
+     * @return The position the row is shown at, or -1 if it's hidden under a collapsed entry.
+     */
+    public int getVisiblePosition(int index) {
+        if (!visible[index]) {
+            return -1;
+        }
+        int position = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            position += visibleTree[i];
+        }
+        return position;
+    }
+
+    private void setVisible(int index, boolean isVisible) {
+        if (visible[index] == isVisible) {
+            return;
+        }
+        visible[index] = isVisible;
+        int delta = isVisible ? 1 : -1;
+        visibleCount += delta;
+        for (int i = index + 1; i < visibleTree.length; i += i & -i) {
+            visibleTree[i] += delta;
+        }
+    }
+
+    //Every row visible, with the Fenwick tree built in O(n).
+    private void showAll() {
+        Arrays.fill(visible, true);
+        Arrays.fill(visibleTree, 0);
+        for (int i = 1; i < visibleTree.length; i++) {
+            visibleTree[i]++;
+            int parent = i + (i & -i);
+            if (parent < visibleTree.length) {
+                visibleTree[parent] += visibleTree[i];
+            }
+        }
+        visibleCount = entries.length;
+    }
+}
@@ -1,8 +1,11 @@
 package com.instructure.canvasapi.model;
 
+import com.instructure.canvasapi.core.InternedStringAdapter;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import java.io.Serializable;
 import java.util.Date;
 
@@ -35,6 +38,7 @@ public class Enrollment extends CanvasModel<Enrollment> implements Parcelable {
 
 
     private String role;
+    @JsonAdapter(InternedStringAdapter.class)
     private String type;
 
     // only included when we get enrollments using the user's url:
@@ -42,6 +46,7 @@ public class Enrollment extends CanvasModel<Enrollment> implements Parcelable {
     private long id;
     private long course_id;
     private long course_section_id;
+    @JsonAdapter(InternedStringAdapter.class)
     private String enrollment_state;
     private long user_id;
     private Grades grades;
@@ -1,7 +1,10 @@
 package com.instructure.canvasapi.model;
 
+import com.instructure.canvasapi.core.InternedStringAdapter;
 import android.os.Parcel;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import java.util.Date;
 
 /**
@@ -10,6 +13,7 @@ import java.util.Date;
 public class Favorite extends CanvasComparable<Favorite> implements android.os.Parcelable {
 
     private long context_id;
+    @JsonAdapter(InternedStringAdapter.class)
     private String context_type;
 
     public long getContext_id() {
@@ -2,8 +2,10 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
+import com.instructure.canvasapi.core.InternedStringAdapter;
 
 import java.util.Date;
 
@@ -42,6 +44,7 @@ public class FileFolder extends CanvasModel<FileFolder>{
 	private int files_count;
 	private int position;
 	private int folders_count;
+    @JsonAdapter(InternedStringAdapter.class)
     private String context_type;
     private String name;
     private String folders_url;
@@ -61,28 +64,28 @@ public class FileFolder extends CanvasModel<FileFolder>{
         this.id = id;
     }
     public Date getCreatedAt() {
-        return APIHelpers.stringToDate(created_at);
+        return CanvasDates.stringToDate(created_at);
     }
     public void setCreatedAt(Date created_at) {
-        this.created_at = APIHelpers.dateToString(created_at);
+        this.created_at = CanvasDates.dateToString(created_at);
     }
     public Date getUpdatedAt() {
-        return APIHelpers.stringToDate(updated_at);
+        return CanvasDates.stringToDate(updated_at);
     }
     public void setUpdatedAt(Date updated_at) {
-        this.updated_at = APIHelpers.dateToString(updated_at);
+        this.updated_at = CanvasDates.dateToString(updated_at);
     }
     public Date getUnlockAt() {
-        return APIHelpers.stringToDate(unlock_at);
+        return CanvasDates.stringToDate(unlock_at);
     }
     public void setUnlockAt(Date unlock_at) {
-        this.unlock_at = APIHelpers.dateToString(unlock_at);
+        this.unlock_at = CanvasDates.dateToString(unlock_at);
     }
     public Date getLockAt(){
-        return APIHelpers.stringToDate(lock_at);
+        return CanvasDates.stringToDate(lock_at);
     }
     public void setLockAt(Date lock_at){
-        this.lock_at = APIHelpers.dateToString(lock_at);
+        this.lock_at = CanvasDates.dateToString(lock_at);
     }
     public boolean isLocked() {
         return locked;
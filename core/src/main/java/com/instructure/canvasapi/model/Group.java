@@ -1,8 +1,10 @@
 package com.instructure.canvasapi.model;
 
-
+import com.instructure.canvasapi.core.InternedStringAdapter;
 import android.os.Parcel;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import java.util.Date;
 
 /**
@@ -32,6 +34,7 @@ public class Group extends CanvasContext{
     private String join_level;
 
     //TODO:
+    @JsonAdapter(InternedStringAdapter.class)
     private String context_type;
 
     //At most, ONE of these will be set.
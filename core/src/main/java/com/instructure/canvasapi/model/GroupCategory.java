@@ -1,7 +1,10 @@
 package com.instructure.canvasapi.model;
 
+import com.instructure.canvasapi.core.InternedStringAdapter;
 import android.os.Parcel;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import java.util.Date;
 
 /**
@@ -15,6 +18,7 @@ public class GroupCategory extends CanvasComparable<GroupCategory> {
     private String name;
     private String role;
     private String self_signup;
+    @JsonAdapter(InternedStringAdapter.class)
     private String context_type;
     //only one of these will be valid depending on the context type
     private long account_id;
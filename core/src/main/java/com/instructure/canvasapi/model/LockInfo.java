@@ -2,7 +2,7 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -56,7 +56,7 @@ public class LockInfo extends CanvasComparable<LockInfo> implements Serializable
         if(context_module != null) {
             return context_module.getUnlock_at();
         } else if(unlock_at != null){
-            return APIHelpers.stringToDate(unlock_at);
+            return CanvasDates.stringToDate(unlock_at);
         } else {
             return null;
         }
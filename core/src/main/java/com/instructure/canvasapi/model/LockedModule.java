@@ -1,10 +1,10 @@
 package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
-import android.util.Log;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
-import com.instructure.canvasapi.utilities.TestHelpers;
+import com.google.gson.annotations.JsonAdapter;
+import com.instructure.canvasapi.core.CanvasDates;
+import com.instructure.canvasapi.core.InternedStringAdapter;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -21,6 +21,7 @@ public class LockedModule extends CanvasComparable<LockedModule> implements Seri
 
     private long id;
     private long context_id;
+    @JsonAdapter(InternedStringAdapter.class)
     private String context_type;
     private String name;
     private String unlock_at;
@@ -61,7 +62,7 @@ public class LockedModule extends CanvasComparable<LockedModule> implements Seri
         return prerequisites;
     }
     public Date getUnlock_at() {
-        return APIHelpers.stringToDate(unlock_at);
+        return CanvasDates.stringToDate(unlock_at);
     }
     public long getContext_id() {
         return context_id;
@@ -105,24 +106,19 @@ public class LockedModule extends CanvasComparable<LockedModule> implements Seri
     ///////////////////////////////////////////////////////////////////////////
     public static boolean isLockedModuleValid(LockedModule lockedModule) {
         if(lockedModule.getContext_id() <= 0) {
-            Log.d(TestHelpers.UNIT_TEST_TAG, "Invalid LockedModule id");
             return false;
         }
         if(lockedModule.getName() == null) {
-            Log.d(TestHelpers.UNIT_TEST_TAG, "Invalid LockedModule name");
             return false;
         }
         if(lockedModule.getUnlock_at() == null) {
-            Log.d(TestHelpers.UNIT_TEST_TAG, "Invalid LockedModule unlock date");
             return false;
         }
         if(lockedModule.getPrerequisites() == null) {
-            Log.d(TestHelpers.UNIT_TEST_TAG, "Invalid LockedModule prerequisites");
             return false;
         }
         for(int i = 0; i < lockedModule.getPrerequisites().size(); i++) {
             if(lockedModule.getPrerequisites().get(i).getName() == null) {
-                Log.d(TestHelpers.UNIT_TEST_TAG, "Invalid LockedModule prereq name");
                 return false;
             }
         }
@@ -3,7 +3,6 @@ package com.instructure.canvasapi.model;
 import android.os.Parcel;
 
 import com.google.gson.annotations.SerializedName;
-import com.instructure.canvasapi.utilities.FileUtilities;
 
 import java.util.Date;
 
@@ -38,7 +37,8 @@ public class MediaComment extends CanvasComparable<MediaComment>{
     }
     public String getDisplayName(Date created_at) {
         if(display_name == null || display_name.equals("null"))
-            return created_at.toLocaleString() + "." + FileUtilities.getFileExtensionFromMimetype(content_type);
+            //The extension is what's after the / in the mime type, e.g. audio/mp4 is mp4.
+            return created_at.toLocaleString() + "." + (content_type == null ? "" : content_type.substring(content_type.lastIndexOf('/') + 1));
         else
             return display_name;
     }
@@ -2,7 +2,7 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -35,7 +35,7 @@ public class Message extends CanvasModel<Message> {
         return id;
     }
     public Date getCreationDate() {
-        return APIHelpers.stringToDate(created_at);
+        return CanvasDates.stringToDate(created_at);
     }
     public String getBody() {
         return body;
@@ -60,7 +60,7 @@ public class Message extends CanvasModel<Message> {
     }
 
     public Date getMessageDate() {
-        return APIHelpers.stringToDate(created_at);
+        return CanvasDates.stringToDate(created_at);
     }
 
     ///////////////////////////////////////////////////////////////////////////
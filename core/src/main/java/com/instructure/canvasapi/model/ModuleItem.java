@@ -1,7 +1,10 @@
 package com.instructure.canvasapi.model;
 
+import com.instructure.canvasapi.core.InternedStringAdapter;
 import android.os.Parcel;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import java.io.Serializable;
 import java.util.Date;
 
@@ -55,6 +58,7 @@ public class ModuleItem extends CanvasModel<ModuleItem> {
     private int position;
     private String title;
     private int indent;
+    @JsonAdapter(InternedStringAdapter.class)
     private String type;
     private String html_url;
     private String url;
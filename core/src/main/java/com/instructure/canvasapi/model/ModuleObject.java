@@ -2,7 +2,7 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.Date;
 
@@ -75,7 +75,7 @@ public class ModuleObject extends CanvasModel<ModuleObject> {
     }
     public Date getUnlock_at() {
         if(unlock_at != null) {
-            return APIHelpers.stringToDate(unlock_at);
+            return CanvasDates.stringToDate(unlock_at);
         }
         else {
             return null;
@@ -102,7 +102,7 @@ public class ModuleObject extends CanvasModel<ModuleObject> {
     }
     public Date getCompleted_at() {
         if(completed_at != null) {
-            return APIHelpers.stringToDate(completed_at);
+            return CanvasDates.stringToDate(completed_at);
         }
         else {
             return null;
@@ -2,7 +2,7 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.Date;
 
@@ -79,16 +79,16 @@ public class Page extends CanvasModel<Page> {
 		this.title = title;
 	}
 	public Date getCreate_at() {
-		return APIHelpers.stringToDate(created_at);
+		return CanvasDates.stringToDate(created_at);
 	}
 	public void setCreate_at(Date create_at) {
-		this.created_at = APIHelpers.dateToString(create_at);
+		this.created_at = CanvasDates.dateToString(create_at);
 	}
 	public Date getUpdated_at() {
-        return APIHelpers.stringToDate(updated_at);
+        return CanvasDates.stringToDate(updated_at);
 	}
 	public void setUpdated_at(Date updated_at) {
-        this.created_at = APIHelpers.dateToString(updated_at);
+        this.created_at = CanvasDates.dateToString(updated_at);
 	}
 	public boolean isHide_from_students() {
 		return hide_from_students || (status != null && status.equalsIgnoreCase("unauthorized"));
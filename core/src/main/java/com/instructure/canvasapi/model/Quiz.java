@@ -2,7 +2,7 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -123,7 +123,7 @@ public class Quiz extends CanvasModel<Quiz> {
     }
 
     public Date getDueAt() {
-        return APIHelpers.stringToDate(due_at);
+        return CanvasDates.stringToDate(due_at);
     }
 
     public void setDueAt(String due_at) {
@@ -187,7 +187,7 @@ public class Quiz extends CanvasModel<Quiz> {
     }
 
     public Date getUnlockAt() {
-        return APIHelpers.stringToDate(unlock_at);
+        return CanvasDates.stringToDate(unlock_at);
     }
 
     public void setUnlockAt(String unlock_at) {
@@ -203,7 +203,7 @@ public class Quiz extends CanvasModel<Quiz> {
     }
 
     public Date getLockAt() {
-        return APIHelpers.stringToDate(lock_at);
+        return CanvasDates.stringToDate(lock_at);
     }
 
     public void setLockAt(String lock_at) {
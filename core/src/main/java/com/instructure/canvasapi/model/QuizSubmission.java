@@ -3,7 +3,7 @@ package com.instructure.canvasapi.model;
 import android.os.Parcel;
 
 import com.google.gson.annotations.SerializedName;
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.Date;
 
@@ -128,7 +128,7 @@ public class QuizSubmission extends CanvasModel<QuizSubmission> {
     }
 
     public Date getStartedAt() {
-        return APIHelpers.stringToDate(startedAt);
+        return CanvasDates.stringToDate(startedAt);
     }
 
     public void setStartedAt(String startedAt) {
@@ -136,7 +136,7 @@ public class QuizSubmission extends CanvasModel<QuizSubmission> {
     }
 
     public Date getFinishedAt() {
-        return APIHelpers.stringToDate(finishedAt);
+        return CanvasDates.stringToDate(finishedAt);
     }
 
     public void setFinishedAt(String finishedAt) {
@@ -144,7 +144,7 @@ public class QuizSubmission extends CanvasModel<QuizSubmission> {
     }
 
     public Date getEndAt() {
-        return APIHelpers.stringToDate(endAt);
+        return CanvasDates.stringToDate(endAt);
     }
 
     public void setEndAt(String endAt) {
@@ -3,7 +3,7 @@ package com.instructure.canvasapi.model;
 import android.os.Parcel;
 
 import com.google.gson.annotations.SerializedName;
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.Date;
 
@@ -19,7 +19,7 @@ public class QuizSubmissionTime extends CanvasModel<QuizSubmissionTime> {
     private int timeLeft;
 
     public Date getEndAt() {
-        return APIHelpers.stringToDate(endAt);
+        return CanvasDates.stringToDate(endAt);
     }
 
     public void setEndAt(String endAt) {
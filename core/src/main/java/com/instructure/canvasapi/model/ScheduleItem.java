@@ -2,9 +2,9 @@ package com.instructure.canvasapi.model;
 
 import android.content.Context;
 import android.os.Parcel;
-import com.instructure.canvasapi.R;
-import com.instructure.canvasapi.utilities.APIHelpers;
-import com.instructure.canvasapi.utilities.DateHelpers;
+
+import com.instructure.canvasapi.core.CanvasDates;
+import com.instructure.canvasapi.core.ModelResources;
 
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -109,7 +109,7 @@ public class ScheduleItem extends CanvasModel<ScheduleItem> {
         if(all_day_date == null) {
             return null;
         }
-        return APIHelpers.stringToDate(all_day_date);
+        return CanvasDates.stringToDate(all_day_date);
     }
     public void setAllDayDate(String allDayDate) {
         this.all_day_date = allDayDate;
@@ -126,6 +126,22 @@ public class ScheduleItem extends CanvasModel<ScheduleItem> {
     public void setLocationName(String locationName) {
         this.location_name = locationName;
     }
+    /**
+     * @return e.g. course_1, or null.
+     */
+    public String getContextCode() {
+        return context_code;
+    }
+    public void setContextCode(String contextCode) {
+        this.context_code = contextCode;
+        this.contextType = null;
+    }
+    /**
+     * @return The context the event shows up in when it differs from getContextCode(), like a section's course. Can be a comma separated list.
+     */
+    public String getEffectiveContextCode() {
+        return effective_context_code;
+    }
     public CanvasContext.Type getContextType() {
         if(context_code == null) {
             contextType = CanvasContext.Type.USER;
@@ -183,19 +199,19 @@ public class ScheduleItem extends CanvasModel<ScheduleItem> {
         }
 
         if (startDate == null) {
-            startDate = APIHelpers.stringToDate(start_at);
+            startDate = CanvasDates.stringToDate(start_at);
         }
         return startDate;
     }
     public void setStartDate(Date startDate) {
         this.startDate = startDate;
-        start_at = APIHelpers.dateToString(startDate);
+        start_at = CanvasDates.dateToString(startDate);
     }
     public Date getEndDate() {
         if(end_at == null) {
             return null;
         }
-        return APIHelpers.stringToDate(end_at);
+        return CanvasDates.stringToDate(end_at);
     }
     public void setEndDate(String endDate) {
         this.end_at = endDate;
@@ -310,43 +326,43 @@ public class ScheduleItem extends CanvasModel<ScheduleItem> {
 
     public String getStartString(Context context) {
         if (isAllDay()) {
-            return context.getString(R.string.allDayEvent);
+            return ModelResources.getInstance().getString(context, ModelResources.Key.ALL_DAY_EVENT);
         }
         if (getStartDate() != null) {
-            return DateHelpers.createPrefixedDateString(context, R.string.Starts, getStartDate());
+            return ModelResources.getInstance().createPrefixedDateString(context, ModelResources.Key.STARTS, getStartDate());
         }
         return "";
     }
 
     public String getStartDateString(Context context) {
         if (isAllDay() && getAllDayDate() != null) {
-            return DateHelpers.getFormattedDate(context, getAllDayDate());
+            return ModelResources.getInstance().getFormattedDate(context, getAllDayDate());
         }
         if (getStartDate() != null) {
-            return DateHelpers.getFormattedDate(context, getStartDate());
+            return ModelResources.getInstance().getFormattedDate(context, getStartDate());
         }
         return "";
     }
 
     public String getStartToEndString(Context context) {
         if (isAllDay()) {
-            return context.getString(R.string.allDayEvent);
+            return ModelResources.getInstance().getString(context, ModelResources.Key.ALL_DAY_EVENT);
         }
         if (getStartDate() != null) {
             if (getEndDate() != null && !getStartDate().equals(getEndDate())) {
-                return DateHelpers.getFormattedTime(context, getStartDate()) + " " + context.getResources().getString(R.string.to) + " " + DateHelpers.getFormattedTime(context, getEndDate());
+                return ModelResources.getInstance().getFormattedTime(context, getStartDate()) + " " + ModelResources.getInstance().getString(context, ModelResources.Key.TO) + " " + ModelResources.getInstance().getFormattedTime(context, getEndDate());
             }
-            return DateHelpers.getFormattedTime(context, getStartDate());
+            return ModelResources.getInstance().getFormattedTime(context, getStartDate());
         }
         return "";
     }
 
     public String getShortStartString(Context context) {
         if (isAllDay() && getAllDayDate() != null) {
-            return DateHelpers.getFormattedDate(context, getAllDayDate());
+            return ModelResources.getInstance().getFormattedDate(context, getAllDayDate());
         }
         if (getStartDate() != null) {
-            return DateHelpers.getFormattedDate(context, getStartDate());
+            return ModelResources.getInstance().getFormattedDate(context, getStartDate());
         }
         return "";
     }
@@ -354,13 +370,13 @@ public class ScheduleItem extends CanvasModel<ScheduleItem> {
     public String getEndString(Context context) {
         if (isAllDay()) {
             if (getAllDayDate() != null) {
-                return DateHelpers.getFormattedDate(context, getAllDayDate());
+                return ModelResources.getInstance().getFormattedDate(context, getAllDayDate());
             } else if (getStartDate() != null) {
-                return DateHelpers.getFormattedDate(context, getStartDate());
+                return ModelResources.getInstance().getFormattedDate(context, getStartDate());
             }
         }
         if (getEndDate() != null) {
-            return DateHelpers.createPrefixedDateTimeString(context, R.string.Ends, getEndDate());
+            return ModelResources.getInstance().createPrefixedDateTimeString(context, ModelResources.Key.ENDS, getEndDate());
         }
         return "";
     }
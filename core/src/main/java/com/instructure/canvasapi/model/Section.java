@@ -2,7 +2,7 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -50,11 +50,11 @@ public class Section extends CanvasContext implements Comparable<CanvasContext>
     }
 
     public Date getStart_at() {
-        return APIHelpers.stringToDate(start_at);
+        return CanvasDates.stringToDate(start_at);
     }
 
     public Date getEnd_at() {
-        return APIHelpers.stringToDate(end_at);
+        return CanvasDates.stringToDate(end_at);
     }
 
     public void setId(long id) {
@@ -3,9 +3,12 @@ package com.instructure.canvasapi.model;
 import android.content.Context;
 import android.os.Parcel;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
-import com.instructure.canvasapi.R;
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
+import com.instructure.canvasapi.core.InternedStringAdapter;
+import com.instructure.canvasapi.core.ModelCompactor;
+import com.instructure.canvasapi.core.ModelResources;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -17,7 +20,7 @@ import java.util.Map;
  *
  * Copyright (c) 2014 Instructure. All rights reserved.
  */
-public class StreamItem extends CanvasModel<StreamItem> {
+public class StreamItem extends CanvasModel<StreamItem> implements ModelCompactor.Compactable {
 
     public enum Type { DISCUSSION_TOPIC, SUBMISSION, ANNOUNCEMENT, CONVERSATION, MESSAGE, CONFERENCE, COLLABORATION, COLLECTION_ITEM, UNKNOWN, NOT_SET;
         public static boolean isDiscussionTopic(StreamItem streamItem) {return streamItem.getType() == DISCUSSION_TOPIC;}
@@ -37,7 +40,9 @@ public class StreamItem extends CanvasModel<StreamItem> {
     private long id;
     private String title;
     private String message;
+    @JsonAdapter(InternedStringAdapter.class)
     private String type;
+    @JsonAdapter(InternedStringAdapter.class)
     private String context_type;
     private boolean read_state;
     private String url;
@@ -72,8 +77,10 @@ public class StreamItem extends CanvasModel<StreamItem> {
     private String graded_at;
     private long grader_id;
     private double score = -1.0;
+    @JsonAdapter(InternedStringAdapter.class)
     private String submission_type;
     private String submitted_at;
+    @JsonAdapter(InternedStringAdapter.class)
     private String workflow_state;
     private boolean late;
     private String preview_url;
@@ -114,7 +121,7 @@ public class StreamItem extends CanvasModel<StreamItem> {
 
     public Date getUpdatedAtDate() {
         if (updatedAtDate == null) {
-            updatedAtDate = APIHelpers.stringToDate(updated_at);
+            updatedAtDate = CanvasDates.stringToDate(updated_at);
         }
         return updatedAtDate;
     }
@@ -123,7 +130,7 @@ public class StreamItem extends CanvasModel<StreamItem> {
     }
     public String getTitle(Context context) {
         if (title == null && getType() == Type.CONVERSATION) {
-            title = context.getString(R.string.Message);
+            title = ModelResources.getInstance().getString(context, ModelResources.Key.MESSAGE);
         }
         return title;
     }
@@ -234,7 +241,7 @@ public class StreamItem extends CanvasModel<StreamItem> {
     }
     public Date getGradedAt() {
         if (gradedAtDate == null) {
-            gradedAtDate = APIHelpers.stringToDate(graded_at);
+            gradedAtDate = CanvasDates.stringToDate(graded_at);
         }
         return gradedAtDate;
     }
@@ -249,7 +256,7 @@ public class StreamItem extends CanvasModel<StreamItem> {
     }
     public Date getSubmittedAt() {
         if (submittedAtDate == null) {
-            submittedAtDate = APIHelpers.stringToDate(submitted_at);
+            submittedAtDate = CanvasDates.stringToDate(submitted_at);
         }
         return submittedAtDate;
     }
@@ -298,6 +305,12 @@ public class StreamItem extends CanvasModel<StreamItem> {
     // Helpers
     ///////////////////////////////////////////////////////////////////////////
 
+    @Override
+    public void compact() {
+        root_discussion_entries = ModelCompactor.compact(root_discussion_entries);
+        submission_comments = ModelCompactor.compact(submission_comments);
+    }
+
     private Type typeFromString(String type) {
         if(type.toLowerCase().equals("conversation")) {
             return Type.CONVERSATION;
@@ -323,7 +336,7 @@ public class StreamItem extends CanvasModel<StreamItem> {
 
     public void setConversation(Context context, Conversation conversation, long myUserId, String monologueDefault) {
 
-        if(APIHelpers.paramIsNull(context, conversation,monologueDefault)){
+        if(context == null || conversation == null || monologueDefault == null){
             return;
         }
 
@@ -344,7 +357,7 @@ public class StreamItem extends CanvasModel<StreamItem> {
         switch (getType()) {
             case CONVERSATION:
                 if (conversation == null) {
-                    return context.getString(R.string.Loading);
+                    return ModelResources.getInstance().getString(context, ModelResources.Key.LOADING);
                 } else if (conversation.getLastMessagePreview() == null) {
                     return "";
                 }
@@ -369,7 +382,7 @@ public class StreamItem extends CanvasModel<StreamItem> {
             case DISCUSSION_TOPIC :
                 //if it's a discussionTopic, get the last entry for the message.
                 if (root_discussion_entries.size() > 0) {
-                    return root_discussion_entries.get(root_discussion_entries.size() - 1).getMessage(context.getString(R.string.Deleted));
+                    return root_discussion_entries.get(root_discussion_entries.size() - 1).getMessage(ModelResources.getInstance().getString(context, ModelResources.Key.DELETED));
                 }
                 break;
             default:
@@ -2,7 +2,9 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.google.gson.annotations.JsonAdapter;
+import com.instructure.canvasapi.core.CanvasDates;
+import com.instructure.canvasapi.core.InternedStringAdapter;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -34,7 +36,11 @@ public class Submission extends CanvasModel<Submission>{
 	private String body;
     private HashMap<String,RubricCriterionRating> rubric_assessment = new HashMap<String, RubricCriterionRating>();
 	private boolean grade_matches_current_submission;
+    private boolean late;
+    private boolean excused;
+	@JsonAdapter(InternedStringAdapter.class)
 	private String workflow_state;
+	@JsonAdapter(InternedStringAdapter.class)
 	private String submission_type;
 	private String preview_url;
 	private String url;
@@ -136,7 +142,7 @@ public class Submission extends CanvasModel<Submission>{
         if(submitted_at == null) {
             return null;
         }
-		return APIHelpers.stringToDate(submitted_at);
+		return CanvasDates.stringToDate(submitted_at);
 	}
 	public void setSubmitDate(String submitDate) {
         if(submitDate == null) {
@@ -232,6 +238,16 @@ public class Submission extends CanvasModel<Submission>{
         this.attempt = attempt;
     }
 
+    public boolean isLate() { return late; }
+    public void setLate(boolean late) {
+        this.late = late;
+    }
+
+    public boolean isExcused() { return excused; }
+    public void setExcused(boolean excused) {
+        this.excused = excused;
+    }
+
     ///////////////////////////////////////////////////////////////////////////
     // Required Overrides
     ///////////////////////////////////////////////////////////////////////////
@@ -312,6 +328,8 @@ public class Submission extends CanvasModel<Submission>{
         dest.writeParcelable(this.media_comment, flags);
         dest.writeList(this.discussion_entries);
         dest.writeLong(this.attempt);
+        dest.writeByte(late ? (byte) 1 : (byte) 0);
+        dest.writeByte(excused ? (byte) 1 : (byte) 0);
     }
 
     private Submission(Parcel in) {
@@ -343,6 +361,8 @@ public class Submission extends CanvasModel<Submission>{
         this.media_comment = in.readParcelable(MediaComment.class.getClassLoader());
         in.readList(this.discussion_entries, DiscussionEntry.class.getClassLoader());
         this.attempt = in.readLong();
+        this.late = in.readByte() != 0;
+        this.excused = in.readByte() != 0;
     }
 
     public static Creator<Submission> CREATOR = new Creator<Submission>() {
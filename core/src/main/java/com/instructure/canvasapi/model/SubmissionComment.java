@@ -3,8 +3,8 @@ package com.instructure.canvasapi.model;
 import android.content.Context;
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
-import com.instructure.canvasapi.utilities.DateHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
+import com.instructure.canvasapi.core.ModelResources;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -52,7 +52,7 @@ public class SubmissionComment extends CanvasComparable<SubmissionComment> imple
         if(created_at == null) {
             return null;
         }
-        return APIHelpers.stringToDate(created_at);
+        return CanvasDates.stringToDate(created_at);
     }
 
 	public MediaComment getMedia_comment() {
@@ -112,7 +112,7 @@ public class SubmissionComment extends CanvasComparable<SubmissionComment> imple
     ///////////////////////////////////////////////////////////////////////////
 
     public static String getFormattedDate(Context context, String date) {
-        return DateHelpers.getDateTimeString(context, APIHelpers.stringToDate(date));
+        return ModelResources.getInstance().getDateTimeString(context, CanvasDates.stringToDate(date));
     }
 
     @Override
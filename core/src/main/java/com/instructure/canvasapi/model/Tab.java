@@ -4,8 +4,10 @@ import android.content.Context;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.InternedStringAdapter;
+import com.instructure.canvasapi.core.ModelResources;
 
 /**
  * Created by Joshua Dutton on 9/6/13.
@@ -41,6 +43,7 @@ public class Tab implements Parcelable {
     // API Variables
     private String id;
     private String label;
+    @JsonAdapter(InternedStringAdapter.class)
     private String type;
     private String html_url;    // internal url
     private String full_url;         // external url
@@ -72,7 +75,7 @@ public class Tab implements Parcelable {
             temp_html_url = "/" + temp_html_url;
         }
 
-        return APIHelpers.getDomain(context) + temp_html_url;
+        return ModelResources.getInstance().getDomain(context) + temp_html_url;
     }
 
     public String getExternalUrl() {
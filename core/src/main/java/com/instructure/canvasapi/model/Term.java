@@ -2,7 +2,7 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.core.CanvasDates;
 
 import java.util.Date;
 
@@ -47,13 +47,13 @@ public class Term extends CanvasModel<Term>{
     }
     public Date getStartAt() {
         if (startDate == null) {
-            startDate = APIHelpers.stringToDate(start_at);
+            startDate = CanvasDates.stringToDate(start_at);
         }
         return startDate;
     }
     public Date getEndAt() {
         if (endDate == null) {
-            endDate = APIHelpers.stringToDate(end_at);
+            endDate = CanvasDates.stringToDate(end_at);
         }
         return endDate;
     }
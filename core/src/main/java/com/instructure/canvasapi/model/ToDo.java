@@ -2,7 +2,9 @@ package com.instructure.canvasapi.model;
 
 import android.os.Parcel;
 
-import com.instructure.canvasapi.utilities.APIHelpers;
+import com.google.gson.annotations.JsonAdapter;
+import com.instructure.canvasapi.core.CanvasDates;
+import com.instructure.canvasapi.core.InternedStringAdapter;
 
 import java.io.Serializable;
 import java.util.Date;
@@ -20,6 +22,7 @@ public class ToDo extends CanvasComparable<ToDo>{
 
     // member variables
     private String start_date;
+	@JsonAdapter(InternedStringAdapter.class)
 	private String type;
 	private int needs_grading_count;
 	private String ignore;
@@ -43,7 +46,7 @@ public class ToDo extends CanvasComparable<ToDo>{
 
     public Date getStartDate() {
         if (startDate == null) {
-            startDate = APIHelpers.stringToDate(start_date);
+            startDate = CanvasDates.stringToDate(start_date);
         }
         return startDate;
     }
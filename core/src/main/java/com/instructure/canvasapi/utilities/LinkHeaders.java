@@ -0,0 +1,25 @@
+package com.instructure.canvasapi.utilities;
+
+/**
+ * @author Josh Ruesch
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ *
+ * Lives in core but keeps its utilities package, since apps override CanvasCallback.firstPage/nextPage with it.
+ */
+public class LinkHeaders {
+
+	//used for pagination
+	public String prevURL;
+	public String nextURL;
+	public String lastURL;
+	public String firstURL;
+	public String currentURL;
+
+	//The page numbers in those urls, or -1 if there's no link or it pages with a bookmark.
+	public int prevPage = -1;
+	public int nextPage = -1;
+	public int lastPage = -1;
+	public int currentPage = -1;
+	public int perPage = -1;
+}
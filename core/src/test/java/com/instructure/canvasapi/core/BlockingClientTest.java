@@ -0,0 +1,148 @@
+package com.instructure.canvasapi.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedByteArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BlockingClientTest {
+
+    static class Item {
+        long id;
+    }
+
+    /**
+     * Serves courses/{id}/items as two pages. Course 404 doesn't exist and course 0 has no network.
+     */
+    private static class FakeCanvas implements Client {
+        final List<String> urls = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public Response execute(Request request) throws IOException {
+            String url = request.getUrl();
+            urls.add(url);
+
+            if (url.contains("courses/0/")) {
+                throw new IOException("No network");
+            }
+            if (url.contains("courses/404/")) {
+                return response(url, 404, "[]", Collections.<Header>emptyList());
+            }
+            if (url.contains("broken")) {
+                return response(url, 200, "[{\"id\":", Collections.<Header>emptyList());
+            }
+            if (url.contains("?page=2")) {
+                return response(url, 200, "[{\"id\":3}]", Collections.<Header>emptyList());
+            }
+
+            String next = url.substring(0, url.indexOf('?')) + "?page=2&per_page=2";
+            List<Header> headers = Arrays.asList(new Header("Link", "<" + next + ">; rel=\"next\""));
+            return response(url, 200, "[{\"id\":1},{\"id\":2}]", headers);
+        }
+
+        private static Response response(String url, int status, String body, List<Header> headers) throws IOException {
+            return new Response(url, status, "Status " + status, headers, new TypedByteArray("application/json", body.getBytes("UTF-8")));
+        }
+    }
+
+    private static BlockingClient buildClient(FakeCanvas fakeCanvas) {
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+        session.setup("https://mobiledev.instructure.com", "token");
+        return new BlockingClient(new CanvasClient.Builder(session).setClient(fakeCanvas).setPerPage(2).build());
+    }
+
+    @Test
+    public void testGetAllFollowsNextLinks() throws CanvasException {
+        FakeCanvas fakeCanvas = new FakeCanvas();
+        List<Item> items = buildClient(fakeCanvas).getAll("courses/1/items", Item[].class);
+
+        assertEquals(3, items.size());
+        assertEquals(3, items.get(2).id);
+        assertEquals(2, fakeCanvas.urls.size());
+        assertEquals("https://mobiledev.instructure.com/api/v1/courses/1/items?per_page=2", fakeCanvas.urls.get(0));
+        assertEquals("https://mobiledev.instructure.com/api/v1/courses/1/items?page=2&per_page=2", fakeCanvas.urls.get(1));
+    }
+
+    @Test
+    public void testPageIterator() throws CanvasException {
+        BlockingClient.PageIterator<Item> iterator = buildClient(new FakeCanvas()).pages("courses/1/items", Item[].class);
+
+        assertTrue(iterator.hasNext());
+        assertEquals(2, iterator.next().length);
+        assertEquals("courses/1/items?page=2&per_page=2", iterator.getNextPath());
+        assertEquals(1, iterator.next().length);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testTypedExceptions() {
+        BlockingClient client = buildClient(new FakeCanvas());
+
+        try {
+            client.getAll("courses/404/items", Item[].class);
+            fail();
+        } catch (CanvasException.CanvasHttpException e) {
+            assertTrue(e.isNotFound());
+        } catch (CanvasException e) {
+            fail();
+        }
+
+        try {
+            client.getAll("courses/0/items", Item[].class);
+            fail();
+        } catch (CanvasException.CanvasNetworkException e) {
+            assertTrue(e.getUrl().contains("courses/0/items"));
+        } catch (CanvasException e) {
+            fail();
+        }
+
+        try {
+            client.get("broken", Item.class);
+            fail();
+        } catch (CanvasException.CanvasConversionException e) {
+            //expected
+        } catch (CanvasException e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testBulkGetAll() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            BlockingClient.BulkResult<Long, Item> result = buildClient(new FakeCanvas()).getAll(Arrays.asList(1L, 2L, 404L, 2L),
+                    new BlockingClient.PathBuilder<Long>() {
+                        @Override
+                        public String getPath(Long courseId) {
+                            return "courses/" + courseId + "/items";
+                        }
+                    }, Item[].class, executor);
+
+            assertFalse(result.isSuccessful());
+            assertEquals(3, result.get(1L).size());
+            assertEquals(3, result.get(2L).size());
+            assertNull(result.get(404L));
+            assertTrue(result.getError(404L) instanceof CanvasException.CanvasHttpException);
+            assertEquals(2, result.getValues().size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
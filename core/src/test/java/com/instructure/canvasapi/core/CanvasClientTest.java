@@ -0,0 +1,146 @@
+package com.instructure.canvasapi.core;
+
+import com.google.gson.JsonObject;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.http.GET;
+import retrofit.mime.TypedByteArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CanvasClientTest {
+
+    interface SelfInterface {
+        @GET("/users/self")
+        JsonObject getSelf();
+    }
+
+    /**
+     * Records every request and answers with an empty object.
+     */
+    private static class RecordingClient implements Client {
+        final List<Request> requests = new ArrayList<Request>();
+
+        @Override
+        public Response execute(Request request) throws IOException {
+            requests.add(request);
+            return new Response(request.getUrl(), 200, "OK", Collections.<Header>emptyList(),
+                    new TypedByteArray("application/json", "{}".getBytes("UTF-8")));
+        }
+    }
+
+    private static CanvasClient buildClient(String domain, String token, RecordingClient httpClient) {
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+        session.setup(domain, token);
+        return new CanvasClient.Builder(session).setClient(httpClient).build();
+    }
+
+    private static String getHeader(Request request, String name) {
+        for (Header header : request.getHeaders()) {
+            if (header.getName().equals(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testClientsAreIndependent() {
+        RecordingClient httpClient = new RecordingClient();
+        CanvasClient first = buildClient("https://one.instructure.com", "one", httpClient);
+        CanvasClient second = buildClient("https://two.instructure.com", "two", httpClient);
+
+        first.create(SelfInterface.class).getSelf();
+        second.create(SelfInterface.class).getSelf();
+
+        assertEquals(2, httpClient.requests.size());
+        Request firstRequest = httpClient.requests.get(0);
+        Request secondRequest = httpClient.requests.get(1);
+
+        assertTrue(firstRequest.getUrl().startsWith("https://one.instructure.com/api/v1/"));
+        assertEquals("Bearer one", getHeader(firstRequest, "Authorization"));
+        assertTrue(secondRequest.getUrl().startsWith("https://two.instructure.com/api/v1/"));
+        assertEquals("Bearer two", getHeader(secondRequest, "Authorization"));
+    }
+
+    @Test
+    public void testMasquerade() {
+        RecordingClient httpClient = new RecordingClient();
+        CanvasClient client = buildClient("https://one.instructure.com", "one", httpClient);
+        CanvasClient masquerading = client.masquerade(42);
+
+        client.create(SelfInterface.class).getSelf();
+        masquerading.create(SelfInterface.class).getSelf();
+
+        assertFalse(httpClient.requests.get(0).getUrl().contains("as_user_id"));
+        assertTrue(httpClient.requests.get(1).getUrl().contains("as_user_id=42"));
+        assertEquals("Bearer one", getHeader(httpClient.requests.get(1), "Authorization"));
+        assertEquals(-1, client.getSession().getMasqueradeId());
+    }
+
+    @Test
+    public void testAdaptersArePooled() {
+        CanvasClient client = buildClient("https://one.instructure.com", "one", new RecordingClient());
+
+        assertSame(client.getRestAdapter("courses/", true), client.getRestAdapter("courses/", true));
+        assertNotSame(client.getRestAdapter("courses/", true), client.getRestAdapter("courses/", false));
+        assertNotSame(client.getRestAdapter("courses/", true), client.getRestAdapter("groups/", true));
+    }
+
+    @Test
+    public void testPageSizeControllerIsPerClient() {
+        PageSizeController oneController = new PageSizeController();
+        oneController.setEnabled(true);
+        oneController.pin("users/{id}", 7);
+        PageSizeController twoController = new PageSizeController();
+        twoController.setEnabled(true);
+        twoController.pin("users/{id}", 13);
+
+        RecordingClient httpClient = new RecordingClient();
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+        session.setup("https://one.instructure.com", "one");
+        CanvasClient one = new CanvasClient.Builder(session).setClient(httpClient).setPageSizeController(oneController).build();
+        CanvasClient two = new CanvasClient.Builder(session).setClient(httpClient).setPageSizeController(twoController).build();
+
+        one.create(SelfInterface.class).getSelf();
+        two.create(SelfInterface.class).getSelf();
+        one.masquerade(42).create(SelfInterface.class).getSelf();
+
+        assertTrue(httpClient.requests.get(0).getUrl().contains("per_page=7"));
+        assertTrue(httpClient.requests.get(1).getUrl().contains("per_page=13"));
+        assertTrue(httpClient.requests.get(2).getUrl().contains("per_page=7"));
+        assertSame(oneController, one.masquerade(42).getPageSizeController());
+    }
+
+    @Test
+    public void testMasqueradeCacheNamespace() throws IOException {
+        File root = File.createTempFile("canvas", "client");
+        root.delete();
+
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+        session.setup("https://one.instructure.com", "one");
+        CanvasClient client = new CanvasClient.Builder(session).setCacheDirectory(root, "one").build();
+        CanvasClient masquerading = client.masquerade(42);
+
+        client.getCacheStore().write("courses", "mine");
+        assertEquals("mine", client.getCacheStore().read("courses"));
+        assertEquals(null, masquerading.getCacheStore().read("courses"));
+
+        FileCacheStore.deleteRecursively(root);
+    }
+}
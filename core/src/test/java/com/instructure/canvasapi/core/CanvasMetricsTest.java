@@ -0,0 +1,199 @@
+package com.instructure.canvasapi.core;
+
+import com.google.gson.JsonObject;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import retrofit.RetrofitError;
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.http.GET;
+import retrofit.mime.TypedByteArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CanvasMetricsTest {
+
+    interface TabsInterface {
+        @GET("/courses/1/tabs")
+        JsonObject[] getTabs();
+
+        @GET("/courses/2/tabs")
+        JsonObject[] getOtherTabs();
+
+        @GET("/courses/404/tabs")
+        JsonObject[] getMissingTabs();
+
+        @GET("/courses/1/broken")
+        JsonObject[] getBroken();
+    }
+
+    private static class FakeCanvas implements Client {
+        @Override
+        public Response execute(Request request) throws IOException {
+            String url = request.getUrl();
+            if (url.contains("404")) {
+                return new Response(url, 404, "Not Found", Collections.<Header>emptyList(), null);
+            }
+            String body = url.contains("broken") ? "{" : "[{\"id\":1},{\"id\":2}]";
+            List<Header> headers = Arrays.asList(new Header("Link", "<" + url + "&page=2>; rel=\"next\""));
+            return new Response(url, 200, "OK", headers, new TypedByteArray("application/json", body.getBytes("UTF-8")));
+        }
+    }
+
+    //Runs inline, like a thread pool with an idle thread.
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable runnable) {
+            runnable.run();
+        }
+    };
+
+    @Test
+    public void testHistogramPercentiles() {
+        CanvasMetrics metrics = new CanvasMetrics();
+        for (int i = 1; i <= 100; i++) {
+            metrics.recordLatency("courses", CanvasMetrics.Phase.NETWORK, i * 10);
+        }
+
+        CanvasMetrics.HistogramSnapshot latency = metrics.snapshot().getEndpoint("courses").getLatency(CanvasMetrics.Phase.NETWORK);
+        assertEquals(100, latency.getCount());
+        assertEquals(10, latency.getMin());
+        assertEquals(1000, latency.getMax());
+        assertEquals(505, latency.getMean(), 0.001);
+        assertEquals(500, latency.getPercentile(50));
+        assertEquals(1000, latency.getPercentile(99));
+        assertEquals(0, metrics.snapshot().getEndpoint("courses").getLatency(CanvasMetrics.Phase.DECODE).getPercentile(50));
+    }
+
+    @Test
+    public void testCacheRates() {
+        CanvasMetrics metrics = new CanvasMetrics();
+        metrics.setStaleAge(1000);
+        metrics.recordCacheRead("/courses/1/tabs", -1);
+        metrics.recordCacheRead(UrlHelpers.getEndpointTemplate("/courses/2/tabs"), 10);
+        metrics.recordCacheRead(UrlHelpers.getEndpointTemplate("/courses/3/tabs"), 5000);
+        metrics.recordCacheRead(UrlHelpers.getEndpointTemplate("/courses/4/tabs"), -1);
+
+        CanvasMetrics.EndpointSnapshot tabs = metrics.snapshot().getEndpoint("courses/{id}/tabs");
+        assertEquals(1, tabs.getCacheReads(CanvasMetrics.CacheResult.HIT));
+        assertEquals(1, tabs.getCacheReads(CanvasMetrics.CacheResult.STALE));
+        assertEquals(1, tabs.getCacheReads(CanvasMetrics.CacheResult.MISS));
+        assertEquals(2.0 / 3, tabs.getCacheHitRate(), 0.001);
+    }
+
+    @Test
+    public void testDisabledAndSnapshotIsolation() {
+        CanvasMetrics metrics = new CanvasMetrics();
+        metrics.recordResponse("courses", 100, true);
+        CanvasMetrics.Snapshot snapshot = metrics.snapshot();
+
+        metrics.recordResponse("courses", 100, true);
+        metrics.setEnabled(false);
+        metrics.recordResponse("courses", 100, true);
+
+        assertEquals(1, snapshot.getEndpoint("courses").getPageCount());
+        assertEquals(2, metrics.snapshot().getEndpoint("courses").getPageCount());
+
+        metrics.reset();
+        assertNull(metrics.snapshot().getEndpoint("courses"));
+    }
+
+    @Test
+    public void testClientRecordsEveryPhase() {
+        CanvasMetrics metrics = new CanvasMetrics();
+        final List<String> heard = new ArrayList<String>();
+        metrics.addListener(new CanvasMetrics.Listener() {
+            @Override
+            public void onLatency(String endpointTemplate, CanvasMetrics.Phase phase, long millis) {
+                heard.add(phase.name());
+            }
+
+            @Override
+            public void onResponse(String endpointTemplate, long bytes, boolean isPage) {
+                heard.add("RESPONSE");
+            }
+
+            @Override
+            public void onCacheRead(String endpointTemplate, CanvasMetrics.CacheResult result) {
+                heard.add(result.name());
+            }
+
+            @Override
+            public void onError(String endpointTemplate, RetrofitError.Kind kind) {
+                heard.add(kind.name());
+            }
+        });
+
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+        session.setup("https://mobiledev.instructure.com", "token");
+        CanvasClient client = new CanvasClient.Builder(session)
+                .setClient(new FakeCanvas())
+                .setExecutors(DIRECT, DIRECT)
+                .setMetrics(metrics)
+                .build();
+
+        TabsInterface tabs = client.create(TabsInterface.class);
+        tabs.getTabs();
+        tabs.getOtherTabs();
+
+        CanvasMetrics.EndpointSnapshot snapshot = metrics.snapshot().getEndpoint("courses/{id}/tabs");
+        assertEquals(2, snapshot.getRequestCount());
+        assertEquals(2, snapshot.getPageCount());
+        assertEquals(2, snapshot.getLatency(CanvasMetrics.Phase.NETWORK).getCount());
+        assertEquals(2, snapshot.getLatency(CanvasMetrics.Phase.DECODE).getCount());
+        assertEquals(2 * "[{\"id\":1},{\"id\":2}]".length(), snapshot.getResponseBytes().getSum());
+        assertTrue(heard.contains("NETWORK") && heard.contains("DECODE") && heard.contains("RESPONSE"));
+
+        //Synchronous calls run on this thread, with no MetricsExecutor to clean up after them.
+        assertNull(CanvasMetrics.CURRENT.get().endpointTemplate);
+
+        try {
+            tabs.getMissingTabs();
+            fail();
+        } catch (RetrofitError e) {
+            assertEquals(1, metrics.snapshot().getEndpoint("courses/{id}/tabs").getErrorCount(RetrofitError.Kind.HTTP));
+        }
+        assertNull(CanvasMetrics.CURRENT.get().endpointTemplate);
+
+        try {
+            tabs.getBroken();
+            fail();
+        } catch (RetrofitError e) {
+            assertEquals(1, metrics.snapshot().getEndpoint("courses/{id}/broken").getErrorCount(RetrofitError.Kind.CONVERSION));
+        }
+    }
+
+    @Test
+    public void testQueueTimeNeedsTheExecutor() throws InterruptedException {
+        final CanvasMetrics metrics = new CanvasMetrics();
+        final Client client = new MetricsClient(new FakeCanvas(), metrics);
+
+        new MetricsExecutor(DIRECT).execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    client.execute(new Request("GET", "https://mobiledev.instructure.com/api/v1/courses/1/tabs", Collections.<Header>emptyList(), null));
+                    client.execute(new Request("GET", "https://mobiledev.instructure.com/api/v1/courses/1/tabs", Collections.<Header>emptyList(), null));
+                } catch (IOException e) {
+                    fail();
+                }
+            }
+        });
+
+        //Only the first request in a task waited for the thread.
+        assertEquals(1, metrics.snapshot().getEndpoint("courses/{id}/tabs").getLatency(CanvasMetrics.Phase.QUEUE).getCount());
+    }
+}
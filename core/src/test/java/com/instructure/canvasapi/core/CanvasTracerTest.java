@@ -0,0 +1,178 @@
+package com.instructure.canvasapi.core;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import retrofit.Callback;
+import retrofit.RetrofitError;
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.http.GET;
+import retrofit.mime.TypedByteArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CanvasTracerTest {
+
+    interface TabsInterface {
+        @GET("/courses/1/tabs")
+        void getTabs(Callback<JsonObject[]> callback);
+
+        @GET("/courses/1/tabs")
+        JsonObject[] getTabs();
+    }
+
+    private static class FakeCanvas implements Client {
+        @Override
+        public Response execute(Request request) throws IOException {
+            String url = request.getUrl();
+            String body = "[{\"id\":1},{\"id\":2}]";
+            return new Response(url, 200, "OK", new ArrayList<Header>(), new TypedByteArray("application/json", body.getBytes("UTF-8")));
+        }
+    }
+
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable runnable) {
+            runnable.run();
+        }
+    };
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        CanvasTracer tracer = new CanvasTracer();
+        assertEquals(-1, tracer.now());
+
+        tracer.complete("http", CanvasTracer.CATEGORY_NETWORK, tracer.now(), 1);
+        tracer.instant("hop", CanvasTracer.CATEGORY_CALLBACK, 1, null, null);
+        assertEquals(0, tracer.getSpans().size());
+    }
+
+    @Test
+    public void testRingBufferKeepsNewest() {
+        CanvasTracer tracer = new CanvasTracer(3);
+        tracer.setEnabled(true);
+        for (int i = 0; i < 5; i++) {
+            tracer.complete("span" + i, CanvasTracer.CATEGORY_NETWORK, tracer.now(), i);
+        }
+
+        List<CanvasTracer.Span> spans = tracer.getSpans();
+        assertEquals(3, spans.size());
+        assertEquals("span2", spans.get(0).getName());
+        assertEquals("span4", spans.get(2).getName());
+        assertEquals(1, tracer.getSpans(3).size());
+
+        tracer.clear();
+        assertEquals(0, tracer.getSpans().size());
+    }
+
+    @Test
+    public void testChromeTraceFormat() throws IOException {
+        CanvasTracer tracer = new CanvasTracer();
+        tracer.setEnabled(true);
+        tracer.complete("http \"courses\"", CanvasTracer.CATEGORY_NETWORK, tracer.now(), 7, "result", 200);
+        tracer.instant("hop", CanvasTracer.CATEGORY_CALLBACK, 7, null, null);
+
+        StringWriter writer = new StringWriter();
+        tracer.writeChromeTrace(writer);
+
+        JsonObject trace = new JsonParser().parse(writer.toString()).getAsJsonObject();
+        JsonArray events = trace.getAsJsonArray("traceEvents");
+        //Two spans and one thread name.
+        assertEquals(3, events.size());
+
+        JsonObject http = events.get(0).getAsJsonObject();
+        assertEquals("http \"courses\"", http.get("name").getAsString());
+        assertEquals("X", http.get("ph").getAsString());
+        assertTrue(http.get("dur").getAsLong() >= 0);
+        assertEquals(7, http.getAsJsonObject("args").get("correlationId").getAsLong());
+        assertEquals("200", http.getAsJsonObject("args").get("result").getAsString());
+
+        JsonObject threadName = events.get(2).getAsJsonObject();
+        assertEquals("M", threadName.get("ph").getAsString());
+        assertEquals(Thread.currentThread().getName(), threadName.getAsJsonObject("args").get("name").getAsString());
+    }
+
+    @Test
+    public void testCorrelationIdFollowsRequest() {
+        CanvasTracer tracer = new CanvasTracer();
+        tracer.setEnabled(true);
+
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+        session.setup("https://mobiledev.instructure.com", "token");
+        CanvasClient client = new CanvasClient.Builder(session)
+                .setClient(new FakeCanvas())
+                .setExecutors(DIRECT, DIRECT)
+                .setTracer(tracer)
+                .build();
+        assertNull(client.getMetrics());
+
+        long correlationId = CanvasTracer.nextCorrelationId();
+        CanvasTracer.setPendingCorrelationId(correlationId);
+        client.create(TabsInterface.class).getTabs(new Callback<JsonObject[]>() {
+            @Override
+            public void success(JsonObject[] tabs, Response response) {
+                assertEquals(2, tabs.length);
+            }
+
+            @Override
+            public void failure(RetrofitError error) {
+                fail();
+            }
+        });
+
+        List<String> names = new ArrayList<String>();
+        for (CanvasTracer.Span span : tracer.getSpans(correlationId)) {
+            names.add(span.getName());
+        }
+        assertEquals(Arrays.asList("queue", "http courses/{id}/tabs", "decode courses/{id}/tabs"), names);
+
+        //The pending id is only used once.
+        assertEquals(CanvasTracer.NO_CORRELATION_ID, CanvasTracer.takePendingCorrelationId());
+    }
+
+    @Test
+    public void testSynchronousCallTakesThePendingId() {
+        CanvasTracer tracer = new CanvasTracer();
+        tracer.setEnabled(true);
+
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+        session.setup("https://mobiledev.instructure.com", "token");
+        CanvasClient client = new CanvasClient.Builder(session)
+                .setClient(new FakeCanvas())
+                .setTracer(tracer)
+                .build();
+
+        long correlationId = CanvasTracer.nextCorrelationId();
+        CanvasTracer.setPendingCorrelationId(correlationId);
+        TabsInterface tabs = client.create(TabsInterface.class);
+        assertEquals(2, tabs.getTabs().length);
+
+        List<String> names = new ArrayList<String>();
+        for (CanvasTracer.Span span : tracer.getSpans(correlationId)) {
+            names.add(span.getName());
+        }
+        assertEquals(Arrays.asList("http courses/{id}/tabs", "decode courses/{id}/tabs"), names);
+        assertEquals(CanvasTracer.NO_CORRELATION_ID, CanvasTracer.takePendingCorrelationId());
+
+        //The next request on this thread isn't tied to the old id.
+        tabs.getTabs();
+        assertEquals(2, tracer.getSpans(correlationId).size());
+        assertEquals(2, tracer.getSpans(CanvasTracer.NO_CORRELATION_ID).size());
+    }
+}
@@ -0,0 +1,122 @@
+package com.instructure.canvasapi.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CrawlCheckpointTest {
+
+    private static final String NAME = CrawlCheckpoint.getCheckpointName("/courses/1/groups");
+
+    private File directory;
+    private FileCacheStore cacheStore;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = File.createTempFile("canvas-checkpoint", "");
+        directory.delete();
+        cacheStore = new FileCacheStore(directory);
+    }
+
+    @After
+    public void tearDown() {
+        FileCacheStore.deleteRecursively(directory);
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        assertTrue(CrawlCheckpoint.savePage(cacheStore, NAME, 1, Arrays.asList("a", "b"), "courses/1/groups?page=2", 1000));
+        assertTrue(CrawlCheckpoint.savePage(cacheStore, NAME, 2, Arrays.asList("c"), "courses/1/groups?page=3", 1000));
+
+        CrawlCheckpoint<String> loaded = CrawlCheckpoint.load(cacheStore, NAME, 2000, CrawlCheckpoint.DEFAULT_MAX_AGE);
+        assertEquals("courses/1/groups?page=3", loaded.getNextURL());
+        assertEquals(Arrays.asList("a", "b", "c"), loaded.getItems());
+        assertEquals(2, loaded.getPageCount());
+        assertEquals(1000, loaded.getCreatedAt());
+    }
+
+    @Test
+    public void testOnlyTheNewPageIsWritten() {
+        CrawlCheckpoint.savePage(cacheStore, NAME, 1, Arrays.asList("a", "b"), "next", 0);
+        File firstPage = cacheStore.getFile(CrawlCheckpoint.getPageName(NAME, 1));
+        long firstPageWritten = firstPage.lastModified();
+        firstPage.setLastModified(firstPageWritten - 10000);
+
+        CrawlCheckpoint.savePage(cacheStore, NAME, 2, Arrays.asList("c"), "next", 0);
+
+        //Page 1 wasn't rewritten, and the cursor doesn't carry any items.
+        assertEquals(firstPageWritten - 10000, firstPage.lastModified());
+        assertTrue(((CrawlCheckpoint<?>) cacheStore.read(NAME)).getItems().isEmpty());
+    }
+
+    @Test
+    public void testResumeAfterFailedPage() {
+        //A five page crawl where page 3 fails: pages 1 and 2 are checkpointed.
+        List<String> collected = new ArrayList<String>();
+        for (int page = 1; page <= 2; page++) {
+            List<String> items = Arrays.asList("p" + page + "a", "p" + page + "b");
+            collected.addAll(items);
+            CrawlCheckpoint.savePage(cacheStore, NAME, page, items, "groups?page=" + (page + 1), 1000);
+        }
+
+        //The retry picks up at page 3 with what pages 1 and 2 returned.
+        CrawlCheckpoint<String> resumed = CrawlCheckpoint.load(cacheStore, NAME, 2000, CrawlCheckpoint.DEFAULT_MAX_AGE);
+        assertEquals("groups?page=3", resumed.getNextURL());
+        assertEquals(collected, resumed.getItems());
+
+        List<String> all = new ArrayList<String>(resumed.getItems());
+        for (int page = resumed.getPageCount() + 1; page <= 5; page++) {
+            List<String> items = Arrays.asList("p" + page + "a", "p" + page + "b");
+            all.addAll(items);
+            if (page < 5) {
+                CrawlCheckpoint.savePage(cacheStore, NAME, page, items, "groups?page=" + (page + 1), resumed.getCreatedAt());
+            }
+        }
+        assertEquals(10, all.size());
+        assertEquals("p3a", all.get(4));
+
+        //Finished, so the cursor and every page are gone.
+        assertTrue(CrawlCheckpoint.delete(cacheStore, NAME));
+        assertNull(cacheStore.read(NAME));
+        for (int page = 1; page <= 5; page++) {
+            assertNull(cacheStore.read(CrawlCheckpoint.getPageName(NAME, page)));
+        }
+    }
+
+    @Test
+    public void testMissingPageDropsCheckpoint() {
+        CrawlCheckpoint.savePage(cacheStore, NAME, 1, Arrays.asList("a"), "next", 1000);
+        CrawlCheckpoint.savePage(cacheStore, NAME, 2, Arrays.asList("b"), "next", 1000);
+        cacheStore.delete(CrawlCheckpoint.getPageName(NAME, 1));
+
+        assertNull(CrawlCheckpoint.load(cacheStore, NAME, 2000, CrawlCheckpoint.DEFAULT_MAX_AGE));
+        assertNull(cacheStore.read(NAME));
+        assertNull(cacheStore.read(CrawlCheckpoint.getPageName(NAME, 2)));
+    }
+
+    @Test
+    public void testExpiredCheckpointIsDeleted() {
+        CrawlCheckpoint.savePage(cacheStore, NAME, 1, Arrays.asList("a"), "next", 0);
+
+        assertNull(CrawlCheckpoint.load(cacheStore, NAME, CrawlCheckpoint.DEFAULT_MAX_AGE + 1, CrawlCheckpoint.DEFAULT_MAX_AGE));
+        assertNull(cacheStore.read(NAME));
+        assertNull(cacheStore.read(CrawlCheckpoint.getPageName(NAME, 1)));
+    }
+
+    @Test
+    public void testMissingOrUnrelatedValue() {
+        assertNull(CrawlCheckpoint.load(cacheStore, NAME, 0, CrawlCheckpoint.DEFAULT_MAX_AGE));
+
+        cacheStore.write(NAME, "not a checkpoint");
+        assertNull(CrawlCheckpoint.load(cacheStore, NAME, 0, CrawlCheckpoint.DEFAULT_MAX_AGE));
+    }
+}
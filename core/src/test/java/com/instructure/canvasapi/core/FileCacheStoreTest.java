@@ -0,0 +1,61 @@
+package com.instructure.canvasapi.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FileCacheStoreTest {
+
+    private File directory;
+    private FileCacheStore cacheStore;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = File.createTempFile("canvas-cache", "");
+        directory.delete();
+        cacheStore = new FileCacheStore(directory);
+    }
+
+    @After
+    public void tearDown() {
+        FileCacheStore.deleteRecursively(directory);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        ArrayList<String> value = new ArrayList<String>();
+        value.add("one");
+        value.add("two");
+
+        assertTrue(cacheStore.write("/courses/1/tabs", value));
+        assertEquals(value, cacheStore.read("/courses/1/tabs"));
+        assertTrue(new File(directory, "courses/1/tabs" + FileCacheStore.FILE_SUFFIX).exists());
+    }
+
+    @Test
+    public void testMissing() {
+        assertNull(cacheStore.read("/nothing"));
+        assertFalse(cacheStore.delete("/nothing"));
+    }
+
+    @Test
+    public void testDeleteAndClear() {
+        cacheStore.write("/a", "a");
+        cacheStore.write("/b/c", "c");
+
+        assertTrue(cacheStore.delete("/a"));
+        assertNull(cacheStore.read("/a"));
+
+        assertTrue(cacheStore.clear());
+        assertNull(cacheStore.read("/b/c"));
+        assertFalse(directory.exists());
+    }
+}
@@ -0,0 +1,223 @@
+package com.instructure.canvasapi.core;
+
+import com.instructure.canvasapi.utilities.LinkHeaders;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import retrofit.client.Header;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LinkHeaderParserTest {
+
+    @Test
+    public void testParse() {
+        List<Header> headers = new ArrayList<Header>();
+        headers.add(new Header("Content-Type", "application/json"));
+        headers.add(new Header("Link",
+                "<https://mobiledev.instructure.com/api/v1/courses/833052/assignments?page=2&per_page=10>; rel=\"next\"," +
+                "<https://mobiledev.instructure.com/api/v1/courses/833052/assignments?page=1&per_page=10>; rel=\"first\"," +
+                "<https://mobiledev.instructure.com/api/v1/courses/833052/assignments?page=5&per_page=10>; rel=\"last\""));
+
+        LinkHeaders linkHeaders = LinkHeaderParser.parse(headers);
+
+        assertEquals("courses/833052/assignments?page=2&per_page=10", linkHeaders.nextURL);
+        assertEquals("courses/833052/assignments?page=1&per_page=10", linkHeaders.firstURL);
+        assertEquals("courses/833052/assignments?page=5&per_page=10", linkHeaders.lastURL);
+        assertNull(linkHeaders.prevURL);
+    }
+
+    @Test
+    public void testNoLinkHeader() {
+        List<Header> headers = new ArrayList<Header>();
+        headers.add(new Header("Content-Type", "application/json"));
+
+        LinkHeaders linkHeaders = LinkHeaderParser.parse(headers);
+
+        assertNull(linkHeaders.nextURL);
+        assertNull(linkHeaders.firstURL);
+    }
+
+    @Test
+    public void testCommaInUrl() {
+        LinkHeaders linkHeaders = new LinkHeaders();
+        LinkHeaderParser.parse(
+                "<https://mobiledev.instructure.com/api/v1/courses?include[]=term,total_scores&page=2>; rel=\"next\"," +
+                "<https://mobiledev.instructure.com/api/v1/courses?include[]=term,total_scores&page=1>; rel=\"first\"",
+                linkHeaders);
+
+        assertEquals("courses?include[]=term,total_scores&page=2", linkHeaders.nextURL);
+        assertEquals("courses?include[]=term,total_scores&page=1", linkHeaders.firstURL);
+        assertEquals(2, linkHeaders.nextPage);
+    }
+
+    @Test
+    public void testRelValues() {
+        LinkHeaders linkHeaders = new LinkHeaders();
+        LinkHeaderParser.parse(
+                "<https://a.instructure.com/api/v1/courses?page=1>; REL=\"first  prev\"; title=\"a;rel=next,\\\"\", " +
+                "<https://a.instructure.com/api/v1/courses?page=3>;rel=next, " +
+                "<https://a.instructure.com/api/v1/courses?page=9>; rel=\"alternate\", " +
+                "<https://a.instructure.com/api/v1/courses?page=2> ; rel = \"current\"",
+                linkHeaders);
+
+        assertEquals("courses?page=1", linkHeaders.firstURL);
+        assertEquals("courses?page=1", linkHeaders.prevURL);
+        assertEquals("courses?page=3", linkHeaders.nextURL);
+        assertEquals("courses?page=2", linkHeaders.currentURL);
+        assertNull(linkHeaders.lastURL);
+        assertEquals(2, linkHeaders.currentPage);
+    }
+
+    @Test
+    public void testPageNumbers() {
+        LinkHeaders linkHeaders = new LinkHeaders();
+        LinkHeaderParser.parse(
+                "<https://a.instructure.com/api/v1/courses?page=4&per_page=50>; rel=\"current\"," +
+                "<https://a.instructure.com/api/v1/courses?page=5&per_page=50>; rel=\"next\"," +
+                "<https://a.instructure.com/api/v1/courses?page=3&per_page=50>; rel=\"prev\"," +
+                "<https://a.instructure.com/api/v1/courses?page=12&per_page=50>; rel=\"last\"",
+                linkHeaders);
+
+        assertEquals(4, linkHeaders.currentPage);
+        assertEquals(5, linkHeaders.nextPage);
+        assertEquals(3, linkHeaders.prevPage);
+        assertEquals(12, linkHeaders.lastPage);
+        assertEquals(50, linkHeaders.perPage);
+    }
+
+    @Test
+    public void testBookmarkPages() {
+        LinkHeaders linkHeaders = new LinkHeaders();
+        LinkHeaderParser.parse(
+                "<https://a.instructure.com/api/v1/courses/1/users?page=bookmark:WzEwXQ&per_page=10>; rel=\"next\"," +
+                "<https://a.instructure.com/api/v1/courses/1/users?page=first&per_page=10>; rel=\"first\"",
+                linkHeaders);
+
+        assertEquals("courses/1/users?page=bookmark:WzEwXQ&per_page=10", linkHeaders.nextURL);
+        assertEquals(-1, linkHeaders.nextPage);
+        assertEquals(-1, linkHeaders.lastPage);
+        assertEquals(10, linkHeaders.perPage);
+        assertEquals(-1, LinkHeaderParser.getNumberParam("courses?page=12345678901", 0, 23, "page"));
+    }
+
+    @Test
+    public void testPrefixIsOnlyFoundInsideItsOwnLink() {
+        LinkHeaders linkHeaders = new LinkHeaders();
+        LinkHeaderParser.parse(
+                "<https://files.instructure.com/courses?page=2>; rel=\"next\"," +
+                "<https://a.instructure.com/api/v1/courses?page=1>; rel=\"first\"",
+                linkHeaders);
+
+        //The next link has no api prefix, so the first link's mustn't be used to strip it.
+        assertEquals("https://files.instructure.com/courses?page=2", linkHeaders.nextURL);
+        assertEquals("courses?page=1", linkHeaders.firstURL);
+    }
+
+    @Test
+    public void testMalformed() {
+        String[] values = {
+                "",
+                "garbage",
+                "<https://a.instructure.com/api/v1/courses?page=2",
+                "https://a.instructure.com/api/v1/courses?page=2>; rel=\"next\"",
+                "<https://a.instructure.com/api/v1/courses?page=2>; rel=\"next",
+                "<https://a.instructure.com/api/v1/courses?page=2>; rel=",
+                "<https://a.instructure.com/api/v1/courses?page=2>; rel",
+                "<https://a.instructure.com/api/v1/courses?page=2>; rel=\"next\\",
+                ",,;;<>",
+        };
+        for (String value : values) {
+            LinkHeaders linkHeaders = new LinkHeaders();
+            LinkHeaderParser.parse(value, linkHeaders);
+            assertNull(value, linkHeaders.firstURL);
+            assertNull(value, linkHeaders.lastURL);
+        }
+
+        LinkHeaders linkHeaders = new LinkHeaders();
+        LinkHeaderParser.parse(null, linkHeaders);
+        assertNull(linkHeaders.nextURL);
+    }
+
+    /**
+     * Random well formed headers should parse the same as the old split based parser.
+     */
+    @Test
+    public void testFuzzAgainstLegacy() {
+        String[] rels = {"next", "prev", "first", "last"};
+        String[] paths = {"courses", "courses/833052/assignments", "users/self/todo", "courses/1/discussion_topics/2/view"};
+        Random random = new Random(5988);
+
+        for (int i = 0; i < 2000; i++) {
+            List<String> order = new ArrayList<String>();
+            for (String rel : rels) {
+                if (random.nextInt(4) != 0) {
+                    order.add(rel);
+                }
+            }
+            Collections.shuffle(order, random);
+
+            StringBuilder value = new StringBuilder();
+            for (String rel : order) {
+                if (value.length() > 0) {
+                    value.append(random.nextBoolean() ? "," : ", ");
+                }
+                value.append('<')
+                        .append(random.nextBoolean() ? "https://mobiledev.instructure.com" : "http://localhost:3000")
+                        .append("/api/v1/")
+                        .append(paths[random.nextInt(paths.length)]);
+                if (random.nextBoolean()) {
+                    value.append("?page=").append(random.nextInt(1000));
+                    if (random.nextBoolean()) {
+                        value.append("&per_page=").append(random.nextInt(100));
+                    }
+                } else {
+                    value.append("?page=bookmark:").append(Long.toString(random.nextLong() & Long.MAX_VALUE, 36));
+                }
+                value.append(">;").append(random.nextBoolean() ? " " : "").append("rel=\"").append(rel).append('"');
+            }
+
+            LinkHeaders expected = new LinkHeaders();
+            if (value.length() > 0) {
+                legacyParse(value.toString(), expected);
+            }
+            LinkHeaders actual = new LinkHeaders();
+            LinkHeaderParser.parse(value.toString(), actual);
+
+            assertEquals(value.toString(), expected.nextURL, actual.nextURL);
+            assertEquals(value.toString(), expected.prevURL, actual.prevURL);
+            assertEquals(value.toString(), expected.firstURL, actual.firstURL);
+            assertEquals(value.toString(), expected.lastURL, actual.lastURL);
+            assertEquals(value.toString(), PagedIterator.parsePage(expected.nextURL), actual.nextPage);
+            assertEquals(value.toString(), PagedIterator.parsePage(expected.lastURL), actual.lastPage);
+        }
+    }
+
+    //The parser before it was rewritten to walk the header by index.
+    private static void legacyParse(String value, LinkHeaders linkHeaders) {
+        String[] split = value.split(",");
+        for (int j = 0; j < split.length; j++) {
+            int index = split[j].indexOf(">");
+            String url = split[j].substring(0, index);
+            url = url.substring(1);
+
+            url = UrlHelpers.removeDomainFromUrl(url);
+
+            if (split[j].contains("rel=\"next\"")) {
+                linkHeaders.nextURL = url;
+            } else if (split[j].contains("rel=\"prev\"")) {
+                linkHeaders.prevURL = url;
+            } else if (split[j].contains("rel=\"first\"")) {
+                linkHeaders.firstURL = url;
+            } else if (split[j].contains("rel=\"last\"")) {
+                linkHeaders.lastURL = url;
+            }
+        }
+    }
+}
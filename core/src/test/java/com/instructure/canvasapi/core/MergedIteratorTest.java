@@ -0,0 +1,201 @@
+package com.instructure.canvasapi.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class MergedIteratorTest {
+
+    static class Item {
+        final long id;
+        final long time;
+
+        Item(long id, long time) {
+            this.id = id;
+            this.time = time;
+        }
+    }
+
+    static class OtherItem extends Item {
+        OtherItem(long id, long time) {
+            super(id, time);
+        }
+    }
+
+    private static final MergedIterator.Keys<Item> KEYS = new MergedIterator.Keys<Item>() {
+        @Override
+        public long getTime(Item item) {
+            return item.time;
+        }
+
+        @Override
+        public long getId(Item item) {
+            return item.id;
+        }
+    };
+
+    /**
+     * Hands out items a page at a time and counts the pages, like a PagedIterator without prefetching.
+     */
+    private static class PagedSource implements Iterator<Item> {
+        final List<Item> items;
+        final int pageSize;
+        int pagesFetched = 0;
+        int index = 0;
+
+        PagedSource(int pageSize, Item... items) {
+            this.items = Arrays.asList(items);
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (index >= items.size()) {
+                return false;
+            }
+            if (index == pagesFetched * pageSize) {
+                pagesFetched++;
+            }
+            return true;
+        }
+
+        @Override
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return items.get(index++);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static List<Long> ids(Iterator<? extends Item> iterator) {
+        List<Long> ids = new ArrayList<Long>();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next().id);
+        }
+        return ids;
+    }
+
+    @Test
+    public void testNewestFirst() {
+        PagedSource a = new PagedSource(2, new Item(1, 90), new Item(2, 50), new Item(3, 10));
+        PagedSource b = new PagedSource(2, new Item(4, 80), new Item(5, 60), new Item(6, 5));
+        PagedSource c = new PagedSource(2);
+
+        MergedIterator<Item> merged = new MergedIterator<Item>(Arrays.asList(a, b, c), KEYS, true);
+        assertEquals(Arrays.asList(1L, 4L, 5L, 2L, 3L, 6L), ids(merged));
+    }
+
+    @Test
+    public void testOldestFirstAndNoTime() {
+        PagedSource a = new PagedSource(10, new Item(1, 10), new Item(2, 30), new Item(3, MergedIterator.NO_TIME));
+        PagedSource b = new PagedSource(10, new Item(4, 20), new Item(5, 20));
+
+        MergedIterator<Item> merged = new MergedIterator<Item>(Arrays.asList(a, b), KEYS, false);
+        assertEquals(Arrays.asList(1L, 4L, 5L, 2L, 3L), ids(merged));
+    }
+
+    @Test
+    public void testLazyPages() {
+        PagedSource a = new PagedSource(2, new Item(1, 100), new Item(2, 99), new Item(3, 98), new Item(4, 97));
+        PagedSource b = new PagedSource(2, new Item(5, 10), new Item(6, 9), new Item(7, 8));
+
+        MergedIterator<Item> merged = new MergedIterator<Item>(Arrays.asList(a, b), KEYS, true);
+        assertEquals(0, a.pagesFetched);
+        assertEquals(0, b.pagesFetched);
+
+        //The first screen is one page per source.
+        assertEquals(1, merged.next().id);
+        assertEquals(2, merged.next().id);
+        assertEquals(1, a.pagesFetched);
+        assertEquals(1, b.pagesFetched);
+
+        //a's next page is only fetched once the merge needs its head.
+        assertEquals(3, merged.next().id);
+        assertEquals(2, a.pagesFetched);
+        assertEquals(1, b.pagesFetched);
+
+        assertEquals(Arrays.asList(4L, 5L, 6L, 7L), ids(merged));
+        assertEquals(2, b.pagesFetched);
+    }
+
+    @Test
+    public void testDuplicates() {
+        PagedSource user = new PagedSource(2, new Item(1, 90), new Item(2, 50), new Item(3, 10));
+        PagedSource course = new PagedSource(2, new Item(2, 50), new Item(3, 10));
+        //Same id, different class. Not a duplicate.
+        List<OtherItem> conversations = Arrays.asList(new OtherItem(1, 70));
+        PagedSource noIds = new PagedSource(2, new Item(MergedIterator.NO_ID, 5), new Item(MergedIterator.NO_ID, 4));
+
+        List<Iterator<? extends Item>> sources = new ArrayList<Iterator<? extends Item>>();
+        sources.add(user);
+        sources.add(course);
+        sources.add(conversations.iterator());
+        sources.add(noIds);
+        MergedIterator<Item> merged = new MergedIterator<Item>(sources, KEYS, true);
+
+        assertEquals(Arrays.asList(1L, 1L, 2L, 3L, MergedIterator.NO_ID, MergedIterator.NO_ID), ids(merged));
+        assertEquals(2, merged.getDuplicateCount());
+    }
+
+    @Test
+    public void testMatchesSort() {
+        Random random = new Random(44);
+        for (int round = 0; round < 200; round++) {
+            List<Iterator<? extends Item>> sources = new ArrayList<Iterator<? extends Item>>();
+            List<Item> all = new ArrayList<Item>();
+            long nextId = 1;
+            int sourceCount = random.nextInt(6);
+            for (int s = 0; s < sourceCount; s++) {
+                int size = random.nextInt(30);
+                Item[] items = new Item[size];
+                long time = 1000;
+                for (int i = 0; i < size; i++) {
+                    time -= random.nextInt(5);
+                    items[i] = new Item(nextId++, time);
+                }
+                Collections.addAll(all, items);
+                sources.add(new PagedSource(1 + random.nextInt(5), items));
+            }
+
+            //A stable sort of every source in order gives ties in source order, same as the merge.
+            List<Item> sorted = new ArrayList<Item>(all);
+            Collections.sort(sorted, new Comparator<Item>() {
+                @Override
+                public int compare(Item a, Item b) {
+                    return a.time > b.time ? -1 : (a.time == b.time ? 0 : 1);
+                }
+            });
+
+            assertEquals(ids(sorted.iterator()), ids(new MergedIterator<Item>(sources, KEYS, true)));
+        }
+    }
+
+    @Test
+    public void testNoSources() {
+        MergedIterator<Item> merged = new MergedIterator<Item>(new ArrayList<Iterator<Item>>(), KEYS, true);
+        assertFalse(merged.hasNext());
+        try {
+            merged.next();
+            fail();
+        } catch (NoSuchElementException E) {
+            //Expected.
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.instructure.canvasapi.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedByteArray;
+
+import static org.junit.Assert.assertEquals;
+
+public class PageSizeControllerTest {
+
+    @Test
+    public void testEndpointTemplate() {
+        assertEquals("courses/{id}/assignments",
+                PageSizeController.getEndpointTemplate("https://mobiledev.instructure.com/api/v1/courses/833052/assignments?per_page=30"));
+        assertEquals("users/{id}/groups",
+                PageSizeController.getEndpointTemplate("https://mobiledev.instructure.com/api/v1/users/self/groups"));
+        assertEquals("courses/{id}/tabs",
+                PageSizeController.getEndpointTemplate("courses/833052/tabs?include[]=external"));
+    }
+
+    @Test
+    public void testDefaultUntilSampled() {
+        PageSizeController controller = new PageSizeController();
+        controller.setEnabled(true);
+
+        assertEquals(30, controller.getPageSize("courses/{id}/tabs", 30));
+    }
+
+    @Test
+    public void testDisabledIgnoresSamples() {
+        PageSizeController controller = new PageSizeController();
+        controller.recordResponse("courses/{id}/tabs", 30, 3000, 100);
+
+        assertEquals(30, controller.getPageSize("courses/{id}/tabs", 30));
+    }
+
+    @Test
+    public void testSmallItemsGetBigPages() {
+        PageSizeController controller = new PageSizeController();
+        controller.setEnabled(true);
+        controller.recordResponse("courses/{id}/tabs", 30, 30 * 300, 60);
+
+        assertEquals(PageSizeController.CANVAS_MAX_PER_PAGE, controller.getPageSize("courses/{id}/tabs", 30));
+    }
+
+    @Test
+    public void testHeavyItemsGetSmallPages() {
+        PageSizeController controller = new PageSizeController();
+        controller.setEnabled(true);
+        controller.setTargetBytes(200 * 1024);
+        //20KB per submission
+        controller.recordResponse("courses/{id}/students/submissions", 30, 30 * 20 * 1024, 600);
+
+        assertEquals(10, controller.getPageSize("courses/{id}/students/submissions", 30));
+    }
+
+    @Test
+    public void testLatencyBoundsPageSize() {
+        PageSizeController controller = new PageSizeController();
+        controller.setEnabled(true);
+        controller.setTargetMillis(1000);
+        //tiny items but 50ms each
+        controller.recordResponse("courses/{id}/users", 20, 20 * 100, 20 * 50);
+
+        assertEquals(20, controller.getPageSize("courses/{id}/users", 30));
+    }
+
+    @Test
+    public void testPinnedValueWins() {
+        PageSizeController controller = new PageSizeController();
+        controller.pin("courses/{id}/tabs", 7);
+        //Pins wait for the controller to be enabled.
+        assertEquals(30, controller.getPageSize("courses/{id}/tabs", 30));
+
+        controller.setEnabled(true);
+        assertEquals(7, controller.getPageSize("courses/{id}/tabs", 30));
+        controller.recordResponse("courses/{id}/tabs", 30, 3000, 10);
+        assertEquals(7, controller.getPageSize("courses/{id}/tabs", 30));
+
+        controller.unpin("courses/{id}/tabs");
+        assertEquals(PageSizeController.CANVAS_MAX_PER_PAGE, controller.getPageSize("courses/{id}/tabs", 30));
+    }
+
+    @Test
+    public void testCountTopLevelItems() {
+        assertEquals(0, PageSizeClient.countTopLevelItems("[]".getBytes()));
+        assertEquals(0, PageSizeClient.countTopLevelItems("{\"id\": 1}".getBytes()));
+        assertEquals(1, PageSizeClient.countTopLevelItems("[{\"id\": 1}]".getBytes()));
+        assertEquals(3, PageSizeClient.countTopLevelItems("[1, 2, 3]".getBytes()));
+        assertEquals(2, PageSizeClient.countTopLevelItems("[{\"a\": [1,2], \"b\": \"x,]\\\"y\"}, {\"c\": {}}]".getBytes()));
+    }
+
+    @Test
+    public void testNormalizePerPage() {
+        //A next page from "/{next}?&include[]=permissions" with the interceptor's per_page.
+        assertEquals("https://x.com/api/v1/courses?page=2&include[]=permissions&per_page=7",
+                PageSizeClient.normalizePerPage("https://x.com/api/v1/courses?page=2&per_page=7?&include[]=permissions&per_page=30"));
+        //A next page from "/{next}".
+        assertEquals("https://x.com/api/v1/courses?page=2&per_page=7",
+                PageSizeClient.normalizePerPage("https://x.com/api/v1/courses?page=2&per_page=7?per_page=30"));
+        assertEquals("https://x.com/api/v1/courses?include[]=term&per_page=30",
+                PageSizeClient.normalizePerPage("https://x.com/api/v1/courses?include[]=term&per_page=30"));
+        assertEquals("https://x.com/api/v1/courses?include[]=term",
+                PageSizeClient.normalizePerPage("https://x.com/api/v1/courses?include[]=term"));
+    }
+
+    @Test
+    public void testWalksPagesWithPinnedSize() throws IOException {
+        PageSizeController controller = new PageSizeController();
+        controller.setEnabled(true);
+        controller.pin("courses", 7);
+        FakeCanvas canvas = new FakeCanvas(25);
+        PageSizeClient client = new PageSizeClient(canvas, controller);
+
+        ArrayList<Integer> items = new ArrayList<Integer>();
+        String url = "https://x.com/api/v1/courses?include[]=permissions&per_page=30";
+        while (url != null) {
+            Response response = client.execute(new Request("GET", url, new ArrayList<Header>(), null));
+            String body = new String(((TypedByteArray) response.getBody()).getBytes(), "UTF-8");
+            for (String item : body.substring(1, body.length() - 1).split(",")) {
+                if (item.length() > 0) {
+                    items.add(Integer.parseInt(item));
+                }
+            }
+
+            String next = null;
+            for (Header header : response.getHeaders()) {
+                if (header.getName().equals("Link")) {
+                    next = header.getValue();
+                }
+            }
+            //What Retrofit builds from "/{next}?&include[]=permissions" and the interceptor's per_page.
+            url = next == null ? null : "https://x.com/api/v1/" + next + "?&include[]=permissions&per_page=30";
+        }
+
+        assertEquals(25, items.size());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i, (int) items.get(i));
+        }
+        assertEquals(4, canvas.requests);
+    }
+
+    /**
+     * Serves 0 to count-1 in pages. Like Rails, the last per_page wins, and a second '?' is rejected.
+     */
+    private static class FakeCanvas implements Client {
+        private final int count;
+        private int requests = 0;
+
+        private FakeCanvas(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public Response execute(Request request) throws IOException {
+            requests++;
+            String url = request.getUrl();
+            String query = url.substring(url.indexOf('?') + 1);
+            assertEquals(-1, query.indexOf('?'));
+
+            int page = 1;
+            int perPage = 10;
+            for (String param : query.split("&")) {
+                if (param.startsWith("page=")) {
+                    page = Integer.parseInt(param.substring(5));
+                } else if (param.startsWith("per_page=")) {
+                    perPage = Integer.parseInt(param.substring(9));
+                }
+            }
+
+            StringBuilder body = new StringBuilder("[");
+            for (int i = (page - 1) * perPage; i < Math.min(count, page * perPage); i++) {
+                body.append(body.length() > 1 ? "," : "").append(i);
+            }
+            body.append("]");
+
+            ArrayList<Header> headers = new ArrayList<Header>();
+            if (page * perPage < count) {
+                headers.add(new Header("Link", "courses?page=" + (page + 1) + "&per_page=" + perPage));
+            }
+            return new Response(url, 200, "OK", headers, new TypedByteArray("application/json", body.toString().getBytes("UTF-8")));
+        }
+    }
+}
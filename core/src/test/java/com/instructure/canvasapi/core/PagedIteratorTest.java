@@ -0,0 +1,191 @@
+package com.instructure.canvasapi.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedByteArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PagedIteratorTest {
+
+    static class Item {
+        long id;
+    }
+
+    /**
+     * Serves items 1..pages*2 two per page, with numbered next and last links. Fails on failPage if set.
+     */
+    private static class FakeCanvas implements Client {
+        final AtomicInteger requests = new AtomicInteger();
+        final int pages;
+        final int failPage;
+
+        FakeCanvas(int pages, int failPage) {
+            this.pages = pages;
+            this.failPage = failPage;
+        }
+
+        @Override
+        public Response execute(Request request) throws IOException {
+            requests.incrementAndGet();
+            String url = request.getUrl();
+            String pageParam = UrlHelpers.getQueryParam(url, "page");
+            int page = pageParam == null ? 1 : Integer.parseInt(pageParam);
+
+            if (page == failPage) {
+                return new Response(url, 500, "Server Error", Collections.<Header>emptyList(), null);
+            }
+
+            String base = "https://mobiledev.instructure.com/api/v1/items?per_page=2&page=";
+            String link = "<" + base + pages + ">; rel=\"last\"";
+            if (page < pages) {
+                link = "<" + base + (page + 1) + ">; rel=\"next\"," + link;
+            }
+
+            String body = "[{\"id\":" + (page * 2 - 1) + "},{\"id\":" + (page * 2) + "}]";
+            return new Response(url, 200, "OK", Arrays.asList(new Header("Link", link)),
+                    new TypedByteArray("application/json", body.getBytes("UTF-8")));
+        }
+    }
+
+    private static BlockingClient buildClient(FakeCanvas fakeCanvas) {
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+        session.setup("https://mobiledev.instructure.com", "token");
+        return new BlockingClient(new CanvasClient.Builder(session).setClient(fakeCanvas).setPerPage(2).build());
+    }
+
+    private static List<Long> drain(PagedIterator<Item> iterator) {
+        List<Long> ids = new ArrayList<Long>();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next().id);
+        }
+        return ids;
+    }
+
+    private static List<Long> range(int from, int to) {
+        List<Long> ids = new ArrayList<Long>();
+        for (long i = from; i <= to; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+
+    @Test
+    public void testIteratesEveryItemLazily() {
+        FakeCanvas fakeCanvas = new FakeCanvas(5, -1);
+        PagedIterator<Item> iterator = new PagedIterator<Item>(buildClient(fakeCanvas), "items", Item[].class, 1, null);
+
+        assertEquals(0, fakeCanvas.requests.get());
+        assertEquals(1, iterator.next().id);
+        assertEquals(1, fakeCanvas.requests.get());
+
+        List<Long> ids = drain(iterator);
+        assertEquals(range(2, 10), ids);
+        assertEquals(5, iterator.getPagesRead());
+    }
+
+    @Test
+    public void testPrefetchIsBounded() throws InterruptedException {
+        FakeCanvas fakeCanvas = new FakeCanvas(20, -1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PagedIterator<Item> iterator = new PagedIterator<Item>(buildClient(fakeCanvas), "items", Item[].class, 2, executor);
+            iterator.next();
+            Thread.sleep(200);
+
+            //The page being read and two buffered.
+            assertTrue(fakeCanvas.requests.get() <= 3);
+
+            iterator.close();
+            assertFalse(iterator.hasNext());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDroppedIteratorStopsPrefetching() throws InterruptedException {
+        FakeCanvas fakeCanvas = new FakeCanvas(20, -1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        PagedIterator<Item> iterator = new PagedIterator<Item>(buildClient(fakeCanvas), "items", Item[].class, 1, executor);
+        iterator.next();
+        //Dropped without close(). The producer gives up once it's collected.
+        iterator = null;
+
+        executor.shutdown();
+        for (int i = 0; i < 20 && !executor.awaitTermination(500, TimeUnit.MILLISECONDS); i++) {
+            System.gc();
+        }
+        assertTrue(executor.isTerminated());
+        assertTrue(fakeCanvas.requests.get() <= 2);
+    }
+
+    @Test
+    public void testPrefetchReturnsSameItems() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PagedIterator<Item> iterator = new PagedIterator<Item>(buildClient(new FakeCanvas(7, -1)), "items", Item[].class, 3, executor);
+            assertEquals(range(1, 14), drain(iterator));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsThrown() {
+        PagedIterator<Item> iterator = new PagedIterator<Item>(buildClient(new FakeCanvas(5, 3)), "items", Item[].class, 1, null);
+        try {
+            drain(iterator);
+            fail();
+        } catch (PagedIterator.PageFetchException e) {
+            assertTrue(e.getCanvasException() instanceof CanvasException.CanvasHttpException);
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testSplitCoversEveryPageOnce() throws CanvasException {
+        FakeCanvas fakeCanvas = new FakeCanvas(10, -1);
+        List<PagedIterator<Item>> parts = PagedIterator.split(buildClient(fakeCanvas), "items", Item[].class, 3, 1, null);
+
+        assertEquals(3, parts.size());
+        List<Long> ids = new ArrayList<Long>();
+        for (PagedIterator<Item> part : parts) {
+            ids.addAll(drain(part));
+        }
+        assertEquals(range(1, 20), ids);
+        assertEquals(10, fakeCanvas.requests.get());
+    }
+
+    @Test
+    public void testSplitSinglePage() throws CanvasException {
+        List<PagedIterator<Item>> parts = PagedIterator.split(buildClient(new FakeCanvas(1, -1)), "items", Item[].class, 4, 1, null);
+
+        assertEquals(1, parts.size());
+        assertEquals(range(1, 2), drain(parts.get(0)));
+    }
+
+    @Test
+    public void testParsePage() {
+        assertEquals(3, PagedIterator.parsePage("courses?page=3&per_page=10"));
+        assertEquals(-1, PagedIterator.parsePage("courses?page=bookmark:WzEwXQ"));
+        assertEquals(-1, PagedIterator.parsePage("courses?per_page=10"));
+    }
+}
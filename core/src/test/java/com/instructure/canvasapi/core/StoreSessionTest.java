@@ -0,0 +1,55 @@
+package com.instructure.canvasapi.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StoreSessionTest {
+
+    @Test
+    public void testSetup() {
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+
+        assertTrue(session.setup("https://mobiledev.instructure.com/", "token"));
+        assertEquals("mobiledev.instructure.com", session.getDomain());
+        assertEquals("https", session.getProtocol());
+        assertEquals("token", session.getToken());
+        assertEquals("https://mobiledev.instructure.com", UrlHelpers.getFullDomain(session));
+        assertEquals(-1, session.getMasqueradeId());
+    }
+
+    @Test
+    public void testHttpSetup() {
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+
+        assertTrue(session.setup("http://localhost:3000", "token"));
+        assertEquals("http", session.getProtocol());
+        assertEquals("localhost:3000", session.getDomain());
+    }
+
+    @Test
+    public void testInvalidSetup() {
+        StoreSession session = new StoreSession(new MemoryKeyValueStore());
+
+        assertFalse(session.setup("mobiledev.instructure.com", ""));
+        assertFalse(session.setup(null, "token"));
+        assertEquals("", UrlHelpers.getFullDomain(session));
+    }
+
+    @Test
+    public void testSessionsDontShareState() {
+        StoreSession first = new StoreSession(new MemoryKeyValueStore());
+        StoreSession second = new StoreSession(new MemoryKeyValueStore());
+
+        first.setup("one.instructure.com", "one");
+        second.setup("two.instructure.com", "two");
+        second.setMasqueradeId(42);
+
+        assertEquals("one", first.getToken());
+        assertEquals(-1, first.getMasqueradeId());
+        assertEquals("two", second.getToken());
+        assertEquals(42, second.getMasqueradeId());
+    }
+}
@@ -0,0 +1,276 @@
+import android.content.Context;
+
+import com.instructure.canvasapi.api.ConversationAPI;
+import com.instructure.canvasapi.api.UnreadCountAPI;
+import com.instructure.canvasapi.core.CanvasClient;
+import com.instructure.canvasapi.core.CanvasSession;
+import com.instructure.canvasapi.core.ErrorDelegate;
+import com.instructure.canvasapi.model.CanvasError;
+import com.instructure.canvasapi.model.Conversation;
+import com.instructure.canvasapi.model.UnreadConversationCount;
+import com.instructure.canvasapi.utilities.APIStatusDelegate;
+import com.instructure.canvasapi.utilities.AggregateLoader;
+import com.instructure.canvasapi.utilities.CanvasCallback;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import retrofit.RetrofitError;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class AggregateLoaderUnitTest extends Assert {
+
+    private ErrorDelegate previousErrorDelegate;
+
+    @Before
+    public void setErrorDelegate() {
+        previousErrorDelegate = CanvasCallback.defaultErrorDelegate;
+        CanvasCallback.defaultErrorDelegate = new ErrorDelegate() {
+            @Override public void noNetworkError(RetrofitError error, Context context) { }
+            @Override public void notAuthorizedError(RetrofitError error, CanvasError canvasError, Context context) { }
+            @Override public void invalidUrlError(RetrofitError error, Context context) { }
+            @Override public void serverError(RetrofitError error, Context context) { }
+            @Override public void generalError(RetrofitError error, CanvasError canvasError, Context context) { }
+        };
+    }
+
+    @After
+    public void restoreErrorDelegate() {
+        CanvasCallback.defaultErrorDelegate = previousErrorDelegate;
+    }
+
+    //No context, like a detached activity, so CanvasCallback's own success and failure return early.
+    private static class StatusDelegate implements APIStatusDelegate {
+        private final ArrayList<CanvasCallback.SOURCE> finished = new ArrayList<CanvasCallback.SOURCE>();
+        private int started = 0;
+
+        @Override public void onCallbackStarted() { started++; }
+        @Override public void onCallbackFinished(CanvasCallback.SOURCE source) { finished.add(source); }
+        @Override public void onNoNetwork() { }
+        @Override public Context getContext() { return null; }
+    }
+
+    private static class RecordingCallback implements AggregateLoader.AggregateCallback {
+        private final ArrayList<AggregateLoader.Result> cached = new ArrayList<AggregateLoader.Result>();
+        private final ArrayList<AggregateLoader.Result> finished = new ArrayList<AggregateLoader.Result>();
+
+        @Override public void cache(AggregateLoader.Result result) { cached.add(result); }
+        @Override public void finished(AggregateLoader.Result result) { finished.add(result); }
+    }
+
+    //Parts that hold on to their callback so the test decides when each one comes back.
+    private static class HeldPart<T> implements AggregateLoader.Part<T> {
+        private CanvasCallback<T> callback;
+
+        @Override
+        public void load(CanvasCallback<T> callback) {
+            //What buildAdapter does when the request is made.
+            callback.setFinished(false);
+            this.callback = callback;
+        }
+    }
+
+    @Test
+    public void testSuccessJoinsCacheThenNetwork() {
+        AggregateLoader loader = new AggregateLoader();
+        HeldPart<String> namePart = new HeldPart<String>();
+        HeldPart<Integer> countPart = new HeldPart<Integer>();
+        AggregateLoader.Key<String> name = loader.add("name", namePart);
+        AggregateLoader.Key<Integer> count = loader.add("count", countPart);
+
+        StatusDelegate statusDelegate = new StatusDelegate();
+        RecordingCallback callback = new RecordingCallback();
+        loader.load(statusDelegate, callback);
+
+        namePart.callback.cache("cached");
+        namePart.callback.getStatusDelegate().onCallbackFinished(CanvasCallback.SOURCE.CACHE);
+        assertEquals(0, callback.cached.size());
+        countPart.callback.getStatusDelegate().onCallbackFinished(CanvasCallback.SOURCE.CACHE);
+        assertEquals(1, callback.cached.size());
+        assertEquals("cached", callback.cached.get(0).get(name));
+        assertNull(callback.cached.get(0).get(count));
+
+        //What CanvasCallback calls once a page is parsed and cached.
+        namePart.callback.firstPage("network", null, null);
+        assertEquals(0, callback.finished.size());
+        countPart.callback.firstPage(3, null, null);
+
+        assertEquals(1, callback.finished.size());
+        AggregateLoader.Result result = callback.finished.get(0);
+        assertEquals("network", result.get(name));
+        assertEquals(3, (int) result.get(count));
+        assertFalse(result.hasErrors());
+        assertEquals(1, statusDelegate.started);
+        assertEquals(2, statusDelegate.finished.size());
+    }
+
+    @Test
+    public void testFailureIsContainedToItsPart() {
+        AggregateLoader loader = new AggregateLoader();
+        HeldPart<String> goodPart = new HeldPart<String>();
+        HeldPart<String> badPart = new HeldPart<String>();
+        AggregateLoader.Key<String> good = loader.add("good", goodPart);
+        AggregateLoader.Key<String> bad = loader.add("bad", badPart);
+
+        RecordingCallback callback = new RecordingCallback();
+        loader.load(new StatusDelegate(), callback);
+
+        RetrofitError error = RetrofitError.networkError("https://x.com/api/v1/courses", new IOException("offline"));
+        badPart.callback.failure(error);
+        goodPart.callback.firstPage("ok", null, null);
+
+        assertEquals(1, callback.finished.size());
+        AggregateLoader.Result result = callback.finished.get(0);
+        assertTrue(result.isSuccessful(good));
+        assertFalse(result.isSuccessful(bad));
+        assertSame(error, result.getError(bad));
+        assertTrue(result.hasErrors());
+    }
+
+    @Test
+    public void testNullBodyAndEarlyReturnStillFinish() {
+        AggregateLoader loader = new AggregateLoader();
+        HeldPart<String> emptyPart = new HeldPart<String>();
+        AggregateLoader.Key<String> empty = loader.add("empty", emptyPart);
+        //Like an API call that fails paramIsNull and never makes a request.
+        AggregateLoader.Key<String> skipped = loader.add("skipped", new AggregateLoader.Part<String>() {
+            @Override
+            public void load(CanvasCallback<String> callback) { }
+        });
+
+        RecordingCallback callback = new RecordingCallback();
+        loader.load(new StatusDelegate(), callback);
+        assertEquals(0, callback.finished.size());
+
+        emptyPart.callback.success(null, null);
+
+        assertEquals(1, callback.finished.size());
+        AggregateLoader.Result result = callback.finished.get(0);
+        assertNull(result.get(empty));
+        assertNull(result.get(skipped));
+        assertFalse(result.isSuccessful(empty));
+        assertFalse(result.hasErrors());
+    }
+
+    @Test
+    public void testCancelStopsDelivery() {
+        AggregateLoader loader = new AggregateLoader();
+        HeldPart<String> part = new HeldPart<String>();
+        loader.add("part", part);
+
+        RecordingCallback callback = new RecordingCallback();
+        loader.load(new StatusDelegate(), callback);
+        loader.cancel();
+        part.callback.firstPage("late", null, null);
+
+        assertEquals(0, callback.finished.size());
+    }
+
+    @Test
+    public void testRealApiCallsJoinOnTheirResponses() throws Exception {
+        //Answers slowly, so a part that joined before its response would show up as null.
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException E) {
+                    throw new IOException(E);
+                }
+                String path = exchange.getRequestURI().getPath();
+                byte[] bytes = (path.endsWith("unread_count") ? "{\"unread_count\":\"3\"}" : "[{\"id\":7}]").getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, bytes.length);
+                OutputStream outputStream = exchange.getResponseBody();
+                outputStream.write(bytes);
+                outputStream.close();
+            }
+        });
+        server.start();
+
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(2);
+        try {
+            final String domain = "127.0.0.1:" + server.getAddress().getPort();
+            final CanvasClient client = new CanvasClient.Builder(new CanvasSession() {
+                @Override public String getDomain() { return domain; }
+                @Override public String getProtocol() { return "http"; }
+                @Override public String getToken() { return "token"; }
+                @Override public String getUserAgent() { return "test"; }
+                @Override public long getMasqueradeId() { return -1; }
+            }).setExecutors(httpExecutor, new Executor() {
+                @Override
+                public void execute(Runnable runnable) {
+                    runnable.run();
+                }
+            }).build();
+
+            AggregateLoader loader = new AggregateLoader();
+            AggregateLoader.Key<UnreadConversationCount> unread = loader.add("unread", new AggregateLoader.Part<UnreadConversationCount>() {
+                @Override
+                public void load(CanvasCallback<UnreadConversationCount> callback) {
+                    callback.setClient(client);
+                    UnreadCountAPI.getUnreadConversationCount(callback);
+                }
+            });
+            AggregateLoader.Key<Conversation[]> conversations = loader.add("conversations", new AggregateLoader.Part<Conversation[]>() {
+                @Override
+                public void load(CanvasCallback<Conversation[]> callback) {
+                    callback.setClient(client);
+                    ConversationAPI.getFirstPageConversations(callback, ConversationAPI.ConversationScope.ALL);
+                }
+            });
+            //Returns without a request, since there's no next page.
+            AggregateLoader.Key<Conversation[]> nextPage = loader.add("nextPage", new AggregateLoader.Part<Conversation[]>() {
+                @Override
+                public void load(CanvasCallback<Conversation[]> callback) {
+                    callback.setClient(client);
+                    ConversationAPI.getNextPageConversations(callback, null);
+                }
+            });
+
+            final CountDownLatch done = new CountDownLatch(1);
+            final ArrayList<AggregateLoader.Result> finished = new ArrayList<AggregateLoader.Result>();
+            loader.load(new StatusDelegate() {
+                @Override public Context getContext() { return RuntimeEnvironment.application; }
+            }, new AggregateLoader.AggregateCallback() {
+                @Override public void cache(AggregateLoader.Result result) { }
+
+                @Override
+                public void finished(AggregateLoader.Result result) {
+                    finished.add(result);
+                    done.countDown();
+                }
+            });
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            AggregateLoader.Result result = finished.get(0);
+            assertEquals("3", result.get(unread).getUnreadCount());
+            assertEquals(7, result.get(conversations)[0].getId());
+            assertNull(result.get(nextPage));
+            assertFalse(result.hasErrors());
+        } finally {
+            server.stop(0);
+            httpExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+import com.instructure.canvasapi.api.CalendarEventAPI;
+import com.instructure.canvasapi.core.IntervalIndex;
+import com.instructure.canvasapi.model.ScheduleItem;
+import com.instructure.canvasapi.utilities.APIHelpers;
+import com.instructure.canvasapi.utilities.CalendarStore;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class CalendarStoreUnitTest extends Assert {
+
+    private final static long HOUR = 60 * 60 * 1000L;
+    private final static long DAY = 24 * HOUR;
+    private final static long START = 1400000000000L;
+
+    private static ScheduleItem event(long id, String contextCode, long start, Long end) {
+        ScheduleItem scheduleItem = new ScheduleItem();
+        scheduleItem.setId(id);
+        scheduleItem.setContextCode(contextCode);
+        scheduleItem.setStartDate(new Date(start));
+        if (end != null) {
+            scheduleItem.setEndDate(APIHelpers.dateToString(new Date(end)));
+        }
+        return scheduleItem;
+    }
+
+    private static long[] ids(List<ScheduleItem> events) {
+        long[] ids = new long[events.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = events.get(i).getId();
+        }
+        return ids;
+    }
+
+    @Test
+    public void testIntervalIndexMatchesScan() {
+        Random random = new Random(46);
+        for (int round = 0; round < 200; round++) {
+            int size = random.nextInt(60);
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            for (int i = 0; i < size; i++) {
+                starts[i] = random.nextInt(1000);
+                //Some instants, some long ones.
+                ends[i] = random.nextInt(4) == 0 ? starts[i] : starts[i] + random.nextInt(random.nextBoolean() ? 20 : 800);
+            }
+            IntervalIndex index = new IntervalIndex(starts, ends);
+            assertEquals(size, index.size());
+
+            for (int query = 0; query < 20; query++) {
+                long from = random.nextInt(1100) - 50;
+                long to = from + 1 + random.nextInt(200);
+
+                List<Integer> expected = new ArrayList<Integer>();
+                for (int i = 0; i < size; i++) {
+                    if (starts[i] < to && Math.max(ends[i], starts[i] + 1) > from) {
+                        expected.add(i);
+                    }
+                }
+
+                int[] found = index.query(from, to);
+                assertEquals(expected.size(), found.length);
+                List<Integer> actual = new ArrayList<Integer>();
+                for (int i = 0; i < found.length; i++) {
+                    actual.add(found[i]);
+                    if (i > 0) {
+                        assertTrue(starts[found[i - 1]] <= starts[found[i]]);
+                    }
+                }
+                assertTrue(actual.containsAll(expected));
+            }
+        }
+    }
+
+    @Test
+    public void testIntervalIndexLongEvent() {
+        //A long event well before the range is still found past many short ones.
+        long[] starts = new long[101];
+        long[] ends = new long[101];
+        starts[0] = 0;
+        ends[0] = 10000;
+        for (int i = 1; i < starts.length; i++) {
+            starts[i] = i * 10;
+            ends[i] = i * 10 + 5;
+        }
+        IntervalIndex index = new IntervalIndex(starts, ends);
+        assertTrue(Arrays.equals(new int[] { 0 }, index.query(2000, 3000)));
+        assertTrue(Arrays.equals(new int[] { 0, 50 }, index.query(502, 504)));
+        assertEquals(0, index.query(10000, 20000).length);
+    }
+
+    @Test
+    public void testGetEvents() {
+        CalendarStore store = new CalendarStore(CalendarEventAPI.EVENT_TYPE.CALENDAR_EVENT);
+        ArrayList<String> contexts = new ArrayList<String>(Arrays.asList("course_1", "course_2"));
+        store.putEvents(contexts, START, START + 30 * DAY, new ScheduleItem[] {
+                event(1, "course_1", START + 2 * DAY, START + 2 * DAY + HOUR),
+                event(2, "course_2", START + DAY, null),
+                event(3, "course_1", START, START + 10 * DAY),
+                event(4, "course_2", START + 20 * DAY, START + 20 * DAY + HOUR),
+        });
+
+        assertTrue(Arrays.equals(new long[] { 3, 2, 1 }, ids(store.getEvents(START, START + 7 * DAY, contexts))));
+        assertTrue(Arrays.equals(new long[] { 3, 1 }, ids(store.getEvents(START, START + 7 * DAY, Arrays.asList("course_1")))));
+        assertTrue(Arrays.equals(new long[] { 3 }, ids(store.getEvents(START + 5 * DAY, START + 6 * DAY, contexts))));
+        assertTrue(Arrays.equals(new long[] { 4 }, ids(store.getEvents(START + 15 * DAY, START + 30 * DAY, contexts))));
+        assertEquals(0, store.getEvents(START, START + 30 * DAY, Arrays.asList("course_3")).size());
+    }
+
+    @Test
+    public void testMissingWindows() {
+        CalendarStore store = new CalendarStore(CalendarEventAPI.EVENT_TYPE.CALENDAR_EVENT);
+        List<String> course = Arrays.asList("course_1");
+
+        List<long[]> missing = store.getMissingWindows("course_1", START, START + 30 * DAY);
+        assertEquals(1, missing.size());
+        assertTrue(Arrays.equals(new long[] { START, START + 30 * DAY }, missing.get(0)));
+
+        store.putEvents(course, START + 10 * DAY, START + 20 * DAY, new ScheduleItem[0]);
+        missing = store.getMissingWindows("course_1", START, START + 30 * DAY);
+        assertEquals(2, missing.size());
+        assertTrue(Arrays.equals(new long[] { START, START + 10 * DAY }, missing.get(0)));
+        assertTrue(Arrays.equals(new long[] { START + 20 * DAY, START + 30 * DAY }, missing.get(1)));
+        assertEquals(0, store.getMissingWindows("course_1", START + 12 * DAY, START + 18 * DAY).size());
+
+        //Touching windows join up.
+        store.putEvents(course, START + 20 * DAY, START + 30 * DAY, new ScheduleItem[0]);
+        store.putEvents(course, START, START + 10 * DAY, new ScheduleItem[0]);
+        assertEquals(0, store.getMissingWindows("course_1", START, START + 30 * DAY).size());
+        assertEquals(1, store.getMissingWindows("course_2", START, START + 30 * DAY).size());
+
+        store.invalidate(START + 5 * DAY, START + 6 * DAY);
+        missing = store.getMissingWindows("course_1", START, START + 30 * DAY);
+        assertEquals(1, missing.size());
+        assertTrue(Arrays.equals(new long[] { START + 5 * DAY, START + 6 * DAY }, missing.get(0)));
+    }
+
+    @Test
+    public void testRefetchReplacesWindow() {
+        CalendarStore store = new CalendarStore(CalendarEventAPI.EVENT_TYPE.CALENDAR_EVENT);
+        List<String> course = Arrays.asList("course_1");
+        store.putEvents(course, START, START + 30 * DAY, new ScheduleItem[] {
+                event(1, "course_1", START + DAY, null),
+                event(2, "course_1", START + 8 * DAY, null),
+                event(3, "course_1", START + 20 * DAY, null),
+        });
+
+        //Event 2 was deleted and event 4 added in the first two weeks.
+        store.invalidate(START, START + 14 * DAY);
+        store.putEvents(course, START, START + 14 * DAY, new ScheduleItem[] {
+                event(1, "course_1", START + DAY, null),
+                event(4, "course_1", START + 9 * DAY, null),
+        });
+        assertTrue(Arrays.equals(new long[] { 1, 4, 3 }, ids(store.getEvents(START, START + 30 * DAY, course))));
+    }
+
+    @Test
+    public void testContextResolution() {
+        CalendarStore store = new CalendarStore(CalendarEventAPI.EVENT_TYPE.ASSIGNMENT_EVENT);
+
+        //Without a context code, a single requested context is the event's.
+        ScheduleItem noContext = event(1, null, START, null);
+        store.putEvents(Arrays.asList("course_1"), START, START + DAY, new ScheduleItem[] { noContext });
+        assertEquals(1, store.getEvents(START, START + DAY, Arrays.asList("course_1")).size());
+
+        ScheduleItem other = event(2, "course_9", START, null);
+        store.putEvents(Arrays.asList("course_2", "course_3"), START, START + DAY, new ScheduleItem[] { other, event(3, "course_3", START, null) });
+        assertEquals(0, store.getEvents(START, START + DAY, Arrays.asList("course_2")).size());
+        assertEquals(1, store.getEvents(START, START + DAY, Arrays.asList("course_3")).size());
+    }
+}
@@ -0,0 +1,162 @@
+import android.content.Context;
+
+import com.instructure.canvasapi.api.ConversationAPI;
+import com.instructure.canvasapi.api.GroupAPI;
+import com.instructure.canvasapi.api.GroupCategoriesAPI;
+import com.instructure.canvasapi.api.UnreadCountAPI;
+import com.instructure.canvasapi.core.CanvasClient;
+import com.instructure.canvasapi.core.CanvasSession;
+import com.instructure.canvasapi.core.CanvasTracer;
+import com.instructure.canvasapi.model.Conversation;
+import com.instructure.canvasapi.model.Group;
+import com.instructure.canvasapi.model.GroupCategory;
+import com.instructure.canvasapi.model.UnreadConversationCount;
+import com.instructure.canvasapi.utilities.APIStatusDelegate;
+import com.instructure.canvasapi.utilities.CanvasCallback;
+import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+import com.instructure.canvasapi.utilities.LinkHeaders;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+
+import retrofit.client.Response;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class CanvasClientRoutingUnitTest extends Assert {
+
+    private HttpServer server;
+    private final ArrayList<String> requests = new ArrayList<String>();
+
+    @Before
+    public void startServer() throws IOException {
+        //Records the path and token of every request.
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                synchronized (requests) {
+                    requests.add(exchange.getRequestURI().getPath() + " " + exchange.getRequestHeaders().getFirst("Authorization"));
+                }
+                String path = exchange.getRequestURI().getPath();
+                byte[] bytes = (path.endsWith("unread_count") ? "{\"unread_count\":\"3\"}" : "[]").getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, bytes.length);
+                OutputStream outputStream = exchange.getResponseBody();
+                outputStream.write(bytes);
+                outputStream.close();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    private CanvasClient tenant() {
+        return tenantBuilder().build();
+    }
+
+    private CanvasClient.Builder tenantBuilder() {
+        final String domain = "127.0.0.1:" + server.getAddress().getPort();
+        //Runs the request and the callback on the calling thread, so each call is done when it returns.
+        Executor direct = new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                runnable.run();
+            }
+        };
+        return new CanvasClient.Builder(new CanvasSession() {
+            @Override public String getDomain() { return domain; }
+            @Override public String getProtocol() { return "http"; }
+            @Override public String getToken() { return "tenant-token"; }
+            @Override public String getUserAgent() { return "test"; }
+            @Override public long getMasqueradeId() { return -1; }
+        }).setExecutors(direct, direct);
+    }
+
+    private static class StatusDelegate implements APIStatusDelegate {
+        @Override public void onCallbackStarted() { }
+        @Override public void onCallbackFinished(CanvasCallback.SOURCE source) { }
+        @Override public void onNoNetwork() { }
+        @Override public Context getContext() { return RuntimeEnvironment.application; }
+    }
+
+    private static <T> CanvasCallback<T> callback(CanvasClient client) {
+        CanvasCallback<T> callback = new CanvasCallback<T>(new StatusDelegate()) {
+            @Override public void cache(T t) { }
+            @Override public void firstPage(T t, LinkHeaders linkHeaders, Response response) { }
+        };
+        callback.setClient(client);
+        return callback;
+    }
+
+    @Test
+    public void testClientBoundCallbacksReachTheClientsDomain() {
+        CanvasClient client = tenant();
+
+        UnreadCountAPI.getUnreadConversationCount(CanvasClientRoutingUnitTest.<UnreadConversationCount>callback(client));
+        GroupAPI.getFirstPageGroups(CanvasClientRoutingUnitTest.<Group[]>callback(client));
+        ConversationAPI.getFirstPageConversations(CanvasClientRoutingUnitTest.<Conversation[]>callback(client), ConversationAPI.ConversationScope.ALL);
+        GroupCategoriesAPI.getFirstPageGroupCategoriesInCourse(1, CanvasClientRoutingUnitTest.<GroupCategory[]>callback(client));
+
+        synchronized (requests) {
+            assertEquals(4, requests.size());
+            assertEquals("/api/v1/conversations/unread_count Bearer tenant-token", requests.get(0));
+            assertTrue(requests.get(1), requests.get(1).startsWith("/api/v1/users/self/groups "));
+            assertTrue(requests.get(2), requests.get(2).startsWith("/api/v1/conversations"));
+            assertEquals("/api/v1/courses/1/group_categories Bearer tenant-token", requests.get(3));
+            for (String request : requests) {
+                assertTrue(request, request.endsWith(" Bearer tenant-token"));
+            }
+        }
+    }
+
+    @Test
+    public void testCacheSpansGoToTheClientsTracer() {
+        CanvasTracer tracer = new CanvasTracer();
+        tracer.setEnabled(true);
+        CanvasClient client = tenantBuilder()
+                .setTracer(tracer)
+                .setCacheDirectory(RuntimeEnvironment.application.getFilesDir(), "routing_test_" + System.nanoTime())
+                .build();
+
+        //On, so a span recorded in the wrong tracer would show up.
+        CanvasTracer staticTracer = CanvasRestAdapter.getTracer();
+        staticTracer.setEnabled(true);
+        try {
+            CanvasCallback<UnreadConversationCount> callback = callback(client);
+            UnreadCountAPI.getUnreadConversationCount(callback);
+            Robolectric.flushBackgroundThreadScheduler();
+            Robolectric.flushForegroundThreadScheduler();
+
+            ArrayList<String> names = new ArrayList<String>();
+            for (CanvasTracer.Span span : tracer.getSpans(callback.getTraceId())) {
+                names.add(span.getName());
+            }
+            assertTrue(names.toString(), names.contains("cacheRead"));
+            assertTrue(names.toString(), names.contains("cacheWrite"));
+            assertEquals(0, staticTracer.getSpans(callback.getTraceId()).size());
+        } finally {
+            staticTracer.setEnabled(false);
+            staticTracer.clear();
+        }
+    }
+}
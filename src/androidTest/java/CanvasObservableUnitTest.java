@@ -0,0 +1,186 @@
+import android.content.Context;
+
+import com.instructure.canvasapi.model.CanvasError;
+import com.instructure.canvasapi.utilities.APIStatusDelegate;
+import com.instructure.canvasapi.utilities.CanvasCallback;
+import com.instructure.canvasapi.utilities.CanvasObservable;
+import com.instructure.canvasapi.utilities.ErrorDelegate;
+import com.instructure.canvasapi.utilities.LinkHeaders;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import retrofit.RetrofitError;
+import rx.Subscriber;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class CanvasObservableUnitTest extends Assert {
+
+    private com.instructure.canvasapi.core.ErrorDelegate previousErrorDelegate;
+
+    @Before
+    public void setErrorDelegate() {
+        previousErrorDelegate = CanvasCallback.defaultErrorDelegate;
+        CanvasCallback.defaultErrorDelegate = new ErrorDelegate() {
+            @Override public void noNetworkError(RetrofitError error, Context context) { }
+            @Override public void notAuthorizedError(RetrofitError error, CanvasError canvasError, Context context) { }
+            @Override public void invalidUrlError(RetrofitError error, Context context) { }
+            @Override public void serverError(RetrofitError error, Context context) { }
+            @Override public void generalError(RetrofitError error, CanvasError canvasError, Context context) { }
+        };
+    }
+
+    @After
+    public void restoreErrorDelegate() {
+        CanvasCallback.defaultErrorDelegate = previousErrorDelegate;
+    }
+
+    //No context, like a detached activity, so CanvasCallback's own success and failure return early.
+    private static class StatusDelegate implements APIStatusDelegate {
+        @Override public void onCallbackStarted() { }
+        @Override public void onCallbackFinished(CanvasCallback.SOURCE source) { }
+        @Override public void onNoNetwork() { }
+        @Override public Context getContext() { return null; }
+    }
+
+    private static class RecordingSubscriber<T> extends Subscriber<T> {
+        private final ArrayList<T> values = new ArrayList<T>();
+        private Throwable error;
+        private int completed = 0;
+
+        @Override public void onNext(T t) { values.add(t); }
+        @Override public void onError(Throwable e) { error = e; }
+        @Override public void onCompleted() { completed++; }
+    }
+
+    //Calls that hold on to their callback so the test decides when each one comes back.
+    private static class HeldCall<T> implements CanvasObservable.Call<T> {
+        private CanvasCallback<T> callback;
+
+        @Override
+        public void call(CanvasCallback<T> callback) {
+            callback.setFinished(false);
+            this.callback = callback;
+        }
+    }
+
+    private static class HeldPagedCall implements CanvasObservable.PagedCall<String> {
+        private final ArrayList<String> nextURLs = new ArrayList<String>();
+        private CanvasCallback<String[]> callback;
+
+        @Override
+        public void firstPage(CanvasCallback<String[]> callback) {
+            callback.setFinished(false);
+            this.callback = callback;
+        }
+
+        @Override
+        public void nextPage(String nextURL, CanvasCallback<String[]> callback) {
+            callback.setFinished(false);
+            nextURLs.add(nextURL);
+            this.callback = callback;
+        }
+    }
+
+    private static LinkHeaders linkHeaders(String nextURL) {
+        LinkHeaders linkHeaders = new LinkHeaders();
+        linkHeaders.nextURL = nextURL;
+        return linkHeaders;
+    }
+
+    @Test
+    public void testFromEmitsCacheThenNetwork() {
+        HeldCall<String> call = new HeldCall<String>();
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<String>();
+        CanvasObservable.from(new StatusDelegate(), call).subscribe(subscriber);
+
+        call.callback.cache("cached");
+        call.callback.firstPage("network", null, null);
+
+        assertEquals(2, subscriber.values.size());
+        assertEquals("cached", subscriber.values.get(0));
+        assertEquals("network", subscriber.values.get(1));
+        assertEquals(1, subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testFromReportsFailure() {
+        HeldCall<String> call = new HeldCall<String>();
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<String>();
+        CanvasObservable.from(new StatusDelegate(), call).subscribe(subscriber);
+
+        RetrofitError error = RetrofitError.networkError("https://x.com/api/v1/courses", new IOException("offline"));
+        call.callback.failure(error);
+
+        assertSame(error, subscriber.error);
+        assertEquals(0, subscriber.completed);
+        assertEquals(0, subscriber.values.size());
+    }
+
+    @Test
+    public void testFromCompletesOnNullBody() {
+        HeldCall<String> call = new HeldCall<String>();
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<String>();
+        CanvasObservable.from(new StatusDelegate(), call).subscribe(subscriber);
+
+        call.callback.success(null, null);
+
+        assertEquals(1, subscriber.completed);
+        assertEquals(0, subscriber.values.size());
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testPagesFetchesOnDemandAndCompletes() {
+        HeldPagedCall call = new HeldPagedCall();
+        RecordingSubscriber<CanvasObservable.Page<String>> subscriber = new RecordingSubscriber<CanvasObservable.Page<String>>();
+        CanvasObservable.pages(new StatusDelegate(), call).subscribe(subscriber);
+
+        call.callback.firstPage(new String[]{"a", "b"}, linkHeaders("courses?page=2"), null);
+        call.callback.firstPage(new String[]{"c"}, linkHeaders(null), null);
+
+        assertEquals(1, call.nextURLs.size());
+        assertEquals("courses?page=2", call.nextURLs.get(0));
+        assertEquals(2, subscriber.values.size());
+        assertEquals("c", subscriber.values.get(1).getItems()[0]);
+        assertTrue(subscriber.values.get(1).isLastPage());
+        assertEquals(1, subscriber.completed);
+    }
+
+    @Test
+    public void testPagesCompletesOnNullBody() {
+        HeldPagedCall call = new HeldPagedCall();
+        RecordingSubscriber<CanvasObservable.Page<String>> subscriber = new RecordingSubscriber<CanvasObservable.Page<String>>();
+        CanvasObservable.pages(new StatusDelegate(), call).subscribe(subscriber);
+
+        call.callback.firstPage(new String[]{"a"}, linkHeaders("courses?page=2"), null);
+        call.callback.success(null, null);
+
+        assertEquals(1, subscriber.values.size());
+        assertEquals(1, subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testPagesReportsFailure() {
+        HeldPagedCall call = new HeldPagedCall();
+        RecordingSubscriber<CanvasObservable.Page<String>> subscriber = new RecordingSubscriber<CanvasObservable.Page<String>>();
+        CanvasObservable.pages(new StatusDelegate(), call).subscribe(subscriber);
+
+        RetrofitError error = RetrofitError.networkError("https://x.com/api/v1/courses", new IOException("offline"));
+        call.callback.failure(error);
+
+        assertSame(error, subscriber.error);
+        assertEquals(0, subscriber.completed);
+    }
+}
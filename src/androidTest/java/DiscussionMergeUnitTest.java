@@ -0,0 +1,156 @@
+import com.google.gson.Gson;
+import com.instructure.canvasapi.model.DiscussionEntry;
+import com.instructure.canvasapi.model.DiscussionMerge;
+import com.instructure.canvasapi.model.DiscussionTopic;
+import com.instructure.canvasapi.model.DiscussionTree;
+import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+import junit.framework.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class DiscussionMergeUnitTest extends Assert {
+
+    private DiscussionTopic parse(String json) {
+        Gson gson = CanvasRestAdapter.getGSONParser();
+        return gson.fromJson(json, DiscussionTopic.class);
+    }
+
+    @Test
+    public void testNothingChanged() {
+        DiscussionTopic cached = parse(cachedJSON);
+        DiscussionEntry first = cached.getViews().get(0);
+        DiscussionEntry reply = first.getReplies().get(0);
+        List<DiscussionEntry> firstReplies = first.getReplies();
+
+        DiscussionMerge merge = DiscussionMerge.merge(cached, parse(cachedJSON));
+
+        assertFalse(merge.hasChanges());
+        assertEquals(4, merge.getReusedCount());
+        assertSame(first, merge.getTopic().getViews().get(0));
+        assertSame(reply, merge.getTopic().getViews().get(0).getReplies().get(0));
+        //Same children, so the list isn't replaced either.
+        assertSame(firstReplies, first.getReplies());
+    }
+
+    @Test
+    public void testAddedEditedDeleted() {
+        DiscussionTopic cached = parse(cachedJSON);
+        DiscussionEntry first = cached.getViews().get(0);
+        DiscussionEntry untouched = first.getReplies().get(0);
+
+        DiscussionMerge merge = DiscussionMerge.merge(cached, parse(freshJSON));
+
+        assertTrue(merge.hasChanges());
+        assertEquals(1, merge.getAdded().size());
+        assertEquals(5, merge.getAdded().get(0).getId());
+        assertEquals(1, merge.getEdited().size());
+        assertEquals(3, merge.getEdited().get(0).getId());
+        assertEquals("Edited", merge.getEdited().get(0).getMessage(""));
+        assertEquals(1, merge.getDeleted().size());
+        assertEquals(4, merge.getDeleted().get(0).getId());
+        assertEquals(2, merge.getReusedCount());
+
+        //1 and 2 are the cached objects, and 1 now has the new reply.
+        List<DiscussionEntry> views = merge.getTopic().getViews();
+        assertEquals(2, views.size());
+        assertSame(first, views.get(0));
+        assertSame(untouched, first.getReplies().get(0));
+        assertEquals(2, first.getReplies().size());
+        assertEquals(5, first.getReplies().get(1).getId());
+        assertEquals(3, views.get(1).getId());
+    }
+
+    @Test
+    public void testRemovedEntryIsDeleted() {
+        DiscussionTopic cached = parse(cachedJSON);
+        DiscussionTopic fresh = parse(cachedJSON);
+        fresh.setViews(fresh.getViews().subList(0, 1));
+
+        DiscussionMerge merge = DiscussionMerge.merge(cached, fresh);
+
+        assertEquals(2, merge.getDeleted().size());
+        assertEquals(3, merge.getDeleted().get(0).getId());
+        assertEquals(4, merge.getDeleted().get(1).getId());
+        assertTrue(merge.getAdded().isEmpty());
+    }
+
+    @Test
+    public void testNewEntriesFolded() {
+        DiscussionTopic cached = parse(cachedJSON);
+
+        DiscussionMerge merge = DiscussionMerge.merge(cached, parse(newEntriesJSON));
+
+        assertNull(merge.getTopic().getNewEntries());
+        assertEquals(2, merge.getAdded().size());
+        assertEquals(6, merge.getAdded().get(0).getId());
+        assertEquals(7, merge.getAdded().get(1).getId());
+
+        DiscussionTree tree = merge.getTopic().getTree();
+        assertEquals(6, tree.size());
+        int six = tree.indexOf(6);
+        assertEquals(tree.indexOf(4), tree.getParent(six));
+        assertEquals(six, tree.getParent(tree.indexOf(7)));
+    }
+
+    @Test
+    public void testInitAfterMerge() {
+        DiscussionTopic cached = parse(cachedJSON);
+        for (DiscussionEntry entry : cached.getViews()) {
+            entry.init(cached, null);
+        }
+        assertEquals(1, cached.getViews().get(0).getTotalChildren());
+
+        DiscussionTopic merged = DiscussionMerge.merge(cached, parse(freshJSON)).getTopic();
+        for (DiscussionEntry entry : merged.getViews()) {
+            entry.init(merged, null);
+        }
+
+        //The reused entry is counted again, not on top of its old counts.
+        assertEquals(2, merged.getViews().get(0).getTotalChildren());
+        assertEquals(1, merged.getViews().get(0).getUnreadChildren());
+    }
+
+    @Test
+    public void testNoCachedTopic() {
+        DiscussionMerge merge = DiscussionMerge.merge(null, parse(cachedJSON));
+
+        assertEquals(4, merge.getAdded().size());
+        assertEquals(0, merge.getReusedCount());
+    }
+
+    //1
+    //  2
+    //3
+    //  4
+    String cachedJSON = "{\"unread_entries\": [2], \"participants\": [], \"view\": [" +
+            "{\"id\": 1, \"updated_at\": \"2014-01-01T00:00:00Z\", \"user_id\": 10, \"message\": \"One\", \"replies\": [" +
+                "{\"id\": 2, \"parent_id\": 1, \"updated_at\": \"2014-01-01T00:00:00Z\", \"user_id\": 10, \"message\": \"Two\"}]}," +
+            "{\"id\": 3, \"updated_at\": \"2014-01-01T00:00:00Z\", \"user_id\": 10, \"message\": \"Three\", \"replies\": [" +
+                "{\"id\": 4, \"parent_id\": 3, \"updated_at\": \"2014-01-01T00:00:00Z\", \"user_id\": 10, \"message\": \"Four\"}]}" +
+            "], \"new_entries\": []}";
+
+    //3 edited, 4 deleted, 5 added under 1.
+    String freshJSON = "{\"unread_entries\": [5], \"participants\": [], \"view\": [" +
+            "{\"id\": 1, \"updated_at\": \"2014-01-01T00:00:00Z\", \"user_id\": 10, \"message\": \"One\", \"replies\": [" +
+                "{\"id\": 2, \"parent_id\": 1, \"updated_at\": \"2014-01-01T00:00:00Z\", \"user_id\": 10, \"message\": \"Two\"}," +
+                "{\"id\": 5, \"parent_id\": 1, \"updated_at\": \"2014-01-03T00:00:00Z\", \"user_id\": 11, \"message\": \"Five\"}]}," +
+            "{\"id\": 3, \"updated_at\": \"2014-01-02T00:00:00Z\", \"user_id\": 10, \"message\": \"Edited\", \"replies\": [" +
+                "{\"id\": 4, \"parent_id\": 3, \"updated_at\": \"2014-01-02T00:00:00Z\", \"user_id\": 10, \"deleted\": true}]}" +
+            "], \"new_entries\": []}";
+
+    //The same view, with 6 and its reply 7 posted since Canvas built it. Listed out of order on purpose.
+    String newEntriesJSON = "{\"unread_entries\": [], \"participants\": [], \"view\": [" +
+            "{\"id\": 1, \"updated_at\": \"2014-01-01T00:00:00Z\", \"user_id\": 10, \"message\": \"One\", \"replies\": [" +
+                "{\"id\": 2, \"parent_id\": 1, \"updated_at\": \"2014-01-01T00:00:00Z\", \"user_id\": 10, \"message\": \"Two\"}]}," +
+            "{\"id\": 3, \"updated_at\": \"2014-01-01T00:00:00Z\", \"user_id\": 10, \"message\": \"Three\", \"replies\": [" +
+                "{\"id\": 4, \"parent_id\": 3, \"updated_at\": \"2014-01-01T00:00:00Z\", \"user_id\": 10, \"message\": \"Four\"}]}" +
+            "], \"new_entries\": [" +
+                "{\"id\": 7, \"parent_id\": 6, \"updated_at\": \"2014-01-04T00:00:00Z\", \"user_id\": 11, \"message\": \"Seven\"}," +
+                "{\"id\": 6, \"parent_id\": 4, \"updated_at\": \"2014-01-04T00:00:00Z\", \"user_id\": 11, \"message\": \"Six\"}" +
+            "]}";
+}
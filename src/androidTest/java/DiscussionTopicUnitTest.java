@@ -4,6 +4,8 @@ import com.instructure.canvasapi.model.DiscussionParticipant;
 import com.instructure.canvasapi.model.DiscussionTopic;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
+import android.os.Parcel;
+
 import junit.framework.Assert;
 
 import org.junit.Test;
@@ -47,6 +49,90 @@ public class DiscussionTopicUnitTest extends Assert {
         }
     }
 
+    @Test
+    public void testParcel() {
+        Gson gson = CanvasRestAdapter.getGSONParser();
+        DiscussionTopic discussionTopic = gson.fromJson(discussionTopicJSON, DiscussionTopic.class);
+        discussionTopic.setEntryRating(7221310, 1);
+
+        Parcel parcel = Parcel.obtain();
+        discussionTopic.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        DiscussionTopic copy = DiscussionTopic.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+
+        assertEquals(3, copy.getUnreadEntries().size());
+        assertTrue(copy.isUnread(2));
+        assertEquals(2, copy.getParticipants().size());
+        assertEquals("Josher", copy.getParticipantsMap().get(3363291L).getDisplayName());
+        assertEquals(1, copy.getEntryRating(7221310));
+
+        assertEquals(2, copy.getViews().size());
+        DiscussionEntry reply = copy.getViews().get(1).getReplies().get(0);
+        assertEquals(7221310, reply.getId());
+        assertEquals("False", reply.getMessage(""));
+        assertSame(copy.getViews().get(1), reply.getParent());
+        assertNull(copy.getViews().get(1).getParent());
+    }
+
+    @Test
+    public void testParcelDeepThread() {
+        //Deep enough to overflow the stack if parceling recursed.
+        DiscussionEntry root = new DiscussionEntry();
+        root.setId(1);
+        DiscussionEntry last = root;
+        for (int i = 2; i <= 20000; i++) {
+            DiscussionEntry reply = new DiscussionEntry();
+            reply.setId(i);
+            last.addReply(reply);
+            last = reply;
+        }
+
+        Parcel parcel = Parcel.obtain();
+        root.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        DiscussionEntry copy = DiscussionEntry.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+
+        int depth = 1;
+        while (!copy.getReplies().isEmpty()) {
+            copy = copy.getReplies().get(0);
+            depth++;
+        }
+        assertEquals(20000, depth);
+        assertEquals(20000, copy.getId());
+        assertEquals(19999, copy.getParent().getId());
+    }
+
+    @Test
+    public void testParcelKeepsDepth() {
+        DiscussionEntry root = new DiscussionEntry();
+        DiscussionEntry last = root;
+        for (int i = 0; i < 6; i++) {
+            DiscussionEntry reply = new DiscussionEntry();
+            reply.setParent(last);
+            last.addReply(reply);
+            last = reply;
+        }
+        DiscussionEntry middle = root.getReplies().get(0).getReplies().get(0);
+        assertEquals(2, middle.getDepth());
+
+        Parcel parcel = Parcel.obtain();
+        middle.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        DiscussionEntry copy = DiscussionEntry.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+
+        //Its parent stays behind, but not its depth.
+        assertNull(copy.getParent());
+        assertEquals(2, copy.getDepth());
+        assertEquals(3, copy.getReplies().get(0).getDepth());
+        while (!copy.getReplies().isEmpty()) {
+            copy = copy.getReplies().get(0);
+        }
+        assertEquals(6, copy.getDepth());
+    }
+
     String discussionTopicJSON = "{ \"unread_entries\": [1,2,3], \"forced_entries\": [], \"participants\": [{\"id\":3828648,\"display_name\":\"Drip Derskey\",\"avatar_image_url\":\"https://mobiledev.instructure.com/images/thumbnails/32957548/krblSV5HHvhqqlxUCtvAsR6AkGMI21qsw8i2y1Tx\",\"html_url\":\"https://mobiledev.instructure.com/courses/24219/users/3828648\"},{\"id\":3363291,\"display_name\":\"Josher\",\"avatar_image_url\":\"https://mobiledev.instructure.com/images/thumbnails/25871866/VCYN4XMwkJjyXJQy2tyKXibUdPnIT4aAmZCPstGP\",\"html_url\":\"https://mobiledev.instructure.com/courses/24219/users/3363291\"}], \"view\": [{\"created_at\":\"2013-05-29T15:50:24Z\",\"id\":5203752,\"parent_id\":null,\"updated_at\":\"2013-05-29T15:50:24Z\",\"user_id\":3828648,\"message\":\"Clojure1!!11!!\"},{\"created_at\":\"2013-05-29T15:51:18Z\",\"id\":5203767,\"parent_id\":null,\"updated_at\":\"2013-05-29T15:51:18Z\",\"user_id\":3828648,\"message\":\"I mean: Clojure is the best programming language.\",\"replies\":[{\"created_at\":\"2013-10-07T18:06:58Z\",\"id\":7221310,\"parent_id\":5203767,\"updated_at\":\"2013-10-07T18:06:58Z\",\"user_id\":3363291,\"message\":\"False\"}]}], \"new_entries\": [] }";
 
 }
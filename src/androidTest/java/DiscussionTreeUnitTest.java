@@ -0,0 +1,210 @@
+import com.google.gson.Gson;
+import com.instructure.canvasapi.model.DiscussionEntry;
+import com.instructure.canvasapi.model.DiscussionTopic;
+import com.instructure.canvasapi.model.DiscussionTree;
+import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+import junit.framework.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class DiscussionTreeUnitTest extends Assert {
+
+    //1
+    //  2
+    //    3
+    //  4
+    //5
+    //  6
+    private DiscussionTree buildTree() {
+        return buildTopic().getTree();
+    }
+
+    private DiscussionTopic buildTopic() {
+        Gson gson = CanvasRestAdapter.getGSONParser();
+        return gson.fromJson(discussionJSON, DiscussionTopic.class);
+    }
+
+    @Test
+    public void testStructure() {
+        DiscussionTree tree = buildTree();
+
+        assertEquals(6, tree.size());
+        for (int i = 0; i < tree.size(); i++) {
+            assertEquals(i + 1, tree.getId(i));
+            assertEquals(i + 1, tree.getEntry(i).getId());
+        }
+
+        assertEquals(DiscussionTree.NO_PARENT, tree.getParent(0));
+        assertEquals(0, tree.getParent(1));
+        assertEquals(1, tree.getParent(2));
+        assertEquals(0, tree.getParent(3));
+        assertEquals(DiscussionTree.NO_PARENT, tree.getParent(4));
+
+        assertEquals(0, tree.getDepth(0));
+        assertEquals(2, tree.getDepth(2));
+        assertEquals(1, tree.getDepth(5));
+
+        assertEquals(3, tree.getSubtreeSize(0));
+        assertEquals(1, tree.getSubtreeSize(1));
+        assertEquals(0, tree.getSubtreeSize(2));
+        assertEquals(1, tree.getSubtreeSize(4));
+
+        assertEquals(3, tree.indexOf(4));
+        assertEquals(-1, tree.indexOf(99));
+    }
+
+    @Test
+    public void testUnreadCounts() {
+        DiscussionTree tree = buildTree();
+
+        assertEquals(2, tree.getUnreadCount());
+        assertEquals(2, tree.getUnreadInSubtree(0));
+        assertEquals(1, tree.getUnreadInSubtree(1));
+        assertEquals(0, tree.getUnreadInSubtree(4));
+        assertTrue(tree.isUnread(2));
+
+        assertTrue(tree.markRead(2));
+        assertFalse(tree.markRead(2));
+        assertFalse(tree.getEntry(2).isUnread());
+        assertEquals(1, tree.getUnreadCount());
+        assertEquals(1, tree.getUnreadInSubtree(0));
+        assertEquals(0, tree.getUnreadInSubtree(1));
+
+        assertTrue(tree.markUnread(5));
+        assertEquals(1, tree.getUnreadInSubtree(4));
+
+        tree.markAllRead();
+        assertEquals(0, tree.getUnreadCount());
+        assertEquals(0, tree.getUnreadInSubtree(0));
+    }
+
+    @Test
+    public void testUnreadStaysInStepWithTheTopic() {
+        DiscussionTopic topic = buildTopic();
+        DiscussionTree tree = topic.getTree();
+
+        tree.markRead(2);
+        assertFalse(topic.isUnread(3));
+        assertFalse(topic.getUnreadEntries().contains(3L));
+
+        tree.markUnread(0);
+        assertTrue(topic.isUnread(1));
+
+        //And the other way around.
+        topic.setEntryUnread(6, true);
+        assertTrue(tree.isUnread(5));
+        assertEquals(1, tree.getUnreadInSubtree(4));
+        assertSame(tree, topic.getTree());
+
+        tree.markAllRead();
+        assertEquals(0, topic.getUnreadEntries().size());
+        assertFalse(topic.isUnread(6));
+
+        //A new list means new counts.
+        topic.setUnreadEntries(new ArrayList<Long>(Arrays.asList(2L)));
+        assertNotSame(tree, topic.getTree());
+        assertTrue(topic.getTree().isUnread(1));
+        assertEquals(1, topic.getTree().getUnreadCount());
+    }
+
+    @Test
+    public void testVisiblePositions() {
+        DiscussionTree tree = buildTree();
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i, tree.getVisibleRow(i));
+            assertEquals(i, tree.getVisiblePosition(i));
+        }
+
+        tree.setCollapsed(0, true);
+        assertEquals(3, tree.getVisibleCount());
+        assertEquals(4, tree.getVisibleRow(1));
+        assertEquals(5, tree.getVisibleRow(2));
+        assertEquals(-1, tree.getVisiblePosition(2));
+        assertEquals(2, tree.getVisiblePosition(5));
+
+        //Collapsing a hidden entry doesn't change what's shown until its ancestor is expanded.
+        tree.setCollapsed(1, true);
+        assertEquals(3, tree.getVisibleCount());
+        tree.setCollapsed(0, false);
+        assertEquals(5, tree.getVisibleCount());
+        assertEquals(3, tree.getVisibleRow(2));
+        assertFalse(tree.isVisible(2));
+    }
+
+    @Test
+    public void testCollapse() {
+        DiscussionTree tree = buildTree();
+        int[] rows = new int[10];
+
+        assertEquals(6, tree.getVisibleCount());
+
+        tree.setCollapsed(1, true);
+        assertEquals(5, tree.getVisibleCount());
+        int count = tree.getVisibleWindow(tree.firstVisible(), rows);
+        assertEquals(Arrays.asList(0, 1, 3, 4, 5), toList(rows, count));
+
+        //Collapsing an ancestor hides the collapsed entry too.
+        tree.setCollapsed(0, true);
+        count = tree.getVisibleWindow(tree.firstVisible(), rows);
+        assertEquals(Arrays.asList(0, 4, 5), toList(rows, count));
+
+        //Expanding it shows the inner entry still collapsed.
+        tree.setCollapsed(0, false);
+        count = tree.getVisibleWindow(3, new int[2]);
+        assertEquals(2, count);
+        assertEquals(5, tree.getVisibleCount());
+
+        tree.expandAll();
+        assertEquals(6, tree.getVisibleCount());
+    }
+
+    @Test
+    public void testDeepThread() {
+        //Deeper than the stack would allow recursively.
+        DiscussionEntry root = new DiscussionEntry();
+        root.setId(1);
+        DiscussionEntry parent = root;
+        for (int id = 2; id <= 50000; id++) {
+            DiscussionEntry reply = new DiscussionEntry();
+            reply.setId(id);
+            reply.setUnread(true);
+            parent.setReplies(new ArrayList<DiscussionEntry>(Arrays.asList(reply)));
+            parent = reply;
+        }
+
+        DiscussionTree tree = new DiscussionTree(Arrays.asList(root), null);
+        assertEquals(50000, tree.size());
+        assertEquals(49999, tree.getVisibleRow(49999));
+        tree.setCollapsed(100, true);
+        assertEquals(101, tree.getVisibleCount());
+        assertEquals(100, tree.getVisiblePosition(100));
+        assertEquals(49999, tree.getDepth(49999));
+        assertEquals(49999, tree.getSubtreeSize(0));
+        assertEquals(49999, tree.getUnreadInSubtree(0));
+
+        tree.markRead(49999);
+        assertEquals(49998, tree.getUnreadInSubtree(0));
+    }
+
+    private static List<Integer> toList(int[] rows, int count) {
+        List<Integer> list = new ArrayList<Integer>();
+        for (int i = 0; i < count; i++) {
+            list.add(rows[i]);
+        }
+        return list;
+    }
+
+    public static final String discussionJSON = "{\"unread_entries\": [3, 4], \"participants\": [], \"view\": ["
+            + "{\"id\": 1, \"user_id\": 1, \"message\": \"one\", \"replies\": ["
+            + "    {\"id\": 2, \"user_id\": 1, \"parent_id\": 1, \"replies\": [{\"id\": 3, \"user_id\": 1, \"parent_id\": 2}]},"
+            + "    {\"id\": 4, \"user_id\": 1, \"parent_id\": 1}]},"
+            + "{\"id\": 5, \"user_id\": 1, \"replies\": [{\"id\": 6, \"user_id\": 1, \"parent_id\": 5}]}"
+            + "]}";
+}
@@ -0,0 +1,133 @@
+import android.content.Context;
+
+import com.instructure.canvasapi.core.CanvasClient;
+import com.instructure.canvasapi.core.CanvasSession;
+import com.instructure.canvasapi.core.CrawlCheckpoint;
+import com.instructure.canvasapi.model.Course;
+import com.instructure.canvasapi.utilities.APIStatusDelegate;
+import com.instructure.canvasapi.utilities.CanvasCallback;
+import com.instructure.canvasapi.utilities.ExhaustiveBridgeCallback;
+import com.instructure.canvasapi.utilities.LinkHeaders;
+
+import junit.framework.Assert;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import retrofit.client.Response;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class ExhaustiveBridgeCallbackUnitTest extends Assert {
+
+    private static final String NEXT_URL = "https://mobiledev.instructure.com/api/v1/courses?page=2";
+
+    private CanvasClient client;
+    private final List<String> nextUrls = new ArrayList<String>();
+    private final List<String> firstPageCalls = new ArrayList<String>();
+
+    @Before
+    public void setUp() {
+        client = new CanvasClient.Builder(new CanvasSession() {
+            @Override public String getDomain() { return "mobiledev.instructure.com"; }
+            @Override public String getProtocol() { return "https"; }
+            @Override public String getToken() { return "token"; }
+            @Override public String getUserAgent() { return "test"; }
+            @Override public long getMasqueradeId() { return -1; }
+        }).setCacheDirectory(RuntimeEnvironment.application.getFilesDir(), "crawl_test_" + System.nanoTime()).build();
+    }
+
+    private static class StatusDelegate implements APIStatusDelegate {
+        @Override public void onCallbackStarted() { }
+        @Override public void onCallbackFinished(CanvasCallback.SOURCE source) { }
+        @Override public void onNoNetwork() { }
+        @Override public Context getContext() { return RuntimeEnvironment.application; }
+    }
+
+    private CanvasCallback<Course[]> callback() {
+        CanvasCallback<Course[]> callback = new CanvasCallback<Course[]>(new StatusDelegate()) {
+            @Override public void cache(Course[] courses) { }
+            @Override public void firstPage(Course[] courses, LinkHeaders linkHeaders, Response response) { }
+        };
+        callback.setClient(client);
+        return callback;
+    }
+
+    private ExhaustiveBridgeCallback<Course> bridge(CanvasCallback<Course[]> callback, String checkpointName) {
+        return new ExhaustiveBridgeCallback<Course>(callback, new ExhaustiveBridgeCallback.ExhaustiveBridgeEvents<Course>() {
+            @Override
+            public void performApiCallWithExhaustiveCallback(CanvasCallback<Course[]> callback, String nextUrl) {
+                nextUrls.add(nextUrl);
+            }
+
+            @Override
+            public Class<Course> classType() {
+                return Course.class;
+            }
+        }, checkpointName);
+    }
+
+    private void startOrResume(ExhaustiveBridgeCallback<Course> bridge) {
+        bridge.startOrResume(new ExhaustiveBridgeCallback.FirstPageCall() {
+            @Override
+            public void performFirstApiCall(CanvasCallback callback) {
+                firstPageCalls.add("first");
+            }
+        });
+        Robolectric.flushBackgroundThreadScheduler();
+        Robolectric.flushForegroundThreadScheduler();
+    }
+
+    private String saveCheckpoint() {
+        String checkpointName = CrawlCheckpoint.getCheckpointName("courses");
+        Course course = new Course();
+        course.setId(1);
+        assertTrue(CrawlCheckpoint.savePage(client.getCacheStore(), checkpointName, 1, Collections.singletonList(course), NEXT_URL, System.currentTimeMillis()));
+        return checkpointName;
+    }
+
+    @Test
+    public void testResumesFromCheckpoint() {
+        String checkpointName = saveCheckpoint();
+
+        startOrResume(bridge(callback(), checkpointName));
+
+        assertEquals(0, firstPageCalls.size());
+        assertEquals(Collections.singletonList(NEXT_URL), nextUrls);
+    }
+
+    @Test
+    public void testCancelledCallbackDoesntResume() {
+        String checkpointName = saveCheckpoint();
+
+        //The caller only holds the callback it passed in, so that's what gets cancelled.
+        CanvasCallback<Course[]> callback = callback();
+        ExhaustiveBridgeCallback<Course> bridge = bridge(callback, checkpointName);
+        callback.cancel();
+        startOrResume(bridge);
+
+        assertEquals(0, firstPageCalls.size());
+        assertEquals(0, nextUrls.size());
+    }
+
+    @Test
+    public void testDiscardedCheckpointStartsOver() {
+        String checkpointName = saveCheckpoint();
+
+        //Queued rather than waited on, but the read behind it still sees it gone.
+        CanvasCallback<Course[]> callback = callback();
+        ExhaustiveBridgeCallback.discardCheckpoint(callback, checkpointName);
+        startOrResume(bridge(callback, checkpointName));
+
+        assertEquals(1, firstPageCalls.size());
+        assertEquals(0, nextUrls.size());
+    }
+}
@@ -0,0 +1,202 @@
+import com.instructure.canvasapi.utilities.FileRequestBody;
+import com.instructure.canvasapi.utilities.FileUploader;
+import com.instructure.canvasapi.utilities.MultipartUploadBody;
+import com.squareup.okhttp.MediaType;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okio.Buffer;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class FileUploaderUnitTest extends Assert {
+
+    private static File tempFile(int size) throws IOException {
+        File file = File.createTempFile("upload", ".bin");
+        file.deleteOnExit();
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+        FileOutputStream outputStream = new FileOutputStream(file);
+        outputStream.write(bytes);
+        outputStream.close();
+        return file;
+    }
+
+    @Test
+    public void testFileRequestBodyRegion() throws IOException {
+        File file = tempFile(300 * 1024);
+        final ArrayList<Long> progress = new ArrayList<Long>();
+        FileRequestBody body = new FileRequestBody(null, file, 1000, 200 * 1024, new FileRequestBody.ProgressListener() {
+            @Override
+            public void onProgress(long bytesWritten, long contentLength) {
+                progress.add(bytesWritten);
+            }
+        });
+
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        assertEquals(200 * 1024, buffer.size());
+        assertEquals((byte) 1000, buffer.getByte(0));
+        assertEquals((byte) (1000 + 200 * 1024 - 1), buffer.getByte(200 * 1024 - 1));
+
+        //Every PROGRESS_STEP and once at the end.
+        assertEquals(4, progress.size());
+        assertEquals(200 * 1024, (long) progress.get(progress.size() - 1));
+    }
+
+    @Test
+    public void testMultipartLengthMatchesBody() throws IOException {
+        File file = tempFile(10000);
+        LinkedHashMap<String, String> fields = new LinkedHashMap<String, String>();
+        fields.put("key", "/users/1/files/a \"b\".jpg");
+        fields.put("acl", "private");
+        MultipartUploadBody body = new MultipartUploadBody(fields, "file", file.getName(),
+                new FileRequestBody(MediaType.parse("image/jpeg"), file, null));
+
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        assertEquals(body.contentLength(), buffer.size());
+
+        String written = buffer.readString(java.nio.charset.Charset.forName("ISO-8859-1"));
+        assertTrue(written.indexOf("name=\"key\"") < written.indexOf("name=\"acl\""));
+        assertTrue(written.indexOf("name=\"acl\"") < written.indexOf("name=\"file\""));
+        assertTrue(written.contains("Content-Type: image/jpeg"));
+    }
+
+    @Test
+    public void testHelpers() {
+        assertEquals(1234, FileUploader.parseKalturaUploadedSize("<xml><result><uploadedFileSize>1234</uploadedFileSize></result></xml>"));
+        assertEquals(0, FileUploader.parseKalturaUploadedSize("<xml><result><uploadedFileSize>0</uploadedFileSize></result></xml>"));
+        assertEquals(FileUploader.UNKNOWN_SIZE, FileUploader.parseKalturaUploadedSize("<xml><result><error/></result></xml>"));
+        assertEquals(FileUploader.UNKNOWN_SIZE, FileUploader.parseKalturaUploadedSize(null));
+
+        assertEquals(1000, FileUploader.getBackOff(1));
+        assertEquals(4000, FileUploader.getBackOff(3));
+        assertEquals(30000, FileUploader.getBackOff(20));
+    }
+
+    //How the uploadtoken.get lookup after the failed chunk goes.
+    private final static int LOOKUP_WORKS = 0;
+    private final static int LOOKUP_ERROR = 1;
+    private final static int LOOKUP_SERVER_ERROR = 2;
+
+    @Test
+    public void testKalturaChunksResumeAfterFailure() throws Exception {
+        uploadWithFailedChunk(LOOKUP_WORKS);
+    }
+
+    @Test
+    public void testKalturaChunksKeepTheirOffsetWhenTheLookupFails() throws Exception {
+        //Kaltura not saying how much it has mustn't send the upload back to the start.
+        uploadWithFailedChunk(LOOKUP_ERROR);
+        uploadWithFailedChunk(LOOKUP_SERVER_ERROR);
+    }
+
+    private void uploadWithFailedChunk(final int lookup) throws Exception {
+        final int chunkSize = 4096;
+        final File file = tempFile(chunkSize * 3 + 100);
+        final Pattern field = Pattern.compile("name=\"(resumeAt|finalChunk)\"\r\n\r\n(\\d+)");
+        final ArrayList<String> chunks = new ArrayList<String>();
+        final long[] received = new long[1];
+        final int[] uploads = new int[1];
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api_v3/index.php", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                String body = new String(readAll(exchange.getRequestBody()), "ISO-8859-1");
+                String response;
+                int code = 200;
+                if (exchange.getRequestURI().getQuery().contains("action=get")) {
+                    if (lookup == LOOKUP_ERROR) {
+                        response = "<xml><result><error><code>INVALID_KS</code></error></result></xml>";
+                    } else if (lookup == LOOKUP_SERVER_ERROR) {
+                        code = 500;
+                        response = "";
+                    } else {
+                        response = "<xml><result><uploadedFileSize>" + received[0] + "</uploadedFileSize></result></xml>";
+                    }
+                } else if (++uploads[0] == 2) {
+                    //The second chunk dies.
+                    code = 503;
+                    response = "";
+                } else {
+                    Matcher matcher = field.matcher(body);
+                    String chunk = "";
+                    long resumeAt = 0;
+                    while (matcher.find()) {
+                        chunk += matcher.group(1) + "=" + matcher.group(2) + " ";
+                        if (matcher.group(1).equals("resumeAt")) {
+                            resumeAt = Long.parseLong(matcher.group(2));
+                        }
+                    }
+                    chunks.add(chunk.trim());
+                    received[0] = Math.min(file.length(), resumeAt + chunkSize);
+                    response = "<xml><result><uploadedFileSize>" + received[0] + "</uploadedFileSize></result></xml>";
+                }
+                byte[] bytes = response.getBytes("UTF-8");
+                exchange.sendResponseHeaders(code, bytes.length == 0 ? -1 : bytes.length);
+                OutputStream outputStream = exchange.getResponseBody();
+                outputStream.write(bytes);
+                outputStream.close();
+            }
+        });
+        server.start();
+
+        try {
+            final ArrayList<Long> progress = new ArrayList<Long>();
+            FileUploader uploader = new FileUploader(new FileUploader.ProgressListener() {
+                @Override
+                public void onProgress(long bytesUploaded, long fileSize) {
+                    progress.add(bytesUploaded);
+                }
+            });
+            uploader.setChunkSize(chunkSize);
+            String url = "http://127.0.0.1:" + server.getAddress().getPort();
+            String response = uploader.uploadKalturaChunks(url, "session", "token", file, "video/mp4", false);
+
+            assertNotNull(response);
+            assertEquals(file.length(), received[0]);
+            //The failed chunk is sent again from where the server left off.
+            assertEquals(4, chunks.size());
+            assertEquals("resumeAt=0 finalChunk=0", chunks.get(0));
+            assertEquals("resumeAt=4096 finalChunk=0", chunks.get(1));
+            assertEquals("resumeAt=8192 finalChunk=0", chunks.get(2));
+            assertEquals("resumeAt=12288 finalChunk=1", chunks.get(3));
+            assertEquals(file.length(), (long) progress.get(progress.size() - 1));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+}
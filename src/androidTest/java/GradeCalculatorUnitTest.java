@@ -0,0 +1,276 @@
+import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.model.AssignmentGroup;
+import com.instructure.canvasapi.model.AssignmentGroupRules;
+import com.instructure.canvasapi.model.Submission;
+import com.instructure.canvasapi.utilities.GradeCalculator;
+import com.instructure.canvasapi.utilities.GradebookStore;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class GradeCalculatorUnitTest extends Assert {
+
+    private final static double NO_SCORE = GradeCalculator.NO_SCORE;
+    private final static double DELTA = 1e-9;
+
+    private static Assignment assignment(long id, double pointsPossible) {
+        Assignment assignment = new Assignment();
+        assignment.setId(id);
+        assignment.setPointsPossible(pointsPossible);
+        return assignment;
+    }
+
+    private static AssignmentGroup group(long id, double weight, AssignmentGroupRules rules, Assignment... assignments) {
+        AssignmentGroup group = new AssignmentGroup();
+        group.setId(id);
+        group.setGroupWeight(weight);
+        group.setRules(rules);
+        ArrayList<Assignment> list = new ArrayList<Assignment>();
+        for (Assignment assignment : assignments) {
+            list.add(assignment);
+        }
+        group.setAssignments(list);
+        return group;
+    }
+
+    private static AssignmentGroupRules rules(int dropLowest, int dropHighest, long... neverDrop) {
+        AssignmentGroupRules rules = new AssignmentGroupRules();
+        rules.setDropLowest(dropLowest);
+        rules.setDropHighest(dropHighest);
+        rules.setNeverDrop(neverDrop);
+        return rules;
+    }
+
+    private static AssignmentGroup[] twoGroups() {
+        return new AssignmentGroup[] {
+                group(10, 60, null, assignment(1, 10), assignment(2, 10)),
+                group(11, 20, null, assignment(3, 50)),
+        };
+    }
+
+    @Test
+    public void testUnweighted() {
+        GradeCalculator calculator = new GradeCalculator(twoGroups(), false, true);
+        GradeCalculator.Grade grade = calculator.compute(new double[] { 8, NO_SCORE, 40 }, null);
+        //(8 + 40) / (10 + 50)
+        assertEquals(80.0, grade.getCurrentScore(), DELTA);
+        //(8 + 0 + 40) / (10 + 10 + 50)
+        assertEquals(48.0 / 70 * 100, grade.getFinalScore(), DELTA);
+        assertEquals(80.0, grade.getGroupCurrentScore(10), DELTA);
+        assertEquals(40.0, grade.getGroupFinalScore(10), DELTA);
+
+        grade = calculator.compute(new double[] { NO_SCORE, NO_SCORE, NO_SCORE }, null);
+        assertTrue(Double.isNaN(grade.getCurrentScore()));
+        assertEquals(0.0, grade.getFinalScore(), DELTA);
+    }
+
+    @Test
+    public void testWeighted() {
+        GradeCalculator calculator = new GradeCalculator(twoGroups(), true, true);
+        GradeCalculator.Grade grade = calculator.compute(new double[] { 8, 6, 25 }, null);
+        //(70% * 60 + 50% * 20) / 80, scaled up to 100
+        assertEquals((0.7 * 60 + 0.5 * 20) * 100 / 80, grade.getCurrentScore(), DELTA);
+
+        //A group with nothing graded doesn't count for the current score.
+        grade = calculator.compute(new double[] { 8, 6, NO_SCORE }, null);
+        assertEquals(70.0, grade.getCurrentScore(), DELTA);
+        assertEquals((0.7 * 60 + 0 * 20) * 100 / 80, grade.getFinalScore(), DELTA);
+
+        //Weights over 100 are extra credit, not scaled down.
+        AssignmentGroup[] groups = new AssignmentGroup[] {
+                group(10, 100, null, assignment(1, 10)),
+                group(11, 10, null, assignment(2, 10)),
+        };
+        grade = new GradeCalculator(groups, true, true).compute(new double[] { 10, 10 }, null);
+        assertEquals(110.0, grade.getCurrentScore(), DELTA);
+    }
+
+    @Test
+    public void testMutedAndExcused() {
+        AssignmentGroup[] groups = twoGroups();
+        groups[1].getAssignments().get(0).setMuted(true);
+
+        double[] scores = new double[] { 8, 6, 10 };
+        assertEquals(24.0 / 70 * 100, new GradeCalculator(groups, false, true).compute(scores, null).getCurrentScore(), DELTA);
+        assertEquals(70.0, new GradeCalculator(groups, false, false).compute(scores, null).getCurrentScore(), DELTA);
+
+        //Excused doesn't count even for the final score.
+        GradeCalculator.Grade grade = new GradeCalculator(twoGroups(), false, true).compute(new double[] { 8, NO_SCORE, 40 }, new boolean[] { false, true, false });
+        assertEquals(80.0, grade.getFinalScore(), DELTA);
+    }
+
+    @Test
+    public void testDropLowestKeepsBestPercentage() {
+        //Dropping the lowest score (2 of 10) would leave 80/130. Dropping 50/100 leaves 32/40.
+        AssignmentGroup[] groups = new AssignmentGroup[] {
+                group(10, 0, rules(1, 0), assignment(1, 100), assignment(2, 10), assignment(3, 30)),
+        };
+        GradeCalculator.Grade grade = new GradeCalculator(groups, false, true).compute(new double[] { 50, 2, 30 }, null);
+        assertEquals(32.0 / 40 * 100, grade.getCurrentScore(), DELTA);
+    }
+
+    @Test
+    public void testNeverDrop() {
+        AssignmentGroup[] groups = new AssignmentGroup[] {
+                group(10, 0, rules(1, 0, 1), assignment(1, 10), assignment(2, 10), assignment(3, 10)),
+        };
+        GradeCalculator.Grade grade = new GradeCalculator(groups, false, true).compute(new double[] { 1, 5, 9 }, null);
+        //1 can't be dropped, so 5 is.
+        assertEquals(10.0 / 20 * 100, grade.getCurrentScore(), DELTA);
+    }
+
+    @Test
+    public void testDropRulesMatchBruteForce() {
+        Random random = new Random(48);
+        for (int round = 0; round < 300; round++) {
+            int size = 1 + random.nextInt(7);
+            Assignment[] assignments = new Assignment[size];
+            double[] scores = new double[size];
+            for (int i = 0; i < size; i++) {
+                assignments[i] = assignment(i + 1, 1 + random.nextInt(50));
+                scores[i] = random.nextInt(5) == 0 ? NO_SCORE : random.nextInt((int) assignments[i].getPointsPossible() + 1);
+            }
+            int dropLowest = random.nextInt(3);
+            int dropHighest = random.nextInt(2);
+            AssignmentGroup[] groups = new AssignmentGroup[] { group(10, 0, rules(dropLowest, dropHighest), assignments) };
+            GradeCalculator.Grade grade = new GradeCalculator(groups, false, true).compute(scores, null);
+
+            assertEquals(bruteForce(assignments, scores, dropLowest, dropHighest, false), grade.getCurrentScore(), 1e-6);
+            assertEquals(bruteForce(assignments, scores, dropLowest, dropHighest, true), grade.getFinalScore(), 1e-6);
+        }
+    }
+
+    //Tries every set to drop the lowest from, then every set to drop the highest from what's left.
+    private static double bruteForce(Assignment[] assignments, double[] scores, int dropLowest, int dropHighest, boolean ungradedAsZero) {
+        ArrayList<Integer> counted = new ArrayList<Integer>();
+        for (int i = 0; i < assignments.length; i++) {
+            if (!Double.isNaN(scores[i]) || ungradedAsZero) {
+                counted.add(i);
+            }
+        }
+        int n = counted.size();
+        if (n == 0) {
+            return NO_SCORE;
+        }
+        if (dropLowest >= n) {
+            dropLowest = n - 1;
+            dropHighest = 0;
+        }
+        if (dropLowest + dropHighest >= n) {
+            dropHighest = 0;
+        }
+
+        int bestLowMask = -1;
+        double best = -1;
+        for (int mask = 0; mask < (1 << n); mask++) {
+            if (Integer.bitCount(mask) != n - dropLowest) {
+                continue;
+            }
+            double ratio = ratio(assignments, scores, counted, mask);
+            if (ratio > best + 1e-12) {
+                best = ratio;
+                bestLowMask = mask;
+            }
+        }
+
+        double worst = Double.MAX_VALUE;
+        for (int mask = bestLowMask; ; mask = (mask - 1) & bestLowMask) {
+            if (Integer.bitCount(mask) == n - dropLowest - dropHighest) {
+                worst = Math.min(worst, ratio(assignments, scores, counted, mask));
+            }
+            if (mask == 0) {
+                break;
+            }
+        }
+        return worst * 100;
+    }
+
+    private static double ratio(Assignment[] assignments, double[] scores, ArrayList<Integer> counted, int mask) {
+        double score = 0;
+        double possible = 0;
+        for (int i = 0; i < counted.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                int assignment = counted.get(i);
+                score += Double.isNaN(scores[assignment]) ? 0 : scores[assignment];
+                possible += assignments[assignment].getPointsPossible();
+            }
+        }
+        return score / possible;
+    }
+
+    @Test
+    public void testProjectionMatchesCompute() {
+        AssignmentGroup[] groups = new AssignmentGroup[] {
+                group(10, 50, rules(1, 0), assignment(1, 10), assignment(2, 10), assignment(3, 20)),
+                group(11, 30, null, assignment(4, 100)),
+                group(12, 20, rules(0, 1), assignment(5, 5), assignment(6, 5), assignment(7, 5)),
+        };
+        GradeCalculator calculator = new GradeCalculator(groups, true, true);
+        long[] ids = calculator.getAssignmentIds();
+        double[] scores = new double[ids.length];
+        java.util.Arrays.fill(scores, NO_SCORE);
+        GradeCalculator.Projection projection = calculator.project(scores, null);
+
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(ids.length);
+            double score = random.nextInt(4) == 0 ? NO_SCORE : random.nextInt(30);
+            scores[index] = score;
+            GradeCalculator.Grade incremental = projection.setScore(ids[index], score);
+            GradeCalculator.Grade full = calculator.compute(scores, null);
+            assertEquals(full.getCurrentScore(), incremental.getCurrentScore(), DELTA);
+            assertEquals(full.getFinalScore(), incremental.getFinalScore(), DELTA);
+        }
+    }
+
+    @Test
+    public void testComputeAll() throws InterruptedException {
+        AssignmentGroup[] groups = twoGroups();
+        GradebookStore store = new GradebookStore();
+        store.setAssignmentGroups(groups);
+        Random random = new Random(3);
+        for (long student = 1; student <= 300; student++) {
+            for (long assignmentId = 1; assignmentId <= 3; assignmentId++) {
+                if (random.nextInt(4) == 0) {
+                    continue;
+                }
+                Submission submission = new Submission();
+                submission.setUser_id(student);
+                submission.setAssignment_id(assignmentId);
+                int score = random.nextInt(11);
+                submission.setScore(score);
+                submission.setGrade(Integer.toString(score));
+                store.updateSubmission(submission);
+            }
+        }
+
+        GradeCalculator calculator = new GradeCalculator(groups, true, true);
+        GradeCalculator.Grade[] grades = calculator.computeAll(store, 4);
+        assertEquals(store.getStudentCount(), grades.length);
+        for (int row = 0; row < grades.length; row++) {
+            GradeCalculator.Grade single = calculator.compute(store, row);
+            assertEquals(single.getFinalScore(), grades[row].getFinalScore(), DELTA);
+            assertEquals(single.getCurrentScore(), grades[row].getCurrentScore(), 0.0);
+        }
+
+        GradeCalculator.Distribution distribution = GradeCalculator.Distribution.of(grades, true);
+        assertEquals(grades.length, distribution.getCount());
+        assertTrue(distribution.getMin() <= distribution.getLowerQuartile());
+        assertTrue(distribution.getLowerQuartile() <= distribution.getMedian());
+        assertTrue(distribution.getMedian() <= distribution.getUpperQuartile());
+        assertTrue(distribution.getUpperQuartile() <= distribution.getMax());
+
+        distribution = GradeCalculator.Distribution.of(new double[] { 4, NO_SCORE, 1, 3, 2 });
+        assertEquals(4, distribution.getCount());
+        assertEquals(2.5, distribution.getMean(), DELTA);
+        assertEquals(2.5, distribution.getMedian(), DELTA);
+    }
+}
@@ -0,0 +1,170 @@
+import com.google.gson.Gson;
+import com.instructure.canvasapi.model.AssignmentGroup;
+import com.instructure.canvasapi.model.ColumnDatum;
+import com.instructure.canvasapi.model.CustomColumn;
+import com.instructure.canvasapi.model.StudentSubmission;
+import com.instructure.canvasapi.model.Submission;
+import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+import com.instructure.canvasapi.utilities.GradebookStore;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class GradebookStoreUnitTest extends Assert {
+
+    private static GradebookStore loadedStore() {
+        Gson gson = CanvasRestAdapter.getGSONParser();
+        GradebookStore store = new GradebookStore();
+        store.setAssignmentGroups(gson.fromJson(assignmentGroupsJSON, AssignmentGroup[].class));
+        store.addStudentSubmissions(gson.fromJson(studentSubmissionsJSON, StudentSubmission[].class));
+        return store;
+    }
+
+    @Test
+    public void testCells() {
+        GradebookStore store = loadedStore();
+        assertEquals(2, store.getStudentCount());
+        assertEquals(3, store.getAssignmentCount());
+
+        int row = store.getRow(100);
+        int column = store.getColumn(2);
+        assertEquals(100, store.getStudentId(row));
+        assertEquals(2, store.getAssignmentId(column));
+        assertEquals(11, store.getAssignmentGroupId(column));
+        assertEquals(20.0, store.getPointsPossible(column));
+        assertEquals(40.0, store.getAssignmentGroupWeight(11));
+        assertEquals(90.5, store.getCurrentScore(row));
+
+        assertEquals(18.0, store.getScore(row, column));
+        assertEquals("18", store.getGrade(row, column));
+        assertEquals("graded", store.getWorkflowState(row, column));
+        assertTrue(store.isLate(row, column));
+        assertFalse(store.isExcused(row, column));
+        assertEquals(1002, store.getSubmissionId(row, column));
+
+        int other = store.getRow(101);
+        assertTrue(store.hasSubmission(other, store.getColumn(1)));
+        assertTrue(Double.isNaN(store.getScore(other, store.getColumn(1))));
+        assertEquals("unsubmitted", store.getWorkflowState(other, store.getColumn(1)));
+        assertTrue(store.isExcused(other, store.getColumn(3)));
+        assertFalse(store.hasSubmission(other, store.getColumn(2)));
+
+        assertEquals(GradebookStore.NOT_FOUND, store.getRow(999));
+        assertEquals(GradebookStore.NOT_FOUND, store.getColumn(999));
+    }
+
+    @Test
+    public void testSlices() {
+        GradebookStore store = loadedStore();
+        double[] studentScores = store.getStudentScores(store.getRow(100));
+        assertEquals(3, studentScores.length);
+        assertEquals(9.0, studentScores[store.getColumn(1)]);
+        assertEquals(18.0, studentScores[store.getColumn(2)]);
+        assertTrue(Double.isNaN(studentScores[store.getColumn(3)]));
+
+        double[] assignmentScores = store.getAssignmentScores(store.getColumn(1));
+        assertEquals(2, assignmentScores.length);
+        assertEquals(9.0, assignmentScores[store.getRow(100)]);
+        assertTrue(Double.isNaN(assignmentScores[store.getRow(101)]));
+
+        String[] grades = store.getAssignmentGrades(store.getColumn(2));
+        assertEquals("18", grades[store.getRow(100)]);
+        assertNull(grades[store.getRow(101)]);
+
+        assertEquals(1, store.getSubmittedCount(store.getColumn(1)));
+    }
+
+    @Test
+    public void testUpdateSubmission() {
+        GradebookStore store = loadedStore();
+
+        Submission graded = new Submission();
+        graded.setId(1011);
+        graded.setUser_id(101);
+        graded.setAssignment_id(1);
+        graded.setScore(7);
+        graded.setGrade("7");
+        graded.setWorkflowState("graded");
+        assertTrue(store.updateSubmission(graded));
+        assertEquals(7.0, store.getScore(store.getRow(101), store.getColumn(1)));
+        assertEquals(2, store.getSubmittedCount(store.getColumn(1)));
+
+        //New students and assignments get a row and column, and keep what's already there.
+        for (int i = 0; i < 40; i++) {
+            Submission submission = new Submission();
+            submission.setId(5000 + i);
+            submission.setUser_id(200 + i);
+            submission.setAssignment_id(50 + i);
+            submission.setScore(i);
+            submission.setGrade(Integer.toString(i));
+            assertTrue(store.updateSubmission(submission));
+        }
+        assertEquals(42, store.getStudentCount());
+        assertEquals(43, store.getAssignmentCount());
+        assertEquals(18.0, store.getScore(store.getRow(100), store.getColumn(2)));
+        assertEquals(7.0, store.getScore(store.getRow(101), store.getColumn(1)));
+        assertEquals(39.0, store.getScore(store.getRow(239), store.getColumn(89)));
+        assertFalse(store.hasSubmission(store.getRow(239), store.getColumn(1)));
+
+        Submission submission = store.getSubmission(store.getRow(100), store.getColumn(2));
+        assertEquals(1002, submission.getId());
+        assertEquals(100, submission.getUser_id());
+        assertEquals(2, submission.getAssignment_id());
+        assertEquals("18", submission.getGrade());
+        assertTrue(submission.isLate());
+        assertNull(store.getSubmission(store.getRow(101), store.getColumn(2)));
+
+        assertFalse(store.updateSubmission(new Submission()));
+    }
+
+    @Test
+    public void testCustomColumns() {
+        Gson gson = CanvasRestAdapter.getGSONParser();
+        GradebookStore store = loadedStore();
+        store.setCustomColumns(gson.fromJson(customColumnsJSON, CustomColumn[].class));
+        assertEquals(1, store.getCustomColumns().size());
+
+        assertTrue(store.addColumnData(7, gson.fromJson(columnDataJSON, ColumnDatum[].class)));
+        assertFalse(store.addColumnData(8, gson.fromJson(columnDataJSON, ColumnDatum[].class)));
+
+        assertEquals("Needs more practice.", store.getColumnDatum(7, store.getRow(101)));
+        assertNull(store.getColumnDatum(7, store.getRow(100)));
+        //A student only in the column data gets a row.
+        assertEquals(3, store.getStudentCount());
+        String[] data = store.getColumnData(7);
+        assertEquals(3, data.length);
+        assertEquals("Transfer student", data[store.getRow(300)]);
+
+        //Setting the columns again keeps the data.
+        store.setCustomColumns(gson.fromJson(customColumnsJSON, CustomColumn[].class));
+        assertEquals("Needs more practice.", store.getColumnDatum(7, store.getRow(101)));
+    }
+
+    private static final String assignmentGroupsJSON = "["
+            + "{\"id\":10,\"name\":\"Homework\",\"position\":1,\"group_weight\":60,"
+            + "\"assignments\":[{\"id\":1,\"points_possible\":10,\"assignment_group_id\":10},{\"id\":3,\"points_possible\":5,\"assignment_group_id\":10}]},"
+            + "{\"id\":11,\"name\":\"Exams\",\"position\":2,\"group_weight\":40,"
+            + "\"assignments\":[{\"id\":2,\"points_possible\":20,\"assignment_group_id\":11}]}"
+            + "]";
+
+    private static final String studentSubmissionsJSON = "["
+            + "{\"user_id\":100,\"computed_current_score\":90.5,\"computed_final_score\":60.3,\"submissions\":["
+            + "{\"id\":1001,\"assignment_id\":1,\"user_id\":100,\"score\":9,\"grade\":\"9\",\"workflow_state\":\"graded\",\"late\":false},"
+            + "{\"id\":1002,\"assignment_id\":2,\"user_id\":100,\"score\":18,\"grade\":\"18\",\"workflow_state\":\"graded\",\"late\":true}]},"
+            + "{\"user_id\":101,\"computed_current_score\":0,\"computed_final_score\":0,\"submissions\":["
+            + "{\"id\":1011,\"assignment_id\":1,\"user_id\":101,\"score\":null,\"grade\":null,\"workflow_state\":\"unsubmitted\"},"
+            + "{\"id\":1013,\"assignment_id\":3,\"user_id\":101,\"score\":null,\"grade\":null,\"workflow_state\":\"graded\",\"excused\":true}]}"
+            + "]";
+
+    private static final String customColumnsJSON = "[{\"id\":7,\"title\":\"Notes\",\"position\":1,\"hidden\":false,\"teacher_notes\":true}]";
+
+    private static final String columnDataJSON = "["
+            + "{\"content\":\"Needs more practice.\",\"user_id\":101},"
+            + "{\"content\":\"Transfer student\",\"user_id\":300}"
+            + "]";
+}
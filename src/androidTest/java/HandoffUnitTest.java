@@ -0,0 +1,190 @@
+import android.os.Parcel;
+
+import com.instructure.canvasapi.model.Course;
+import com.instructure.canvasapi.model.DiscussionEntry;
+import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+import com.instructure.canvasapi.utilities.FileUtilities;
+import com.instructure.canvasapi.utilities.Handoff;
+import com.instructure.canvasapi.utilities.HandoffStore;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class HandoffUnitTest extends Assert {
+
+    @Test
+    public void testStoreWeight() {
+        HandoffStore store = new HandoffStore();
+        store.setMaxWeight(100);
+
+        long first = store.put(new Course[60], 60);
+        long second = store.put(new Course[30], 30);
+        assertEquals(90, store.getWeight());
+        assertNotNull(store.get(first));
+
+        //first was just used, so second goes.
+        long third = store.put("one model", 1);
+        long fourth = store.put(new ArrayList<Course>(), 20);
+        assertNull(store.get(second));
+        assertNotNull(store.get(first));
+        assertNotNull(store.get(third));
+        assertNotNull(store.get(fourth));
+        assertEquals(81, store.getWeight());
+
+        store.remove(first);
+        assertEquals(21, store.getWeight());
+        assertEquals(HandoffStore.NO_HANDLE, store.put(null));
+    }
+
+    @Test
+    public void testStoreKeepsNewest() {
+        HandoffStore store = new HandoffStore();
+        store.setMaxWeight(10);
+
+        long handle = store.put(new Course[50], 50);
+        assertNotNull(store.get(handle));
+
+        store.put(new Course[1], 1);
+        assertNull(store.get(handle));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testWeighEstimatesSize() {
+        List<Course> courses = new ArrayList<Course>();
+        for (int i = 0; i < 100; i++) {
+            Course course = new Course();
+            course.setName("Course with a fairly long name " + i);
+            courses.add(course);
+        }
+        int weight = HandoffStore.weigh(courses);
+        assertTrue(weight > 100 * 2 * "Course with a fairly long name ".length());
+        assertTrue(weight > HandoffStore.weigh(courses.subList(0, 50)));
+
+        //Shared objects are only counted once.
+        Course[] same = new Course[100];
+        Arrays.fill(same, courses.get(0));
+        assertTrue(HandoffStore.weigh(same) < HandoffStore.weigh(courses.toArray(new Course[100])));
+
+        //A deep thread, where every entry points back at its parent, doesn't recurse.
+        DiscussionEntry root = new DiscussionEntry();
+        DiscussionEntry last = root;
+        for (int i = 0; i < 50000; i++) {
+            DiscussionEntry reply = new DiscussionEntry();
+            reply.setParent(last);
+            last.addReply(reply);
+            last = reply;
+        }
+        assertTrue(HandoffStore.weigh(root) > 50000 * 16);
+        assertTrue(HandoffStore.weigh(null) == 0);
+    }
+
+    @Test
+    public void testHandoffParcelsHandleOnly() {
+        List<Course> courses = new ArrayList<Course>();
+        for (int i = 0; i < 500; i++) {
+            courses.add(new Course());
+        }
+
+        Handoff<List<Course>> handoff = Handoff.of(courses, "courses");
+        Parcel parcel = Parcel.obtain();
+        handoff.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        Handoff<?> copy = Handoff.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+
+        assertEquals(handoff.getHandle(), copy.getHandle());
+        assertEquals("courses", copy.getCacheFileName());
+        assertSame(courses, copy.get());
+
+        handoff.release();
+        //Already resolved on this copy.
+        assertSame(courses, copy.get());
+        assertNull(CanvasRestAdapter.getHandoffStore().get(handoff.getHandle()));
+    }
+
+    @Test
+    public void testHandoffMiss() {
+        Handoff<String> handoff = Handoff.of("gone");
+        Parcel parcel = Parcel.obtain();
+        handoff.writeToParcel(parcel, 0);
+        handoff.release();
+        parcel.setDataPosition(0);
+        Handoff<?> copy = Handoff.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+
+        //Not in the store, and no cache file to fall back to.
+        assertNull(copy.get());
+        final Object[] loaded = new Object[]{"not loaded"};
+        copy.load(RuntimeEnvironment.application, new Handoff.LoadCallback<Object>() {
+            @Override
+            public void loaded(Object model) {
+                loaded[0] = model;
+            }
+        });
+        assertNull(loaded[0]);
+    }
+
+    @Test
+    public void testLoadFallsBackToTheCache() {
+        ArrayList<Course> courses = new ArrayList<Course>();
+        courses.add(new Course());
+        courses.get(0).setId(42);
+        assertTrue(FileUtilities.SerializableToFile(RuntimeEnvironment.application, "handoff_courses", courses));
+
+        Handoff<ArrayList<Course>> handoff = Handoff.of(courses, "handoff_courses");
+        Parcel parcel = Parcel.obtain();
+        handoff.writeToParcel(parcel, 0);
+        handoff.release();
+        parcel.setDataPosition(0);
+        @SuppressWarnings("unchecked")
+        Handoff<ArrayList<Course>> copy = (Handoff<ArrayList<Course>>) Handoff.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+
+        //get() never touches the disk.
+        assertNull(copy.get());
+
+        final List<ArrayList<Course>> loaded = new ArrayList<ArrayList<Course>>();
+        copy.load(RuntimeEnvironment.application, new Handoff.LoadCallback<ArrayList<Course>>() {
+            @Override
+            public void loaded(ArrayList<Course> model) {
+                loaded.add(model);
+            }
+        });
+        Robolectric.flushBackgroundThreadScheduler();
+        Robolectric.flushForegroundThreadScheduler();
+
+        assertEquals(1, loaded.size());
+        assertEquals(42, loaded.get(0).get(0).getId());
+        assertSame(loaded.get(0), copy.get());
+
+        //Something else in the cache file since isn't handed back as the wrong type.
+        assertTrue(FileUtilities.SerializableToFile(RuntimeEnvironment.application, "handoff_courses", "not courses"));
+        parcel = Parcel.obtain();
+        handoff.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        Handoff<?> other = Handoff.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+        final Object[] result = new Object[]{"not loaded"};
+        other.load(RuntimeEnvironment.application, new Handoff.LoadCallback<Object>() {
+            @Override
+            public void loaded(Object model) {
+                result[0] = model;
+            }
+        });
+        Robolectric.flushBackgroundThreadScheduler();
+        Robolectric.flushForegroundThreadScheduler();
+        assertNull(result[0]);
+    }
+}
@@ -0,0 +1,119 @@
+import com.google.gson.Gson;
+import com.instructure.canvasapi.core.LongIntMap;
+import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.model.DiscussionEntry;
+import com.instructure.canvasapi.model.DiscussionTopic;
+import com.instructure.canvasapi.model.StreamItem;
+import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+import junit.framework.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class ModelCompactorUnitTest extends Assert {
+
+    @Test
+    public void testEmptyListsStayMutable() {
+        Gson gson = CanvasRestAdapter.getGSONParser();
+        Assignment assignment = gson.fromJson("{\"id\": 1, \"name\": \"Essay\", \"rubric\": null}", Assignment.class);
+
+        assertEquals(0, assignment.getRubric().size());
+        assertEquals(0, assignment.getAllowedExtensions().size());
+        assertEquals(0, assignment.getDueDates().size());
+        assertEquals(0, assignment.getSubmissionTypes().size());
+        assignment.getAllowedExtensions().add("pdf");
+        assertEquals("pdf", assignment.getAllowedExtensions().get(0));
+
+        StreamItem streamItem = gson.fromJson("{\"id\": 1, \"type\": \"Message\"}", StreamItem.class);
+        assertEquals(0, streamItem.getSubmissionComments().size());
+        assertNotSame(assignment.getDueDates(), assignment.getRubric());
+    }
+
+    @Test
+    public void testValuesAreKept() {
+        Gson gson = CanvasRestAdapter.getGSONParser();
+        Assignment assignment = gson.fromJson("{\"id\": 1, \"submission_types\": [\"online_upload\", \"online_url\"], "
+                + "\"allowed_extensions\": [\"pdf\"]}", Assignment.class);
+
+        assertEquals(2, assignment.getSubmissionTypes().size());
+        assertEquals(Assignment.SUBMISSION_TYPE.ONLINE_UPLOAD, assignment.getSubmissionTypes().get(0));
+        assertEquals("pdf", assignment.getAllowedExtensions().get(0));
+    }
+
+    @Test
+    public void testDiscussionTopic() {
+        Gson gson = CanvasRestAdapter.getGSONParser();
+        DiscussionTopic topic = gson.fromJson("{\"unread_entries\": [7221310, 5203752], "
+                + "\"entry_ratings\": {\"5203752\": 1, \"bad\": 1}, "
+                + "\"view\": [{\"id\": 5203752, \"user_id\": 1, \"replies\": [{\"id\": 7221310, \"user_id\": 1}]}, {\"id\": 5203767, \"user_id\": 1}]}",
+                DiscussionTopic.class);
+
+        assertTrue(topic.isUnread(5203752));
+        assertTrue(topic.isUnread(7221310));
+        assertFalse(topic.isUnread(5203767));
+
+        assertEquals(1, topic.getEntryRating(5203752));
+        assertEquals(0, topic.getEntryRating(5203767));
+        assertEquals(1, topic.getEntryRatings().size());
+
+        DiscussionEntry first = topic.getViews().get(0);
+        first.init(topic, null);
+        assertTrue(first.isUnread());
+        assertEquals(1, first.getUnreadChildren());
+
+        topic.setEntryRating(5203767, 1);
+        assertEquals(1, topic.getEntryRating(5203767));
+    }
+
+    @Test
+    public void testUnreadCacheFollowsChanges() {
+        DiscussionTopic topic = CanvasRestAdapter.getGSONParser().fromJson("{\"unread_entries\": [3, 1]}", DiscussionTopic.class);
+        assertTrue(topic.isUnread(3));
+
+        //Same size, different contents.
+        topic.getUnreadEntries().set(0, 2L);
+        assertFalse(topic.isUnread(3));
+        assertTrue(topic.isUnread(2));
+
+        topic.setEntryUnread(2, false);
+        topic.setEntryUnread(5, true);
+        assertFalse(topic.isUnread(2));
+        assertTrue(topic.isUnread(5));
+        assertTrue(topic.isUnread(1));
+        assertEquals(2, topic.getUnreadEntries().size());
+        assertTrue(topic.getUnreadEntries().contains(5L));
+    }
+
+    @Test
+    public void testLongIntMap() {
+        LongIntMap map = new LongIntMap();
+        for (long key = 20; key > 0; key -= 2) {
+            map.put(key, (int) key * 10);
+        }
+        map.put(4, 41);
+        map.remove(6);
+
+        assertEquals(9, map.size());
+        assertEquals(2, map.keyAt(0));
+        assertEquals(20, map.keyAt(8));
+        assertEquals(41, map.get(4, -1));
+        assertEquals(-1, map.get(6, -1));
+        assertEquals(-1, map.get(3, -1));
+
+        map.trimToSize();
+        map.put(21, 1);
+        assertEquals(10, map.size());
+        assertTrue(map.containsKey(21));
+        assertEquals(map.toHashMap(), new LongIntMap(map.toHashMap()).toHashMap());
+
+        //Past size is out of bounds, even where the array has spare slots.
+        try {
+            new LongIntMap(map.toHashMap()).keyAt(10);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException E) {
+            //Expected.
+        }
+    }
+}
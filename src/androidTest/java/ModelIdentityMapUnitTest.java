@@ -0,0 +1,98 @@
+import com.google.gson.Gson;
+import com.instructure.canvasapi.core.InternedStringAdapter;
+import com.instructure.canvasapi.core.ModelIdentityMap;
+import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.model.Submission;
+import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+import junit.framework.Assert;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class ModelIdentityMapUnitTest extends Assert {
+
+    @After
+    public void tearDown() {
+        CanvasRestAdapter.getIdentityMap().setEnabled(false);
+        InternedStringAdapter.setEnabled(false);
+    }
+
+    @Test
+    public void testDisabled() {
+        Gson gson = CanvasRestAdapter.getGSONParser();
+        Submission[] submissions = gson.fromJson(submissionsJSON, Submission[].class);
+
+        assertNotSame(submissions[0].getAssignment(), submissions[1].getAssignment());
+        assertEquals(0, CanvasRestAdapter.getIdentityMap().size());
+    }
+
+    @Test
+    public void testSameEntityIsShared() {
+        ModelIdentityMap identityMap = CanvasRestAdapter.getIdentityMap();
+        identityMap.setEnabled(true);
+
+        Submission[] first = CanvasRestAdapter.getGSONParser().fromJson(submissionsJSON, Submission[].class);
+        Submission[] second = CanvasRestAdapter.getGSONParser().fromJson(submissionsJSON, Submission[].class);
+
+        //Within a response and across responses.
+        assertSame(first[0].getAssignment(), first[1].getAssignment());
+        assertSame(first[0].getAssignment(), second[0].getAssignment());
+        assertEquals(3, identityMap.getHits());
+        assertEquals(1, identityMap.size());
+    }
+
+    @Test
+    public void testChangedEntityIsDecoded() {
+        CanvasRestAdapter.getIdentityMap().setEnabled(true);
+        Gson gson = CanvasRestAdapter.getGSONParser();
+
+        Assignment before = gson.fromJson(submissionsJSON, Submission[].class)[0].getAssignment();
+        Assignment after = gson.fromJson(submissionsJSON.replace("Essay", "Essay 2"), Submission[].class)[0].getAssignment();
+
+        assertNotSame(before, after);
+        assertEquals("Essay", before.getName());
+        assertEquals("Essay 2", after.getName());
+    }
+
+    @Test
+    public void testStringsAreOnlyInternedWhenEnabled() {
+        Gson gson = CanvasRestAdapter.getGSONParser();
+        assertNotSame(gson.fromJson(submissionsJSON, Submission[].class)[0].getWorkflowState(),
+                gson.fromJson(submissionsJSON, Submission[].class)[0].getWorkflowState());
+    }
+
+    @Test
+    public void testInternedStrings() {
+        InternedStringAdapter.setEnabled(true);
+        Gson gson = CanvasRestAdapter.getGSONParser();
+        Submission[] first = gson.fromJson(submissionsJSON, Submission[].class);
+        Submission[] second = gson.fromJson(submissionsJSON, Submission[].class);
+
+        assertEquals("submitted", first[0].getWorkflowState());
+        assertSame(first[0].getWorkflowState(), second[1].getWorkflowState());
+        assertSame(first[0].getSubmissionType(), second[0].getSubmissionType());
+    }
+
+    @Test
+    public void testUnknownFieldsDontChangeTheEntity() {
+        CanvasRestAdapter.getIdentityMap().setEnabled(true);
+        Gson gson = CanvasRestAdapter.getGSONParser();
+
+        //Only what's decoded is hashed.
+        Assignment before = gson.fromJson(submissionsJSON, Submission[].class)[0].getAssignment();
+        Assignment after = gson.fromJson(submissionsJSON.replace("\"name\": \"Essay\"", "\"name\": \"Essay\", \"new_field\": 1"),
+                Submission[].class)[0].getAssignment();
+
+        assertSame(before, after);
+    }
+
+    public static final String submissionsJSON = "["
+            + "{\"id\": 1, \"user_id\": 10, \"workflow_state\": \"submitted\", \"submission_type\": \"online_upload\","
+            + "\"assignment\": {\"id\": 5, \"name\": \"Essay\", \"grading_type\": \"points\", \"points_possible\": 10}},"
+            + "{\"id\": 2, \"user_id\": 11, \"workflow_state\": \"submitted\", \"submission_type\": \"online_upload\","
+            + "\"assignment\": {\"id\": 5, \"name\": \"Essay\", \"grading_type\": \"points\", \"points_possible\": 10}}"
+            + "]";
+}
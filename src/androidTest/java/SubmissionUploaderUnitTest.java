@@ -0,0 +1,185 @@
+import com.instructure.canvasapi.model.Attachment;
+import com.instructure.canvasapi.model.FileUploadParams;
+import com.instructure.canvasapi.model.Submission;
+import com.instructure.canvasapi.utilities.FileUploader;
+import com.instructure.canvasapi.utilities.SubmissionUploader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class SubmissionUploaderUnitTest extends Assert {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger activeUploads = new AtomicInteger();
+    private final AtomicInteger peakUploads = new AtomicInteger();
+
+    @Before
+    public void startServer() throws IOException {
+        //Answers every upload with the file's id in the body, like an upload straight to Canvas.
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/upload/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                int active = activeUploads.incrementAndGet();
+                synchronized (peakUploads) {
+                    peakUploads.set(Math.max(peakUploads.get(), active));
+                }
+                try {
+                    drain(exchange.getRequestBody());
+                    Thread.sleep(50);
+                } catch (InterruptedException E) {
+                    throw new IOException(E);
+                } finally {
+                    activeUploads.decrementAndGet();
+                }
+                String path = exchange.getRequestURI().getPath();
+                byte[] bytes = path.substring(path.lastIndexOf('/') + 1).getBytes("UTF-8");
+                exchange.sendResponseHeaders(201, bytes.length);
+                OutputStream outputStream = exchange.getResponseBody();
+                outputStream.write(bytes);
+                outputStream.close();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private static void drain(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (inputStream.read(buffer) != -1) {
+        }
+    }
+
+    private static ArrayList<File> files(int count, int size) throws IOException {
+        ArrayList<File> files = new ArrayList<File>();
+        for (int i = 0; i < count; i++) {
+            File file = File.createTempFile("submission" + i, ".jpg");
+            file.deleteOnExit();
+            FileOutputStream outputStream = new FileOutputStream(file);
+            outputStream.write(new byte[size]);
+            outputStream.close();
+            files.add(file);
+        }
+        return files;
+    }
+
+    private class FakeSteps implements SubmissionUploader.Steps {
+        private final ArrayList<File> files;
+        private final int failingIndex;
+        private final ArrayList<ArrayList<String>> submitted = new ArrayList<ArrayList<String>>();
+
+        private FakeSteps(ArrayList<File> files, int failingIndex) {
+            this.files = files;
+            this.failingIndex = failingIndex;
+        }
+
+        @Override
+        public FileUploadParams requestUploadParams(File file, String contentType) throws Exception {
+            int index = files.indexOf(file);
+            if (index == failingIndex) {
+                throw new IOException("file size exceeds quota");
+            }
+            FileUploadParams params = new FileUploadParams();
+            params.setUploadUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/upload/" + (100 + index));
+            LinkedHashMap<String, String> uploadParams = new LinkedHashMap<String, String>();
+            uploadParams.put("key", file.getName());
+            params.setUploadParams(uploadParams);
+            return params;
+        }
+
+        @Override
+        public Attachment confirm(FileUploader.UploadResponse response) {
+            Attachment attachment = new Attachment();
+            attachment.setId(Long.parseLong(response.getBody()));
+            return attachment;
+        }
+
+        @Override
+        public synchronized Submission submit(ArrayList<String> attachmentIds) {
+            submitted.add(attachmentIds);
+            return new Submission();
+        }
+    }
+
+    @Test
+    public void testUploadsConcurrentlyAndSubmitsOnce() throws Exception {
+        ArrayList<File> files = files(10, 20000);
+        FakeSteps steps = new FakeSteps(files, -1);
+        SubmissionUploader uploader = new SubmissionUploader(steps);
+        uploader.setMaxConcurrent(3);
+
+        final long[] lastProgress = new long[3];
+        uploader.setProgressListener(new SubmissionUploader.ProgressListener() {
+            @Override
+            public void onProgress(long bytesUploaded, long totalBytes, int filesDone, int fileCount) {
+                assertTrue(bytesUploaded <= totalBytes);
+                lastProgress[0] = bytesUploaded;
+                lastProgress[1] = totalBytes;
+                lastProgress[2] = filesDone;
+            }
+        });
+
+        SubmissionUploader.Result result = uploader.upload(files, null);
+        assertTrue(result.isSuccessful());
+        assertFalse(result.isCancelled());
+
+        assertEquals(1, steps.submitted.size());
+        ArrayList<String> ids = steps.submitted.get(0);
+        assertEquals(10, ids.size());
+        for (int i = 0; i < 10; i++) {
+            //In the order given, whatever order they finished in.
+            assertEquals(Long.toString(100 + i), ids.get(i));
+            assertEquals(100 + i, result.getAttachment(i).getId());
+        }
+
+        assertTrue(peakUploads.get() >= 2);
+        assertTrue(peakUploads.get() <= 3);
+        assertEquals(200000, lastProgress[1]);
+        assertEquals(200000, lastProgress[0]);
+        assertEquals(10, lastProgress[2]);
+    }
+
+    @Test
+    public void testFailureSubmitsNothing() throws Exception {
+        ArrayList<File> files = files(6, 1000);
+        FakeSteps steps = new FakeSteps(files, 3);
+        SubmissionUploader uploader = new SubmissionUploader(steps);
+
+        SubmissionUploader.Result result = uploader.upload(files, null);
+        assertFalse(result.isSuccessful());
+        assertFalse(result.isCancelled());
+        assertEquals("file size exceeds quota", result.getError(3).getMessage());
+        assertNull(result.getAttachment(3));
+        assertEquals(0, steps.submitted.size());
+    }
+}
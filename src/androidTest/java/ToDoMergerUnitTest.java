@@ -0,0 +1,257 @@
+import com.instructure.canvasapi.api.ToDoAPI;
+import com.instructure.canvasapi.core.LongHashSet;
+import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.model.ScheduleItem;
+import com.instructure.canvasapi.model.ToDo;
+import com.instructure.canvasapi.utilities.ToDoMerger;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+@Config(emulateSdk = 17)
+@RunWith(RobolectricGradleTestRunner.class)
+public class ToDoMergerUnitTest extends Assert {
+
+    private final static long DAY = 24 * 60 * 60 * 1000L;
+    private final static long START = 1400000000000L;
+
+    private static Assignment assignment(long id, Long due) {
+        Assignment assignment = new Assignment();
+        assignment.setId(id);
+        if (due != null) {
+            assignment.setDueDate(new Date(due));
+        }
+        return assignment;
+    }
+
+    private static ToDo toDo(long assignmentId, Long due) {
+        ToDo toDo = new ToDo();
+        toDo.setAssignment(assignment(assignmentId, due));
+        return toDo;
+    }
+
+    private static ScheduleItem event(long id, Long start, Assignment assignment) {
+        ScheduleItem scheduleItem = new ScheduleItem();
+        scheduleItem.setId(id);
+        if (start != null) {
+            scheduleItem.setStartDate(new Date(start));
+        }
+        scheduleItem.setAssignment(assignment);
+        return scheduleItem;
+    }
+
+    @Test
+    public void testMergeOrder() {
+        ArrayList<ToDo> todos = new ArrayList<ToDo>(Arrays.asList(toDo(1, START), toDo(2, START + DAY), toDo(3, null)));
+        ArrayList<ToDo> upcoming = new ArrayList<ToDo>(Arrays.asList(
+                ToDo.toDoWithScheduleItem(event(10, START + DAY, null)),
+                ToDo.toDoWithScheduleItem(event(11, START + 2 * DAY, assignment(2, START + DAY))),
+                ToDo.toDoWithScheduleItem(event(12, null, null))));
+
+        ArrayList<ToDo> merged = ToDoAPI.mergeToDoUpcoming(todos, upcoming);
+
+        //Event 10 ties with to do 2 and goes first. Event 11 is to do 2's assignment, so it's left out.
+        assertEquals(5, merged.size());
+        assertSame(todos.get(0), merged.get(0));
+        assertSame(upcoming.get(0), merged.get(1));
+        assertSame(todos.get(1), merged.get(2));
+        assertSame(upcoming.get(2), merged.get(3));
+        assertSame(todos.get(2), merged.get(4));
+
+        assertNull(ToDoAPI.mergeToDoUpcoming(null, null));
+    }
+
+    @Test
+    public void testSourcesAndRefresh() {
+        ToDoMerger merger = new ToDoMerger();
+        merger.setToDos("todo", Arrays.asList(toDo(1, START + 3 * DAY)));
+        //Out of order on purpose.
+        merger.setAssignments("upcoming", Arrays.asList(assignment(5, START + 2 * DAY), assignment(4, START), assignment(1, START)));
+        merger.setScheduleItems("calendar", Arrays.asList(event(20, START + DAY, null)));
+
+        List<ToDo> merged = merger.getMerged();
+        assertEquals(4, merged.size());
+        assertEquals(4, merged.get(0).getAssignment().getId());
+        assertEquals(ToDo.Type.UPCOMING_ASSIGNMENT, merged.get(0).getType());
+        assertEquals(20, merged.get(1).getScheduleItem().getId());
+        assertEquals(5, merged.get(2).getAssignment().getId());
+        assertEquals(1, merged.get(3).getAssignment().getId());
+
+        //Refreshing the calendar keeps its place as the last source.
+        merger.setScheduleItems("calendar", Arrays.asList(event(21, START - DAY, null), event(22, START + 2 * DAY, assignment(5, null))));
+        merged = merger.getMerged();
+        assertEquals(4, merged.size());
+        assertEquals(21, merged.get(0).getScheduleItem().getId());
+        //Event 22 is assignment 5, already in upcoming.
+        assertEquals(5, merged.get(2).getAssignment().getId());
+        assertNull(merged.get(2).getScheduleItem());
+
+        merger.removeSource("upcoming");
+        merged = merger.getMerged();
+        assertEquals(3, merged.size());
+        assertEquals(22, merged.get(1).getScheduleItem().getId());
+    }
+
+    @Test
+    public void testMatchesLegacyMerge() {
+        Random random = new Random(45);
+        for (int round = 0; round < 500; round++) {
+            //Few distinct dates and assignment ids, so ties, missing dates and duplicates all come up.
+            ArrayList<ToDo> todos = new ArrayList<ToDo>();
+            List<Long> todoDates = randomDates(random, random.nextInt(12));
+            for (Long date : todoDates) {
+                todos.add(toDo(1 + random.nextInt(15), date));
+            }
+
+            ArrayList<ToDo> upcoming = new ArrayList<ToDo>();
+            List<Long> upcomingDates = randomDates(random, random.nextInt(12));
+            for (int i = 0; i < upcomingDates.size(); i++) {
+                Assignment assignment = random.nextBoolean() ? assignment(1 + random.nextInt(15), null) : null;
+                upcoming.add(ToDo.toDoWithScheduleItem(event(100 + i, upcomingDates.get(i), assignment)));
+            }
+
+            ArrayList<ToDo> expected = legacyMerge(new ArrayList<ToDo>(todos), new ArrayList<ToDo>(upcoming));
+            ArrayList<ToDo> actual = ToDoAPI.mergeToDoUpcoming(todos, upcoming);
+
+            assertEquals("round " + round, expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertSame("round " + round + " item " + i, expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+    //Sorted with missing dates last, like Canvas sends them, or every so often in any order.
+    private static List<Long> randomDates(Random random, int count) {
+        List<Long> dates = new ArrayList<Long>();
+        for (int i = 0; i < count; i++) {
+            dates.add(random.nextInt(5) == 0 ? null : START + random.nextInt(6) * DAY);
+        }
+        if (random.nextInt(3) != 0) {
+            Collections.sort(dates, new Comparator<Long>() {
+                @Override
+                public int compare(Long a, Long b) {
+                    if (a == null || b == null) {
+                        return a == b ? 0 : (a == null ? 1 : -1);
+                    }
+                    return a.compareTo(b);
+                }
+            });
+        }
+        return dates;
+    }
+
+    @Test
+    public void testUnsortedSourcesKeepTheLegacyOrder() {
+        //A to do without a due date partway through, and upcoming events out of order.
+        ArrayList<ToDo> todos = new ArrayList<ToDo>(Arrays.asList(toDo(1, START + DAY), toDo(2, null), toDo(3, START)));
+        ArrayList<ToDo> upcoming = new ArrayList<ToDo>(Arrays.asList(
+                ToDo.toDoWithScheduleItem(event(10, START + 3 * DAY, null)),
+                ToDo.toDoWithScheduleItem(event(11, null, null)),
+                ToDo.toDoWithScheduleItem(event(12, START + 2 * DAY, null))));
+
+        ArrayList<ToDo> merged = ToDoAPI.mergeToDoUpcoming(todos, upcoming);
+
+        //To do 2 has no date, so every upcoming event goes before it, and to do 3 after it.
+        assertEquals(6, merged.size());
+        assertSame(todos.get(0), merged.get(0));
+        assertSame(upcoming.get(0), merged.get(1));
+        assertSame(upcoming.get(1), merged.get(2));
+        assertSame(upcoming.get(2), merged.get(3));
+        assertSame(todos.get(1), merged.get(4));
+        assertSame(todos.get(2), merged.get(5));
+        assertEquals(legacyMerge(new ArrayList<ToDo>(todos), new ArrayList<ToDo>(upcoming)), merged);
+
+        //Without keepSourceOrder each source is sorted first, with items without a date last.
+        ToDoMerger merger = new ToDoMerger();
+        merger.setToDos("todo", todos);
+        merger.setToDos("upcoming", upcoming);
+        merged = merger.getMerged();
+        assertSame(todos.get(2), merged.get(0));
+        assertSame(todos.get(0), merged.get(1));
+        assertSame(upcoming.get(2), merged.get(2));
+        assertSame(upcoming.get(0), merged.get(3));
+        assertSame(upcoming.get(1), merged.get(4));
+        assertSame(todos.get(1), merged.get(5));
+    }
+
+    @Test
+    public void testLongHashSet() {
+        LongHashSet set = new LongHashSet();
+        HashMap<Long, Boolean> reference = new HashMap<Long, Boolean>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            long value = random.nextInt(2000) - 1000;
+            assertEquals(!reference.containsKey(value), set.add(value));
+            reference.put(value, true);
+        }
+        assertEquals(reference.size(), set.size());
+        for (long value = -1000; value < 1000; value++) {
+            assertEquals(reference.containsKey(value), set.contains(value));
+        }
+        assertTrue(set.contains(0));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+    }
+
+    /**
+     * ToDoAPI.mergeToDoUpcoming() before ToDoMerger, to check the order hasn't changed.
+     */
+    private static ArrayList<ToDo> legacyMerge(ArrayList<ToDo> todos, ArrayList<ToDo> upcomingEvents) {
+        HashMap<Long, Boolean> assignmentIds = new HashMap<Long, Boolean>();
+        for (ToDo toDo : todos) {
+            if (toDo.getAssignment() != null) {
+                assignmentIds.put(toDo.getAssignment().getId(), true);
+            }
+        }
+        Iterator<ToDo> iterator = upcomingEvents.iterator();
+        while (iterator.hasNext()) {
+            ToDo current = iterator.next();
+            Assignment assignment = current.getScheduleItem().getAssignment();
+            if (assignment != null && assignmentIds.containsKey(assignment.getId())) {
+                iterator.remove();
+            }
+        }
+
+        int todoIndex = 0;
+        int upcomingIndex = 0;
+        ArrayList<ToDo> merged = new ArrayList<ToDo>();
+        while (todoIndex < todos.size() || upcomingIndex < upcomingEvents.size()) {
+            if (todoIndex >= todos.size()) {
+                merged.addAll(upcomingEvents.subList(upcomingIndex, upcomingEvents.size()));
+                return merged;
+            }
+            if (upcomingIndex >= upcomingEvents.size()) {
+                merged.addAll(todos.subList(todoIndex, todos.size()));
+                return merged;
+            }
+
+            Date toDoDate = todos.get(todoIndex).getAssignment() == null ? null : todos.get(todoIndex).getAssignment().getDueDate();
+            Date upcomingDate = upcomingEvents.get(upcomingIndex).getScheduleItem().getStartDate();
+            if (toDoDate == null) {
+                merged.add(upcomingEvents.get(upcomingIndex++));
+            } else if (upcomingDate == null) {
+                merged.add(todos.get(todoIndex++));
+            } else if (toDoDate.before(upcomingDate)) {
+                merged.add(todos.get(todoIndex++));
+            } else {
+                merged.add(upcomingEvents.get(upcomingIndex++));
+            }
+        }
+        return merged;
+    }
+}
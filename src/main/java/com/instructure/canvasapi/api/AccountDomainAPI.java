@@ -1,5 +1,6 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.AccountDomainInterface;
 import com.instructure.canvasapi.model.AccountDomain;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
@@ -7,9 +8,6 @@ import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 import com.instructure.canvasapi.utilities.ExhaustiveBridgeCallback;
 
 import retrofit.RestAdapter;
-import retrofit.http.GET;
-import retrofit.http.Path;
-import retrofit.http.Query;
 
 /**
  * Copyright (c) 2015 Instructure. All rights reserved.
@@ -19,19 +17,6 @@ public class AccountDomainAPI {
 
     private static final String DEFAULT_DOMAIN = "canvas.instructure.com";
 
-    public interface AccountDomainInterface {
-
-        @GET("/accounts/search")
-        void getFirstPageAccountDomains(CanvasCallback<AccountDomain[]> callback);
-
-        @GET("/{next}")
-        void getNextPageAccountDomains(@Path(value = "next", encode = false) String nextURL, CanvasCallback<AccountDomain[]> callback);
-
-        @GET("/accounts/search")
-        void searchAccountDomains(@Query("name") String campusName, @Query("domain") String domain, @Query("latitude") float latitude, @Query("longitude") float longitude, CanvasCallback<AccountDomain[]> callback);
-
-    }
-
 
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
@@ -1,5 +1,6 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.AccountNotificationInterface;
 import com.instructure.canvasapi.model.AccountNotification;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.utilities.APIHelpers;
@@ -7,22 +8,9 @@ import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
 import retrofit.RestAdapter;
-import retrofit.http.DELETE;
-import retrofit.http.GET;
-import retrofit.http.Path;
 
 public class AccountNotificationAPI {
 
-    public interface AccountNotificationInterface {
-
-        @GET("/accounts/self/users/self/account_notifications")
-        void getAccountNotifications(CanvasCallback<AccountNotification[]> callback);
-
-        @DELETE("/accounts/self/users/self/account_notifications/{account_notification_id}")
-        void deleteAccountNotification(@Path("account_notification_id") long account_notification_id, CanvasCallback<AccountNotification> callback);
-
-    }
-
 
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
@@ -1,14 +1,15 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.AnnouncementsInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.DiscussionTopicHeader;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
-import retrofit.Callback;
+import com.instructure.canvasapi.utilities.APIStatusDelegate;
+import com.instructure.canvasapi.utilities.CanvasObservable;
 import retrofit.RestAdapter;
-import retrofit.http.Path;
-import retrofit.http.GET;
+import rx.Observable;
 
 /**
  * Created by Josh Ruesch on 8/9/13.
@@ -20,14 +21,6 @@ public class AnnouncementAPI {
     private static String getFirstPageAnnouncementsCacheFilename(CanvasContext canvasContext){
         return canvasContext.toAPIString() +"/announcements";
     }
-
-    interface AnnouncementsInterface {
-        @GET("/{context_id}/discussion_topics?only_announcements=1")
-        void getFirstPageAnnouncementsList(@Path("context_id") long context_id, Callback<DiscussionTopicHeader[]> callback);
-
-        @GET("/{next}")
-        void getNextPageAnnouncementsList(@Path(value = "next", encode = false) String nextURL, Callback<DiscussionTopicHeader[]> callback);
-    }
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
@@ -54,4 +47,22 @@ public class AnnouncementAPI {
         callback.setIsNextPage(true);
         buildInterface(callback, null).getNextPageAnnouncementsList(nextURL, callback);
     }
+
+    /////////////////////////////////////////////////////////////////////////////
+    // Observables
+    /////////////////////////////////////////////////////////////////////////////
+
+    public static Observable<CanvasObservable.Page<DiscussionTopicHeader>> getAnnouncementsPagesObservable(APIStatusDelegate statusDelegate, final CanvasContext canvasContext) {
+        return CanvasObservable.pages(statusDelegate, new CanvasObservable.PagedCall<DiscussionTopicHeader>() {
+            @Override
+            public void firstPage(CanvasCallback<DiscussionTopicHeader[]> callback) {
+                getFirstPageAnnouncements(canvasContext, callback);
+            }
+
+            @Override
+            public void nextPage(String nextURL, CanvasCallback<DiscussionTopicHeader[]> callback) {
+                getNextPageAnnouncements(nextURL, callback);
+            }
+        });
+    }
 }
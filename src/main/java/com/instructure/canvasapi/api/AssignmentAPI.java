@@ -1,24 +1,22 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.AssignmentsInterface;
 import com.instructure.canvasapi.model.Assignment;
 import com.instructure.canvasapi.model.AssignmentGroup;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.RubricCriterion;
-import com.instructure.canvasapi.model.ScheduleItem;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 import com.instructure.canvasapi.utilities.ExhaustiveBridgeCallback;
+import com.instructure.canvasapi.utilities.APIStatusDelegate;
+import com.instructure.canvasapi.utilities.CanvasObservable;
 
 import java.util.Date;
 import java.util.List;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.GET;
-import retrofit.http.PUT;
-import retrofit.http.Path;
-import retrofit.http.Query;
+import rx.Observable;
 
 /**
  * Created by Brady Larson on 9/5/13.
@@ -68,53 +66,6 @@ public class AssignmentAPI {
         return "/courses/" + courseID + "/assignments?bucket=" + ASSIGNMENT_BUCKET_TYPE.getEventTypeName(bucket_type);
     }
 
-    public interface AssignmentsInterface {
-        @GET("/courses/{course_id}/assignments/{assignmentid}?include[]=submission&include[]=rubric_assessment&needs_grading_count_by_section=true&include[]=all_dates")
-        void getAssignment(@Path("course_id") long course_id, @Path("assignmentid") long assignment_id, Callback<Assignment> callback);
-
-        @GET("/courses/{course_id}/assignments?include[]=submission&include[]=rubric_assessment&needs_grading_count_by_section=true&include[]=all_dates")
-        void getAssignmentsList(@Path("course_id") long course_id, Callback<Assignment[]> callback);
-
-        @GET("/{next}")
-        void getNextPageAssignmentsList(@Path(value = "next", encode = false) String nextURL, Callback<Assignment[]>callback);
-
-        @GET("/courses/{course_id}/assignment_groups")
-        void getAssignmentGroupList(@Path("course_id") long course_id, Callback<AssignmentGroup[]> callback);
-
-        @GET("/courses/{course_id}/assignment_groups?include[]=assignments&include[]=discussion_topic&override_assignment_dates=true")
-        void getAssignmentGroupListWithAssignments(@Path("course_id") long course_id, Callback<AssignmentGroup[]> callback);
-
-        @GET("/calendar_events/{event_id}")
-        void getCalendarEvent(@Path("event_id") long event_id, Callback<ScheduleItem> callback);
-
-        @GET("/calendar_events?start_date=1990-01-01&end_date=2099-12-31")
-        void getCalendarEvents(@Query("context_codes[]") String context_id, Callback<ScheduleItem[]> callback);
-
-        @PUT("/courses/{course_id}/assignments/{assignment_id}")
-        void editAssignment(@Path("course_id") long courseId, @Path("assignment_id") long assignmentId,
-                            @Query("assignment[name]") String assignmentName,
-                            @Query("assignment[assignment_group_id]") Long assignmentGroupId,
-                            @Query(value = "assignment[submission_types][]", encodeValue = false) String submissionTypes,
-                            @Query("assignment[peer_reviews]") Integer hasPeerReviews,
-                            @Query("assignment[group_category_id]") Long groupId,
-                            @Query("assignment[points_possible]") Double pointsPossible,
-                            @Query("assignment[grading_type]") String gradingType,
-                            @Query("assignment[due_at]") String dueAt,
-                            @Query("assignment[description]") String description,
-                            @Query("assignment[notify_of_update]") Integer notifyOfUpdate,
-                            @Query("assignment[unlock_at]")String unlockAt,
-                            @Query("assignment[lock_at]") String lockAt,
-                            @Query(value = "assignment[html_url]", encodeValue = false) String htmlUrl,
-                            @Query(value = "assignment[url]", encodeValue = false) String url,
-                            @Query("assignment[quiz_id]") Long quizId,
-                            @Query(value = "assignment[muted]", encodeValue = false) boolean isMuted,
-                            Callback<Assignment> callback);
-
-        @GET("/courses/{course_id}/assignments?include[]=submission&include[]=rubric_assessment&needs_grading_count_by_section=true&include[]=all_dates")
-        void getAssignmentsWithBucket(@Path("course_id") long course_id, @Query("bucket") String bucket_type, Callback<Assignment[]> callback);
-
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
@@ -277,4 +228,41 @@ public class AssignmentAPI {
         return submissionTypesQueryString;
     }
 
+    /////////////////////////////////////////////////////////////////////////////
+    // Observables
+    /////////////////////////////////////////////////////////////////////////////
+
+    public static Observable<Assignment> getAssignmentObservable(APIStatusDelegate statusDelegate, final long courseID, final long assignmentID) {
+        return CanvasObservable.from(statusDelegate, new CanvasObservable.Call<Assignment>() {
+            @Override
+            public void call(CanvasCallback<Assignment> callback) {
+                getAssignment(courseID, assignmentID, callback);
+            }
+        });
+    }
+
+    public static Observable<CanvasObservable.Page<Assignment>> getAssignmentsPagesObservable(APIStatusDelegate statusDelegate, final long courseID) {
+        return CanvasObservable.pages(statusDelegate, new CanvasObservable.PagedCall<Assignment>() {
+            @Override
+            public void firstPage(CanvasCallback<Assignment[]> callback) {
+                getAssignmentsList(courseID, callback);
+            }
+
+            @Override
+            public void nextPage(String nextURL, CanvasCallback<Assignment[]> callback) {
+                getNextPageAssignmentsList(callback, nextURL);
+            }
+        });
+    }
+
+    public static Observable<AssignmentGroup[]> getAssignmentGroupsListWithAssignmentsObservable(APIStatusDelegate statusDelegate, final long courseID) {
+        return CanvasObservable.from(statusDelegate, new CanvasObservable.Call<AssignmentGroup[]>() {
+            @Override
+            public void call(CanvasCallback<AssignmentGroup[]> callback) {
+                getAssignmentGroupsListWithAssignments(courseID, callback);
+            }
+        });
+    }
+
+
 }
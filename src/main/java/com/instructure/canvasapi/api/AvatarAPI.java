@@ -1,16 +1,13 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.AvatarsInterface;
 import com.instructure.canvasapi.model.Avatar;
 import com.instructure.canvasapi.model.User;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.GET;
-import retrofit.http.PUT;
-import retrofit.http.Query;
 
 /**
  * Created by Hoa Hoang on 10/15/13.
@@ -19,14 +16,6 @@ import retrofit.http.Query;
  */
 public class AvatarAPI {
 
-    interface AvatarsInterface{
-        @GET("/users/self/avatars")
-        void getFirstPageOfAvatarList( Callback<Avatar[]> callback);
-
-        @PUT("/users/self")
-        void updateAvatar(@Query("user[avatar][url]") String avatarURL, Callback<User> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
@@ -1,17 +1,11 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.BookmarkInterface;
 import com.instructure.canvasapi.model.Bookmark;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.DELETE;
-import retrofit.http.GET;
-import retrofit.http.POST;
-import retrofit.http.PUT;
-import retrofit.http.Path;
-import retrofit.http.Query;
 
 public class BookmarkAPI {
 
@@ -19,41 +13,6 @@ public class BookmarkAPI {
         return "/users/self/bookmarks";
     }
 
-    interface BookmarkInterface {
-
-        @GET("/users/self/bookmarks")
-        void getBookmarks(Callback<Bookmark[]> callback);
-
-        @GET("/users/self/bookmarks/{id}")
-        void getBookmark(@Path("id") long bookmarkId, Callback<Bookmark> callback);
-
-        @POST("/users/self/bookmarks")
-        void createBookmark(
-                @Query("name") String name,
-                @Query(value = "url", encodeValue = false) String url,
-                @Query("position") int position,
-                @Query("data") String data,
-                Callback<Bookmark[]> callback);
-
-        @POST("/users/self/bookmarks")
-        void createBookmark(
-                @Query("name") String name,
-                @Query("url") String url,
-                @Query("position") int position,
-                Callback<Bookmark[]> callback);
-
-        @PUT("users/self/bookmarks/{id}")
-        void updateBookmark(@Path("id") long id,
-                            @Query("name") String name,
-                            @Query(value = "url", encodeValue = false) String url,
-                            @Query("position") int position,
-                            @Query("data") String data,
-                            Callback<Bookmark[]> callback);
-
-        @DELETE("/users/self/bookmarks/{id}")
-        void deleteBookmark(@Path("id") long id, Callback<Bookmark[]> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
@@ -1,8 +1,9 @@
 package com.instructure.canvasapi.api;
 
 import android.content.Context;
+import com.instructure.canvasapi.core.CrawlCheckpoint;
+import com.instructure.canvasapi.core.api.CalendarEventsInterface;
 import com.instructure.canvasapi.model.CanvasContext;
-import com.instructure.canvasapi.model.Course;
 import com.instructure.canvasapi.model.ScheduleItem;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
@@ -10,15 +11,8 @@ import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 import com.instructure.canvasapi.utilities.ExhaustiveBridgeCallback;
 
 import java.util.ArrayList;
-import java.util.Date;
-import java.util.Locale;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.Path;
-import retrofit.http.EncodedQuery;
-import retrofit.http.GET;
-import retrofit.http.Query;
 
 /**
  * Created by Brady Larson on 10/9/13.
@@ -63,41 +57,9 @@ public class CalendarEventAPI {
         return "/calendar_events?all_events=1&type=" + eventType.name() + "&" + contextIds.substring(0, lengthLimit); // limit the filename length
     }
 
-    public interface CalendarEventsInterface {
-        @GET("/calendar_events/{event_id}")
-        void getCalendarEvent(@Path("event_id") long event_id, Callback<ScheduleItem> callback);
-
-        @GET("/calendar_events?start_date=1990-01-01&end_date=2099-12-31")
-        void getCalendarEvents(@Query("context_codes[]") String context_id, Callback<ScheduleItem[]> callback);
-
-        @GET("/users/self/upcoming_events")
-        void getUpcomingEvents(Callback<ScheduleItem[]> callback);
-
-        @GET("/{next}")
-        void getNextPageCalendarEvents(@Path(value = "next", encode = false) String nextURL, Callback<ScheduleItem[]> callback);
-
-        @GET("/calendar_events/")
-        void getCalendarEvents(
-                @Query("all_events") boolean allEvents,
-                @Query("type") String type,
-                @EncodedQuery("context_codes[]") String contextCodes,
-                Callback<ScheduleItem[]> callback);
-
-        @GET("/calendar_events/")
-        void getCalendarEvents(
-                @Query("all_events") boolean allEvents,
-                @Query("type") String type,
-                @Query("start_date") String startDate,
-                @Query("end_date") String endDate,
-                @EncodedQuery("context_codes[]") String contextCodes,
-                Callback<ScheduleItem[]> callback);
-
-        /////////////////////////////////////////////////////////////////////////////
-        // Synchronous
-        /////////////////////////////////////////////////////////////////////////////
-
-        @GET("/users/self/upcoming_events")
-        ScheduleItem[] getUpcomingEvents();
+    // The cache filenames above are shortened, so the checkpoint also keys on the full query.
+    private static String getCheckpointName(String cacheFilename, String query) {
+        return CrawlCheckpoint.getCheckpointName(cacheFilename + "_" + Integer.toHexString(query.hashCode()));
     }
 
     /////////////////////////////////////////////////////////////////////////
@@ -154,12 +116,12 @@ public class CalendarEventAPI {
         eventsInterface.getCalendarEvents(false, EVENT_TYPE.getEventTypeName(eventType), startDate, endDate, contextIds, callback);
     }
 
-    public static void getAllCalendarEventsExhaustive(EVENT_TYPE eventType, String startDate, String endDate, ArrayList<String> canvasContextIds, final CanvasCallback<ScheduleItem[]> callback) {
+    public static void getAllCalendarEventsExhaustive(final EVENT_TYPE eventType, final String startDate, final String endDate, ArrayList<String> canvasContextIds, final CanvasCallback<ScheduleItem[]> callback) {
         callback.readFromCache(getAllEventsCacheFilename(startDate, eventType));
         RestAdapter restAdapter = CanvasRestAdapter.buildAdapter(callback);
-        CalendarEventsInterface eventsInterface = restAdapter.create(CalendarEventsInterface.class);
-        String contextIds = buildContextArray(canvasContextIds);
-        CanvasCallback<ScheduleItem[]> bridge = new ExhaustiveBridgeCallback<>(callback, new ExhaustiveBridgeCallback.ExhaustiveBridgeEvents() {
+        final CalendarEventsInterface eventsInterface = restAdapter.create(CalendarEventsInterface.class);
+        final String contextIds = buildContextArray(canvasContextIds);
+        ExhaustiveBridgeCallback<ScheduleItem> bridge = new ExhaustiveBridgeCallback<>(callback, new ExhaustiveBridgeCallback.ExhaustiveBridgeEvents() {
             @Override
             public void performApiCallWithExhaustiveCallback(CanvasCallback callback, String nextURL) {
                 CalendarEventAPI.getNextPageCalendarEvents(nextURL, callback);
@@ -169,18 +131,23 @@ public class CalendarEventAPI {
             public Class classType() {
                 return ScheduleItem.class;
             }
-        });
+        }, getCheckpointName(getAllEventsCacheFilename(startDate, eventType), endDate + contextIds));
 
-        eventsInterface.getCalendarEvents(false, EVENT_TYPE.getEventTypeName(eventType), startDate, endDate, contextIds, bridge);
+        bridge.startOrResume(new ExhaustiveBridgeCallback.FirstPageCall() {
+            @Override
+            public void performFirstApiCall(CanvasCallback callback) {
+                eventsInterface.getCalendarEvents(false, EVENT_TYPE.getEventTypeName(eventType), startDate, endDate, contextIds, callback);
+            }
+        });
     }
 
-    public static void getAllCalendarEventsExhaustive(EVENT_TYPE eventType, ArrayList<String> canvasContextIds, final CanvasCallback<ScheduleItem[]> callback) {
-        String contextIds = buildContextArray(canvasContextIds);
+    public static void getAllCalendarEventsExhaustive(final EVENT_TYPE eventType, ArrayList<String> canvasContextIds, final CanvasCallback<ScheduleItem[]> callback) {
+        final String contextIds = buildContextArray(canvasContextIds);
         callback.readFromCache(getAllCalendarEventsCacheFilename(contextIds, eventType));
         RestAdapter restAdapter = CanvasRestAdapter.buildAdapter(callback);
-        CalendarEventsInterface eventsInterface = restAdapter.create(CalendarEventsInterface.class);
+        final CalendarEventsInterface eventsInterface = restAdapter.create(CalendarEventsInterface.class);
 
-        CanvasCallback<ScheduleItem[]> bridge = new ExhaustiveBridgeCallback<>(callback, new ExhaustiveBridgeCallback.ExhaustiveBridgeEvents() {
+        ExhaustiveBridgeCallback<ScheduleItem> bridge = new ExhaustiveBridgeCallback<>(callback, new ExhaustiveBridgeCallback.ExhaustiveBridgeEvents() {
             @Override
             public void performApiCallWithExhaustiveCallback(CanvasCallback callback, String nextURL) {
                 CalendarEventAPI.getNextPageCalendarEvents(nextURL, callback);
@@ -190,9 +157,14 @@ public class CalendarEventAPI {
             public Class classType() {
                 return ScheduleItem.class;
             }
-        });
+        }, getCheckpointName(getAllCalendarEventsCacheFilename(contextIds, eventType), contextIds));
 
-        eventsInterface.getCalendarEvents(true, EVENT_TYPE.getEventTypeName(eventType), contextIds, bridge);
+        bridge.startOrResume(new ExhaustiveBridgeCallback.FirstPageCall() {
+            @Override
+            public void performFirstApiCall(CanvasCallback callback) {
+                eventsInterface.getCalendarEvents(true, EVENT_TYPE.getEventTypeName(eventType), contextIds, callback);
+            }
+        });
     }
 
     private static String buildContextArray(ArrayList<String> canvasContextIds){
@@ -1,5 +1,6 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.CommunicationChannelInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.CommunicationChannel;
 import com.instructure.canvasapi.utilities.APIHelpers;
@@ -7,17 +8,9 @@ import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
 import retrofit.RestAdapter;
-import retrofit.http.GET;
-import retrofit.http.Path;
 
 public class CommunicationChannelsAPI {
 
-    public interface CommunicationChannelInterface {
-
-        @GET("/users/{user_id}/communication_channels")
-        void getCommunicationChannels(@Path("user_id") long userId, CanvasCallback<CommunicationChannel[]> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
@@ -2,6 +2,7 @@ package com.instructure.canvasapi.api;
 
 import android.content.Context;
 
+import com.instructure.canvasapi.core.api.ConversationsInterface;
 import com.instructure.canvasapi.model.Conversation;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
@@ -9,16 +10,8 @@ import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
 import java.util.ArrayList;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
 import retrofit.client.Response;
-import retrofit.http.DELETE;
-import retrofit.http.EncodedQuery;
-import retrofit.http.GET;
-import retrofit.http.POST;
-import retrofit.http.PUT;
-import retrofit.http.Path;
-import retrofit.http.Query;
 
 /**
  * Created by Josh Ruesch on 8/9/13.
@@ -62,65 +55,13 @@ public class ConversationAPI {
         return "/conversations/" + conversation_id;
     }
 
-    interface ConversationsInterface {
-        @GET("/conversations/?interleave_submissions=1")
-        void getFirstPageConversationList(@Query("scope") String scope, Callback<Conversation[]> callback);
-
-
-        @GET("/{next}")
-        void getNextPageConversationList(@Path(value = "next", encode = false) String nextURL, Callback<Conversation[]>callback);
-
-        @GET("/conversations/{id}/?interleave_submissions=1")
-        void getDetailedConversation(@Path("id") long conversation_id, @Query("auto_mark_as_read") int markAsRead, Callback<Conversation> callback);
-
-        @POST("/conversations/{id}/add_message")
-        void addMessageToConversation(@Path("id")long conversation_id, @Query("body")String message, CanvasCallback<Conversation> callback);
-
-        @POST("/conversations?mode=sync")
-        void createConversation(@EncodedQuery("recipients[]") String recipients, @Query("body") String message, @Query("group_conversation") int group, CanvasCallback<Response> callback);
-
-        @DELETE("/conversations/{conversationid}")
-        void deleteConversation(@Path("conversationid")long conversationID, CanvasCallback<Response>responseCallback);
-
-        @PUT("/conversations/{conversationid}?conversation[workflow_state]=unread")
-        void markConversationAsUnread(@Path("conversationid")long conversationID, CanvasCallback<Response>responseCallback);
-
-        @PUT("/conversations/{conversationid}?conversation[workflow_state]=archived")
-        void archiveConversation(@Path("conversationid")long conversationID, CanvasCallback<Response>responseCallback);
-
-        @PUT("/conversations/{conversationid}?conversation[workflow_state]=read")
-        void unArchiveConversation(@Path("conversationid")long conversationID, CanvasCallback<Response>responseCallback);
-
-        @PUT("/conversations/{conversationid}")
-        void setIsStarred(@Path("conversationid")long conversationID, @Query("conversation[starred]") boolean isStarred, CanvasCallback<Conversation>responseCallback);
-
-        @PUT("/conversations/{conversationid}")
-        void setIsSubscribed(@Path("conversationid")long conversationID, @Query("conversation[subscribed]") boolean isSubscribed, CanvasCallback<Conversation>responseCallback);
-
-        @PUT("/conversations/{conversationid}")
-        void setSubject(@Path("conversationid")long conversationID, @Query("conversation[subject]") String subject, CanvasCallback<Conversation>responseCallback);
-
-        @PUT("/conversations/{conversationid}")
-        void setWorkflowState(@Path("conversationid")long conversationID, @Query("conversation[workflow_state]") String workflowState, CanvasCallback<Conversation>responseCallback);
-
-        /////////////////////////////////////////////////////////////////////////////
-        // Synchronous
-        /////////////////////////////////////////////////////////////////////////////
-
-        @GET("/conversations/?interleave_submissions=1")
-        Conversation[] getFirstPageConversationList(@Query("scope") String scope, @Query("per_page") int number);
-
-        @GET("/conversations/{id}/?interleave_submissions=1")
-        Conversation getDetailedConversationSynchronous(@Path("id") long conversation_id);
-
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
 
     private static ConversationsInterface buildInterface(CanvasCallback<?> callback) {
-        return buildInterface(callback.getContext());
+        RestAdapter restAdapter = CanvasRestAdapter.buildAdapter(callback);
+        return restAdapter.create(ConversationsInterface.class);
     }
 
     private static ConversationsInterface buildInterface(Context context) {
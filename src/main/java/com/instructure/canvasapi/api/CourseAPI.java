@@ -1,6 +1,8 @@
 package com.instructure.canvasapi.api;
 
 import android.content.Context;
+import com.instructure.canvasapi.core.CrawlCheckpoint;
+import com.instructure.canvasapi.core.api.CoursesInterface;
 import com.instructure.canvasapi.model.Attachment;
 import com.instructure.canvasapi.model.Course;
 import com.instructure.canvasapi.model.Favorite;
@@ -9,6 +11,8 @@ import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 import com.instructure.canvasapi.utilities.ExhaustiveBridgeCallback;
+import com.instructure.canvasapi.utilities.APIStatusDelegate;
+import com.instructure.canvasapi.utilities.CanvasObservable;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -17,16 +21,8 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import retrofit.RestAdapter;
-import retrofit.http.DELETE;
-import retrofit.http.Multipart;
-import retrofit.http.Part;
-import retrofit.http.PartMap;
-import retrofit.http.Path;
-import retrofit.http.GET;
-import retrofit.http.POST;
-import retrofit.http.PUT;
-import retrofit.http.Query;
 import retrofit.mime.TypedFile;
+import rx.Observable;
 
 /**
  * Created by Joshua Dutton on 9/5/13.
@@ -58,54 +54,6 @@ public class CourseAPI {
         return "/users/self/favorites/courses";
     }
 
-    interface CoursesInterface {
-
-        @PUT("/courses/{courseid}")
-        void updateCourse(@Path("courseid") long courseID,
-                          @Query("course[name]") String name, @Query("course[course_code]") String courseCode,
-                          @Query("course[start_at]") String startAt, @Query("course[end_at]") String endAt,
-                          @Query("course[license]") String license, @Query("course[is_public]") Integer isPublic,
-                          CanvasCallback<Course> callback);
-
-        @GET("/courses/{courseid}?include[]=term&include[]=permissions&include[]=license&include[]=is_public&include[]=needs_grading_count")
-        void getCourse(@Path("courseid") long courseId, CanvasCallback<Course> callback);
-
-        @GET("/courses/{courseid}?include[]=term&include[]=permissions&include[]=license&include[]=is_public&include[]=needs_grading_count&include[]=total_scores")
-        void getCourseWithGrade(@Path("courseid") long courseId, CanvasCallback<Course> callback);
-
-        @GET("/courses/{courseid}?include[]=syllabus_body&include[]=term&include[]=license&include[]=is_public&include[]=permissions")
-        void getCourseWithSyllabus(@Path("courseid") long courseId, CanvasCallback<Course> callback);
-
-        // I don't see why we wouldn't want to always get the grades
-        @GET("/courses?include[]=term&include[]=total_scores&include[]=license&include[]=is_public&include[]=needs_grading_count&include[]=permissions")
-        void getFirstPageCourses(CanvasCallback<Course[]> callback);
-
-        @GET("/{next}?&include[]=needs_grading_count&include[]=permissions")
-        void getNextPageCourses(@Path(value = "next", encode = false) String nextURL, CanvasCallback<Course[]> callback);
-
-        @GET("/users/self/favorites/courses?include[]=term&include[]=total_scores&include[]=license&include[]=is_public&include[]=needs_grading_count&include[]=permissions")
-        void getFavoriteCourses(CanvasCallback<Course[]> callback);
-
-        @POST("/users/self/favorites/courses/{courseId}")
-        void addCourseToFavorites(@Path("courseId") long courseId, CanvasCallback<Favorite> callback);
-
-        @DELETE("/users/self/favorites/courses/{courseId}")
-        void removeCourseFromFavorites(@Path("courseId") long courseId, CanvasCallback<Favorite> callback);
-
-        /////////////////////////////////////////////////////////////////////////////
-        // Synchronous
-        /////////////////////////////////////////////////////////////////////////////
-        @GET("/courses?include[]=term&include[]=total_scores&include[]=license&include[]=is_public&include[]=permissions")
-        Course[] getCoursesSynchronous(@Query("page") int page);
-
-        @POST("/courses/{courseId}/files")
-        FileUploadParams getFileUploadParams(@Path("courseId") long courseId, @Query("parent_folder_id") Long parentFolderId, @Query("size") long size, @Query("name") String fileName, @Query("content_type") String content_type);
-
-        @Multipart
-        @POST("/")
-        Attachment uploadCourseFile(@PartMap LinkedHashMap<String, String> params, @Part("file") TypedFile file);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
@@ -186,7 +134,7 @@ public class CourseAPI {
     public static void getAllFavoriteCourses(final CanvasCallback<Course[]> callback) {
         if (APIHelpers.paramIsNull(callback)) return;
 
-        CanvasCallback<Course[]> bridge = new ExhaustiveBridgeCallback<>(callback, new ExhaustiveBridgeCallback.ExhaustiveBridgeEvents() {
+        ExhaustiveBridgeCallback<Course> bridge = new ExhaustiveBridgeCallback<>(callback, new ExhaustiveBridgeCallback.ExhaustiveBridgeEvents() {
             @Override
             public void performApiCallWithExhaustiveCallback(CanvasCallback callback, String nextURL) {
                 CourseAPI.getNextPageCourses(callback, nextURL);
@@ -196,10 +144,15 @@ public class CourseAPI {
             public Class classType() {
                 return Course.class;
             }
-        });
+        }, CrawlCheckpoint.getCheckpointName(getAllFavoriteCoursesCacheFilename()));
 
         callback.readFromCache(getAllFavoriteCoursesCacheFilename());
-        getFirstPageFavoriteCourses(bridge);
+        bridge.startOrResume(new ExhaustiveBridgeCallback.FirstPageCall() {
+            @Override
+            public void performFirstApiCall(CanvasCallback callback) {
+                getFirstPageFavoriteCourses(callback);
+            }
+        });
     }
 
     public static void getAllCourses(final CanvasCallback<Course[]> callback) {
@@ -256,6 +209,54 @@ public class CourseAPI {
         return courseMap;
     }
 
+    /////////////////////////////////////////////////////////////////////////////
+    // Observables
+    /////////////////////////////////////////////////////////////////////////////
+
+    public static Observable<Course> getCourseWithGradeObservable(APIStatusDelegate statusDelegate, final long courseId) {
+        return CanvasObservable.from(statusDelegate, new CanvasObservable.Call<Course>() {
+            @Override
+            public void call(CanvasCallback<Course> callback) {
+                getCourseWithGrade(courseId, callback);
+            }
+        });
+    }
+
+    public static Observable<CanvasObservable.Page<Course>> getCoursesPagesObservable(APIStatusDelegate statusDelegate) {
+        return CanvasObservable.pages(statusDelegate, COURSES_PAGED_CALL);
+    }
+
+    public static Observable<Course> getAllCoursesObservable(APIStatusDelegate statusDelegate) {
+        return CanvasObservable.items(statusDelegate, COURSES_PAGED_CALL);
+    }
+
+    public static Observable<Course> getAllFavoriteCoursesObservable(APIStatusDelegate statusDelegate) {
+        return CanvasObservable.items(statusDelegate, new CanvasObservable.PagedCall<Course>() {
+            @Override
+            public void firstPage(CanvasCallback<Course[]> callback) {
+                getFirstPageFavoriteCourses(callback);
+            }
+
+            @Override
+            public void nextPage(String nextURL, CanvasCallback<Course[]> callback) {
+                getNextPageCourses(callback, nextURL);
+            }
+        });
+    }
+
+    private static final CanvasObservable.PagedCall<Course> COURSES_PAGED_CALL = new CanvasObservable.PagedCall<Course>() {
+        @Override
+        public void firstPage(CanvasCallback<Course[]> callback) {
+            getFirstPageCourses(callback);
+        }
+
+        @Override
+        public void nextPage(String nextURL, CanvasCallback<Course[]> callback) {
+            getNextPageCourses(callback, nextURL);
+        }
+    };
+
+
     /////////////////////////////////////////////////////////////////////////////
     // Synchronous
     //
@@ -1,5 +1,6 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.CustomGradebookInterface;
 import com.instructure.canvasapi.model.ColumnDatum;
 import com.instructure.canvasapi.model.CustomColumn;
 import com.instructure.canvasapi.utilities.APIHelpers;
@@ -7,11 +8,6 @@ import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
 import retrofit.RestAdapter;
-import retrofit.http.GET;
-import retrofit.http.POST;
-import retrofit.http.PUT;
-import retrofit.http.Path;
-import retrofit.http.Query;
 
 /**
  * Copyright (c) 2015 Instructure. All rights reserved.
@@ -27,20 +23,6 @@ public class CustomGradebookColumnAPI {
         return "api/v1/courses/" + courseId + "/custom_gradebook_columns/" + columnId + "/data";
     }
 
-    public interface CustomGradebookInterface {
-        @GET("/courses/{course_id}/custom_gradebook_columns")
-        void getGradebookColumns(@Path("course_id") long courseId, CanvasCallback<CustomColumn[]> callback);
-
-        @POST("/courses/{course_id}/custom_gradebook_columns")
-        void createGradebookColumn(@Path("course_id") long courseId, @Query("column[title]") String title, @Query("column[position]") int position, @Query("column[hidden]") boolean isHidden, @Query("column[teacher_notes]") boolean isTeacherNotes, CanvasCallback<CustomColumn> callback);
-
-        @GET("/courses/{course_id}/custom_gradebook_columns/{column_id}/data")
-        void getColumnData(@Path("course_id") long courseId, @Path("column_id") long columnId, CanvasCallback<ColumnDatum[]> callback);
-
-        @PUT("/courses/{course_id}/custom_gradebook_columns/{column_id}/data/{user_id}")
-        void updateColumnData(@Path("course_id") long courseId, @Path("column_id") long columnId, @Path("user_id") long user_Id, @Query("column_data[content]") String content, CanvasCallback<ColumnDatum> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
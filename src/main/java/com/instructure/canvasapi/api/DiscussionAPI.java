@@ -1,14 +1,17 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.DiscussionsInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.DiscussionEntry;
+import com.instructure.canvasapi.model.DiscussionMerge;
 import com.instructure.canvasapi.model.DiscussionTopic;
 import com.instructure.canvasapi.model.DiscussionTopicHeader;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
-import retrofit.Callback;
+import com.instructure.canvasapi.utilities.LinkHeaders;
 import retrofit.RestAdapter;
+import retrofit.RetrofitError;
 import retrofit.client.Response;
 import retrofit.http.*;
 
@@ -31,49 +34,10 @@ public class DiscussionAPI {
         return canvasContext.toAPIString() + "/discussion_topics/" + discussionID;
     }
 
-    private static String getFullDiscussionsCacheFilename(CanvasContext canvasContext, long discussionID) {
+    public static String getFullDiscussionsCacheFilename(CanvasContext canvasContext, long discussionID) {
         return canvasContext.toAPIString() + "/discussion_topics/" + discussionID + "/view";
     }
 
-    interface DiscussionsInterface {
-        @GET("/{context_id}/discussion_topics")
-        void getFirstPageDiscussions(@Path("context_id") long course_id, Callback<DiscussionTopicHeader[]> callback);
-
-        @GET("/{context_id}/discussion_topics?scope=pinned")
-        void getFirstPagePinnedDiscussions(@Path("context_id") long course_id, Callback<DiscussionTopicHeader[]> callback);
-
-        @GET("/{next}")
-        void getNextPageDiscussions(@Path(value = "next", encode = false) String nextURL, Callback<DiscussionTopicHeader[]> callback);
-
-        @GET("/{context_id}/discussion_topics/{discussionid}")
-        void getDetailedDiscussion(@Path("context_id") long courseId, @Path("discussionid") long discussionId, Callback<DiscussionTopicHeader> callback);
-
-        @GET("/{context_id}/discussion_topics/{discussionid}/view")
-        void getFullDiscussionTopic(@Path("context_id") long courseId, @Path("discussionid") long discussionId, Callback<DiscussionTopic> callback);
-
-        @GET("/{context_id}/discussion_topics/")
-        void getFilteredDiscussionTopic(@Path("context_id") long courseId, @Query("search_term") String searchTerm, Callback<DiscussionTopicHeader[]> callback);
-
-        @POST("/{context_id}/discussion_topics/{discussionid}/entries/")
-        void postDiscussionEntry(@Path("context_id") long courseId, @Path("discussionid") long discussionId, @Query("message") String message, Callback<DiscussionEntry> callback);
-
-        @POST("/{context_id}/discussion_topics/{discussionid}/entries/{entryid}/replies")
-        void postDiscussionReply(@Path("context_id") long courseId, @Path("discussionid") long discussionId, @Path("entryid") long entryId, @Query("message")String message, Callback<DiscussionEntry> callback);
-
-        @POST("/{context_id}/discussion_topics/")
-        void postNewDiscussion(@Path("context_id")long courseId, @Query("title") String title, @Query("message")String message, @Query("is_announcement")int announcement, @Query("discussion_type")String discussion_type, Callback<DiscussionTopicHeader> callback);
-
-        @POST("/{context_id}/discussion_topics/")
-        void postNewDiscussionAndPublish(@Path("context_id")long courseId, @Query("title") String title, @Query("message")String message, @Query("is_announcement")int announcement, @Query("published") int isPublished, @Query("discussion_type")String discussion_type, Callback<DiscussionTopicHeader> callback);
-
-        @PUT("/{context_id}/discussion_topics/{topic_id}")
-        void updateDiscussionTopic(@Path("context_id") long courseId, @Path("topic_id") long topicId, @Query("title") String title, @Query("message")String message, @Query("published") int isPublished, @Query("discussion_type")String discussion_type, Callback<DiscussionTopicHeader> callback);
-
-        @POST("/{context_id}/discussion_topics/{discussionId}/entries/{entryId}/rating")
-        void rateDiscussionEntry(@Path("context_id") long courseId, @Path("discussionId") long discussionId, @Path("entryId") long entryId, @Query("rating") int rating, Callback<Response> callback);
-
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
@@ -122,6 +86,42 @@ public class DiscussionAPI {
         buildInterface(callback, canvasContext).getFullDiscussionTopic(canvasContext.getId(), discussion_id, callback);
     }
 
+    /**
+     * Downloads the topic's view again and merges it into cached by entry id. Unchanged entries keep their cached
+     * objects, and callback gets a DiscussionMerge with only what was added, edited and deleted.
+     *
+     * Canvas has no "since" filter for the view, so it's still downloaded whole. It's asked for with
+     * include_new_entries, which adds the entries posted after Canvas last built the view, so those show up
+     * now instead of after the next rebuild.
+     *
+     * Doesn't read the cache (cached is what's on screen), but writes the same cache file as getFullDiscussionTopic.
+     */
+    public static void refreshFullDiscussionTopic(CanvasContext canvasContext, long discussion_id, final DiscussionTopic cached, final CanvasCallback<DiscussionMerge> callback) {
+        if (APIHelpers.paramIsNull(callback, canvasContext)) { return; }
+
+        CanvasCallback<DiscussionTopic> mergeCallback = new CanvasCallback<DiscussionTopic>(callback.getStatusDelegate()) {
+            @Override
+            public void cache(DiscussionTopic discussionTopic) {
+            }
+
+            @Override
+            public void firstPage(DiscussionTopic discussionTopic, LinkHeaders linkHeaders, Response response) {
+                if (callback.isCancelled()) {
+                    return;
+                }
+                callback.firstPage(DiscussionMerge.merge(cached, discussionTopic), linkHeaders, response);
+            }
+
+            @Override
+            public boolean onFailure(RetrofitError retrofitError) {
+                return callback.onFailure(retrofitError);
+            }
+        };
+        mergeCallback.setClient(callback.getClient());
+        mergeCallback.setShouldCache(getFullDiscussionsCacheFilename(canvasContext, discussion_id));
+        buildInterface(mergeCallback, canvasContext).getFullDiscussionTopicWithNewEntries(canvasContext.getId(), discussion_id, mergeCallback);
+    }
+
     public static void getFilteredDiscussionTopic(CanvasContext canvasContext, String searchTerm,  CanvasCallback<DiscussionTopicHeader[]> callback) {
         if (APIHelpers.paramIsNull(callback, canvasContext)) { return; }
 
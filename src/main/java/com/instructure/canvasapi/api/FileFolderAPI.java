@@ -1,5 +1,6 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.FilesFoldersInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.FileFolder;
 import com.instructure.canvasapi.utilities.APIHelpers;
@@ -9,9 +10,6 @@ import retrofit.Callback;
 import retrofit.RestAdapter;
 import retrofit.RetrofitError;
 import retrofit.client.Response;
-import retrofit.http.DELETE;
-import retrofit.http.Path;
-import retrofit.http.GET;
 /**
  * Created by Josh Ruesch on 8/9/13.
  *
@@ -27,29 +25,6 @@ public class FileFolderAPI {
         return "/folders/" + folderID + "/files";
     }
 
-    interface FilesFoldersInterface {
-        @GET("/{context_id}/folders/root")
-        void getRootFolderForContext(@Path("context_id") long context_id, Callback<FileFolder> callback);
-
-        @GET("/self/folders/root")
-        void getRootUserFolder(Callback<FileFolder> callback);
-
-        @GET("/folders/{folderid}/folders")
-        void getFirstPageFolders(@Path("folderid") long folder_id, Callback<FileFolder[]> callback);
-
-        @GET("/folders/{folderid}/files")
-        void getFirstPageFiles(@Path("folderid") long folder_id, Callback<FileFolder[]> callback);
-
-        @GET("/{fileurl}")
-        void getFileFolderFromURL(@Path(value = "fileurl", encode = false) String fileURL, Callback<FileFolder> callback);
-
-        @GET("/{next}")
-        void getNextPageFileFoldersList(@Path(value = "next", encode = false) String nextURL, Callback<FileFolder[]> callback);
-
-        @DELETE("/files/{fileid}")
-        void deleteFile(@Path("fileid")long fileId, Callback<Response> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
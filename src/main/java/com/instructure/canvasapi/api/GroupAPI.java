@@ -2,13 +2,16 @@ package com.instructure.canvasapi.api;
 
 import android.content.Context;
 
-import com.instructure.canvasapi.model.Course;
+import com.instructure.canvasapi.core.CrawlCheckpoint;
+import com.instructure.canvasapi.core.api.GroupsInterface;
 import com.instructure.canvasapi.model.Group;
 import com.instructure.canvasapi.model.User;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 import com.instructure.canvasapi.utilities.ExhaustiveBridgeCallback;
+import com.instructure.canvasapi.utilities.APIStatusDelegate;
+import com.instructure.canvasapi.utilities.CanvasObservable;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -17,11 +20,7 @@ import java.util.Map;
 
 import retrofit.RestAdapter;
 import retrofit.client.Response;
-import retrofit.http.DELETE;
-import retrofit.http.GET;
-import retrofit.http.POST;
-import retrofit.http.Path;
-import retrofit.http.Query;
+import rx.Observable;
 
 /**
  * Created by Josh Ruesch on 12/27/13.
@@ -58,54 +57,15 @@ public class GroupAPI {
         return "/groups/"+courseID+"/users?include[]=avatar_url";
     }
 
-    interface GroupsInterface {
-        @GET("/users/self/groups")
-        void getFirstPageGroups(CanvasCallback<Group[]> callback);
-
-        @GET("/courses/{courseid}/groups")
-        void getFirstPageGroupsInCourse(@Path("courseid") long courseId, CanvasCallback<Group[]> callback);
-
-        @GET("/{next}")
-        void getNextPageGroups(@Path(value = "next", encode = false)String nextURL, CanvasCallback<Group[]> callback);
-
-        @GET("/groups/{groupid}?include[]=permissions")
-        void getDetailedGroup(@Path("groupid") long groupId, CanvasCallback<Group> callback);
-
-        @GET("/groups/{groupid}/users")
-        void getGroupUsers(@Path("groupid") long groupId, CanvasCallback<User[]> callback);
-
-        @GET("/groups/{groupid}/users?include[]=avatar_url")
-        void getGroupUsersWithAvatars(@Path("groupid") long groupId, CanvasCallback<User[]> callback);
-
-        @GET("/{next}")
-        void getNextPageGroupUsers(@Path(value = "next", encode = false) String nextURL, CanvasCallback<User[]> callback);
-
-        @POST("/groups")
-        void createGroup(@Query("name") String name, @Query("is_public") boolean isPublic, CanvasCallback<Group> callback);
-
-        @DELETE("/groups/{groupid}")
-        void deleteGroup(@Path("groupid") long groupId, CanvasCallback<Response> callback);
-
-        @POST("/groups/{groupid}/memberships")
-        void createMembership(@Path("groupid") long groupId, @Query("user_id") String userId, CanvasCallback<Response> callback);
-
-        @POST("/group_categories/{group_category_id}/groups")
-        void createGroupWithCategory(@Path("group_category_id") long groupCategoryId, @Query("name") String name, @Query("is_public") boolean isPublic, CanvasCallback<Group> callback);
-        /////////////////////////////////////////////////////////////////////////////
-        // Synchronous
-        /////////////////////////////////////////////////////////////////////////////
-
-        @GET("/users/self/groups")
-        Group[] getGroupsSynchronous(@Query("page") int page);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
 
     private static GroupsInterface buildInterface(CanvasCallback<?> callback) {
-        return buildInterface(callback.getContext());
+        RestAdapter restAdapter = CanvasRestAdapter.buildAdapter(callback);
+        return restAdapter.create(GroupsInterface.class);
     }
+
     private static GroupsInterface buildInterface(Context context) {
         RestAdapter restAdapter = CanvasRestAdapter.buildAdapter(context);
         return restAdapter.create(GroupsInterface.class);
@@ -149,10 +109,10 @@ public class GroupAPI {
         buildInterface(callback).getFirstPageGroupsInCourse(courseID, callback);
     }
 
-    public static void getAllGroupsInCourse(long courseID, CanvasCallback<Group[]> callback) {
+    public static void getAllGroupsInCourse(final long courseID, CanvasCallback<Group[]> callback) {
         if (APIHelpers.paramIsNull(callback)) return;
 
-        CanvasCallback<Group[]> bridge = new ExhaustiveBridgeCallback<>(callback, new ExhaustiveBridgeCallback.ExhaustiveBridgeEvents() {
+        ExhaustiveBridgeCallback<Group> bridge = new ExhaustiveBridgeCallback<>(callback, new ExhaustiveBridgeCallback.ExhaustiveBridgeEvents() {
             @Override
             public void performApiCallWithExhaustiveCallback(CanvasCallback callback, String nextURL) {
                 getNextPageGroups(nextURL, callback);
@@ -162,10 +122,15 @@ public class GroupAPI {
             public Class classType() {
                 return Group.class;
             }
-        });
+        }, CrawlCheckpoint.getCheckpointName(getAllGroupsInCourseCacheFilename(courseID)));
 
         callback.readFromCache(getAllGroupsInCourseCacheFilename(courseID));
-        getFirstPageGroupsInCourse(courseID, bridge);
+        bridge.startOrResume(new ExhaustiveBridgeCallback.FirstPageCall() {
+            @Override
+            public void performFirstApiCall(CanvasCallback callback) {
+                getFirstPageGroupsInCourse(courseID, callback);
+            }
+        });
     }
 
     public static void getGroupsForUser(CanvasCallback<Group[]> callback) {
@@ -256,6 +221,53 @@ public class GroupAPI {
         return groupMap;
     }
 
+    /////////////////////////////////////////////////////////////////////////////
+    // Observables
+    /////////////////////////////////////////////////////////////////////////////
+
+    public static Observable<Group> getAllGroupsObservable(APIStatusDelegate statusDelegate) {
+        return CanvasObservable.items(statusDelegate, new CanvasObservable.PagedCall<Group>() {
+            @Override
+            public void firstPage(CanvasCallback<Group[]> callback) {
+                getFirstPageGroups(callback);
+            }
+
+            @Override
+            public void nextPage(String nextURL, CanvasCallback<Group[]> callback) {
+                getNextPageGroups(nextURL, callback);
+            }
+        });
+    }
+
+    public static Observable<Group> getAllGroupsInCourseObservable(APIStatusDelegate statusDelegate, final long courseID) {
+        return CanvasObservable.items(statusDelegate, new CanvasObservable.PagedCall<Group>() {
+            @Override
+            public void firstPage(CanvasCallback<Group[]> callback) {
+                getFirstPageGroupsInCourse(courseID, callback);
+            }
+
+            @Override
+            public void nextPage(String nextURL, CanvasCallback<Group[]> callback) {
+                getNextPageGroups(nextURL, callback);
+            }
+        });
+    }
+
+    public static Observable<User> getGroupUsersObservable(APIStatusDelegate statusDelegate, final long groupId) {
+        return CanvasObservable.items(statusDelegate, new CanvasObservable.PagedCall<User>() {
+            @Override
+            public void firstPage(CanvasCallback<User[]> callback) {
+                getGroupUsers(groupId, callback);
+            }
+
+            @Override
+            public void nextPage(String nextURL, CanvasCallback<User[]> callback) {
+                getNextPageGroupUsers(nextURL, callback);
+            }
+        });
+    }
+
+
     /////////////////////////////////////////////////////////////////////////////
     // Synchronous
     //
@@ -2,6 +2,7 @@ package com.instructure.canvasapi.api;
 
 import android.content.Context;
 
+import com.instructure.canvasapi.core.api.GroupCategoriesInterface;
 import com.instructure.canvasapi.model.Group;
 import com.instructure.canvasapi.model.GroupCategory;
 import com.instructure.canvasapi.model.User;
@@ -9,12 +10,7 @@ import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.GET;
-import retrofit.http.POST;
-import retrofit.http.Path;
-import retrofit.http.Query;
 
 /**
  * Created by Hoa Hoang on 9/25/14.
@@ -39,37 +35,14 @@ public class GroupCategoriesAPI {
         return "/group_categories/" + String.valueOf(categoryId) + "/users";
     }
 
-    interface GroupCategoriesInterface {
-
-        @GET("/group_categories/{group_categories_id}/users")
-        void getUsersForGroupCategory(@Path("group_categories_id") long groupCategoryId, CanvasCallback<User[]> callback);
-
-        @GET("/courses/{course_id}/group_categories")
-        void getFirstPageGroupCategories(@Path("course_id") long courseId, CanvasCallback<GroupCategory[]> callback);
-
-        @GET("/{next}")
-        void getNextPageGroupCategories(@Path(value = "next", encode = false) String nextURL, Callback<GroupCategory[]> callback);
-
-        @POST("/courses/{course_id}/group_categories")
-        void createGroupCategoryForCourse(@Path("course_id") long courseId, @Query("name") String name, CanvasCallback<GroupCategory> callback);
-
-        @GET("/group_categories/{group_category_id}/groups")
-        void getFirstPageGroupsFromCategory(@Path("group_category_id") long groupCategoryId, CanvasCallback<Group[]> callback);
-
-        @GET("/group_categories/{group_category_id}/users")
-        void getFirstPageUsersInCategory(@Path("group_category_id") long groupCategoryId, @Query("unassigned") boolean onlyIncludeUnassigned, CanvasCallback<User[]> callback);
-
-        @GET("/{next}")
-        void getNextPageUsersInCategory(@Path(value = "next", encode = false) String nextURL, Callback<User[]> callback);
-
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
     private static GroupCategoriesInterface buildInterface(CanvasCallback<?> callback) {
-        return buildInterface(callback.getContext());
+        RestAdapter restAdapter = CanvasRestAdapter.buildAdapter(callback);
+        return restAdapter.create(GroupCategoriesInterface.class);
     }
+
     private static GroupCategoriesInterface buildInterface(Context context) {
         RestAdapter restAdapter = CanvasRestAdapter.buildAdapter(context);
         return restAdapter.create(GroupCategoriesInterface.class);
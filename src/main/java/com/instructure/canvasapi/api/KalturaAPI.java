@@ -4,6 +4,7 @@ import android.content.Context;
 import android.net.Uri;
 import android.util.Log;
 
+import com.instructure.canvasapi.core.api.KalturaConfigurationInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.KalturaConfig;
 import com.instructure.canvasapi.model.KalturaSession;
@@ -11,26 +12,15 @@ import com.instructure.canvasapi.model.kaltura.xml;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+import com.instructure.canvasapi.utilities.FileUploader;
 import com.instructure.canvasapi.utilities.FileUtilities;
 import com.instructure.canvasapi.utilities.KalturaRestAdapter;
 
-import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.mime.HttpMultipartMode;
-import org.apache.http.entity.mime.MultipartEntity;
-import org.apache.http.entity.mime.content.FileBody;
-import org.apache.http.entity.mime.content.StringBody;
-import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.util.EntityUtils;
-
 import java.io.File;
 
 import retrofit.Callback;
 import retrofit.RestAdapter;
 import retrofit.http.EncodedQuery;
-import retrofit.http.GET;
 import retrofit.http.POST;
 import retrofit.http.Query;
 
@@ -47,14 +37,6 @@ public class KalturaAPI {
     }
 
     //Interface talking to Canvas servers
-    public interface KalturaConfigurationInterface {
-        @GET("/services/kaltura")
-        void getKalturaConfigaration(Callback<KalturaConfig> callback);
-
-        @POST("/services/kaltura_session")
-        void startKalturaSession(Callback<KalturaSession> callback);
-
-    }
     
     //Interface talking to Kaltura servers
     public interface KalturaAPIInterface {
@@ -120,6 +102,16 @@ public class KalturaAPI {
     /////////////////////////////////////////////////////////////////////////////
 
     public static xml uploadFileAtPathSynchronous(String uploadToken, Uri fileUri, Context context) {
+        return uploadFileAtPathSynchronous(uploadToken, fileUri, false, null, context);
+    }
+
+    /**
+     * Uploads the file in chunks. A dropped connection carries on from what Kaltura already has.
+     *
+     * @param resumeExisting true if uploadToken is from an earlier attempt at this file, to skip what Kaltura already has.
+     * @param progressListener Can be null.
+     */
+    public static xml uploadFileAtPathSynchronous(String uploadToken, Uri fileUri, boolean resumeExisting, FileUploader.ProgressListener progressListener, Context context) {
 
         if (context == null) {
             return null;
@@ -132,29 +124,13 @@ public class KalturaAPI {
             String baseUrl = APIHelpers.getFullKalturaDomain(context);
             File file = new File(fileUri.getPath());
             String fileType = FileUtilities.getMimeType(fileUri.getPath());
-            String boundary = "---------------------------3klfenalksjflkjoi9auf89eshajsnl3kjnwal";
-
-            //Build URL
-            String fullUrl = baseUrl + "/api_v3/index.php?service=uploadtoken&action=upload";
-
-            HttpPost post = new HttpPost(fullUrl);
-
-            //Add info to body
-            MultipartEntity entity = new MultipartEntity(HttpMultipartMode.BROWSER_COMPATIBLE, boundary, null);
-            entity.addPart("ks", new StringBody(kalturaToken));
-            entity.addPart("uploadTokenId", new StringBody(uploadToken));
-            ContentType contentType = ContentType.create(fileType);
-            entity.addPart("fileData", new FileBody(file, contentType, file.getName()));
-            post.setEntity(entity);
 
             //Send request
-            HttpClient httpClient = new DefaultHttpClient();
-
-            HttpResponse response = httpClient.execute(post);
+            FileUploader uploader = new FileUploader(progressListener);
+            String stringResponse = uploader.uploadKalturaChunks(baseUrl, kalturaToken, uploadToken, file, fileType, resumeExisting);
 
             //Check that It worked.
-            String stringResponse = EntityUtils.toString(response.getEntity());
-            if(stringResponse.contains("error")){
+            if(stringResponse == null){
                 return null;
             }
             return getMediaIdForUploadedFileTokenSynchronous(context, kalturaToken, uploadToken, file.getName(), fileType);
@@ -1,18 +1,15 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.ModulesInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.ModuleItem;
 import com.instructure.canvasapi.model.ModuleObject;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
-import com.squareup.okhttp.Response;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.POST;
-import retrofit.http.Path;
-import retrofit.http.GET;
+import retrofit.client.Response;
 
 /**
  * Created by Brady Larson on 10/15/13.
@@ -29,23 +26,6 @@ public class ModuleAPI {
         return canvasContext.toAPIString() + "/modules/" + moduleID + "/items";
     }
 
-    interface ModulesInterface {
-        @GET("/{context_id}/modules")
-        void getFirstPageModuleObjects(@Path("context_id") long context_id, Callback<ModuleObject[]> callback);
-
-        @GET("/{next}")
-        void getNextPageModuleObjectList(@Path(value = "next", encode = false) String nextURL, Callback<ModuleObject[]> callback);
-
-        @GET("/{context_id}/modules/{moduleid}/items")
-        void getFirstPageModuleItems(@Path("context_id") long context_id, @Path("moduleid") long moduleID, Callback<ModuleItem[]> callback);
-
-        @GET("/{next}")
-        void getNextPageModuleItemList(@Path(value = "next", encode = false) String nextURL, Callback<ModuleItem[]> callback);
-
-        @POST("/{context_id}/modules/{moduleid}/items/{itemid}/mark_read")
-        void markModuleItemRead(@Path("context_id") long context_id, @Path("moduleid") long module_id, @Path("itemid") long item_id, Callback<Response> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
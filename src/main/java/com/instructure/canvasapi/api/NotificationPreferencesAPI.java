@@ -1,5 +1,6 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.NotificationPreferencesInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.NotificationPreferenceResponse;
 import com.instructure.canvasapi.utilities.APIHelpers;
@@ -9,10 +10,6 @@ import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 import java.util.ArrayList;
 
 import retrofit.RestAdapter;
-import retrofit.http.GET;
-import retrofit.http.PUT;
-import retrofit.http.Path;
-import retrofit.http.Query;
 
 public class NotificationPreferencesAPI {
 
@@ -22,30 +19,6 @@ public class NotificationPreferencesAPI {
     public static final String WEEKLY = "weekly";
     public static final String NEVER = "never";
 
-    public interface NotificationPreferencesInterface {
-
-        @GET("/users/{user_id}/communication_channels/{communication_channel_id}/notification_preferences")
-        void getNotificationPreferences(@Path("user_id") long userId, @Path("communication_channel_id") long communicationChannelId, CanvasCallback<NotificationPreferenceResponse> callback);
-
-        @GET("/users/{user_id}/communication_channels/{type}/{address}/notification_preferences")
-        void getNotificationPreferencesForType(@Path("user_id") long userId, @Path("type") String type, @Path("address") String address, CanvasCallback<NotificationPreferenceResponse> callback);
-
-        @GET("/users/{user_id}/communication_channels/{communication_channel_id}/notification_preferences/{notification}")
-        void getSingleNotificationPreference(@Path("user_id") long userId, @Path("communication_channel_id") long communicationChannelId, @Path("notification") String notification, CanvasCallback<NotificationPreferenceResponse> callback);
-
-        @GET("/users/{user_id}/communication_channels/{type}/{address}/notification_preferences/{notification}")
-        void getSingleNotificationPreferencesForType(@Path("user_id") long userId, @Path("type") String type, @Path("address") String address, @Path("notification") String notification, CanvasCallback<NotificationPreferenceResponse> callback);
-
-        @PUT("/users/self/communication_channels/{communication_channel_id}/notification_preferences/{notification}")
-        void updateSingleNotificationPreference(@Path("communication_channel_id") long communicationChannelId, @Path("notification") String notification, CanvasCallback<NotificationPreferenceResponse> callback);
-
-        @PUT("/users/self/communication_channels/{type}/{address}/notification_preferences/{notification}")
-        void updateSingleNotificationPreferenceForType(@Path("type") String type, @Path("address") String address, @Path("notification") String notification, CanvasCallback<NotificationPreferenceResponse> callback);
-
-        @PUT("/users/self/communication_channels/{communication_channel_id}/notification_preferences{notification_preferences}")
-        void updateMultipleNotificationPreferences(@Path("communication_channel_id") long communicationChannelId, @Path(value = "notification_preferences", encode = false) String notifications, CanvasCallback<NotificationPreferenceResponse> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
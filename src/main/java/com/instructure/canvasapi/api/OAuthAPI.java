@@ -1,16 +1,12 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.OAuthInterface;
 import com.instructure.canvasapi.model.OAuthToken;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
-import retrofit.Callback;
 import retrofit.RestAdapter;
 import retrofit.client.Response;
-import retrofit.http.DELETE;
-import retrofit.http.EncodedQuery;
-import retrofit.http.POST;
-import retrofit.http.Query;
 
 /**
  * Created by Josh Ruesch on 8/9/13.
@@ -20,15 +16,6 @@ import retrofit.http.Query;
 public class OAuthAPI {
 
 
-    interface OAuthInterface {
-        @DELETE("/login/oauth2/token")
-        void deleteToken(Callback<Response> callback);
-
-        @POST("/login/oauth2/token")
-        void getToken(@Query("client_id") String clientId, @Query("client_secret") String clientSecret, @Query("code") String oAuthRequest, @EncodedQuery("redirect_uri")String redirectURI, CanvasCallback<OAuthToken>canvasCallback);
-
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // API Calls
     /////////////////////////////////////////////////////////////////////////
@@ -1,14 +1,12 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.PagesInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.Page;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.Path;
-import retrofit.http.GET;
 
 /**
  * Created by Josh Ruesch on 8/9/13.
@@ -29,20 +27,6 @@ public class PageAPI {
         return canvasContext.toAPIString() + "/front_page";
     }
 
-    interface PagesInterface {
-        @GET("/{context_id}/pages?sort=title&order=asc")
-        void getFirstPagePagesList(@Path("context_id") long context_id, Callback<Page[]> callback);
-
-        @GET("/{next}")
-        void getNextPagePagesList(@Path(value = "next", encode = false) String nextURL, Callback<Page[]> callback);
-
-        @GET("/{context_id}/pages/{pageid}")
-        void getDetailedPage(@Path("context_id") long context_id, @Path("pageid") String page_id, Callback<Page> callback);
-
-        @GET("/{context_id}/front_page")
-        void getFrontPage(@Path("context_id") long context_id, Callback<Page> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
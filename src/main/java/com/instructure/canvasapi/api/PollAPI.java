@@ -1,19 +1,13 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.PollInterface;
 import com.instructure.canvasapi.model.PollResponse;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
 import retrofit.client.Response;
-import retrofit.http.DELETE;
-import retrofit.http.Path;
-import retrofit.http.GET;
-import retrofit.http.POST;
-import retrofit.http.PUT;
-import retrofit.http.Query;
 
 /**
  * Created by Brady Larson on 5/20/14.
@@ -30,26 +24,6 @@ public class PollAPI {
         return "api/v1/polls/" + poll_id;
     }
 
-    interface PollInterface {
-        @GET("/polls")
-        void getFirstPagePollsList(Callback<PollResponse> callback);
-
-        @GET("/{next}")
-        void getNextPagePollsList(@Path(value = "next", encode = false) String nextURL, Callback<PollResponse> callback);
-
-        @GET("/polls/{pollid}")
-        void getSinglePoll(@Path("pollid") long poll_id, Callback<PollResponse> callback);
-
-        @POST("/polls")
-        void createPoll(@Query("polls[][question]") String pollTitle, Callback<PollResponse> callback);
-
-        @PUT("/polls/{pollid}")
-        void updatePoll(@Path("pollid") long poll_id, @Query("polls[][question]") String pollTitle, Callback<PollResponse> callback);
-
-        @DELETE("/polls/{pollid}")
-        void deletePoll(@Path("pollid") long poll_id, Callback<Response> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
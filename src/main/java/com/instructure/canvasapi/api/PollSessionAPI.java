@@ -1,19 +1,13 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.PollSessionInterface;
 import com.instructure.canvasapi.model.PollSessionResponse;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
 import retrofit.client.Response;
-import retrofit.http.DELETE;
-import retrofit.http.Path;
-import retrofit.http.GET;
-import retrofit.http.POST;
-import retrofit.http.PUT;
-import retrofit.http.Query;
 
 /**
  * Created by brady on 5/20/14.
@@ -28,38 +22,6 @@ public class PollSessionAPI {
         return "api/v1/polls/" + poll_id + "/poll_sessions/" + poll_session_id;
     }
 
-    interface PollSessionInterface {
-        @GET("/polls/{pollid}/poll_sessions")
-        void getFirstPagePollSessionsList(@Path("pollid") long poll_id, Callback<PollSessionResponse> callback);
-
-        @GET("/{next}")
-        void getNextPagePollSessionsList(@Path(value = "next", encode = false) String nextURL, Callback<PollSessionResponse> callback);
-
-        @GET("/polls/{pollid}/poll_sessions/{poll_session_id}")
-        void getSinglePollSession(@Path("pollid") long poll_id, @Path("poll_session_id") long poll_session_id, Callback<PollSessionResponse> callback);
-
-        @POST("/polls/{pollid}/poll_sessions")
-        void createPollSession(@Path("pollid") long poll_id, @Query("poll_sessions[][course_id]") long course_id, @Query("poll_sessions[][course_section_id]") long course_section_id, Callback<PollSessionResponse> callback);
-
-        @PUT("/polls/{pollid}/poll_sessions/{poll_session_id}")
-        void updatePollSession(@Path("pollid") long poll_id, @Path("poll_session_id") long poll_session_id,  @Query("poll_sessions[][course_id]") long course_id, @Query("poll_sessions[][course_section_id]") long course_section_id, @Query("poll_sessions[][has_public_results]") boolean has_public_results, Callback<PollSessionResponse> callback);
-
-        @DELETE("/polls/{pollid}/poll_sessions/{poll_session_id}")
-        void deletePollSession(@Path("pollid") long poll_id, @Path("poll_session_id") long poll_session_id, Callback<Response> callback);
-
-        @GET("/polls/{pollid}/poll_sessions/{poll_session_id}/open")
-        void openPollSession(@Path("pollid") long poll_id, @Path("poll_session_id") long poll_session_id, Callback<Response> callback);
-
-        @GET("/polls/{pollid}/poll_sessions/{poll_session_id}/close")
-        void closePollSession(@Path("pollid") long poll_id, @Path("poll_session_id") long poll_session_id, Callback<Response> callback);
-
-        @GET("/poll_sessions/opened")
-        void getOpenSessions(Callback<PollSessionResponse> callback);
-
-        @GET("/poll_sessions/closed")
-        void getClosedSessions(Callback<PollSessionResponse> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
@@ -1,16 +1,12 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.PollSubmissionInterface;
 import com.instructure.canvasapi.model.PollSubmissionResponse;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.GET;
-import retrofit.http.POST;
-import retrofit.http.Path;
-import retrofit.http.Query;
 
 /**
  * Created by Brady Larson on 5/20/14.
@@ -23,14 +19,6 @@ public class PollSubmissionAPI {
     private static String getPollSubmissionCacheFilename(long poll_id, long poll_session_id, long poll_submission_id) {
         return "/api/v1/polls/" + poll_id + "/poll_sessions/" + poll_session_id + "/poll_submissions/" + poll_submission_id;
     }
-    interface PollSubmissionInterface {
-        @GET("/polls/{pollid}/poll_sessions/{poll_session_id}/poll_submissions/{poll_submission_id}")
-        void getPollSubmission(@Path("pollid") long poll_id, @Path("poll_session_id") long poll_session_id, @Path("poll_submission_id") long poll_submission_id, Callback<PollSubmissionResponse> callback);
-
-        @POST("/polls/{pollid}/poll_sessions/{poll_session_id}/poll_submissions/")
-        void createPollSubmission(@Path("pollid") long poll_id, @Path("poll_session_id") long poll_session_id, @Query("poll_submissions[][poll_choice_id]") long poll_choice_id, Callback<PollSubmissionResponse> callback);
-
-    }
 
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
@@ -1,5 +1,6 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.QuizzesInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.Quiz;
 import com.instructure.canvasapi.model.QuizQuestion;
@@ -11,14 +12,8 @@ import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
 import retrofit.client.Response;
-import retrofit.http.GET;
-import retrofit.http.POST;
-import retrofit.http.PUT;
-import retrofit.http.Path;
-import retrofit.http.Query;
 
 /**
  * Created by Josh Ruesch on 8/9/13.
@@ -49,63 +44,6 @@ public class QuizAPI {
         return "/quizSubmissions/" + quizSubmissionID + "/questions";
     }
 
-    interface QuizzesInterface {
-        @GET("/{context_id}/quizzes")
-        void getFirstPageQuizzesList(@Path("context_id") long context_id, Callback<Quiz[]> callback);
-
-        @GET("/{next}")
-        void getNextPageQuizzesList(@Path(value = "next", encode = false) String nextURL, Callback<Quiz[]> callback);
-
-        @GET("/{context_id}/quizzes/{quizid}")
-        void getDetailedQuiz(@Path("context_id") long context_id, @Path("quizid") long quizid, Callback<Quiz> callback);
-
-        @GET("/{next}")
-        void getDetailedQuizFromURL(@Path(value = "next", encode = false) String quizURL, Callback<Quiz> callback);
-
-        @GET("/{context_id}/quizzes/{quizid}/questions")
-        void getFirstPageQuizQuestions(@Path("context_id") long context_id, @Path("quizid") long quizid, Callback<QuizQuestion[]> callback);
-
-        @GET("/{next}")
-        void getNextPageQuizQuestions(@Path(value = "next", encode = false) String nextURL, Callback<QuizQuestion[]> callback);
-
-        @POST("/{context_id}/quizzes/{quizid}/submissions")
-        void startQuiz(@Path("context_id") long context_id, @Path("quizid") long quizid, Callback<Response> callback);
-
-        @GET("/{context_id}/quizzes/{quizid}/submissions")
-        void getFirstPageQuizSubmissions(@Path("context_id") long context_id, @Path("quizid") long quizid, Callback<QuizSubmissionResponse> callback);
-
-        @GET("/{next}")
-        void getNextPageQuizSubmissions(@Path(value = "next", encode = false) String nextURL, Callback<QuizSubmissionResponse> callback);
-
-        @GET("/quiz_submissions/{quiz_submission_id}/questions")
-        void getFirstPageSubmissionQuestions(@Path("quiz_submission_id") long quizSubmissionId, Callback<QuizSubmissionQuestionResponse> callback);
-
-        @GET("/{next}")
-        void getNextPageSubmissionQuestions(@Path(value = "next", encode = false) String nextURL, Callback<QuizSubmissionQuestionResponse> callback);
-
-        @POST("/quiz_submissions/{quiz_submission_id}/questions")
-        void postQuizQuestionMultiChoice(@Path("quiz_submission_id") long quizSubmissionId, @Query("attempt") int attempt, @Query("validation_token") String token, @Query("quiz_questions[][id]") long questionId, @Query("quiz_questions[][answer]") long answer, Callback<QuizSubmissionQuestionResponse> callback);
-
-        @PUT("/quiz_submissions/{quiz_submission_id}/questions/{question_id}/flag")
-        void putFlagQuizQuestion(@Path("quiz_submission_id") long quizSubmissionId, @Path("question_id") long questionId, @Query("attempt") int attempt, @Query("validation_token") String token, CanvasCallback<Response> callback);
-
-        @PUT("/quiz_submissions/{quiz_submission_id}/questions/{question_id}/unflag")
-        void putUnflagQuizQuestion(@Path("quiz_submission_id") long quizSubmissionId, @Path("question_id") long questionId, @Query("attempt") int attempt, @Query("validation_token") String token, CanvasCallback<Response> callback);
-
-        @POST("/quiz_submissions/{quiz_submission_id}/questions")
-        void postQuizQuestionEssay(@Path("quiz_submission_id") long quizSubmissionId, @Query("attempt") int attempt, @Query("validation_token") String token, @Query("quiz_questions[][id]") long questionId, @Query("quiz_questions[][answer]") String answer, Callback<QuizSubmissionQuestionResponse> callback);
-
-        @POST("/{context_id}/quizzes/{quiz_id}/submissions/{submission_id}/complete")
-        void postQuizSubmit(@Path("context_id") long context_id, @Path("quiz_id") long quizId, @Path("submission_id") long submissionId, @Query("attempt") int attempt, @Query("validation_token") String token, Callback<QuizSubmissionResponse> callback);
-
-        @POST("/{context_id}/quizzes/{quiz_id}/submissions/{submission_id}/events")
-        void postQuizStartedEvent(@Path("context_id") long context_id, @Path("quiz_id") long quizId, @Path("submission_id") long submissionId, @Query("quiz_submission_events[][event_type]") String sessionStartedString, @Query("quiz_submission_events[][event_data][user_agent]") String userAgentString, CanvasCallback<Response> callback);
-
-        @GET("/{context_id}/quizzes/{quiz_id}/submissions/{submission_id}/time")
-        void getQuizSubmissionTime(@Path("context_id") long context_id, @Path("quiz_id") long quizId, @Path("submission_id") long submissionId, CanvasCallback<QuizSubmissionTime> callback);
-
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
@@ -1,15 +1,11 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.RecipientsInterface;
 import com.instructure.canvasapi.model.Recipient;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.Path;
-import retrofit.http.EncodedQuery;
-import retrofit.http.GET;
-import retrofit.http.Query;
 
 /**
  * Created by Josh Ruesch on 10/16/13.
@@ -18,17 +14,6 @@ import retrofit.http.Query;
  */
 public class RecipientAPI {
 
-    interface RecipientsInterface {
-        @GET("/search/recipients?synthetic_contexts=1")
-        void getFirstPageRecipientsList(@Query("search") String searchTerm, @EncodedQuery("context")String context, Callback<Recipient[]> callback);
-
-        @GET("/search/recipients?synthetic_contexts=1")
-        void getFirstPageRecipientsListNoContext(@Query("search") String searchTerm, Callback<Recipient[]> callback);
-
-        @GET("/{next}")
-        void getNextPageRecipientsList(@Path(value = "next", encode = false) String nextURL, Callback<Recipient[]> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
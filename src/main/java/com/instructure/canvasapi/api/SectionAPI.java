@@ -1,5 +1,6 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.SectionsInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.Course;
 import com.instructure.canvasapi.model.Section;
@@ -10,12 +11,7 @@ import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
 import java.util.Date;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.Path;
-import retrofit.http.GET;
-import retrofit.http.PUT;
-import retrofit.http.Query;
 
 /**
  * Created by Josh Ruesch on 2/10/14.
@@ -40,31 +36,6 @@ public class SectionAPI {
         return "/sections/" + section_id + "/assignments/" + assignment_id + "/submissions";
     }
 
-    interface SectionsInterface {
-
-        @PUT("{courseid}/sections/{sectionid}")
-        void updateSection(@Path("courseid") long courseID, @Path("sectionid") long sectionID,
-                @Query("course_section[name]") String name,
-                @Query("course_section[start_at]") String startAt, @Query("course_section[end_at]") String endAt,
-                CanvasCallback<Section> callback
-        );
-
-        @GET("/{courseid}/sections")
-        void getFirstPageSectionsList(@Path("courseid") long courseID, Callback<Section[]> callback);
-
-        @GET("/{courseid}/sections?include[]=students&include[]=avatar_url")
-        void getCourseSectionsWithStudents(@Path("courseid") long courseID, Callback<Section[]> callback);
-
-        @GET("/{next}")
-        void getNextPageSectionsList(@Path(value = "next", encode = false) String nextURL, Callback<Section[]> callback);
-
-        @GET("/courses/{courseid}/sections/{sectionid}")
-        void getSingleSection(@Path("courseid") long courseID, @Path("sectionid") long sectionID, Callback<Section> callback);
-
-        @GET("/{section_id}/assignments/{assignment_id}/submissions")
-        void getAssignmentSubmissionsForSection(@Path("section_id") long section_id, @Path("assignment_id") long assignment_id, Callback<Submission[]> callback);
-    }
-
 
     private static SectionsInterface buildInterface(CanvasCallback<?> callback, CanvasContext canvasContext) {
         RestAdapter restAdapter = CanvasRestAdapter.buildAdapter(callback, canvasContext);
@@ -2,6 +2,7 @@ package com.instructure.canvasapi.api;
 
 import android.content.Context;
 
+import com.instructure.canvasapi.core.api.StreamInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.HiddenStreamItem;
 import com.instructure.canvasapi.model.StreamItem;
@@ -9,12 +10,7 @@ import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.DELETE;
-import retrofit.http.Path;
-import retrofit.http.GET;
-import retrofit.http.Query;
 
 /**
  * Created by Joshua Dutton on 10/22/13.
@@ -30,27 +26,6 @@ public class StreamAPI {
         return canvasContext.toAPIString() + "/activity_stream";
     }
 
-    interface StreamInterface {
-        @GET("/users/self/activity_stream")
-        void getUserStream(Callback<StreamItem[]> callback);
-
-        @DELETE("/users/self/activity_stream/{streamID}")
-        void hideStreamItem(@Path("streamID")long streamID, Callback<HiddenStreamItem> callback);
-
-        @GET("/{context_id}/activity_stream")
-        void getContextStream(@Path("context_id") long context_id, Callback<StreamItem[]> callback);
-
-        @GET("/{next}")
-        void getNextPageStream(@Path(value = "next", encode = false) String nextURL, Callback<StreamItem[]> callback);
-
-        /////////////////////////////////////////////////////////////////////////////
-        // Synchronous
-        /////////////////////////////////////////////////////////////////////////////
-
-        @GET("/users/self/activity_stream")
-        StreamItem[] getUserStreamSynchronous(@Query("per_page") int number);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
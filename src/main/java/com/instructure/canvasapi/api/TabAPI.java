@@ -1,15 +1,12 @@
 package com.instructure.canvasapi.api;
 
+import com.instructure.canvasapi.core.api.TabsInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.Tab;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
 import retrofit.RestAdapter;
-import retrofit.http.GET;
-import retrofit.http.PUT;
-import retrofit.http.Path;
-import retrofit.http.Query;
 
 /**
  * Created by Josh Ruesch on 12/30/13.
@@ -22,15 +19,6 @@ public class TabAPI {
         return canvasContext.toAPIString() + "/tabs";
     }
 
-    interface TabsInterface {
-
-        @PUT("{/context_id}/tabs{tab_id}")
-        void updateTab(@Query("hidden") Integer hidden, @Query("position") Integer oneBasedIndexPosition, CanvasCallback<Tab> callback);
-
-        @GET("/{context_id}/tabs?include[]=external")
-        void getTabs(@Path("context_id") long context_id, CanvasCallback<Tab[]> callback);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
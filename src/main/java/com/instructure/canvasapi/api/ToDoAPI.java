@@ -1,18 +1,15 @@
 package com.instructure.canvasapi.api;
 
 import android.content.Context;
-import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.core.api.ToDosInterface;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.ToDo;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
-import retrofit.Callback;
+import com.instructure.canvasapi.utilities.ToDoMerger;
 import retrofit.RestAdapter;
 import retrofit.client.Response;
-import retrofit.http.DELETE;
-import retrofit.http.Path;
-import retrofit.http.GET;
 
 import java.util.*;
 
@@ -30,28 +27,6 @@ public class ToDoAPI {
         return canvasContext.toAPIString() + "/todo";
     }
 
-    interface ToDosInterface {
-        @GET("/users/self/todo")
-        void getUserTodos(Callback<ToDo[]> callback);
-
-        @GET("/{context_id}/todo")
-        void getCourseTodos(@Path("context_id") long context_id, Callback<ToDo[]> callback);
-
-        @DELETE("/{path}")
-        void dismissTodo(@Path(value = "path", encode = false)String path, CanvasCallback<Response>responseCallback);
-
-        /////////////////////////////////////////////////////////////////////////////
-        // Synchronous
-        /////////////////////////////////////////////////////////////////////////////
-
-        @GET("/{context_id}/todo")
-        ToDo[] getCourseTodos(@Path("context_id") long courseID);
-
-        @GET("/users/self/todo")
-        ToDo[] getUserTodos();
-
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
@@ -106,86 +81,24 @@ public class ToDoAPI {
     // Helper Methods
     /////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Merges the to do list with upcoming events by date, leaving out upcoming events for assignments
+     * already on the to do list. Use ToDoMerger directly for more sources, or to refresh one at a time.
+     *
+     * Neither list is sorted first. On the same date the upcoming event goes first, and once the to do list
+     * reaches an item without a due date every remaining upcoming event goes before it.
+     *
+     * @return null if both are null.
+     */
     public static ArrayList<ToDo> mergeToDoUpcoming(ArrayList<ToDo> todos, ArrayList<ToDo> upcomingEvents) {
         if (todos == null && upcomingEvents == null) {
             return null;
         }
 
-        if (todos == null) {
-            todos = new ArrayList<ToDo>();
-        }
-
-        if (upcomingEvents == null) {
-            upcomingEvents = new ArrayList<ToDo>();
-        }
-
-        //Add all Assignment ids from TODO
-        HashMap<Long, Boolean> assignmentIds = new HashMap<Long, Boolean>();
-        for (ToDo toDo : todos) {
-            if (toDo.getAssignment() != null) {
-                assignmentIds.put(toDo.getAssignment().getId(), true);
-            }
-        }
-        //If the hashmap contains any assignment ids from Upcoming, it's a duplicate
-        Iterator<ToDo> iterator = upcomingEvents.iterator();
-        while (iterator.hasNext()) {
-            ToDo current = iterator.next();
-            Assignment assignment = current.getScheduleItem().getAssignment();
-            if (assignment != null && assignmentIds.containsKey(assignment.getId())) {
-                //We already have it in ToDo so remove the item.
-                iterator.remove();
-            }
-        }
-
-        int todoIndex = 0;
-        int upcomingIndex = 0;
-        ArrayList<ToDo> merged = new ArrayList<ToDo>();
-
-        while (todoIndex < todos.size() || upcomingIndex < upcomingEvents.size()) {
-            //We only have upcoming left.
-            if (todoIndex >= todos.size()) {
-                List<ToDo> subset = upcomingEvents.subList(upcomingIndex, upcomingEvents.size());
-                for (ToDo upcomming : subset) {
-                    merged.add(upcomming);
-                }
-                return merged;
-            }
-
-            //We only have todo left.
-            if (upcomingIndex >= upcomingEvents.size()) {
-                List<ToDo> subset = todos.subList(todoIndex, todos.size());
-                for (ToDo td : subset) {
-                    merged.add(td);
-                }
-                return merged;
-            }
-
-            //We need to determine which one comes sooner.
-            Date toDoDate;
-            if (todos.get(todoIndex).getAssignment() == null) {
-                toDoDate = null;
-            } else {
-                toDoDate = todos.get(todoIndex).getAssignment().getDueDate();
-            }
-            Date upcomingDate = upcomingEvents.get(upcomingIndex).getScheduleItem().getStartDate();
-
-            //handle null cases first
-            if (toDoDate == null) {
-                merged.add(upcomingEvents.get(upcomingIndex));
-                upcomingIndex++;
-            } else if (upcomingDate == null) {
-                merged.add(todos.get(todoIndex));
-                todoIndex++;
-            } else if (toDoDate.before(upcomingDate)) {
-                merged.add(todos.get(todoIndex));
-                todoIndex++;
-            } else {
-                merged.add(upcomingEvents.get(upcomingIndex));
-                upcomingIndex++;
-            }
-        }
-        //Should never get here.
-        return merged;
+        ToDoMerger merger = new ToDoMerger(true);
+        merger.setToDos("todo", todos);
+        merger.setToDos("upcoming", upcomingEvents);
+        return merger.getMerged();
     }
 
     /////////////////////////////////////////////////////////////////////////////
@@ -2,14 +2,13 @@ package com.instructure.canvasapi.api;
 
 import android.content.Context;
 
+import com.instructure.canvasapi.core.api.UnreadCountsInterface;
 import com.instructure.canvasapi.model.UnreadConversationCount;
 import com.instructure.canvasapi.model.UnreadNotificationCount;
 import com.instructure.canvasapi.utilities.APIHelpers;
 import com.instructure.canvasapi.utilities.CanvasCallback;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.http.GET;
 
 /**
  * Created by Josh Ruesch on 8/9/13.
@@ -25,29 +24,15 @@ public class UnreadCountAPI {
         return "/users/self/activity_stream/summary";
     }
 
-    interface UnreadCountsInterface {
-        @GET("/conversations/unread_count")
-        void getUnreadConversationCount(Callback<UnreadConversationCount> callback);
-
-        @GET("/users/self/activity_stream/summary")
-        void getNotificationsCount(Callback<UnreadNotificationCount[]> callback);
-
-        /////////////////////////////////////////////////////////////////////////////
-        // Synchronous
-        /////////////////////////////////////////////////////////////////////////////
-
-        @GET("/conversations/unread_count")
-        UnreadConversationCount getUnreadConversationCountSynchronous();
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
 
     private static UnreadCountsInterface buildInterface(CanvasCallback<?> callback) {
-
-        return buildInterface(callback.getContext());
+        RestAdapter restAdapter = CanvasRestAdapter.buildAdapter(callback);
+        return restAdapter.create(UnreadCountsInterface.class);
     }
+
     private static UnreadCountsInterface buildInterface(Context context) {
         RestAdapter restAdapter = CanvasRestAdapter.buildAdapter(context);
         return restAdapter.create(UnreadCountsInterface.class);
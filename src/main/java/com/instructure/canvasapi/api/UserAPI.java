@@ -2,6 +2,7 @@ package com.instructure.canvasapi.api;
 
 import android.content.Context;
 import android.util.Log;
+import com.instructure.canvasapi.core.api.UsersInterface;
 import com.instructure.canvasapi.model.Attachment;
 import com.instructure.canvasapi.model.CanvasContext;
 import com.instructure.canvasapi.model.Enrollment;
@@ -10,7 +11,6 @@ import com.instructure.canvasapi.model.User;
 import com.instructure.canvasapi.utilities.*;
 import java.io.File;
 import java.util.LinkedHashMap;
-import retrofit.Callback;
 import retrofit.RestAdapter;
 import retrofit.http.*;
 import retrofit.mime.TypedFile;
@@ -48,46 +48,6 @@ public class UserAPI {
         return "/users/self";
     }
 
-    interface UsersInterface {
-        @GET("/users/self/profile")
-        void getSelf(Callback<User> callback);
-
-        // TODO: We probably need to create a helper that does each of these individually
-        @GET("/users/self/enrollments?state[]=active&state[]=invited&state[]=completed")
-        void getSelfEnrollments(Callback<Enrollment[]> callback);
-
-        @GET("/users/self")
-        void getSelfWithPermission(CanvasCallback<User> callback);
-
-        @PUT("/users/self")
-        void updateShortName(@Query("user[short_name]") String shortName, Callback<User> callback);
-
-        @GET("/users/{userid}/profile")
-        void getUserById(@Path("userid")long userId, Callback<User> userCallback);
-
-        @GET("/{context_id}/users/{userid}?include[]=avatar_url&include[]=user_id&include[]=email&include[]=bio")
-        void getUserById(@Path("context_id") long context_id, @Path("userid")long userId, Callback<User> userCallback);
-
-        @GET("/{context_id}/users?include[]=enrollments&include[]=avatar_url&include[]=user_id&include[]=email&include[]=bio")
-        void getFirstPagePeopleList(@Path("context_id") long context_id, Callback<User[]> callback);
-
-        @GET("/{context_id}/users?include[]=enrollments&include[]=avatar_url&include[]=user_id&include[]=email")
-        void getFirstPagePeopleListWithEnrollmentType(@Path("context_id") long context_id, @Query("enrollment_type") String enrollmentType, Callback<User[]> callback);
-
-        @GET("/{next}")
-        void getNextPagePeopleList(@Path(value = "next", encode = false) String nextURL, Callback<User[]> callback);
-
-        @POST("/users/self/file")
-        void uploadUserFileURL( @Query("url") String fileURL, @Query("name") String fileName, @Query("size") long size, @Query("content_type") String content_type, @Query("parent_folder_path") String parentFolderPath, Callback<String> callback);
-
-        @POST("/users/self/files")
-        FileUploadParams getFileUploadParams( @Query("size") long size, @Query("name") String fileName, @Query("content_type") String content_type, @Query("parent_folder_id") Long parentFolderId);
-
-        @Multipart
-        @POST("/")
-        Attachment uploadUserFile(@PartMap LinkedHashMap<String, String> params, @Part("file") TypedFile file);
-    }
-
     /////////////////////////////////////////////////////////////////////////
     // Build Interface Helpers
     /////////////////////////////////////////////////////////////////////////
@@ -2,32 +2,20 @@ package com.instructure.canvasapi.api.compatibility_synchronous;
 
 import android.app.Activity;
 import android.content.Context;
-import android.net.http.AndroidHttpClient;
 
 import com.google.gson.Gson;
 import com.instructure.canvasapi.model.Attachment;
 import com.instructure.canvasapi.model.Avatar;
 import com.instructure.canvasapi.utilities.CanvasRestAdapter;
+import com.instructure.canvasapi.utilities.FileUploader;
 
-import org.apache.http.Header;
-import org.apache.http.HttpResponse;
-import org.apache.http.HttpVersion;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.client.params.ClientPNames;
-import org.apache.http.client.params.CookiePolicy;
-import org.apache.http.entity.mime.MultipartEntity;
-import org.apache.http.entity.mime.content.FileBody;
-import org.apache.http.entity.mime.content.StringBody;
 import org.apache.http.message.BasicNameValuePair;
-import org.apache.http.params.BasicHttpParams;
-import org.apache.http.params.CoreProtocolPNames;
-import org.apache.http.params.HttpParams;
-import org.apache.http.util.EntityUtils;
 import org.json.JSONObject;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 
 /**
@@ -284,52 +272,40 @@ public class UploadFileSynchronousAPI {
         }
     }
 
-    //needs to be AndroidHttpClient to work for some reason. Not really clear why.
-    private static AndroidHttpClient mHttpClient;
-
-
     //STEPS 2 AND 3 OF API
 
     public static String uploadFile(File image, String url, String contentType, ArrayList<BasicNameValuePair> pairs, Context context) {
+        return uploadFile(image, url, contentType, pairs, null, context);
+    }
+
+    /**
+     * Streams the file to the upload_url from step 1, retrying if the connection drops, then confirms it.
+     *
+     * @param progressListener Can be null. Called on this thread as the file goes up.
+     */
+    public static String uploadFile(File image, String url, String contentType, ArrayList<BasicNameValuePair> pairs, FileUploader.ProgressListener progressListener, Context context) {
 
         try {
             //STEP 2 of API
-            HttpPost httppost = new HttpPost(url);
-            MultipartEntity multipartEntity = new MultipartEntity();
-
+            LinkedHashMap<String, String> fields = new LinkedHashMap<String, String>();
             for(BasicNameValuePair pair : pairs) {
-                String value = pair.getValue();
-                multipartEntity.addPart(pair.getName(), new StringBody(pair.getValue()));
+                fields.put(pair.getName(), pair.getValue());
             }
 
-            multipartEntity.addPart("file", new FileBody(image));
-            httppost.setEntity(multipartEntity);
-
-            HttpParams params = new BasicHttpParams();
-            params.setParameter(CoreProtocolPNames.PROTOCOL_VERSION, HttpVersion.HTTP_1_1);
-            if(mHttpClient == null) {
-                mHttpClient = AndroidHttpClient.newInstance("agent");
-                mHttpClient.getParams().setParameter(ClientPNames.COOKIE_POLICY, CookiePolicy.RFC_2109);
-                mHttpClient.getParams().setParameter(CoreProtocolPNames.PROTOCOL_VERSION, HttpVersion.HTTP_1_1);
-
-            }
-            HttpResponse httpResponse = mHttpClient.execute(httppost);
-            String response = EntityUtils.toString(httpResponse.getEntity(), "UTF-8");
+            //Redirects aren't followed, S3 sends us to step 3 with one.
+            FileUploader uploader = new FileUploader(progressListener);
+            FileUploader.UploadResponse httpResponse = uploader.uploadMultipart(url, fields, "file", image, contentType);
 
             //STEP 3 of API
-            Header[] headerLocation = httpResponse.getHeaders("Location");
-            if(headerLocation.length <= 0) {
+            String location = httpResponse.getLocation();
+            if(location == null) {
                 return "Header error";
             }
-            String location = headerLocation[0].getValue();
-            Header[] headerContent = httpResponse.getHeaders("Content-Length");
-            if(headerContent.length <= 0) {
+            if(httpResponse.getHeader("Content-Length") == null) {
                 return "Header content error";
             }
 
-            BasicNameValuePair pair = new BasicNameValuePair(headerContent[0].getName(), headerContent[0].getValue());
             ArrayList<BasicNameValuePair> paramPairs = new ArrayList<BasicNameValuePair>();
-            pairs.add(pair);
             APIHttpResponse postResponse = HttpHelpers.httpPost(location, paramPairs, context);
 
             return postResponse.responseBody;
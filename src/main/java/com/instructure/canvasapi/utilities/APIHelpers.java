@@ -1,10 +1,12 @@
 package com.instructure.canvasapi.utilities;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 import android.util.Log;
 
 import com.google.gson.Gson;
+import com.instructure.canvasapi.core.CanvasDates;
+import com.instructure.canvasapi.core.LinkHeaderParser;
+import com.instructure.canvasapi.core.UrlHelpers;
 import com.instructure.canvasapi.model.User;
 import retrofit.client.Header;
 
@@ -47,6 +49,13 @@ public class APIHelpers {
      */
     public final static String LOG_TAG = "canvas-api";
 
+    /**
+     * Every credential and setting below is read and written through this store.
+     */
+    private static SharedPreferencesStore getStore(Context context) {
+        return new SharedPreferencesStore(context, SHARED_PREFERENCES_NAME);
+    }
+
     /**
      *
      * GetAssetsFile allows you to open a file that exists in the Assets directory.
@@ -89,11 +98,7 @@ public class APIHelpers {
         }
 
         //Clear credentials.
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.clear();
-
-        boolean sharedPreferencesDeleted =  editor.commit();
+        boolean sharedPreferencesDeleted = getStore(context).clear();
 
         //Delete cache.
         File cacheDir = new File(context.getFilesDir(), FileUtilities.FILE_DIRECTORY);
@@ -120,16 +125,12 @@ public class APIHelpers {
             if (userString == null) {
                 return false;
             }
-            SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-            SharedPreferences.Editor editor = sharedPreferences.edit();
-
             String sharedPrefsKey = SHARED_PREFERENCES_USER;
             if(Masquerading.isMasquerading(context)){
                 sharedPrefsKey = SHARED_PREFERENCES_MASQUERADED_USER;
             }
 
-            editor.putString(sharedPrefsKey, userString);
-            return  editor.commit();
+            return getStore(context).putString(sharedPrefsKey, userString);
         }
     }
 
@@ -216,14 +217,12 @@ public class APIHelpers {
             return null;
         }
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-
         String sharedPrefsKey = SHARED_PREFERENCES_USER;
         if(Masquerading.isMasquerading(context)){
             sharedPrefsKey = SHARED_PREFERENCES_MASQUERADED_USER;
         }
 
-        String userString = sharedPreferences.getString(sharedPrefsKey, null);
+        String userString = getStore(context).getString(sharedPrefsKey, null);
         if (userString == null) {
             return null;
         } else {
@@ -244,8 +243,7 @@ public class APIHelpers {
             return "";
         }
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        return sharedPreferences.getString(SHARED_PREFERENCES_USER_AGENT, "");
+        return getStore(context).getString(SHARED_PREFERENCES_USER_AGENT, "");
 
     }
 
@@ -261,10 +259,7 @@ public class APIHelpers {
             return false;
         }
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(SHARED_PREFERENCES_USER_AGENT, userAgent);
-        return editor.commit();
+        return getStore(context).putString(SHARED_PREFERENCES_USER_AGENT, userAgent);
     }
 
     /**
@@ -296,8 +291,7 @@ public class APIHelpers {
             return "";
         }
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        String domain =  sharedPreferences.getString(SHARED_PREFERENCES_DOMAIN, "");
+        String domain = getStore(context).getString(SHARED_PREFERENCES_DOMAIN, "");
 
         while (domain != null && domain.endsWith("/")) {
             domain = domain.substring(0, domain.length() - 1);
@@ -334,8 +328,7 @@ public class APIHelpers {
             return "";
         }
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        String domain =  sharedPreferences.getString(SHARED_PREFERENCES_KALTURA_DOMAIN, "");
+        String domain = getStore(context).getString(SHARED_PREFERENCES_KALTURA_DOMAIN, "");
 
         while (domain != null && domain.endsWith("/")) {
             domain = domain.substring(0, domain.length() - 1);
@@ -361,10 +354,7 @@ public class APIHelpers {
 
        domain = removeProtocol(domain);
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(SHARED_PREFERENCES_DOMAIN, domain);
-        return editor.commit();
+        return getStore(context).putString(SHARED_PREFERENCES_DOMAIN, domain);
     }
 
     /**
@@ -384,10 +374,7 @@ public class APIHelpers {
 
         kalturaDomain = removeProtocol(kalturaDomain);
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(SHARED_PREFERENCES_KALTURA_DOMAIN, kalturaDomain);
-        return editor.commit();
+        return getStore(context).putString(SHARED_PREFERENCES_KALTURA_DOMAIN, kalturaDomain);
     }
 
     /**
@@ -396,8 +383,7 @@ public class APIHelpers {
      * @return
      */
     public static String getToken(Context context) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        return sharedPreferences.getString(SHARED_PREFERENCES_TOKEN, "");
+        return getStore(context).getString(SHARED_PREFERENCES_TOKEN, "");
     }
 
     /**
@@ -411,10 +397,7 @@ public class APIHelpers {
             return false;
         }
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(SHARED_PREFERENCES_TOKEN, token);
-        return editor.commit();
+        return getStore(context).putString(SHARED_PREFERENCES_TOKEN, token);
     }
 
     /**
@@ -423,8 +406,7 @@ public class APIHelpers {
      * @return
      */
     public static String getKalturaToken(Context context) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        return sharedPreferences.getString(SHARED_PREFERENCES_KALTURA_TOKEN, "");
+        return getStore(context).getString(SHARED_PREFERENCES_KALTURA_TOKEN, "");
     }
 
     /**
@@ -438,10 +420,7 @@ public class APIHelpers {
             return false;
         }
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(SHARED_PREFERENCES_KALTURA_TOKEN, token);
-        return editor.commit();
+        return getStore(context).putString(SHARED_PREFERENCES_KALTURA_TOKEN, token);
     }
 
     /**
@@ -455,8 +434,7 @@ public class APIHelpers {
             return "https";
         }
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        return sharedPreferences.getString(SHARED_PREFERENCES_API_PROTOCOL, "https");
+        return getStore(context).getString(SHARED_PREFERENCES_API_PROTOCOL, "https");
     }
 
     /**
@@ -471,10 +449,7 @@ public class APIHelpers {
             return false;
         }
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(SHARED_PREFERENCES_API_PROTOCOL, protocol);
-        return editor.commit();
+        return getStore(context).putString(SHARED_PREFERENCES_API_PROTOCOL, protocol);
     }
 
 
@@ -485,10 +460,7 @@ public class APIHelpers {
      */
     public static void setDefaultErrorDelegateClass(Context context, String errorDelegateClassName) {
 
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(SHARED_PREFERENCES_ERROR_DELEGATE_CLASS_NAME, errorDelegateClassName);
-        editor.apply();
+        getStore(context).putString(SHARED_PREFERENCES_ERROR_DELEGATE_CLASS_NAME, errorDelegateClassName);
     }
 
     /**
@@ -497,8 +469,7 @@ public class APIHelpers {
      * @param context
      */
     public static String getDefaultErrorDelegateClass(Context context) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
-        return sharedPreferences.getString(SHARED_PREFERENCES_ERROR_DELEGATE_CLASS_NAME, null);
+        return getStore(context).getString(SHARED_PREFERENCES_ERROR_DELEGATE_CLASS_NAME, null);
 
     }
     /**
@@ -517,16 +488,7 @@ public class APIHelpers {
      * @return
      */
     public static String removeDomainFromUrl(String url) {
-        if(url == null){
-            return null;
-        }
-
-        String prefix = "/api/v1/";
-        int index = url.indexOf(prefix);
-        if (index != -1) {
-            url = url.substring(index + prefix.length());
-        }
-        return url;
+        return UrlHelpers.removeDomainFromUrl(url);
     }
 
 
@@ -539,12 +501,7 @@ public class APIHelpers {
      * Transform Calendar to ISO 8601 string.
      */
     public static String dateToString(final Date date) {
-        if (date == null){
-            return null;
-        }
-
-        String formatted = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ", Locale.US).format(date);
-        return formatted.substring(0, 22) + ":" + formatted.substring(22);
+        return CanvasDates.dateToString(date);
     }
 
     /**
@@ -568,13 +525,7 @@ public class APIHelpers {
      * Transform ISO 8601 string to Calendar.
      */
     public static Date stringToDate(final String iso8601string) {
-        try {
-            String s = iso8601string.replace("Z", "+00:00");
-            s = s.substring(0, 22) + s.substring(23);
-            return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ", Locale.US).parse(s);
-        } catch (Exception e) {
-            return null;
-        }
+        return CanvasDates.stringToDate(iso8601string);
     }
 
     /**
@@ -584,35 +535,7 @@ public class APIHelpers {
      * @return
      */
     public static LinkHeaders parseLinkHeaderResponse(Context context, List<Header> headers) {
-        LinkHeaders linkHeaders = new LinkHeaders();
-
-        for (int i = 0; i < headers.size(); i++) {
-            if ("link".equalsIgnoreCase(headers.get(i).getName())) {
-                String[] split = headers.get(i).getValue().split(",");
-                for (int j = 0; j < split.length; j++) {
-                    int index = split[j].indexOf(">");
-                    String url = split[j].substring(0, index);
-                    url = url.substring(1);
-
-                    //Remove the domain.
-                    url = removeDomainFromUrl(url);
-
-                    if (split[j].contains("rel=\"next\"")) {
-                        linkHeaders.nextURL = url;
-                    } else if (split[j].contains("rel=\"prev\"")) {
-                        linkHeaders.prevURL = url;
-                    } else if (split[j].contains("rel=\"first\"")) {
-                        linkHeaders.firstURL = url;
-                    } else if (split[j].contains("rel=\"last\"")) {
-                        linkHeaders.lastURL = url;
-                    }
-                }
-
-                break;
-            }
-        }
-
-        return linkHeaders;
+        return LinkHeaderParser.parse(headers);
     }
 
     public static APIStatusDelegate statusDelegateWithContext(final Context context) {
@@ -666,13 +589,7 @@ public class APIHelpers {
     }
 
     private static String removeProtocol(String domain){
-        if (domain.contains("https://")) {
-          return domain.substring(8);
-        }
-        if (domain.startsWith("http://")) {
-            return domain.substring(7);
-        }
-        else return domain;
+        return UrlHelpers.removeProtocol(domain);
     }
 
 
@@ -0,0 +1,447 @@
+package com.instructure.canvasapi.utilities;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+
+/**
+ * AggregateLoader issues a set of API calls at the same time and joins their results.
+ *
+ * Each part is a regular API call (CourseAPI.getCourseWithGrade, TabAPI.getTabs, ...) that gets handed
+ * its own CanvasCallback. The AggregateCallback is told once when every part has read its cache and once
+ * when every part has come back from the network. A part that fails doesn't fail the others; its error
+ * is on the Result instead. A part that comes back without a body, or whose API call returns without making
+ * a request (e.g. a null parameter), finishes with a null value.
+ *
+ * Usage:
+ *
+ *      AggregateLoader loader = new AggregateLoader();
+ *      final AggregateLoader.Key<Course> course = loader.add("course", new AggregateLoader.Part<Course>() {
+ *          public void load(CanvasCallback<Course> callback) { CourseAPI.getCourseWithGrade(courseId, callback); }
+ *      });
+ *      final AggregateLoader.Key<Tab[]> tabs = loader.add("tabs", new AggregateLoader.Part<Tab[]>() {
+ *          public void load(CanvasCallback<Tab[]> callback) { TabAPI.getTabs(canvasContext, callback); }
+ *      });
+ *      loader.load(statusDelegate, new AggregateLoader.AggregateCallback() { ... });
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class AggregateLoader {
+
+    private final List<PartHolder<?>> parts = new ArrayList<PartHolder<?>>();
+    private boolean started = false;
+
+    private APIStatusDelegate statusDelegate;
+    private AggregateCallback aggregateCallback;
+    private long startTime;
+    private boolean cacheDelivered = false;
+    private boolean networkDelivered = false;
+    private boolean isCancelled = false;
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Interface
+    ///////////////////////////////////////////////////////////////////////////
+
+    public interface Part<T> {
+        /**
+         * Make the API call with the given callback. Don't wrap or replace the callback, though setting its client is fine.
+         * The request has to be made through CanvasRestAdapter.buildAdapter(callback), like every API class does,
+         * or the part is taken to have returned without making one and finishes right away.
+         * @param callback
+         */
+        public void load(CanvasCallback<T> callback);
+    }
+
+    public interface AggregateCallback {
+        /**
+         * Called once every part has read its cache (or has nothing cached).
+         * Not called if the network finished first.
+         */
+        public void cache(Result result);
+
+        /**
+         * Called once every part has either succeeded or failed.
+         */
+        public void finished(Result result);
+    }
+
+    /**
+     * A typed handle to a part's value in a Result.
+     */
+    public static final class Key<T> {
+        private final int index;
+        private final String name;
+
+        private Key(int index, String name) {
+            this.index = index;
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Building
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Adds a part. Must be called before load().
+     *
+     * @param name Used in the timing breakdown.
+     * @param part
+     * @return The key used to get the value out of the Result.
+     */
+    public synchronized <T> Key<T> add(String name, Part<T> part) {
+        if (started) {
+            throw new IllegalStateException("Parts can't be added after load() has been called");
+        }
+        if (part == null) {
+            throw new IllegalArgumentException("Part cannot be null");
+        }
+
+        Key<T> key = new Key<T>(parts.size(), name);
+        parts.add(new PartHolder<T>(key, part));
+        return key;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Loading
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Starts every part at once. All of them go through the shared Retrofit executor so they run concurrently.
+     *
+     * @param statusDelegate onCallbackStarted is called once, onCallbackFinished once for the cache and once for the API.
+     * @param aggregateCallback
+     */
+    public void load(APIStatusDelegate statusDelegate, AggregateCallback aggregateCallback) {
+        if (APIHelpers.paramIsNull(statusDelegate, aggregateCallback)) return;
+
+        synchronized (this) {
+            if (started) {
+                throw new IllegalStateException("An AggregateLoader can only be loaded once");
+            }
+            started = true;
+            this.statusDelegate = statusDelegate;
+            this.aggregateCallback = aggregateCallback;
+            this.startTime = SystemClock.elapsedRealtime();
+        }
+
+        statusDelegate.onCallbackStarted();
+
+        if (parts.isEmpty()) {
+            deliverIfReady();
+            return;
+        }
+
+        for (PartHolder<?> holder : parts) {
+            holder.start();
+        }
+    }
+
+    /**
+     * Cancels every part. Neither callback will be called afterwards.
+     */
+    public synchronized void cancel() {
+        isCancelled = true;
+        for (PartHolder<?> holder : parts) {
+            if (holder.callback != null) {
+                holder.callback.cancel();
+            }
+        }
+    }
+
+    private void deliverIfReady() {
+        Result cacheResult = null;
+        Result networkResult = null;
+
+        synchronized (this) {
+            if (isCancelled) {
+                return;
+            }
+
+            boolean allCacheDone = true;
+            boolean allNetworkDone = true;
+            for (PartHolder<?> holder : parts) {
+                allCacheDone &= (holder.cacheDone || holder.networkDone);
+                allNetworkDone &= holder.networkDone;
+            }
+
+            if (allNetworkDone && !networkDelivered) {
+                networkDelivered = true;
+                //No point showing the cache if the network beat it.
+                cacheDelivered = true;
+                networkResult = new Result(parts, SystemClock.elapsedRealtime() - startTime, false);
+            } else if (allCacheDone && !cacheDelivered) {
+                cacheDelivered = true;
+                cacheResult = new Result(parts, SystemClock.elapsedRealtime() - startTime, true);
+            }
+        }
+
+        if (cacheResult != null) {
+            aggregateCallback.cache(cacheResult);
+            statusDelegate.onCallbackFinished(CanvasCallback.SOURCE.CACHE);
+        }
+        if (networkResult != null) {
+            aggregateCallback.finished(networkResult);
+            statusDelegate.onCallbackFinished(CanvasCallback.SOURCE.API);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Result
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static class Result {
+        private final Object[] values;
+        private final RetrofitError[] errors;
+        private final String[] names;
+        private final long[] partTimes;
+        private final long totalTime;
+        private final boolean fromCache;
+
+        private Result(List<PartHolder<?>> parts, long totalTime, boolean fromCache) {
+            int size = parts.size();
+            values = new Object[size];
+            errors = new RetrofitError[size];
+            names = new String[size];
+            partTimes = new long[size];
+            this.totalTime = totalTime;
+            this.fromCache = fromCache;
+
+            for (int i = 0; i < size; i++) {
+                PartHolder<?> holder = parts.get(i);
+                names[i] = holder.key.name;
+                errors[i] = holder.error;
+                if (fromCache) {
+                    values[i] = holder.networkDone && holder.error == null ? holder.networkValue : holder.cacheValue;
+                    partTimes[i] = holder.cacheTime;
+                } else {
+                    values[i] = holder.error == null ? holder.networkValue : holder.cacheValue;
+                    partTimes[i] = holder.networkTime;
+                }
+            }
+        }
+
+        /**
+         * @return the value for the part. For failed parts this is the cached value, if any.
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T get(Key<T> key) {
+            return (T) values[key.index];
+        }
+
+        public RetrofitError getError(Key<?> key) {
+            return errors[key.index];
+        }
+
+        public boolean isSuccessful(Key<?> key) {
+            return errors[key.index] == null && values[key.index] != null;
+        }
+
+        public boolean hasErrors() {
+            for (RetrofitError error : errors) {
+                if (error != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public boolean isFromCache() {
+            return fromCache;
+        }
+
+        /**
+         * @return Milliseconds from load() until this result was joined.
+         */
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+        /**
+         * @return Milliseconds from load() until the given part finished.
+         */
+        public long getTime(Key<?> key) {
+            return partTimes[key.index];
+        }
+
+        /**
+         * @return The name of the part that finished last, i.e. the one that bounded the total latency.
+         */
+        public String getSlowestPart() {
+            int slowest = -1;
+            for (int i = 0; i < partTimes.length; i++) {
+                if (slowest == -1 || partTimes[i] > partTimes[slowest]) {
+                    slowest = i;
+                }
+            }
+            return slowest == -1 ? null : names[slowest];
+        }
+
+        /**
+         * @return A "name: time ms" line per part, slowest first. Handy for logging.
+         */
+        public List<String> getTimingBreakdown() {
+            Integer[] order = new Integer[names.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer lhs, Integer rhs) {
+                    return partTimes[rhs] < partTimes[lhs] ? -1 : (partTimes[rhs] == partTimes[lhs] ? 0 : 1);
+                }
+            });
+
+            List<String> breakdown = new ArrayList<String>(names.length);
+            for (Integer index : order) {
+                breakdown.add(names[index] + ": " + partTimes[index] + " ms" + (errors[index] != null ? " (failed)" : ""));
+            }
+            return Collections.unmodifiableList(breakdown);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Parts
+    ///////////////////////////////////////////////////////////////////////////
+
+    private class PartHolder<T> {
+        private final Key<T> key;
+        private final Part<T> part;
+        private CanvasCallback<T> callback;
+
+        private T cacheValue;
+        private T networkValue;
+        private RetrofitError error;
+        private boolean cacheDone;
+        private boolean networkDone;
+        private long cacheTime;
+        private long networkTime;
+
+        private PartHolder(Key<T> key, Part<T> part) {
+            this.key = key;
+            this.part = part;
+        }
+
+        private void start() {
+            callback = new CanvasCallback<T>(new PartStatusDelegate(this)) {
+                @Override
+                public void cache(T t) {
+                    synchronized (AggregateLoader.this) {
+                        cacheValue = t;
+                    }
+                }
+
+                @Override
+                public void firstPage(T t, LinkHeaders linkHeaders, Response response) {
+                    synchronized (AggregateLoader.this) {
+                        networkValue = t;
+                    }
+                    networkFinished();
+                }
+
+                @Override
+                public void success(T t, Response response) {
+                    //CanvasCallback drops these without calling firstPage, so finish the part here.
+                    if (t == null || getContext() == null) {
+                        networkFinished();
+                        return;
+                    }
+                    super.success(t, response);
+                }
+
+                @Override
+                public void failure(RetrofitError retrofitError) {
+                    if (getContext() == null) {
+                        synchronized (AggregateLoader.this) {
+                            error = retrofitError;
+                        }
+                        networkFinished();
+                        return;
+                    }
+                    super.failure(retrofitError);
+                }
+
+                @Override
+                public void nextPage(T t, LinkHeaders linkHeaders, Response response) {
+                    //Parts are first pages only. Exhaustive calls join their pages before calling firstPage.
+                }
+
+                @Override
+                public boolean onFailure(RetrofitError retrofitError) {
+                    synchronized (AggregateLoader.this) {
+                        error = retrofitError;
+                    }
+                    networkFinished();
+                    //Keep the failure contained to this part. It's reported on the Result.
+                    return true;
+                }
+            };
+
+            part.load(callback);
+
+            //buildAdapter marks the callback unfinished. If it's still finished the call returned early and nothing will come back.
+            if (callback.isFinished()) {
+                networkFinished();
+            }
+        }
+
+        private void networkFinished() {
+            synchronized (AggregateLoader.this) {
+                if (networkDone) {
+                    return;
+                }
+                networkDone = true;
+                networkTime = SystemClock.elapsedRealtime() - startTime;
+            }
+            deliverIfReady();
+        }
+    }
+
+    private class PartStatusDelegate implements APIStatusDelegate {
+        private final PartHolder<?> holder;
+
+        private PartStatusDelegate(PartHolder<?> holder) {
+            this.holder = holder;
+        }
+
+        @Override
+        public void onCallbackStarted() { }
+
+        @Override
+        public void onCallbackFinished(CanvasCallback.SOURCE source) {
+            //The API side is tracked in firstPage/onFailure so the value or error is set before we join.
+            if (!source.isCache()) {
+                return;
+            }
+
+            synchronized (AggregateLoader.this) {
+                holder.cacheDone = true;
+                holder.cacheTime = SystemClock.elapsedRealtime() - startTime;
+            }
+            deliverIfReady();
+        }
+
+        @Override
+        public void onNoNetwork() {
+            statusDelegate.onNoNetwork();
+        }
+
+        @Override
+        public Context getContext() {
+            return statusDelegate.getContext();
+        }
+    }
+}
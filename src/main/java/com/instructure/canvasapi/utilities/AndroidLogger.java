@@ -0,0 +1,25 @@
+package com.instructure.canvasapi.utilities;
+
+import android.util.Log;
+
+import com.instructure.canvasapi.core.CanvasLogger;
+
+/**
+ * CanvasLogger that writes to logcat.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class AndroidLogger implements CanvasLogger {
+
+    public static final AndroidLogger INSTANCE = new AndroidLogger();
+
+    @Override
+    public void d(String message) {
+        Log.d(APIHelpers.LOG_TAG, message);
+    }
+
+    @Override
+    public void e(String message, Throwable throwable) {
+        Log.e(APIHelpers.LOG_TAG, message, throwable);
+    }
+}
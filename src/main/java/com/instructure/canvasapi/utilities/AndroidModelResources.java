@@ -0,0 +1,110 @@
+package com.instructure.canvasapi.utilities;
+
+import android.content.Context;
+
+import com.instructure.canvasapi.R;
+import com.instructure.canvasapi.core.ModelResources;
+
+import java.util.Date;
+
+/**
+ * ModelResources backed by the library's string resources and DateHelpers. ModelResources loads it by name.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class AndroidModelResources extends ModelResources {
+
+    @Override
+    public String getString(Context context, Key key) {
+        return context.getString(getStringResId(key));
+    }
+
+    @Override
+    public String getDomain(Context context) {
+        return APIHelpers.getDomain(context);
+    }
+
+    @Override
+    public String getFormattedDate(Context context, Date date) {
+        return DateHelpers.getFormattedDate(context, date);
+    }
+
+    @Override
+    public String getFormattedTime(Context context, Date date) {
+        return DateHelpers.getFormattedTime(context, date);
+    }
+
+    @Override
+    public String getDateTimeString(Context context, Date date) {
+        return DateHelpers.getDateTimeString(context, date);
+    }
+
+    @Override
+    public String createPrefixedDateString(Context context, Key prefix, Date date) {
+        return DateHelpers.createPrefixedDateString(context, getStringResId(prefix), date);
+    }
+
+    @Override
+    public String createPrefixedDateTimeString(Context context, Key prefix, Date date) {
+        return DateHelpers.createPrefixedDateTimeString(context, getStringResId(prefix), date);
+    }
+
+    private static int getStringResId(Key key) {
+        switch (key) {
+            case ONLINE:
+                return R.string.canvasAPI_online;
+            case ON_PAPER:
+                return R.string.canvasAPI_onPaper;
+            case NONE:
+                return R.string.canvasAPI_none;
+            case DISCUSSION:
+                return R.string.canvasAPI_discussion;
+            case DISCUSSION_TOPIC:
+                return R.string.canvasAPI_discussionTopic;
+            case QUIZ:
+                return R.string.canvasAPI_quiz;
+            case ONLINE_QUIZ:
+                return R.string.canvasAPI_onlineQuiz;
+            case EXTERNAL_TOOL:
+                return R.string.canvasAPI_externalTool;
+            case ONLINE_UPLOAD:
+                return R.string.canvasAPI_onlineUpload;
+            case ONLINE_TEXT_ENTRY:
+                return R.string.canvasAPI_onlineTextEntry;
+            case ONLINE_URL:
+                return R.string.canvasAPI_onlineURL;
+            case MEDIA_RECORDING:
+                return R.string.canvasAPI_mediaRecording;
+            case ATTENDANCE:
+                return R.string.canvasAPI_attendance;
+            case NOT_GRADED:
+                return R.string.canvasAPI_notGraded;
+            case PASS_FAIL:
+                return R.string.canvasAPI_passFail;
+            case PERCENT:
+                return R.string.canvasAPI_percent;
+            case LETTER_GRADE:
+                return R.string.canvasAPI_letterGrade;
+            case POINTS:
+                return R.string.canvasAPI_points;
+            case GPA_SCALE:
+                return R.string.canvasAPI_gpaScale;
+            case MESSAGE:
+                return R.string.Message;
+            case LOADING:
+                return R.string.Loading;
+            case DELETED:
+                return R.string.Deleted;
+            case ALL_DAY_EVENT:
+                return R.string.allDayEvent;
+            case STARTS:
+                return R.string.Starts;
+            case ENDS:
+                return R.string.Ends;
+            case TO:
+                return R.string.to;
+            default:
+                throw new IllegalArgumentException("No string for " + key);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.instructure.canvasapi.utilities;
+
+import com.instructure.canvasapi.api.CalendarEventAPI;
+import com.instructure.canvasapi.core.IntervalIndex;
+import com.instructure.canvasapi.model.ScheduleItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+
+/**
+ * CalendarStore keeps the calendar events already fetched, per context, and remembers which date windows
+ * each context has been fetched for. A month or week view asks it for a range:
+ *
+ *      calendarStore.load(monthStart, monthEnd, contextCodes, callback);
+ *
+ * Only the windows a context is missing are fetched, with getAlCalendarEvents() narrowed to them, and
+ * contexts missing the same window share a request. Paging back to a month already seen makes no request
+ * at all. Nothing asks for the whole 1990 to 2099 range.
+ *
+ * Each context's events are in an IntervalIndex on their start and end, so getEvents() for a range is
+ * logarithmic in the number of events stored rather than a filter over all of them.
+ *
+ * Times are epoch millis and ranges are [from, to). One store holds one EVENT_TYPE.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class CalendarStore {
+
+    private static class ContextEvents {
+        private final Map<Long, ScheduleItem> events = new HashMap<Long, ScheduleItem>();
+        //Fetched windows as {from, to}, sorted and not overlapping.
+        private final List<long[]> windows = new ArrayList<long[]>();
+
+        //Rebuilt on the next query after events change.
+        private ScheduleItem[] indexed;
+        private long[] starts;
+        private IntervalIndex index;
+    }
+
+    private static class Request {
+        private final long from;
+        private final long to;
+        private final ArrayList<String> contextCodes = new ArrayList<String>();
+
+        private Request(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private final static ExhaustiveBridgeCallback.ExhaustiveBridgeEvents<ScheduleItem> NEXT_PAGE = new ExhaustiveBridgeCallback.ExhaustiveBridgeEvents<ScheduleItem>() {
+        @Override
+        public void performApiCallWithExhaustiveCallback(CanvasCallback<ScheduleItem[]> callback, String nextURL) {
+            CalendarEventAPI.getNextPageCalendarEvents(nextURL, callback);
+        }
+
+        @Override
+        public Class<ScheduleItem> classType() {
+            return ScheduleItem.class;
+        }
+    };
+
+    private final CalendarEventAPI.EVENT_TYPE eventType;
+    private final Map<String, ContextEvents> contexts = new HashMap<String, ContextEvents>();
+
+    public CalendarStore(CalendarEventAPI.EVENT_TYPE eventType) {
+        this.eventType = eventType;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Loading
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Fetches whatever the contexts are missing of [from, to), then calls callback.firstPage() once with every
+     * event overlapping it, sorted by start. If nothing is missing it's called right away.
+     *
+     * @param contextCodes e.g. course_1, group_2, user_3
+     */
+    public void load(final long from, final long to, final ArrayList<String> contextCodes, final CanvasCallback<ScheduleItem[]> callback) {
+        if (APIHelpers.paramIsNull(callback, contextCodes)) { return; }
+
+        //Contexts missing the same window share a request.
+        Map<String, Request> requests = new LinkedHashMap<String, Request>();
+        synchronized (this) {
+            for (String contextCode : contextCodes) {
+                for (long[] window : getMissingWindows(contextCode, from, to)) {
+                    String key = window[0] + "-" + window[1];
+                    Request request = requests.get(key);
+                    if (request == null) {
+                        request = new Request(window[0], window[1]);
+                        requests.put(key, request);
+                    }
+                    request.contextCodes.add(contextCode);
+                }
+            }
+        }
+
+        if (requests.isEmpty()) {
+            callback.firstPage(getEventsArray(from, to, contextCodes), new LinkHeaders(), null);
+            return;
+        }
+
+        final int[] pending = { requests.size() };
+        final boolean[] failed = { false };
+        for (final Request request : requests.values()) {
+            CanvasCallback<ScheduleItem[]> windowCallback = new CanvasCallback<ScheduleItem[]>(callback.getStatusDelegate()) {
+                @Override
+                public void cache(ScheduleItem[] scheduleItems) {
+                }
+
+                @Override
+                public void firstPage(ScheduleItem[] scheduleItems, LinkHeaders linkHeaders, Response response) {
+                    putEvents(request.contextCodes, request.from, request.to, scheduleItems);
+                    pending[0]--;
+                    if (pending[0] == 0 && !failed[0] && !callback.isCancelled()) {
+                        callback.firstPage(getEventsArray(from, to, contextCodes), linkHeaders, response);
+                    }
+                }
+
+                @Override
+                public boolean onFailure(RetrofitError retrofitError) {
+                    //Report the first failure only.
+                    if (failed[0]) {
+                        return true;
+                    }
+                    failed[0] = true;
+                    return callback.onFailure(retrofitError);
+                }
+            };
+            windowCallback.setClient(callback.getClient());
+
+            ExhaustiveBridgeCallback<ScheduleItem> bridge = new ExhaustiveBridgeCallback<ScheduleItem>(windowCallback, NEXT_PAGE);
+            CalendarEventAPI.getAlCalendarEvents(eventType, APIHelpers.dateToString(new Date(request.from)),
+                    APIHelpers.dateToString(new Date(request.to)), request.contextCodes, bridge);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Store
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Stores what was fetched for [from, to) in the contexts, replacing what was stored for that window so
+     * deleted events go away. Each event is filed under its own context if it's one of contextCodes.
+     */
+    public synchronized void putEvents(Collection<String> contextCodes, long from, long to, ScheduleItem[] events) {
+        for (String contextCode : contextCodes) {
+            ContextEvents context = getContext(contextCode);
+            Iterator<ScheduleItem> iterator = context.events.values().iterator();
+            while (iterator.hasNext()) {
+                ScheduleItem event = iterator.next();
+                long start = getStart(event);
+                if (start < to && getEnd(event, start) > from) {
+                    iterator.remove();
+                }
+            }
+            addWindow(context.windows, from, to);
+            context.index = null;
+        }
+
+        if (events == null) {
+            return;
+        }
+        for (ScheduleItem event : events) {
+            String contextCode = resolveContextCode(event, contextCodes);
+            if (event == null || contextCode == null || getStart(event) == Long.MIN_VALUE) {
+                continue;
+            }
+            ContextEvents context = getContext(contextCode);
+            context.events.put(event.getId(), event);
+            context.index = null;
+        }
+    }
+
+    /**
+     * @return Every stored event overlapping [from, to) in the contexts, sorted by start. Doesn't fetch anything.
+     */
+    public synchronized List<ScheduleItem> getEvents(long from, long to, Collection<String> contextCodes) {
+        final List<ScheduleItem> events = new ArrayList<ScheduleItem>();
+        final List<Long> starts = new ArrayList<Long>();
+        for (String contextCode : contextCodes) {
+            ContextEvents context = contexts.get(contextCode);
+            if (context == null) {
+                continue;
+            }
+            buildIndex(context);
+            for (int item : context.index.query(from, to)) {
+                events.add(context.indexed[item]);
+                starts.add(context.starts[item]);
+            }
+        }
+
+        if (contextCodes.size() > 1) {
+            Integer[] order = new Integer[events.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer a, Integer b) {
+                    return starts.get(a).compareTo(starts.get(b));
+                }
+            });
+            List<ScheduleItem> sorted = new ArrayList<ScheduleItem>(events.size());
+            for (Integer i : order) {
+                sorted.add(events.get(i));
+            }
+            return sorted;
+        }
+        return events;
+    }
+
+    /**
+     * @return The parts of [from, to) the context hasn't been fetched for, as {from, to}, in order.
+     */
+    public synchronized List<long[]> getMissingWindows(String contextCode, long from, long to) {
+        List<long[]> missing = new ArrayList<long[]>();
+        ContextEvents context = contexts.get(contextCode);
+        long cursor = from;
+        if (context != null) {
+            for (long[] window : context.windows) {
+                if (window[1] <= cursor) {
+                    continue;
+                }
+                if (window[0] >= to) {
+                    break;
+                }
+                if (window[0] > cursor) {
+                    missing.add(new long[] { cursor, window[0] });
+                }
+                cursor = Math.max(cursor, window[1]);
+            }
+        }
+        if (cursor < to) {
+            missing.add(new long[] { cursor, to });
+        }
+        return missing;
+    }
+
+    /**
+     * Forgets that [from, to) was fetched, in every context, so the next load() fetches it again.
+     * The stored events stay until then.
+     */
+    public synchronized void invalidate(long from, long to) {
+        for (ContextEvents context : contexts.values()) {
+            List<long[]> kept = new ArrayList<long[]>();
+            for (long[] window : context.windows) {
+                if (window[0] < from) {
+                    kept.add(new long[] { window[0], Math.min(window[1], from) });
+                }
+                if (window[1] > to) {
+                    kept.add(new long[] { Math.max(window[0], to), window[1] });
+                }
+            }
+            context.windows.clear();
+            context.windows.addAll(kept);
+        }
+    }
+
+    public synchronized void clear() {
+        contexts.clear();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    private ScheduleItem[] getEventsArray(long from, long to, Collection<String> contextCodes) {
+        List<ScheduleItem> events = getEvents(from, to, contextCodes);
+        return events.toArray(new ScheduleItem[events.size()]);
+    }
+
+    private ContextEvents getContext(String contextCode) {
+        ContextEvents context = contexts.get(contextCode);
+        if (context == null) {
+            context = new ContextEvents();
+            contexts.put(contextCode, context);
+        }
+        return context;
+    }
+
+    private static void buildIndex(ContextEvents context) {
+        if (context.index != null) {
+            return;
+        }
+        ScheduleItem[] indexed = context.events.values().toArray(new ScheduleItem[context.events.size()]);
+        long[] starts = new long[indexed.length];
+        long[] ends = new long[indexed.length];
+        for (int i = 0; i < indexed.length; i++) {
+            starts[i] = getStart(indexed[i]);
+            ends[i] = getEnd(indexed[i], starts[i]);
+        }
+        context.indexed = indexed;
+        context.starts = starts;
+        context.index = new IntervalIndex(starts, ends);
+    }
+
+    //Merges [from, to) into the sorted windows, joining any it touches.
+    private static void addWindow(List<long[]> windows, long from, long to) {
+        int i = 0;
+        while (i < windows.size() && windows.get(i)[1] < from) {
+            i++;
+        }
+        while (i < windows.size() && windows.get(i)[0] <= to) {
+            long[] window = windows.remove(i);
+            from = Math.min(from, window[0]);
+            to = Math.max(to, window[1]);
+        }
+        windows.add(i, new long[] { from, to });
+    }
+
+    private static String resolveContextCode(ScheduleItem event, Collection<String> contextCodes) {
+        if (event == null) {
+            return null;
+        }
+        if (event.getContextCode() != null && contextCodes.contains(event.getContextCode())) {
+            return event.getContextCode();
+        }
+        if (event.getEffectiveContextCode() != null) {
+            for (String contextCode : event.getEffectiveContextCode().split(",")) {
+                if (contextCodes.contains(contextCode.trim())) {
+                    return contextCode.trim();
+                }
+            }
+        }
+        if (contextCodes.size() == 1) {
+            return contextCodes.iterator().next();
+        }
+        return event.getContextCode();
+    }
+
+    private static long getStart(ScheduleItem event) {
+        Date start = event.getStartDate();
+        return start == null ? Long.MIN_VALUE : start.getTime();
+    }
+
+    //Without an end it's the instant it starts, the same as IntervalIndex takes it.
+    private static long getEnd(ScheduleItem event, long start) {
+        Date end = event.getEndDate();
+        return end == null ? start + 1 : Math.max(start + 1, end.getTime());
+    }
+}
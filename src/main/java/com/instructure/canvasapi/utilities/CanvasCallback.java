@@ -4,6 +4,12 @@ import android.content.Context;
 import android.os.AsyncTask;
 import android.util.Log;
 
+import com.instructure.canvasapi.core.CacheStore;
+import com.instructure.canvasapi.core.CanvasClient;
+import com.instructure.canvasapi.core.CanvasMetrics;
+import com.instructure.canvasapi.core.CanvasTracer;
+import com.instructure.canvasapi.core.ErrorDelegate;
+import com.instructure.canvasapi.core.UrlHelpers;
 import com.instructure.canvasapi.model.CanvasError;
 
 import java.io.Serializable;
@@ -26,9 +32,19 @@ public abstract class CanvasCallback<T> implements Callback<T> {
     private boolean isCancelled = false;
     private boolean isFinished = true;
     private boolean hasReadFromCache = false;
+    private long traceId = CanvasTracer.nextCorrelationId();
 
     public static ErrorDelegate defaultErrorDelegate;
     private ErrorDelegate errorDelegate;
+    private CanvasClient client;
+
+    //Stands in for a client that doesn't record spans. It's never enabled, so nothing is kept.
+    private final static CanvasTracer NO_TRACER = new CanvasTracer(1);
+
+    //Cache metrics are recorded under the request's endpoint, which is only known once it comes back.
+    private final static long NO_PENDING_CACHE_READ = -2;
+    private String endpointTemplate;
+    private long pendingCacheAge = NO_PENDING_CACHE_READ;
 
     ///////////////////////////////////////////////////////////////////////////
     // Getters and Setters
@@ -54,10 +70,41 @@ public abstract class CanvasCallback<T> implements Callback<T> {
         this.hasReadFromCache = hasReadFromCache;
     }
 
+    /**
+     * @return The correlation id of every span this callback's requests record in its client's tracer.
+     */
+    public long getTraceId() {
+        return traceId;
+    }
+
+    void setTraceId(long traceId) {
+        this.traceId = traceId;
+    }
+
     public APIStatusDelegate getStatusDelegate() {
         return statusDelegate;
     }
 
+    /**
+     * Makes the API call this callback is handed to go through the given client: its session, cache,
+     * page sizing and error delegate. Leave unset to use CanvasRestAdapter.getDefaultClient().
+     * @param client
+     */
+    public void setClient(CanvasClient client) {
+        this.client = client;
+    }
+
+    /**
+     * @return The client set with setClient(), otherwise the default client. Null if there's no context for the default.
+     */
+    public CanvasClient getClient() {
+        if (client != null) {
+            return client;
+        }
+        Context context = getContext();
+        return context == null ? null : CanvasRestAdapter.getDefaultClient(context);
+    }
+
     /**
      * setIsNextPage sets whether you're on the NextPages (2 or more) of pagination.
      * @param nextPage
@@ -86,16 +133,8 @@ public abstract class CanvasCallback<T> implements Callback<T> {
 
     private void setupDelegates(APIStatusDelegate statusDelegate, ErrorDelegate errorDelegate) {
         this.statusDelegate = statusDelegate;
-
-        if (errorDelegate == null) {
-            this.errorDelegate = getDefaultErrorDelegate(statusDelegate.getContext());
-        } else {
-            this.errorDelegate = errorDelegate;
-        }
-
-        if(this.errorDelegate == null){
-            Log.e(APIHelpers.LOG_TAG, "WARNING: No ErrorDelegate Set.");
-        }
+        //Null falls back to the client's, then the default, when there's an error. The client isn't known yet.
+        this.errorDelegate = errorDelegate;
     }
 
     ///////////////////////////////////////////////////////////////////////////
@@ -124,6 +163,68 @@ public abstract class CanvasCallback<T> implements Callback<T> {
         return defaultErrorDelegate;
     }
 
+    /**
+     * @return The error delegate from the constructor, otherwise the client's, otherwise the default.
+     */
+    private ErrorDelegate getErrorDelegate() {
+        if (errorDelegate != null) {
+            return errorDelegate;
+        }
+        if (client != null && client.getErrorDelegate() != null) {
+            return client.getErrorDelegate();
+        }
+        return getDefaultErrorDelegate(getContext());
+    }
+
+    /**
+     * @return The cache of the client this callback's call goes through, or null if there's no context for the default.
+     */
+    protected CacheStore getCacheStore() {
+        CanvasClient client = getClient();
+        return client == null ? null : client.getCacheStore();
+    }
+
+    /**
+     * @return The tracer of the client this callback's call goes through. A disabled one if it doesn't record spans.
+     */
+    CanvasTracer getTracer() {
+        CanvasClient client = getClient();
+        return client == null || client.getTracer() == null ? NO_TRACER : client.getTracer();
+    }
+
+    /**
+     * @return The metrics of the client this callback's call goes through, or null if it doesn't record any.
+     */
+    private CanvasMetrics getMetrics() {
+        CanvasClient client = getClient();
+        return client == null ? null : client.getMetrics();
+    }
+
+    /**
+     * Takes the endpoint template from the first response or error, and records a cache read that was waiting on it.
+     */
+    private synchronized void setEndpointTemplate(String url) {
+        if (endpointTemplate != null || url == null) {
+            return;
+        }
+        endpointTemplate = UrlHelpers.getEndpointTemplate(url);
+        if (pendingCacheAge != NO_PENDING_CACHE_READ) {
+            recordCacheRead(pendingCacheAge);
+        }
+    }
+
+    private synchronized void recordCacheRead(long age) {
+        if (endpointTemplate == null) {
+            pendingCacheAge = age;
+            return;
+        }
+        pendingCacheAge = NO_PENDING_CACHE_READ;
+        CanvasMetrics metrics = getMetrics();
+        if (metrics != null) {
+            metrics.recordCacheRead(endpointTemplate, age);
+        }
+    }
+
     private void finishLoading() {
         isFinished = true;
         statusDelegate.onCallbackFinished(SOURCE.API);
@@ -173,7 +274,8 @@ public abstract class CanvasCallback<T> implements Callback<T> {
     }
 
     public boolean deleteCache(){
-        return FileUtilities.DeleteFile(getContext(), cacheFileName);
+        CacheStore cacheStore = getCacheStore();
+        return cacheStore != null && cacheFileName != null && cacheStore.delete(cacheFileName);
     }
 
     ///////////////////////////////////////////////////////////////////////////
@@ -228,6 +330,9 @@ public abstract class CanvasCallback<T> implements Callback<T> {
      */
     @Override
     public void success(T t, Response response) {
+        if (response != null) {
+            setEndpointTemplate(response.getUrl());
+        }
         // check if it's been cancelled or detached
         if(isCancelled || t == null || getContext() == null) {
             return;
@@ -242,6 +347,7 @@ public abstract class CanvasCallback<T> implements Callback<T> {
      */
     @Override
     public void failure(RetrofitError retrofitError) {
+        setEndpointTemplate(retrofitError.getUrl());
         // check if it's cancelled or detached
         if (isCancelled || getContext() == null) {
             return;
@@ -257,6 +363,7 @@ public abstract class CanvasCallback<T> implements Callback<T> {
             return;
         }
 
+        ErrorDelegate errorDelegate = getErrorDelegate();
         if (errorDelegate == null) {
             Log.d(APIHelpers.LOG_TAG, "WARNING: No ErrorDelegate Provided ");
             return;
@@ -270,7 +377,7 @@ public abstract class CanvasCallback<T> implements Callback<T> {
                 break;
             case HTTP:
                 // A non-200 HTTP status code was received from the server.
-                handleHTTPError(retrofitError);
+                handleHTTPError(retrofitError, errorDelegate);
                 break;
             case NETWORK:
                 // An IOException occurred while communicating to the server.
@@ -288,7 +395,7 @@ public abstract class CanvasCallback<T> implements Callback<T> {
         }
     }
 
-    private void handleHTTPError(RetrofitError retrofitError) {
+    private void handleHTTPError(RetrofitError retrofitError, ErrorDelegate errorDelegate) {
         Response response = retrofitError.getResponse();
         if (response == null) {
             return;
@@ -329,6 +436,7 @@ public abstract class CanvasCallback<T> implements Callback<T> {
 
         private T t;
         private Response response;
+        private long traceStart = getTracer().now();
 
         public CacheData(T t, Response response) {
             this.t = t;
@@ -337,15 +445,26 @@ public abstract class CanvasCallback<T> implements Callback<T> {
 
         @Override
         protected LinkHeaders doInBackground(T... params) {
+            CanvasTracer tracer = getTracer();
+            tracer.complete("cacheQueue", CanvasTracer.CATEGORY_CACHE, traceStart, traceId);
+
             LinkHeaders linkHeaders = APIHelpers.parseLinkHeaderResponse(getContext(), response.getHeaders());
 
-            if (shouldCache() && !isNextPage && getContext() != null) {
+            CacheStore cacheStore = getCacheStore();
+            if (shouldCache() && !isNextPage && cacheStore != null) {
                 if(t instanceof Serializable) {
+                    long start = System.currentTimeMillis();
+                    long writeStart = tracer.now();
                     try {
-                        FileUtilities.SerializableToFile(getContext(), cacheFileName, (Serializable)params[0]);
+                        cacheStore.write(cacheFileName, (Serializable)params[0]);
                     } catch (Exception E) {
                         Log.e(APIHelpers.LOG_TAG, "Could not cache serializable: " + E);
                     }
+                    CanvasMetrics metrics = getMetrics();
+                    if (metrics != null) {
+                        metrics.recordLatency(endpointTemplate, CanvasMetrics.Phase.CACHE_WRITE, System.currentTimeMillis() - start);
+                    }
+                    tracer.complete("cacheWrite", CanvasTracer.CATEGORY_CACHE, writeStart, traceId, "file", cacheFileName);
                 }
             }
 
@@ -356,10 +475,14 @@ public abstract class CanvasCallback<T> implements Callback<T> {
         protected void onPostExecute(LinkHeaders linkHeaders) {
             super.onPostExecute(linkHeaders);
 
+            CanvasTracer tracer = getTracer();
+            long pageStart = tracer.now();
             if(isNextPage){
                 nextPage(t, linkHeaders, response);
+                tracer.complete("nextPage", CanvasTracer.CATEGORY_CALLBACK, pageStart, traceId);
             }else {
                 firstPage(t, linkHeaders, response);
+                tracer.complete("firstPage", CanvasTracer.CATEGORY_CALLBACK, pageStart, traceId);
             }
 
             finishLoading();
@@ -373,13 +496,21 @@ public abstract class CanvasCallback<T> implements Callback<T> {
         @Override
         protected Serializable doInBackground(String... params) {
             path = params[0];
+            CanvasTracer tracer = getTracer();
+            long traceStart = tracer.now();
+            CacheStore cacheStore = getCacheStore();
+            Serializable serializable = null;
             try {
-                return FileUtilities.FileToSerializable(getContext(), path);
+                serializable = cacheStore == null || path == null ? null : cacheStore.read(path);
             } catch (Exception E) {
                 Log.e(APIHelpers.LOG_TAG, "NO CACHE: " + path);
             }
 
-            return null;
+            long age = serializable == null ? -1 : FileUtilities.getCacheAge(cacheStore, path);
+            recordCacheRead(age);
+            tracer.complete("cacheRead", CanvasTracer.CATEGORY_CACHE, traceStart, traceId, "hit", serializable != null);
+
+            return serializable;
         }
 
         @Override
@@ -0,0 +1,404 @@
+package com.instructure.canvasapi.utilities;
+
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+import rx.Observable;
+import rx.Producer;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.functions.Func1;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * CanvasObservable turns the callback based API calls into RxJava Observables.
+ *
+ * Any API call can be wrapped with from(), and any getFirstPage/getNextPage pair with pages() or items().
+ * The cache is emitted before the network value. Unsubscribing cancels the underlying CanvasCallback.
+ * A call that comes back without a body completes without a network value.
+ *
+ * Like the rest of the API these have to be subscribed to on the main thread, and values are delivered there.
+ *
+ * Only CourseAPI, GroupAPI, AssignmentAPI and AnnouncementAPI have ready made *Observable methods. Every other
+ * API is used by wrapping its callback method yourself, as below.
+ *
+ * Usage:
+ *
+ *      CanvasObservable.from(statusDelegate, new CanvasObservable.Call<UnreadConversationCount>() {
+ *          public void call(CanvasCallback<UnreadConversationCount> callback) { UnreadCountAPI.getUnreadConversationCount(callback); }
+ *      });
+ *
+ *      CanvasObservable.pages(statusDelegate, new CanvasObservable.PagedCall<Course>() {
+ *          public void firstPage(CanvasCallback<Course[]> callback) { CourseAPI.getFirstPageCourses(callback); }
+ *          public void nextPage(String nextURL, CanvasCallback<Course[]> callback) { CourseAPI.getNextPageCourses(callback, nextURL); }
+ *      });
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class CanvasObservable {
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Interface
+    ///////////////////////////////////////////////////////////////////////////
+
+    public interface Call<T> {
+        public void call(CanvasCallback<T> callback);
+    }
+
+    public interface PagedCall<T> {
+        public void firstPage(CanvasCallback<T[]> callback);
+        public void nextPage(String nextURL, CanvasCallback<T[]> callback);
+    }
+
+    /**
+     * A single page of a paginated endpoint.
+     */
+    public static class Page<T> {
+        private final T[] items;
+        private final String nextURL;
+        private final CanvasCallback.SOURCE source;
+
+        public Page(T[] items, String nextURL, CanvasCallback.SOURCE source) {
+            this.items = items;
+            this.nextURL = nextURL;
+            this.source = source;
+        }
+
+        public T[] getItems() {
+            return items;
+        }
+
+        public String getNextURL() {
+            return nextURL;
+        }
+
+        public CanvasCallback.SOURCE getSource() {
+            return source;
+        }
+
+        public boolean isLastPage() {
+            return nextURL == null;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Observables
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Emits the cached value (if there is one), then the network value, then completes.
+     *
+     * @param statusDelegate
+     * @param call
+     * @return
+     */
+    public static <T> Observable<T> from(final APIStatusDelegate statusDelegate, final Call<T> call) {
+        return Observable.create(new Observable.OnSubscribe<T>() {
+            @Override
+            public void call(final Subscriber<? super T> subscriber) {
+                final CanvasCallback<T> callback = new CanvasCallback<T>(statusDelegate) {
+                    private boolean hasNetworkValue = false;
+
+                    @Override
+                    public void cache(T t) {
+                        //The network can beat the cache. Don't go back in time.
+                        if (!hasNetworkValue && !subscriber.isUnsubscribed()) {
+                            subscriber.onNext(t);
+                        }
+                    }
+
+                    @Override
+                    public void firstPage(T t, LinkHeaders linkHeaders, Response response) {
+                        hasNetworkValue = true;
+                        if (!subscriber.isUnsubscribed()) {
+                            subscriber.onNext(t);
+                            subscriber.onCompleted();
+                        }
+                    }
+
+                    @Override
+                    public void success(T t, Response response) {
+                        //CanvasCallback drops an empty body (or a lost context) without calling firstPage.
+                        if (t == null || getContext() == null) {
+                            hasNetworkValue = true;
+                            if (!subscriber.isUnsubscribed()) {
+                                subscriber.onCompleted();
+                            }
+                            return;
+                        }
+                        super.success(t, response);
+                    }
+
+                    @Override
+                    public void failure(RetrofitError retrofitError) {
+                        if (getContext() == null) {
+                            onFailure(retrofitError);
+                            return;
+                        }
+                        super.failure(retrofitError);
+                    }
+
+                    @Override
+                    public boolean onFailure(RetrofitError retrofitError) {
+                        if (!subscriber.isUnsubscribed()) {
+                            subscriber.onError(retrofitError);
+                        }
+                        return true;
+                    }
+                };
+
+                subscriber.add(cancelOnUnsubscribe(callback));
+                call.call(callback);
+            }
+        });
+    }
+
+    /**
+     * Emits one Page per request. Pages are only requested from the server as the subscriber asks for them,
+     * so take(1) only ever makes one request.
+     *
+     * The cached first page (if there is one) is emitted before the network's first page with a SOURCE of CACHE.
+     *
+     * @param statusDelegate
+     * @param call
+     * @return
+     */
+    public static <T> Observable<Page<T>> pages(final APIStatusDelegate statusDelegate, final PagedCall<T> call) {
+        return Observable.create(new Observable.OnSubscribe<Page<T>>() {
+            @Override
+            public void call(Subscriber<? super Page<T>> subscriber) {
+                final PageProducer<T> producer = new PageProducer<T>(statusDelegate, call, subscriber);
+                subscriber.add(Subscriptions.create(new Action0() {
+                    @Override
+                    public void call() {
+                        producer.cancel();
+                    }
+                }));
+                subscriber.setProducer(producer);
+            }
+        });
+    }
+
+    /**
+     * Emits every item from the network pages, one at a time. Cached pages are skipped since they'd be repeated.
+     *
+     * @param statusDelegate
+     * @param call
+     * @return
+     */
+    public static <T> Observable<T> items(final APIStatusDelegate statusDelegate, final PagedCall<T> call) {
+        return pages(statusDelegate, call)
+                .filter(new Func1<Page<T>, Boolean>() {
+                    @Override
+                    public Boolean call(Page<T> page) {
+                        return page.getSource().isAPI();
+                    }
+                })
+                .concatMap(new Func1<Page<T>, Observable<T>>() {
+                    @Override
+                    public Observable<T> call(Page<T> page) {
+                        return Observable.from(Arrays.asList(page.getItems()));
+                    }
+                });
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static rx.Subscription cancelOnUnsubscribe(final CanvasCallback<?> callback) {
+        return Subscriptions.create(new Action0() {
+            @Override
+            public void call() {
+                callback.cancel();
+            }
+        });
+    }
+
+    /**
+     * Fetches one page at a time, and only while there's outstanding demand.
+     */
+    private static class PageProducer<T> implements Producer {
+
+        private final APIStatusDelegate statusDelegate;
+        private final PagedCall<T> call;
+        private final Subscriber<? super Page<T>> subscriber;
+
+        private final Queue<Page<T>> pending = new ArrayDeque<Page<T>>();
+        private long requested = 0;
+        private boolean inFlight = false;
+        private boolean started = false;
+        private boolean finished = false;
+        private boolean terminated = false;
+        private String nextURL;
+        private CanvasCallback<T[]> currentCallback;
+
+        PageProducer(APIStatusDelegate statusDelegate, PagedCall<T> call, Subscriber<? super Page<T>> subscriber) {
+            this.statusDelegate = statusDelegate;
+            this.call = call;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                return;
+            }
+            synchronized (this) {
+                requested = (requested + n < 0) ? Long.MAX_VALUE : requested + n;
+            }
+            drain();
+        }
+
+        synchronized void cancel() {
+            terminated = true;
+            pending.clear();
+            if (currentCallback != null) {
+                currentCallback.cancel();
+            }
+        }
+
+        private void onPage(Page<T> page, boolean isNetwork) {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                pending.add(page);
+                if (isNetwork) {
+                    inFlight = false;
+                    nextURL = page.getNextURL();
+                    finished = nextURL == null;
+                }
+            }
+            drain();
+        }
+
+        private void onEnd() {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                inFlight = false;
+                finished = true;
+            }
+            drain();
+        }
+
+        private void onError(RetrofitError retrofitError) {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+                pending.clear();
+            }
+            subscriber.onError(retrofitError);
+        }
+
+        private void drain() {
+            for (;;) {
+                Page<T> toEmit = null;
+                boolean complete = false;
+                boolean fetch = false;
+
+                synchronized (this) {
+                    if (terminated || subscriber.isUnsubscribed()) {
+                        return;
+                    }
+
+                    if (!pending.isEmpty() && requested > 0) {
+                        toEmit = pending.poll();
+                        if (requested != Long.MAX_VALUE) {
+                            requested--;
+                        }
+                    } else if (pending.isEmpty() && finished) {
+                        terminated = true;
+                        complete = true;
+                    } else if (pending.isEmpty() && requested > 0 && !inFlight) {
+                        inFlight = true;
+                        fetch = true;
+                    }
+                }
+
+                if (toEmit != null) {
+                    subscriber.onNext(toEmit);
+                    continue;
+                }
+                if (complete) {
+                    subscriber.onCompleted();
+                }
+                if (fetch) {
+                    fetchNextPage();
+                }
+                return;
+            }
+        }
+
+        private void fetchNextPage() {
+            final boolean isFirstPage;
+            final String url;
+            synchronized (this) {
+                isFirstPage = !started;
+                started = true;
+                url = nextURL;
+            }
+
+            CanvasCallback<T[]> callback = new CanvasCallback<T[]>(statusDelegate) {
+                private boolean hasNetworkValue = false;
+
+                @Override
+                public void cache(T[] ts) {
+                    if (isFirstPage && !hasNetworkValue && ts != null) {
+                        onPage(new Page<T>(ts, null, SOURCE.CACHE), false);
+                    }
+                }
+
+                @Override
+                public void firstPage(T[] ts, LinkHeaders linkHeaders, Response response) {
+                    hasNetworkValue = true;
+                    onPage(new Page<T>(ts, linkHeaders.nextURL, SOURCE.API), true);
+                }
+
+                @Override
+                public void success(T[] ts, Response response) {
+                    //An empty body ends the list.
+                    if (ts == null || getContext() == null) {
+                        hasNetworkValue = true;
+                        onEnd();
+                        return;
+                    }
+                    super.success(ts, response);
+                }
+
+                @Override
+                public void failure(RetrofitError retrofitError) {
+                    if (getContext() == null) {
+                        onFailure(retrofitError);
+                        return;
+                    }
+                    super.failure(retrofitError);
+                }
+
+                @Override
+                public boolean onFailure(RetrofitError retrofitError) {
+                    PageProducer.this.onError(retrofitError);
+                    return true;
+                }
+            };
+
+            synchronized (this) {
+                currentCallback = callback;
+            }
+
+            if (isFirstPage) {
+                call.firstPage(callback);
+            } else {
+                call.nextPage(url, callback);
+            }
+        }
+    }
+}
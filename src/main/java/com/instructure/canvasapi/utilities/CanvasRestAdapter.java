@@ -1,14 +1,26 @@
 package com.instructure.canvasapi.utilities;
 
 import android.content.Context;
+import android.os.Process;
 import android.util.Log;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.instructure.canvasapi.core.BlockingClient;
+import com.instructure.canvasapi.core.CanvasClient;
+import com.instructure.canvasapi.core.CanvasMetrics;
+import com.instructure.canvasapi.core.CanvasTracer;
+import com.instructure.canvasapi.core.CoreRestAdapter;
+import com.instructure.canvasapi.core.ModelIdentityMap;
+import com.instructure.canvasapi.core.PageSizeController;
+import com.instructure.canvasapi.core.SessionRequestInterceptor;
 import com.instructure.canvasapi.model.CanvasContext;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import retrofit.RequestInterceptor;
 import retrofit.RestAdapter;
+import retrofit.android.MainThreadExecutor;
 import retrofit.client.OkClient;
 import retrofit.client.Request;
 import retrofit.converter.GsonConverter;
@@ -23,11 +35,129 @@ import retrofit.converter.GsonConverter;
 public class CanvasRestAdapter {
 
     private static int numberOfItemsPerPage = 30;
+    private static final PageSizeController pageSizeController = new PageSizeController();
+    private static final CanvasMetrics metrics = new CanvasMetrics();
+    private static final CanvasTracer tracer = new CanvasTracer();
+    private static final HandoffStore handoffStore = new HandoffStore();
+    private static CanvasClient defaultClient;
+
+    //Same as Retrofit's default on Android. Ours so the metrics can see how long requests wait for a thread.
+    private static final Executor httpExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            return new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "Retrofit-Idle");
+        }
+    });
 
     public static int getNumberOfItemsPerPage() {
         return numberOfItemsPerPage;
     }
 
+    /**
+     * Returns the controller that sizes per_page for each endpoint.
+     * It's disabled by default. Call getPageSizeController().setEnabled(true) to let it adapt,
+     * and pin() a value for a specific endpoint template.
+     *
+     * @return The default client's PageSizeController
+     */
+    public static PageSizeController getPageSizeController() {
+        return pageSizeController;
+    }
+
+    /**
+     * Returns the metrics for every call made through the static APIs. Snapshot it, or add a listener
+     * to forward the numbers to your own telemetry.
+     */
+    public static CanvasMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the tracer for every call made through the static APIs. It's disabled by default.
+     * Call getTracer().setEnabled(true), reproduce the problem, then writeChromeTrace() to a file
+     * and open it in chrome://tracing.
+     */
+    public static CanvasTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Returns the identity map every parser from getGSONParser() shares. It's disabled by default.
+     * Call getIdentityMap().setEnabled(true) so repeated users, courses and assignments decode to one instance.
+     */
+    public static ModelIdentityMap getIdentityMap() {
+        return CoreRestAdapter.getIdentityMap();
+    }
+
+    /**
+     * Returns the store Handoff keeps models in while they're passed between components.
+     */
+    public static HandoffStore getHandoffStore() {
+        return handoffStore;
+    }
+
+    /**
+     * Returns the CanvasClient the static APIs use. It reads the domain, token and masquerading
+     * saved through APIHelpers and Masquerading, and caches to the app's files directory.
+     *
+     * Use your own CanvasClient when you need more than one domain or user at a time, and hand it to
+     * the static APIs with CanvasCallback.setClient().
+     *
+     * @param context An Android context.
+     * @return The default CanvasClient
+     */
+    public static synchronized CanvasClient getDefaultClient(Context context) {
+        if (defaultClient == null) {
+            Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+
+            defaultClient = new CanvasClient.Builder(new ContextSession(applicationContext))
+                    .setCacheStore(FileUtilities.getCacheStore(applicationContext))
+                    .setLogger(AndroidLogger.INSTANCE)
+                    .setClient(buildHttpClient())
+                    .setPageSizeController(pageSizeController)
+                    .setConverter(new GsonConverter(getGSONParser()))
+                    .setPerPage(numberOfItemsPerPage)
+                    .setExecutors(httpExecutor, new MainThreadExecutor())
+                    .setMetrics(metrics)
+                    .setTracer(tracer)
+                    .build();
+        }
+        return defaultClient;
+    }
+
+    /**
+     * Returns a BlockingClient over the default client. For worker threads only.
+     *
+     * @param context An Android context.
+     * @return
+     */
+    public static BlockingClient getBlockingClient(Context context) {
+        return new BlockingClient(getDefaultClient(context));
+    }
+
+    /**
+     * Records the buildAdapter span in the callback's client's tracer and tags the request the caller is about to make with the callback's trace id.
+     * Retrofit hands the request to the http executor on this thread right after, which is where the id is picked up.
+     */
+    private static void traceBuildAdapter(CanvasCallback callback, RestAdapter restAdapter, long traceStart) {
+        //Without an adapter no request follows to take the id.
+        if (traceStart < 0 || restAdapter == null) {
+            return;
+        }
+        callback.getTracer().complete("buildAdapter", CanvasTracer.CATEGORY_CALLBACK, traceStart, callback.getTraceId());
+        CanvasTracer.setPendingCorrelationId(callback.getTraceId());
+    }
+
+    private static synchronized void resetDefaultClient() {
+        defaultClient = null;
+    }
+
     /**
      * Returns a RestAdapter Instance that points at :domain/api/v1
      *
@@ -36,7 +166,10 @@ public class CanvasRestAdapter {
      */
     public static RestAdapter buildAdapter(CanvasCallback callback) {
         callback.setFinished(false);
-        return buildAdapter(callback.getContext());
+        long traceStart = callback.getTracer().now();
+        RestAdapter restAdapter = buildAdapterHelper(callback.getContext(), callback.getClient(), null, true);
+        traceBuildAdapter(callback, restAdapter, traceStart);
+        return restAdapter;
     }
 
     /**
@@ -57,32 +190,7 @@ public class CanvasRestAdapter {
      * @return A Canvas RestAdapterInstance. If setupInstance() hasn't been called, returns an invalid RestAdapter.
      */
     public static RestAdapter buildAdapter(final Context context, final boolean addPerPageQueryParam) {
-
-        if(context == null ){
-            return null;
-        }
-
-        if (context instanceof APIStatusDelegate) {
-            ((APIStatusDelegate)context).onCallbackStarted();
-        }
-
-        String domain = APIHelpers.getFullDomain(context);
-
-        //Can make this check as we KNOW that the setter doesn't allow empty strings.
-        if (domain == null || domain.equals("")) {
-            Log.d(APIHelpers.LOG_TAG, "The RestAdapter hasn't been set up yet. Call setupInstance(context,token,domain)");
-            return new RestAdapter.Builder().setEndpoint("http://invalid.domain.com").build();
-        }
-
-        GsonConverter gsonConverter = new GsonConverter(getGSONParser());
-
-        //Sets the auth token, user agent, and handles masquerading.
-        return new RestAdapter.Builder()
-                .setEndpoint(domain + "/api/v1/") // The base API endpoint.
-                .setRequestInterceptor(new CanvasRequestInterceptor(context, addPerPageQueryParam))
-                .setConverter(gsonConverter)
-                .build();
-
+        return buildAdapterHelper(context, null, null, addPerPageQueryParam);
     }
 
     /**
@@ -96,7 +204,10 @@ public class CanvasRestAdapter {
      */
     public static RestAdapter buildAdapter(CanvasCallback callback, CanvasContext canvasContext) {
         callback.setFinished(false);
-        return buildAdapter(callback.getContext(), canvasContext);
+        long traceStart = callback.getTracer().now();
+        RestAdapter restAdapter = buildAdapterHelper(callback.getContext(), callback.getClient(), canvasContext, true);
+        traceBuildAdapter(callback, restAdapter, traceStart);
+        return restAdapter;
     }
 
     /**
@@ -108,7 +219,10 @@ public class CanvasRestAdapter {
      */
     public static RestAdapter buildAdapter(CanvasCallback callback, boolean addPerPageQueryParam) {
         callback.setFinished(false);
-        return buildAdapter(callback.getContext(), addPerPageQueryParam);
+        long traceStart = callback.getTracer().now();
+        RestAdapter restAdapter = buildAdapterHelper(callback.getContext(), callback.getClient(), null, addPerPageQueryParam);
+        traceBuildAdapter(callback, restAdapter, traceStart);
+        return restAdapter;
     }
 
     /**
@@ -123,7 +237,10 @@ public class CanvasRestAdapter {
      */
     public static RestAdapter buildAdapter(CanvasCallback callback, CanvasContext canvasContext, boolean addPerPageQueryParam) {
         callback.setFinished(false);
-        return buildAdapter(callback.getContext(), canvasContext, addPerPageQueryParam);
+        long traceStart = callback.getTracer().now();
+        RestAdapter restAdapter = buildAdapterHelper(callback.getContext(), callback.getClient(), canvasContext, addPerPageQueryParam);
+        traceBuildAdapter(callback, restAdapter, traceStart);
+        return restAdapter;
     }
 
     /**
@@ -136,7 +253,7 @@ public class CanvasRestAdapter {
      * @return A Canvas RestAdapterInstance. If setupInstance() hasn't been called, returns an invalid RestAdapter.
      */
     public static RestAdapter buildAdapter(final Context context, CanvasContext canvasContext) {
-        return buildAdapterHelper(context, canvasContext, true);
+        return buildAdapterHelper(context, null, canvasContext, true);
     }
 
     /**
@@ -149,7 +266,7 @@ public class CanvasRestAdapter {
      * @return
      */
     public static RestAdapter buildAdapter(final Context context, CanvasContext canvasContext, boolean addPerPageQueryParam) {
-        return buildAdapterHelper(context, canvasContext, addPerPageQueryParam);
+        return buildAdapterHelper(context, null, canvasContext, addPerPageQueryParam);
     }
 
     /**
@@ -158,16 +275,12 @@ public class CanvasRestAdapter {
      * If CanvasContext is null, it returns an instance that simply points to :domain/api/v1/
      *
      * @param context An Android context.
+     * @param client The client to go through, or null for the default client.
      * @param canvasContext A Canvas Context
      * @param addPerPageQueryParam Specify if you want to add the per page query param
      * @return A Canvas RestAdapterInstance. If setupInstance() hasn't been called, returns an invalid RestAdapter.
      */
-    private static RestAdapter buildAdapterHelper(final Context context, CanvasContext canvasContext, boolean addPerPageQueryParam) {
-        //If not return an adapter with no context.
-        if(canvasContext == null){
-            return buildAdapter(context, addPerPageQueryParam);
-        }
-
+    private static RestAdapter buildAdapterHelper(final Context context, CanvasClient client, CanvasContext canvasContext, boolean addPerPageQueryParam) {
         //Check for null values or invalid CanvasContext types.
         if(context == null) {
             return null;
@@ -177,16 +290,21 @@ public class CanvasRestAdapter {
             ((APIStatusDelegate)context).onCallbackStarted();
         }
 
-        String domain = APIHelpers.getFullDomain(context);
+        if (client == null) {
+            String domain = APIHelpers.getFullDomain(context);
 
-        //Can make this check as we KNOW that the setter doesn't allow empty strings.
-        if (domain == null || domain.equals("")) {
-            Log.d(APIHelpers.LOG_TAG, "The RestAdapter hasn't been set up yet. Call setupInstance(context,token,domain)");
-            return new RestAdapter.Builder().setEndpoint("http://invalid.domain.com").build();
+            //Can make this check as we KNOW that the setter doesn't allow empty strings.
+            if (domain == null || domain.equals("")) {
+                Log.d(APIHelpers.LOG_TAG, "The RestAdapter hasn't been set up yet. Call setupInstance(context,token,domain)");
+                return new RestAdapter.Builder().setEndpoint("http://invalid.domain.com").build();
+            }
+            client = getDefaultClient(context);
         }
 
         String apiContext;
-        if(canvasContext.getType() == CanvasContext.Type.COURSE){
+        if(canvasContext == null){
+            apiContext = "";
+        } else if(canvasContext.getType() == CanvasContext.Type.COURSE){
             apiContext = "courses/";
         } else if (canvasContext.getType() == CanvasContext.Type.GROUP) {
             apiContext = "groups/";
@@ -196,10 +314,15 @@ public class CanvasRestAdapter {
             apiContext = "users/";
         }
 
-        GsonConverter gsonConverter = new GsonConverter(getGSONParser());
+        //Sets the auth token, user agent, and handles masquerading.
+        return client.getRestAdapter(apiContext, addPerPageQueryParam);
+    }
 
-        // Set request timeout to 60 seconds
-        final OkClient httpClient = new OkClient(){
+    /**
+     * Returns an http client with a 60 second read timeout.
+     */
+    private static OkClient buildHttpClient() {
+        return new OkClient(){
             @Override
             protected HttpURLConnection openConnection(Request request) throws IOException {
                 HttpURLConnection connection = super.openConnection(request);
@@ -207,15 +330,6 @@ public class CanvasRestAdapter {
                 return connection;
             }
         };
-
-        //Sets the auth token, user agent, and handles masquerading.
-        return new RestAdapter.Builder()
-                .setEndpoint(domain + "/api/v1/" + apiContext) // The base API endpoint.
-                .setRequestInterceptor(new CanvasRequestInterceptor(context, addPerPageQueryParam))
-                .setConverter(gsonConverter)
-                .setClient(httpClient)
-                .build();
-
     }
 
     /**
@@ -282,48 +396,10 @@ public class CanvasRestAdapter {
      * Class that's used as to inject the user agent, token, and handles masquerading.
      */
 
-    public static class CanvasRequestInterceptor implements RequestInterceptor{
-
-        Context context;
-        boolean addPerPageQueryParam;
+    public static class CanvasRequestInterceptor extends SessionRequestInterceptor {
 
         CanvasRequestInterceptor(Context context, boolean addPerPageQueryParam){
-            this.context = context;
-            this.addPerPageQueryParam = addPerPageQueryParam;
-        }
-
-        @Override
-        public void intercept(RequestFacade requestFacade) {
-
-            final String token = APIHelpers.getToken(context);
-            final String userAgent = APIHelpers.getUserAgent(context);
-            final String domain = APIHelpers.loadProtocol(context) + "://" + APIHelpers.getDomain(context);
-
-            //Set the UserAgent
-            if(userAgent != null && !userAgent.equals(""))
-                requestFacade.addHeader("User-Agent", userAgent);
-
-            //Authenticate if possible
-            if(token != null && !token.equals("")){
-                requestFacade.addHeader("Authorization", "Bearer " + token);
-            }
-
-            requestFacade.addHeader("Cache-Control", "no-cache");
-            //HTTP referer (originally a misspelling of referrer) is an HTTP header field that identifies the address of the webpage that linked to the resource being requested
-            //Source: https://en.wikipedia.org/wiki/HTTP_referer
-            //Some schools use an LTI tool called SlideShare that whitelists domains to be able to inject content into assignments
-            //They check the referrer in order to do this. 	203
-            requestFacade.addHeader("Referer", domain);
-
-            //Masquerade if necessary
-            if (Masquerading.isMasquerading(context)) {
-                requestFacade.addQueryParam("as_user_id", Long.toString(Masquerading.getMasqueradingId(context)));
-            }
-
-            if(addPerPageQueryParam) {
-                //Sets the per_page count so we can get back more items with less round-trip calls.
-                requestFacade.addQueryParam("per_page", Integer.toString(numberOfItemsPerPage));
-            }
+            super(new ContextSession(context), addPerPageQueryParam, numberOfItemsPerPage);
         }
     }
 
@@ -335,6 +411,7 @@ public class CanvasRestAdapter {
     public static void setDefaultNumberOfItemsPerPage(int itemsPerPage) {
         if(itemsPerPage > 0){
             numberOfItemsPerPage = itemsPerPage;
+            resetDefaultClient();
         }
     }
 
@@ -345,9 +422,7 @@ public class CanvasRestAdapter {
      */
 
     public static Gson getGSONParser(){
-        GsonBuilder b = new GsonBuilder();
-        //TODO:Register custom parsers here!
-        return b.create();
+        return CoreRestAdapter.getGSONParser();
     }
 
     /**
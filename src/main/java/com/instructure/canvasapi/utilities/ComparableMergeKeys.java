@@ -0,0 +1,32 @@
+package com.instructure.canvasapi.utilities;
+
+import com.instructure.canvasapi.core.MergedIterator;
+import com.instructure.canvasapi.model.CanvasComparable;
+
+import java.util.Date;
+
+/**
+ * Merge keys for any model: getComparisonDate() for the time and getId() for de-duplicating.
+ * Use it to merge stream items, conversations and announcements into one feed with MergedIterator:
+ *
+ *      new MergedIterator<StreamItem>(sources, new ComparableMergeKeys<StreamItem>(), true);
+ *
+ * The date is parsed once per item, when it reaches the head of its source, instead of on every comparison
+ * like CanvasComparable.compareTo().
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class ComparableMergeKeys<T extends CanvasComparable<?>> implements MergedIterator.Keys<T> {
+
+    @Override
+    public long getTime(T item) {
+        Date date = item == null ? null : item.getComparisonDate();
+        return date == null ? MergedIterator.NO_TIME : date.getTime();
+    }
+
+    @Override
+    public long getId(T item) {
+        //CanvasComparable's default id is -1.
+        return item != null && item.getId() > 0 ? item.getId() : MergedIterator.NO_ID;
+    }
+}
@@ -0,0 +1,44 @@
+package com.instructure.canvasapi.utilities;
+
+import android.content.Context;
+
+import com.instructure.canvasapi.core.CanvasSession;
+
+/**
+ * The CanvasSession saved by APIHelpers and Masquerading for an Android Context.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class ContextSession implements CanvasSession {
+
+    private final Context context;
+
+    public ContextSession(Context context) {
+        this.context = context;
+    }
+
+    @Override
+    public String getDomain() {
+        return APIHelpers.getDomain(context);
+    }
+
+    @Override
+    public String getProtocol() {
+        return APIHelpers.loadProtocol(context);
+    }
+
+    @Override
+    public String getToken() {
+        return APIHelpers.getToken(context);
+    }
+
+    @Override
+    public String getUserAgent() {
+        return APIHelpers.getUserAgent(context);
+    }
+
+    @Override
+    public long getMasqueradeId() {
+        return Masquerading.isMasquerading(context) ? Masquerading.getMasqueradingId(context) : -1;
+    }
+}
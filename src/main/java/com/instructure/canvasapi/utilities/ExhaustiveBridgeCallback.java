@@ -1,11 +1,21 @@
 package com.instructure.canvasapi.utilities;
 
+import android.os.AsyncTask;
+
+import com.instructure.canvasapi.core.CacheStore;
+import com.instructure.canvasapi.core.CanvasTracer;
+import com.instructure.canvasapi.core.CrawlCheckpoint;
 import com.instructure.canvasapi.model.CanvasModel;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import retrofit.RetrofitError;
 import retrofit.client.Response;
@@ -15,29 +25,125 @@ import retrofit.client.Response;
  *
  * Usage: Use this as your CanvasCallback and implement the ExhaustiveBridgeEvents callback.
  * In the ExhaustiveBridgeEvents callback add your 'next' api call until exhausted.
+ *
+ * Long crawls can be checkpointed. Give the bridge a checkpoint name and start it with startOrResume().
+ * After every page that page's items and the next url are saved to the client's cache. If a page fails,
+ * the next crawl with the same checkpoint name picks up from the failed page instead of page 1.
+ * Checkpoint reads, writes and deletes run one at a time in the order they were made, so a late write
+ * can't bring back a checkpoint the finished crawl deleted.
+ * If the wrapped callback implements PartialResultCallback it's handed the partial items and the resume token.
  * @param <T>
  */
 public class ExhaustiveBridgeCallback<T extends CanvasModel> extends CanvasCallback<T[]>{
 
+    //A daemon, since nothing waits on the queued writes and deletes.
+    private static final ExecutorService checkpointExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Canvas-Checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
     private CanvasCallback<T[]> callback;
-    private ExhaustiveBridgeEvents eventsCallback;
+    private ExhaustiveBridgeEvents<T> eventsCallback;
     private List<T> allItems = new ArrayList<T>();
 
-    public interface ExhaustiveBridgeEvents {
-        public void performApiCallWithExhaustiveCallback(CanvasCallback callback, String nextUrl);
-        public Class classType();
+    private String checkpointName;
+    private long crawlStartedAt = System.currentTimeMillis();
+    private int pageCount = 0;
+
+    public interface ExhaustiveBridgeEvents<T> {
+        public void performApiCallWithExhaustiveCallback(CanvasCallback<T[]> callback, String nextUrl);
+        public Class<T> classType();
+    }
+
+    /**
+     * Makes the first api call of a checkpointed crawl. Only called when there's nothing to resume.
+     */
+    public interface FirstPageCall {
+        public void performFirstApiCall(CanvasCallback callback);
+    }
+
+    /**
+     * Implement on the callback passed to an exhaustive api call to get what was collected before a page failed.
+     */
+    public interface PartialResultCallback<T> {
+        /**
+         * @param partialItems Every item collected before the failure.
+         * @param resumeToken Retrying the same call resumes from here. Pass to discardCheckpoint() to start over instead. Null if the crawl isn't checkpointed.
+         * @param retrofitError
+         */
+        public void partialResult(T[] partialItems, String resumeToken, RetrofitError retrofitError);
     }
 
-    public ExhaustiveBridgeCallback(CanvasCallback<T[]> callback, ExhaustiveBridgeEvents eventsCallback) {
+    public ExhaustiveBridgeCallback(CanvasCallback<T[]> callback, ExhaustiveBridgeEvents<T> eventsCallback) {
         super(callback.statusDelegate);
         this.callback = callback;
         this.eventsCallback = eventsCallback;
+        //Every page of the crawl shows up in a trace under the caller's id.
+        setTraceId(callback.getTraceId());
+        setClient(callback.getClient());
 
         if(eventsCallback == null) {
             throw new UnsupportedOperationException("ExhaustiveBridgeEvents cannot be null");
         }
     }
 
+    /**
+     * @param checkpointName Where to checkpoint the crawl. Use CrawlCheckpoint.getCheckpointName(cacheFileName).
+     */
+    public ExhaustiveBridgeCallback(CanvasCallback<T[]> callback, ExhaustiveBridgeEvents<T> eventsCallback, String checkpointName) {
+        this(callback, eventsCallback);
+        this.checkpointName = checkpointName;
+    }
+
+    public String getCheckpointName() {
+        return checkpointName;
+    }
+
+    /**
+     * Deletes a saved checkpoint so the next crawl starts from page 1.
+     * Returns right away. The delete is queued behind any write still pending for the same crawl, and a crawl
+     * started afterwards reads the checkpoint after it, so it's safe to call from the main thread.
+     * @param callback Any callback, used for the client's cache.
+     * @param resumeToken
+     */
+    public static void discardCheckpoint(CanvasCallback<?> callback, final String resumeToken) {
+        final CacheStore cacheStore = callback.getCacheStore();
+        if (cacheStore == null || resumeToken == null) {
+            return;
+        }
+        checkpointExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                CrawlCheckpoint.delete(cacheStore, resumeToken);
+            }
+        });
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Starting
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Resumes from the saved checkpoint if there is one, otherwise makes the first api call.
+     * @param firstPageCall
+     */
+    public void startOrResume(FirstPageCall firstPageCall) {
+        CacheStore cacheStore = getCacheStore();
+        if (checkpointName == null || cacheStore == null) {
+            firstPageCall.performFirstApiCall(this);
+            return;
+        }
+        new ReadCheckpoint(firstPageCall).execute(cacheStore);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Callbacks
+    ///////////////////////////////////////////////////////////////////////////
+
     @Override
     public void cache(T[] ts) {
         //Do Nothing.
@@ -45,32 +151,109 @@ public class ExhaustiveBridgeCallback<T extends CanvasModel> extends CanvasCallb
 
     @Override
     public void firstPage(T[] ts, LinkHeaders linkHeaders, Response response) {
-        String nextURL = linkHeaders.nextURL;
+        final String nextURL = linkHeaders.nextURL;
         Collections.addAll(allItems, ts);
+        pageCount++;
 
+        final CacheStore cacheStore = checkpointName == null ? null : getCacheStore();
         if(nextURL == null) {
             //Done
-            if (allItems.size() > 0) {
-                //Create an array of generics from our list.
-                T[] toArray = (T[]) Array.newInstance(eventsCallback.classType(), allItems.size());
-                for (int i = 0; i < allItems.size(); i++) {
-                    toArray[i] = allItems.get(i);
-                }
-
-                callback.success(toArray, response);
-            } else {
-                //No items were retrieved.
-                T[] toArray = (T[]) Array.newInstance(eventsCallback.classType(), allItems.size());
-                callback.success(toArray, response);
+            if (cacheStore != null) {
+                checkpointExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        CrawlCheckpoint.delete(cacheStore, checkpointName);
+                    }
+                });
             }
+
+            callback.success(toArray(), response);
         } else {
+            if (cacheStore != null) {
+                //Just this page. Earlier pages are already saved.
+                final List<T> pageItems = new ArrayList<T>(Arrays.asList(ts));
+                final int page = pageCount;
+                final long createdAt = crawlStartedAt;
+                checkpointExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        CrawlCheckpoint.savePage(cacheStore, checkpointName, page, pageItems, nextURL, createdAt);
+                    }
+                });
+            }
+
             //Do more api calls
+            getTracer().instant("exhaustiveHop", CanvasTracer.CATEGORY_CALLBACK, getTraceId(), "page", pageCount + 1);
             eventsCallback.performApiCallWithExhaustiveCallback(this, nextURL);
         }
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public boolean onFailure(RetrofitError retrofitError) {
+        //The last checkpoint was written after the last good page, so it's already where a retry should pick up.
+        if (callback instanceof PartialResultCallback) {
+            ((PartialResultCallback<T>) callback).partialResult(toArray(), checkpointName, retrofitError);
+        }
+
+        if (callback.onFailure(retrofitError)) {
+            return true;
+        }
         return super.onFailure(retrofitError);
     }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    @SuppressWarnings("unchecked")
+    private T[] toArray() {
+        //Create an array of generics from our list.
+        T[] toArray = (T[]) Array.newInstance(eventsCallback.classType(), allItems.size());
+        return allItems.toArray(toArray);
+    }
+
+    private class ReadCheckpoint extends AsyncTask<CacheStore, Void, CrawlCheckpoint<T>> {
+        private final FirstPageCall firstPageCall;
+
+        private ReadCheckpoint(FirstPageCall firstPageCall) {
+            this.firstPageCall = firstPageCall;
+        }
+
+        @Override
+        protected CrawlCheckpoint<T> doInBackground(CacheStore... params) {
+            final CacheStore cacheStore = params[0];
+            try {
+                //Behind any write or delete still queued, so it sees the latest checkpoint.
+                return checkpointExecutor.submit(new Callable<CrawlCheckpoint<T>>() {
+                    @Override
+                    public CrawlCheckpoint<T> call() {
+                        return CrawlCheckpoint.load(cacheStore, checkpointName, System.currentTimeMillis(), CrawlCheckpoint.DEFAULT_MAX_AGE);
+                    }
+                }).get();
+            } catch (Exception E) {
+                return null;
+            }
+        }
+
+        @Override
+        protected void onPostExecute(CrawlCheckpoint<T> checkpoint) {
+            super.onPostExecute(checkpoint);
+
+            //The caller cancels the callback it passed in, not this task or the bridge.
+            if (callback.isCancelled() || ExhaustiveBridgeCallback.this.isCancelled() || getContext() == null) {
+                return;
+            }
+
+            if (checkpoint == null) {
+                firstPageCall.performFirstApiCall(ExhaustiveBridgeCallback.this);
+                return;
+            }
+
+            allItems.addAll(checkpoint.getItems());
+            pageCount = checkpoint.getPageCount();
+            crawlStartedAt = checkpoint.getCreatedAt();
+            eventsCallback.performApiCallWithExhaustiveCallback(ExhaustiveBridgeCallback.this, checkpoint.getNextURL());
+        }
+    }
 }
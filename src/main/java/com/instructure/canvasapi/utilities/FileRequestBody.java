@@ -0,0 +1,115 @@
+package com.instructure.canvasapi.utilities;
+
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.RequestBody;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * FileRequestBody streams a file, or a region of one, into a request a segment at a time, so a 500MB video
+ * never has to fit in memory. Its length is known up front, so the request gets a Content-Length instead of
+ * being chunked.
+ *
+ * Progress is reported as it's written, about every PROGRESS_STEP bytes and at the end. A retried request
+ * writes the body again, and progress starts over from the region's start.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class FileRequestBody extends RequestBody {
+
+    public interface ProgressListener {
+        /**
+         * Called on the uploading thread.
+         * @param bytesWritten Of this body so far.
+         * @param contentLength Of this body.
+         */
+        public void onProgress(long bytesWritten, long contentLength);
+    }
+
+    public final static long PROGRESS_STEP = 64 * 1024;
+    private final static long SEGMENT = 8 * 1024;
+
+    private final MediaType contentType;
+    private final File file;
+    private final long offset;
+    private final long length;
+    private final ProgressListener progressListener;
+
+    public FileRequestBody(MediaType contentType, File file, ProgressListener progressListener) {
+        this(contentType, file, 0, file.length(), progressListener);
+    }
+
+    /**
+     * @param offset Where in the file to start.
+     * @param length How many bytes from there.
+     * @param progressListener Can be null.
+     */
+    public FileRequestBody(MediaType contentType, File file, long offset, long length, ProgressListener progressListener) {
+        if (offset < 0 || length < 0 || offset + length > file.length()) {
+            throw new IllegalArgumentException("Region " + offset + "+" + length + " isn't in " + file.length() + " bytes");
+        }
+        this.contentType = contentType;
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return length;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        FileInputStream inputStream = new FileInputStream(file);
+        Source source = null;
+        try {
+            inputStream.getChannel().position(offset);
+            source = Okio.source(inputStream);
+            Buffer buffer = sink.buffer();
+
+            long written = 0;
+            long reported = 0;
+            while (written < length) {
+                long read = source.read(buffer, Math.min(SEGMENT, length - written));
+                if (read == -1) {
+                    throw new IOException(file.getName() + " got shorter while uploading");
+                }
+                written += read;
+                sink.emitCompleteSegments();
+
+                if (progressListener != null && (written - reported >= PROGRESS_STEP || written == length)) {
+                    reported = written;
+                    progressListener.onProgress(written, length);
+                }
+            }
+        } finally {
+            if (source != null) {
+                source.close();
+            } else {
+                inputStream.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.instructure.canvasapi.utilities;
+
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Headers;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * FileUploader sends files over OkHttp, streaming them from disk with progress, and keeps going after the
+ * network drops.
+ *
+ *      FileUploader uploader = new FileUploader(progressListener);
+ *      FileUploader.UploadResponse response = uploader.uploadMultipart(uploadUrl, uploadParams, "file", file, contentType);
+ *
+ * uploadMultipart() is for a single form POST, like the S3 upload Canvas hands out. It can't be resumed, so a
+ * dropped connection starts the file over.
+ *
+ * uploadKalturaChunks() sends a file to a Kaltura upload token in chunks of getChunkSize(). After a dropped
+ * connection it asks Kaltura how much it has and carries on from there, so losing the network at 490MB of a
+ * 500MB lecture only resends the last chunk. Passing resumeExisting picks up a token from an earlier attempt,
+ * even one from before the app was killed.
+ *
+ * Network errors and 5xx responses are retried up to getMaxRetries() times in a row, backing off from 1
+ * second up to 30. Blocks, so call it off the main thread. cancel() stops it from any thread.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class FileUploader {
+
+    public interface ProgressListener {
+        /**
+         * Called on the uploading thread. Can go backwards when a retry resends bytes.
+         */
+        public void onProgress(long bytesUploaded, long fileSize);
+    }
+
+    public static class UploadResponse {
+        private final int code;
+        private final String body;
+        private final Headers headers;
+
+        private UploadResponse(int code, String body, Headers headers) {
+            this.code = code;
+            this.body = body;
+            this.headers = headers;
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * @return The Location header, which S3 redirects to once the file is in. Can be null.
+         */
+        public String getLocation() {
+            return headers.get("Location");
+        }
+
+        /**
+         * @return The last header with that name, or null.
+         */
+        public String getHeader(String name) {
+            return headers.get(name);
+        }
+
+        public boolean isSuccessful() {
+            return code >= 200 && code < 400;
+        }
+    }
+
+    public final static long DEFAULT_CHUNK_SIZE = 5 * 1024 * 1024;
+    public final static int DEFAULT_MAX_RETRIES = 5;
+    public final static long UNKNOWN_SIZE = -1;
+
+    private final static long FIRST_BACKOFF = 1000;
+    private final static long MAX_BACKOFF = 30 * 1000;
+
+    private final static Pattern UPLOADED_FILE_SIZE = Pattern.compile("<uploadedFileSize>\\s*(\\d+)\\s*</uploadedFileSize>");
+
+    private static OkHttpClient defaultClient;
+
+    private final OkHttpClient client;
+    private final ProgressListener progressListener;
+    private long chunkSize = DEFAULT_CHUNK_SIZE;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+
+    private volatile boolean cancelled = false;
+    private volatile Call call;
+
+    /**
+     * @param progressListener Can be null.
+     */
+    public FileUploader(ProgressListener progressListener) {
+        this(getDefaultClient(), progressListener);
+    }
+
+    public FileUploader(OkHttpClient client, ProgressListener progressListener) {
+        //Its own copy, so turning off redirects doesn't change the caller's.
+        this.client = client.clone();
+        this.client.setFollowRedirects(false);
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Shared by every upload so they share connections. Writes get a minute, like reads in CanvasRestAdapter.
+     */
+    private static synchronized OkHttpClient getDefaultClient() {
+        if (defaultClient == null) {
+            defaultClient = new OkHttpClient();
+            defaultClient.setConnectTimeout(30, TimeUnit.SECONDS);
+            defaultClient.setWriteTimeout(60, TimeUnit.SECONDS);
+            defaultClient.setReadTimeout(60, TimeUnit.SECONDS);
+        }
+        return defaultClient;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Settings
+    ///////////////////////////////////////////////////////////////////////////
+
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(long chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize has to be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    /**
+     * Stops the upload, aborting the request in flight. The upload throws an InterruptedIOException.
+     */
+    public void cancel() {
+        cancelled = true;
+        Call current = call;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Uploads
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * POSTs the fields and then the file as multipart/form-data, with a Content-Length. Redirects aren't
+     * followed, so the Location of S3's redirect is in the response.
+     *
+     * @param fields e.g. upload_params from Canvas, in order.
+     * @param fileField "file" for S3.
+     * @param contentType Can be null.
+     * @throws IOException If it still fails after the retries, or it was cancelled.
+     */
+    public UploadResponse uploadMultipart(String url, Map<String, String> fields, String fileField, File file, String contentType) throws IOException {
+        final long fileSize = file.length();
+        MediaType mediaType = contentType == null ? null : MediaType.parse(contentType);
+        FileRequestBody fileBody = new FileRequestBody(mediaType, file, new FileRequestBody.ProgressListener() {
+            @Override
+            public void onProgress(long bytesWritten, long contentLength) {
+                reportProgress(bytesWritten, fileSize);
+            }
+        });
+        Request request = new Request.Builder()
+                .url(url)
+                .post(new MultipartUploadBody(fields, fileField, file.getName(), fileBody))
+                .build();
+
+        int failures = 0;
+        while (true) {
+            try {
+                UploadResponse response = execute(request);
+                if (response.getCode() < 500 || failures >= maxRetries) {
+                    return response;
+                }
+            } catch (IOException E) {
+                if (cancelled || failures >= maxRetries) {
+                    throw E;
+                }
+            }
+            backOff(++failures);
+        }
+    }
+
+    /**
+     * Uploads the file to a Kaltura upload token a chunk at a time, resuming where Kaltura left off after
+     * a dropped connection.
+     *
+     * @param kalturaUrl e.g. APIHelpers.getFullKalturaDomain(context)
+     * @param ks The Kaltura session, APIHelpers.getKalturaToken(context).
+     * @param resumeExisting true to first ask Kaltura how much of the token it already has. Starts over if it won't say.
+     * @return Kaltura's response to the last chunk, or null if Kaltura answered with an error.
+     * @throws IOException If a chunk still fails after the retries, or it was cancelled.
+     */
+    public String uploadKalturaChunks(String kalturaUrl, String ks, String uploadToken, File file, String contentType, boolean resumeExisting) throws IOException {
+        final long fileSize = file.length();
+        MediaType mediaType = contentType == null ? null : MediaType.parse(contentType);
+        long offset = resumeExisting ? Math.max(0, Math.min(fileSize, getKalturaUploadedSize(kalturaUrl, ks, uploadToken))) : 0;
+        reportProgress(offset, fileSize);
+
+        int failures = 0;
+        String lastBody = null;
+        //An empty file still needs its one final chunk.
+        while (offset < fileSize || lastBody == null) {
+            final long chunkOffset = offset;
+            long length = Math.min(chunkSize, fileSize - offset);
+            boolean finalChunk = offset + length == fileSize;
+
+            FileRequestBody chunk = new FileRequestBody(mediaType, file, offset, length, new FileRequestBody.ProgressListener() {
+                @Override
+                public void onProgress(long bytesWritten, long contentLength) {
+                    reportProgress(chunkOffset + bytesWritten, fileSize);
+                }
+            });
+            Map<String, String> fields = new LinkedHashMap<String, String>();
+            fields.put("ks", ks);
+            fields.put("uploadTokenId", uploadToken);
+            fields.put("resume", offset > 0 ? "1" : "0");
+            fields.put("resumeAt", Long.toString(offset));
+            fields.put("finalChunk", finalChunk ? "1" : "0");
+            Request request = new Request.Builder()
+                    .url(kalturaUrl + "/api_v3/index.php?service=uploadtoken&action=upload")
+                    .post(new MultipartUploadBody(fields, "fileData", file.getName(), chunk))
+                    .build();
+
+            try {
+                UploadResponse response = execute(request);
+                if (response.getCode() >= 500) {
+                    throw new IOException("Kaltura returned " + response.getCode());
+                }
+                if (!response.isSuccessful() || isKalturaError(response.getBody())) {
+                    return null;
+                }
+                offset += length;
+                lastBody = response.getBody();
+                failures = 0;
+            } catch (IOException E) {
+                if (cancelled || failures >= maxRetries) {
+                    throw E;
+                }
+                backOff(++failures);
+
+                //Some or all of the chunk may have made it. Carry on from whatever Kaltura has, or if it won't
+                //say, resend the whole chunk from the last offset it confirmed.
+                try {
+                    long uploaded = getKalturaUploadedSize(kalturaUrl, ks, uploadToken);
+                    if (uploaded != UNKNOWN_SIZE) {
+                        offset = Math.min(fileSize, uploaded);
+                    }
+                } catch (IOException sizeException) {
+                    //Resend the whole chunk.
+                }
+                lastBody = null;
+            }
+        }
+        return lastBody;
+    }
+
+    /**
+     * @return How many bytes of the upload token Kaltura has, or UNKNOWN_SIZE if it doesn't say.
+     */
+    public long getKalturaUploadedSize(String kalturaUrl, String ks, String uploadToken) throws IOException {
+        Request request = new Request.Builder()
+                .url(kalturaUrl + "/api_v3/index.php?service=uploadtoken&action=get&ks=" + encode(ks)
+                        + "&uploadTokenId=" + encode(uploadToken))
+                .get()
+                .build();
+        UploadResponse response = execute(request);
+        return response.isSuccessful() ? parseKalturaUploadedSize(response.getBody()) : UNKNOWN_SIZE;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The uploadedFileSize in an uploadtoken response, or UNKNOWN_SIZE if there isn't one, like in an error.
+     */
+    public static long parseKalturaUploadedSize(String response) {
+        if (response == null) {
+            return UNKNOWN_SIZE;
+        }
+        Matcher matcher = UPLOADED_FILE_SIZE.matcher(response);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : UNKNOWN_SIZE;
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException E) {
+            return value;
+        }
+    }
+
+    private static boolean isKalturaError(String response) {
+        return response != null && response.contains("<error>");
+    }
+
+    /**
+     * @return How long to wait before the given retry: 1s, 2s, 4s... up to 30s.
+     */
+    public static long getBackOff(int failures) {
+        if (failures <= 0) {
+            return 0;
+        }
+        return Math.min(MAX_BACKOFF, FIRST_BACKOFF << Math.min(failures - 1, 16));
+    }
+
+    private UploadResponse execute(Request request) throws IOException {
+        checkCancelled();
+        Call current = client.newCall(request);
+        call = current;
+        try {
+            Response response = current.execute();
+            //Upload responses are a little JSON or XML, so reading it whole is fine.
+            String body = response.body() == null ? null : response.body().string();
+            return new UploadResponse(response.code(), body, response.headers());
+        } catch (IOException E) {
+            checkCancelled();
+            throw E;
+        } finally {
+            call = null;
+        }
+    }
+
+    private void backOff(int failures) throws IOException {
+        checkCancelled();
+        try {
+            Thread.sleep(getBackOff(failures));
+        } catch (InterruptedException E) {
+            cancelled = true;
+            Thread.currentThread().interrupt();
+        }
+        checkCancelled();
+    }
+
+    private void checkCancelled() throws InterruptedIOException {
+        if (cancelled) {
+            throw new InterruptedIOException("Upload cancelled");
+        }
+    }
+
+    private void reportProgress(long bytesUploaded, long fileSize) {
+        if (progressListener != null) {
+            progressListener.onProgress(bytesUploaded, fileSize);
+        }
+    }
+}
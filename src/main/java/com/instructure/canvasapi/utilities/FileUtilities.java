@@ -3,7 +3,11 @@ package com.instructure.canvasapi.utilities;
 import android.content.Context;
 import android.webkit.MimeTypeMap;
 
-import java.io.*;
+import com.instructure.canvasapi.core.CacheStore;
+import com.instructure.canvasapi.core.FileCacheStore;
+
+import java.io.File;
+import java.io.Serializable;
 
 /**
  * Created by Josh Ruesch
@@ -16,6 +20,32 @@ public class FileUtilities {
     public final static String FILE_SUFFIX = ".serializable";
     public final static String FILE_DIRECTORY = "cache";
 
+    /**
+     * Returns the CacheStore for the given context. Everything is stored under :filesDir/cache.
+     * @param context
+     * @return
+     */
+    public static CacheStore getCacheStore(Context context) {
+        return new FileCacheStore(new File(context.getFilesDir(), FILE_DIRECTORY), AndroidLogger.INSTANCE);
+    }
+
+    /**
+     * Returns how old the cache file is, or -1 if there isn't one or the store isn't file backed.
+     * @param cacheStore
+     * @param cacheFileName
+     * @return
+     */
+    public static long getCacheAge(CacheStore cacheStore, String cacheFileName) {
+        if (!(cacheStore instanceof FileCacheStore) || cacheFileName == null) {
+            return -1;
+        }
+        File file = ((FileCacheStore) cacheStore).getFile(cacheFileName);
+        if (!file.exists()) {
+            return -1;
+        }
+        return Math.max(0, System.currentTimeMillis() - file.lastModified());
+    }
+
     /**
      * Converts a serializable object to the specified file.
      * @param context
@@ -28,29 +58,7 @@ public class FileUtilities {
         if (context == null || cacheFileName == null || serializable == null) {
             return false;
         }
-        try {
-            cacheFileName += FILE_SUFFIX;
-
-            File f = new File(context.getFilesDir(), FILE_DIRECTORY);
-            File file = new File(f, cacheFileName);
-
-            file.getParentFile().mkdirs();
-            file.createNewFile();
-
-
-            //Write to file.
-            OutputStream outputStream = new FileOutputStream(file);
-            OutputStream buffer = new BufferedOutputStream(outputStream);
-            ObjectOutput output = new ObjectOutputStream(buffer);
-
-            output.writeObject(serializable);
-
-            output.flush();
-            output.close();
-            return true;
-        } catch (Exception E) {
-            return false;
-        }
+        return getCacheStore(context).write(cacheFileName, serializable);
     }
 
     /**
@@ -63,22 +71,7 @@ public class FileUtilities {
         if(context == null || cacheFileName == null){
             return false;
         }
-
-        try {
-            cacheFileName += FILE_SUFFIX;
-
-            //use buffering
-            File f = new File(context.getFilesDir(), FILE_DIRECTORY);
-            f.mkdirs();
-            File file = new File(f, cacheFileName);
-
-            try {
-              return file.delete();
-            } finally {
-            }
-        } catch (Exception E) {
-            return false;
-        }
+        return getCacheStore(context).delete(cacheFileName);
     }
 
     /**
@@ -88,27 +81,10 @@ public class FileUtilities {
      * @return
      */
     public static Serializable FileToSerializable(Context context, String cacheFileName) {
-
-        try {
-            cacheFileName += FILE_SUFFIX;
-
-            //use buffering
-            File f = new File(context.getFilesDir(), FILE_DIRECTORY);
-            f.mkdirs();
-            File file = new File(f, cacheFileName);
-
-            InputStream fileInputStream = new FileInputStream(file);
-            InputStream buffer = new BufferedInputStream(fileInputStream);
-            ObjectInput input = new ObjectInputStream(buffer);
-            try {
-                //deserialize
-                return (Serializable)input.readObject();
-            } finally {
-                input.close();
-            }
-        } catch (Exception E) {
+        if(context == null){
             return null;
         }
+        return getCacheStore(context).read(cacheFileName);
     }
 
 
@@ -119,37 +95,7 @@ public class FileUtilities {
      */
     public static boolean deleteAllFilesInDirectory(File startFile)
     {
-        try
-        {
-            //If it's a directory.
-            if(startFile.isDirectory())
-            {
-                //Delete all files inside of it.
-                String[] files = startFile.list();
-                for(String fileName: files){
-                    File file = new File(startFile, fileName);
-                    //If it's a directory. recursive.
-                    if(file.isDirectory()){
-                        deleteAllFilesInDirectory(file);
-                    }
-                    //It's a file. Delete it.
-                    else{
-                        file.delete();
-                    }
-                }
-                //Now delete the parent folder.
-                startFile.delete();
-            }
-            //If it's not a directory, delete the file.
-            else{
-                startFile.delete();
-            }
-            return true;
-        }
-        catch(Exception E)
-        {
-            return false;
-        }
+        return FileCacheStore.deleteRecursively(startFile);
     }
 
 
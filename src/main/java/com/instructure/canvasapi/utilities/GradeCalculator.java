@@ -0,0 +1,625 @@
+package com.instructure.canvasapi.utilities;
+
+import com.instructure.canvasapi.core.LongIntMap;
+import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.model.AssignmentGroup;
+import com.instructure.canvasapi.model.AssignmentGroupRules;
+import com.instructure.canvasapi.model.Course;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * GradeCalculator computes course grades locally the way Canvas does, so what-if and projected grades don't
+ * need a round trip:
+ *
+ *      GradeCalculator calculator = new GradeCalculator(course, assignmentGroups, false);
+ *      GradeCalculator.Projection whatIf = calculator.project(scores, excused);
+ *      GradeCalculator.Grade grade = whatIf.setScore(assignmentId, 18);
+ *
+ * Like Canvas:
+ *  - The current score only counts graded assignments. The final score counts ungraded ones as 0.
+ *  - Excused assignments and not graded assignments don't count at all.
+ *  - Muted assignments count as ungraded unless includeMuted, which is what teachers see.
+ *  - Each group drops its drop_lowest, then its drop_highest, except never_drop assignments. Which ones are
+ *    dropped is whichever leaves the group's percentage highest (or lowest), not just the lowest scores.
+ *  - With group weights, each group with points possible counts for its weight. If those weights add up to
+ *    less than 100 the score is scaled up to 100.
+ *
+ * Scores are points by assignment index (see getAssignmentIds()), GradebookStore.NO_SCORE where ungraded.
+ * Grades are percentages. computeAll() does a whole class from a GradebookStore across cores.
+ *
+ * Immutable, so thread safe. A Projection is not.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class GradeCalculator {
+
+    public final static double NO_SCORE = GradebookStore.NO_SCORE;
+
+    //Caps the search for which assignments to drop. It converges in a handful.
+    private final static int MAX_DROP_ITERATIONS = 100;
+
+    private static class Group {
+        private final double weight;
+        private final int dropLowest;
+        private final int dropHighest;
+        //Assignment indexes.
+        private final int[] assignments;
+        private final boolean[] neverDrop;
+
+        private Group(double weight, int dropLowest, int dropHighest, int[] assignments, boolean[] neverDrop) {
+            this.weight = weight;
+            this.dropLowest = dropLowest;
+            this.dropHighest = dropHighest;
+            this.assignments = assignments;
+            this.neverDrop = neverDrop;
+        }
+    }
+
+    /**
+     * A student's grade. Scores are percentages, NO_SCORE when there's nothing to grade.
+     */
+    public static class Grade {
+        private final double currentScore;
+        private final double finalScore;
+        private final long[] groupIds;
+        private final double[] groupCurrentScores;
+        private final double[] groupFinalScores;
+
+        private Grade(double currentScore, double finalScore, long[] groupIds, double[] groupCurrentScores, double[] groupFinalScores) {
+            this.currentScore = currentScore;
+            this.finalScore = finalScore;
+            this.groupIds = groupIds;
+            this.groupCurrentScores = groupCurrentScores;
+            this.groupFinalScores = groupFinalScores;
+        }
+
+        public double getCurrentScore() {
+            return currentScore;
+        }
+
+        public double getFinalScore() {
+            return finalScore;
+        }
+
+        /**
+         * @return The group's current score, or NO_SCORE.
+         */
+        public double getGroupCurrentScore(long assignmentGroupId) {
+            int index = indexOfGroup(assignmentGroupId);
+            return index == -1 ? NO_SCORE : groupCurrentScores[index];
+        }
+
+        /**
+         * @return The group's final score, or NO_SCORE.
+         */
+        public double getGroupFinalScore(long assignmentGroupId) {
+            int index = indexOfGroup(assignmentGroupId);
+            return index == -1 ? NO_SCORE : groupFinalScores[index];
+        }
+
+        private int indexOfGroup(long assignmentGroupId) {
+            for (int i = 0; i < groupIds.length; i++) {
+                if (groupIds[i] == assignmentGroupId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private final boolean weighted;
+    private final boolean includeMuted;
+    private final long[] assignmentIds;
+    private final double[] pointsPossible;
+    private final boolean[] muted;
+    private final int[] groupOf;
+    private final Group[] groups;
+    private final long[] groupIds;
+    private final LongIntMap indexes = new LongIntMap();
+
+    /**
+     * @param assignmentGroups With their assignments and rules.
+     * @param includeMuted true to count muted assignments, as teachers see them.
+     */
+    public GradeCalculator(Course course, AssignmentGroup[] assignmentGroups, boolean includeMuted) {
+        this(assignmentGroups, course.getApplyAssignmentGroupWeights(), includeMuted);
+    }
+
+    public GradeCalculator(AssignmentGroup[] assignmentGroups, boolean applyGroupWeights, boolean includeMuted) {
+        this.weighted = applyGroupWeights;
+        this.includeMuted = includeMuted;
+
+        List<Assignment> assignments = new ArrayList<Assignment>();
+        List<Integer> groupOfAssignment = new ArrayList<Integer>();
+        groups = new Group[assignmentGroups.length];
+        groupIds = new long[assignmentGroups.length];
+        for (int g = 0; g < assignmentGroups.length; g++) {
+            AssignmentGroup group = assignmentGroups[g];
+            AssignmentGroupRules rules = group.getRules() == null ? new AssignmentGroupRules() : group.getRules();
+            List<Integer> members = new ArrayList<Integer>();
+            if (group.getAssignments() != null) {
+                for (Assignment assignment : group.getAssignments()) {
+                    if (assignment.getSubmissionTypes() != null && assignment.getSubmissionTypes().contains(Assignment.SUBMISSION_TYPE.NOT_GRADED)) {
+                        continue;
+                    }
+                    members.add(assignments.size());
+                    assignments.add(assignment);
+                    groupOfAssignment.add(g);
+                }
+            }
+
+            int[] memberIndexes = new int[members.size()];
+            boolean[] neverDrop = new boolean[members.size()];
+            for (int i = 0; i < memberIndexes.length; i++) {
+                memberIndexes[i] = members.get(i);
+                neverDrop[i] = rules.isNeverDrop(assignments.get(members.get(i)).getId());
+            }
+            groups[g] = new Group(group.getGroupWeight(), rules.getDropLowest(), rules.getDropHighest(), memberIndexes, neverDrop);
+            groupIds[g] = group.getId();
+        }
+
+        int size = assignments.size();
+        assignmentIds = new long[size];
+        pointsPossible = new double[size];
+        muted = new boolean[size];
+        groupOf = new int[size];
+        for (int i = 0; i < size; i++) {
+            Assignment assignment = assignments.get(i);
+            assignmentIds[i] = assignment.getId();
+            pointsPossible[i] = assignment.getPointsPossible();
+            muted[i] = assignment.isMuted();
+            groupOf[i] = groupOfAssignment.get(i);
+            indexes.put(assignment.getId(), i);
+        }
+    }
+
+    /**
+     * @return The assignments graded, in the order scores are indexed by.
+     */
+    public long[] getAssignmentIds() {
+        return Arrays.copyOf(assignmentIds, assignmentIds.length);
+    }
+
+    /**
+     * @return The assignment's index, or -1 if it isn't graded here.
+     */
+    public int indexOf(long assignmentId) {
+        return indexes.get(assignmentId, -1);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Computing
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param scores Points by assignment index, NO_SCORE where ungraded.
+     * @param excused By assignment index. Can be null.
+     */
+    public Grade compute(double[] scores, boolean[] excused) {
+        return project(scores, excused).getGrade();
+    }
+
+    public Grade compute(GradebookStore store, int row) {
+        return compute(store, getColumns(store), row);
+    }
+
+    /**
+     * @return A student's grade that can be recomputed as scores change, only redoing the group that changed.
+     */
+    public Projection project(double[] scores, boolean[] excused) {
+        return new Projection(scores, excused);
+    }
+
+    public Projection project(GradebookStore store, int row) {
+        int[] columns = getColumns(store);
+        return new Projection(getScores(store, columns, row), getExcused(store, columns, row));
+    }
+
+    /**
+     * Computes every student's grade in the store, split across the available cores.
+     *
+     * @return By store row.
+     */
+    public Grade[] computeAll(GradebookStore store) throws InterruptedException {
+        return computeAll(store, Runtime.getRuntime().availableProcessors());
+    }
+
+    public Grade[] computeAll(final GradebookStore store, int threadCount) throws InterruptedException {
+        final int[] columns = getColumns(store);
+        final int rowCount = store.getStudentCount();
+        final Grade[] grades = new Grade[rowCount];
+        threadCount = Math.max(1, Math.min(threadCount, rowCount));
+        if (threadCount == 1) {
+            for (int row = 0; row < rowCount; row++) {
+                grades[row] = compute(store, columns, row);
+            }
+            return grades;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, "GradeCalculator");
+            }
+        });
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            final int chunk = (rowCount + threadCount - 1) / threadCount;
+            for (int start = 0; start < rowCount; start += chunk) {
+                final int from = start;
+                final int to = Math.min(rowCount, start + chunk);
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int row = from; row < to; row++) {
+                            grades[row] = compute(store, columns, row);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException E) {
+            throw new RuntimeException(E.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return grades;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Projection
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * One student's scores, with each group's totals kept so a change only recomputes its own group.
+     */
+    public class Projection {
+        private final double[] scores;
+        private final boolean[] excused;
+        //{score, possible} by group, for the current and final scores.
+        private final double[][] current = new double[groups.length][];
+        private final double[][] finals = new double[groups.length][];
+        private Grade grade;
+
+        private Projection(double[] scores, boolean[] excused) {
+            if (scores.length != assignmentIds.length) {
+                throw new IllegalArgumentException("Need a score for each of " + assignmentIds.length + " assignments");
+            }
+            this.scores = Arrays.copyOf(scores, scores.length);
+            this.excused = excused == null ? new boolean[scores.length] : Arrays.copyOf(excused, excused.length);
+            for (int g = 0; g < groups.length; g++) {
+                computeGroup(g);
+            }
+        }
+
+        public Grade getGrade() {
+            if (grade == null) {
+                grade = total(current, finals);
+            }
+            return grade;
+        }
+
+        /**
+         * @param score Points, or NO_SCORE to make it ungraded.
+         * @return The grade with it.
+         */
+        public Grade setScore(long assignmentId, double score) {
+            int index = requireIndex(assignmentId);
+            scores[index] = score;
+            return changed(index);
+        }
+
+        public Grade setExcused(long assignmentId, boolean isExcused) {
+            int index = requireIndex(assignmentId);
+            excused[index] = isExcused;
+            return changed(index);
+        }
+
+        public double getScore(long assignmentId) {
+            return scores[requireIndex(assignmentId)];
+        }
+
+        private int requireIndex(long assignmentId) {
+            int index = indexOf(assignmentId);
+            if (index == -1) {
+                throw new IllegalArgumentException("Assignment " + assignmentId + " isn't graded here");
+            }
+            return index;
+        }
+
+        private Grade changed(int index) {
+            computeGroup(groupOf[index]);
+            grade = null;
+            return getGrade();
+        }
+
+        private void computeGroup(int g) {
+            current[g] = groupTotals(groups[g], scores, excused, false);
+            finals[g] = groupTotals(groups[g], scores, excused, true);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Distribution
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Summary of a class's scores, like the assignment and course statistics teachers see.
+     */
+    public static class Distribution {
+        private final int count;
+        private final double min;
+        private final double max;
+        private final double mean;
+        private final double median;
+        private final double lowerQuartile;
+        private final double upperQuartile;
+
+        private Distribution(double[] sorted) {
+            count = sorted.length;
+            if (count == 0) {
+                min = max = mean = median = lowerQuartile = upperQuartile = NO_SCORE;
+                return;
+            }
+            double sum = 0;
+            for (double value : sorted) {
+                sum += value;
+            }
+            min = sorted[0];
+            max = sorted[count - 1];
+            mean = sum / count;
+            median = percentile(sorted, 0.5);
+            lowerQuartile = percentile(sorted, 0.25);
+            upperQuartile = percentile(sorted, 0.75);
+        }
+
+        /**
+         * @param finalScores true for final scores, false for current scores. Students without one are left out.
+         */
+        public static Distribution of(Grade[] grades, boolean finalScores) {
+            double[] values = new double[grades.length];
+            for (int i = 0; i < grades.length; i++) {
+                values[i] = grades[i] == null ? NO_SCORE : (finalScores ? grades[i].getFinalScore() : grades[i].getCurrentScore());
+            }
+            return of(values);
+        }
+
+        /**
+         * @param values NO_SCORE values are left out.
+         */
+        public static Distribution of(double[] values) {
+            double[] sorted = new double[values.length];
+            int count = 0;
+            for (double value : values) {
+                if (!Double.isNaN(value)) {
+                    sorted[count++] = value;
+                }
+            }
+            sorted = Arrays.copyOf(sorted, count);
+            Arrays.sort(sorted);
+            return new Distribution(sorted);
+        }
+
+        //Linear between the closest ranks.
+        private static double percentile(double[] sorted, double fraction) {
+            double rank = fraction * (sorted.length - 1);
+            int below = (int) Math.floor(rank);
+            int above = Math.min(sorted.length - 1, below + 1);
+            return sorted[below] + (rank - below) * (sorted[above] - sorted[below]);
+        }
+
+        public int getCount() { return count; }
+        public double getMin() { return min; }
+        public double getMax() { return max; }
+        public double getMean() { return mean; }
+        public double getMedian() { return median; }
+        public double getLowerQuartile() { return lowerQuartile; }
+        public double getUpperQuartile() { return upperQuartile; }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    private Grade compute(GradebookStore store, int[] columns, int row) {
+        return compute(getScores(store, columns, row), getExcused(store, columns, row));
+    }
+
+    //The store column of each assignment, or -1.
+    private int[] getColumns(GradebookStore store) {
+        int[] columns = new int[assignmentIds.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = store.getColumn(assignmentIds[i]);
+        }
+        return columns;
+    }
+
+    private double[] getScores(GradebookStore store, int[] columns, int row) {
+        double[] studentScores = store.getStudentScores(row);
+        double[] scores = new double[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            scores[i] = columns[i] == -1 || columns[i] >= studentScores.length ? NO_SCORE : studentScores[columns[i]];
+        }
+        return scores;
+    }
+
+    private boolean[] getExcused(GradebookStore store, int[] columns, int row) {
+        boolean[] studentExcused = store.getStudentExcused(row);
+        boolean[] excused = new boolean[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            excused[i] = columns[i] != -1 && columns[i] < studentExcused.length && studentExcused[columns[i]];
+        }
+        return excused;
+    }
+
+    private Grade total(double[][] current, double[][] finals) {
+        double[] groupCurrent = new double[groups.length];
+        double[] groupFinal = new double[groups.length];
+        for (int g = 0; g < groups.length; g++) {
+            groupCurrent[g] = percent(current[g]);
+            groupFinal[g] = percent(finals[g]);
+        }
+        return new Grade(totalScore(current), totalScore(finals), groupIds, groupCurrent, groupFinal);
+    }
+
+    private double totalScore(double[][] totals) {
+        if (!weighted) {
+            double score = 0;
+            double possible = 0;
+            for (double[] total : totals) {
+                score += total[0];
+                possible += total[1];
+            }
+            return percent(new double[] { score, possible });
+        }
+
+        double score = 0;
+        double fullWeight = 0;
+        for (int g = 0; g < groups.length; g++) {
+            if (totals[g][1] > 0) {
+                score += totals[g][0] / totals[g][1] * groups[g].weight;
+                fullWeight += groups[g].weight;
+            }
+        }
+        if (fullWeight == 0) {
+            return NO_SCORE;
+        }
+        return fullWeight < 100 ? score * 100 / fullWeight : score;
+    }
+
+    private static double percent(double[] total) {
+        return total[1] > 0 ? total[0] / total[1] * 100 : NO_SCORE;
+    }
+
+    /**
+     * @return {score, possible} for the group after drop rules.
+     */
+    private double[] groupTotals(Group group, double[] scores, boolean[] excused, boolean ungradedAsZero) {
+        int size = group.assignments.length;
+        double[] droppableScores = new double[size];
+        double[] droppablePossible = new double[size];
+        int droppable = 0;
+        double keptScore = 0;
+        double keptPossible = 0;
+
+        for (int i = 0; i < size; i++) {
+            int assignment = group.assignments[i];
+            if (excused[assignment]) {
+                continue;
+            }
+            double score = scores[assignment];
+            if (muted[assignment] && !includeMuted) {
+                score = NO_SCORE;
+            }
+            if (Double.isNaN(score)) {
+                if (!ungradedAsZero) {
+                    continue;
+                }
+                score = 0;
+            }
+            if (group.neverDrop[i]) {
+                keptScore += score;
+                keptPossible += pointsPossible[assignment];
+            } else {
+                droppableScores[droppable] = score;
+                droppablePossible[droppable] = pointsPossible[assignment];
+                droppable++;
+            }
+        }
+
+        //Always keeps at least one.
+        int dropLowest = group.dropLowest;
+        int dropHighest = group.dropHighest;
+        if (dropLowest >= droppable) {
+            dropLowest = Math.max(0, droppable - 1);
+            dropHighest = 0;
+        }
+        if (dropLowest + dropHighest >= droppable) {
+            dropHighest = 0;
+        }
+
+        int[] kept = new int[droppable];
+        for (int i = 0; i < droppable; i++) {
+            kept[i] = i;
+        }
+        if (dropLowest > 0) {
+            kept = keep(kept, droppable - dropLowest, droppableScores, droppablePossible, keptScore, keptPossible, true);
+        }
+        if (dropHighest > 0) {
+            kept = keep(kept, kept.length - dropHighest, droppableScores, droppablePossible, keptScore, keptPossible, false);
+        }
+
+        for (int i : kept) {
+            keptScore += droppableScores[i];
+            keptPossible += droppablePossible[i];
+        }
+        return new double[] { keptScore, keptPossible };
+    }
+
+    /**
+     * Picks count of candidates that give the highest (or lowest) percentage along with the fixed score and
+     * possible. Iterates on the percentage q, keeping the count with the best score - q * possible, until q
+     * stops changing. Each step can only improve q, so it settles quickly.
+     */
+    private static int[] keep(int[] candidates, int count, final double[] scores, final double[] possible,
+                              double fixedScore, double fixedPossible, final boolean highest) {
+        Integer[] order = new Integer[candidates.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = candidates[i];
+        }
+
+        double q = ratio(candidates, scores, possible, fixedScore, fixedPossible);
+        int[] chosen = candidates;
+        for (int iteration = 0; iteration < MAX_DROP_ITERATIONS; iteration++) {
+            final double currentQ = q;
+            //Stable, so equal values keep assignment order.
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer a, Integer b) {
+                    double valueA = scores[a] - currentQ * possible[a];
+                    double valueB = scores[b] - currentQ * possible[b];
+                    return highest ? Double.compare(valueB, valueA) : Double.compare(valueA, valueB);
+                }
+            });
+
+            chosen = new int[count];
+            for (int i = 0; i < count; i++) {
+                chosen[i] = order[i];
+            }
+            double nextQ = ratio(chosen, scores, possible, fixedScore, fixedPossible);
+            if (nextQ == q) {
+                break;
+            }
+            q = nextQ;
+        }
+        Arrays.sort(chosen);
+        return chosen;
+    }
+
+    private static double ratio(int[] chosen, double[] scores, double[] possible, double fixedScore, double fixedPossible) {
+        double score = fixedScore;
+        double total = fixedPossible;
+        for (int i : chosen) {
+            score += scores[i];
+            total += possible[i];
+        }
+        if (total == 0) {
+            //Only extra credit. Keep the most points.
+            return score > 0 ? Double.MAX_VALUE : 0;
+        }
+        return score / total;
+    }
+}
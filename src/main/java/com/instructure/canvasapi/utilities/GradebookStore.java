@@ -0,0 +1,575 @@
+package com.instructure.canvasapi.utilities;
+
+import com.instructure.canvasapi.core.LongIntMap;
+import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.model.AssignmentGroup;
+import com.instructure.canvasapi.model.ColumnDatum;
+import com.instructure.canvasapi.model.CustomColumn;
+import com.instructure.canvasapi.model.StudentSubmission;
+import com.instructure.canvasapi.model.Submission;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * GradebookStore keeps a course's gradebook in columns of primitives, one cell per (student row, assignment
+ * column), instead of a Submission object per cell. It's filled from the teacher side APIs:
+ *
+ *      gradebook.setAssignmentGroups(groups);              //AssignmentGroupAPI, with assignments
+ *      gradebook.addStudentSubmissions(studentSubmissions); //SubmissionAPI.getSubmissionsAndGradesForMultipleStudents(), each page
+ *      gradebook.setCustomColumns(columns);                //CustomGradebookColumnAPI
+ *      gradebook.addColumnData(columnId, data);
+ *
+ * and kept current with the single Submission that grading returns:
+ *
+ *      gradebook.updateSubmission(submission);
+ *
+ * 1,500 students by 200 assignments is 300,000 Submissions, each with its lists, strings and dates. Here
+ * that's a score, a grade, a workflow state, a few flags and an id per cell, about 30 bytes. Grades and
+ * workflow states repeat a lot, so each distinct one is kept once and cells hold its code.
+ *
+ * Cells are stored row by row, so a student's slice is a copy of one run and an assignment's slice is a
+ * stride through the rows. Rows and columns are added as students and assignments show up, in any order.
+ *
+ * Thread safe.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class GradebookStore {
+
+    public final static double NO_SCORE = Double.NaN;
+    public final static int NOT_FOUND = -1;
+
+    private final static byte HAS_SUBMISSION = 1;
+    private final static byte LATE = 1 << 1;
+    private final static byte EXCUSED = 1 << 2;
+    private final static byte GRADE_MATCHES_CURRENT_SUBMISSION = 1 << 3;
+
+    //Code 0 is null.
+    private final static int NO_STRING = 0;
+
+    //Rows, one per student.
+    private long[] studentIds = new long[0];
+    private double[] finalScores = new double[0];
+    private double[] currentScores = new double[0];
+    private int rowCount = 0;
+    private LongIntMap rows = new LongIntMap();
+
+    //Columns, one per assignment.
+    private long[] assignmentIds = new long[0];
+    private long[] assignmentGroupIds = new long[0];
+    private double[] pointsPossible = new double[0];
+    private int columnCount = 0;
+    private LongIntMap columns = new LongIntMap();
+
+    //Cells, at row * stride + column. stride is the column capacity.
+    private int stride = 0;
+    private long[] submissionIds = new long[0];
+    private double[] scores = new double[0];
+    private int[] grades = new int[0];
+    private int[] workflowStates = new int[0];
+    private byte[] flags = new byte[0];
+
+    private final List<String> strings = new ArrayList<String>();
+    private final HashMap<String, Integer> stringCodes = new HashMap<String, Integer>();
+
+    //Assignment groups, in the order set.
+    private long[] groupIds = new long[0];
+    private double[] groupWeights = new double[0];
+
+    //Custom columns, each with its content by row.
+    private final List<CustomColumn> customColumns = new ArrayList<CustomColumn>();
+    private final List<String[]> customData = new ArrayList<String[]>();
+
+    public GradebookStore() {
+        strings.add(null);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Loading
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Adds a column for each assignment, and sets its group and points possible. The Assignments aren't kept.
+     */
+    public synchronized void setAssignmentGroups(AssignmentGroup[] assignmentGroups) {
+        if (assignmentGroups == null) {
+            return;
+        }
+        groupIds = new long[assignmentGroups.length];
+        groupWeights = new double[assignmentGroups.length];
+        for (int g = 0; g < assignmentGroups.length; g++) {
+            AssignmentGroup group = assignmentGroups[g];
+            groupIds[g] = group.getId();
+            groupWeights[g] = group.getGroupWeight();
+            if (group.getAssignments() == null) {
+                continue;
+            }
+            for (Assignment assignment : group.getAssignments()) {
+                int column = getOrAddColumn(assignment.getId());
+                assignmentGroupIds[column] = group.getId();
+                pointsPossible[column] = assignment.getPointsPossible();
+            }
+        }
+    }
+
+    /**
+     * Adds or updates a row for each student, with their submissions and total scores. Call it with each page.
+     */
+    public synchronized void addStudentSubmissions(StudentSubmission[] studentSubmissions) {
+        if (studentSubmissions == null) {
+            return;
+        }
+        for (StudentSubmission studentSubmission : studentSubmissions) {
+            int row = getOrAddRow(studentSubmission.getUser_id());
+            finalScores[row] = studentSubmission.getComputed_final_score();
+            currentScores[row] = studentSubmission.getComputed_current_score();
+            if (studentSubmission.getSubmissions() == null) {
+                continue;
+            }
+            for (Submission submission : studentSubmission.getSubmissions()) {
+                if (submission != null && submission.getAssignment_id() != 0) {
+                    setCell(row, getOrAddColumn(submission.getAssignment_id()), submission);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces one cell with a Submission from the API, like the one grading or commenting returns.
+     * The student's total scores aren't in it, so they're left as they were.
+     *
+     * @return false if it doesn't say which student and assignment it's for.
+     */
+    public synchronized boolean updateSubmission(Submission submission) {
+        if (submission == null || submission.getUser_id() == 0 || submission.getAssignment_id() == 0) {
+            return false;
+        }
+        setCell(getOrAddRow(submission.getUser_id()), getOrAddColumn(submission.getAssignment_id()), submission);
+        return true;
+    }
+
+    /**
+     * Sets the custom columns. Data already loaded for a column that's still here is kept.
+     */
+    public synchronized void setCustomColumns(CustomColumn[] columns) {
+        if (columns == null) {
+            return;
+        }
+        List<String[]> data = new ArrayList<String[]>(columns.length);
+        for (CustomColumn column : columns) {
+            int index = indexOfCustomColumn(column.getId());
+            data.add(index == NOT_FOUND ? new String[studentIds.length] : customData.get(index));
+        }
+        customColumns.clear();
+        customColumns.addAll(Arrays.asList(columns));
+        customData.clear();
+        customData.addAll(data);
+    }
+
+    /**
+     * Sets a custom column's content for each student in data. Call it with each page, or with the one datum
+     * an update returns.
+     *
+     * @return false if the column isn't one of setCustomColumns().
+     */
+    public synchronized boolean addColumnData(long customColumnId, ColumnDatum... data) {
+        int index = indexOfCustomColumn(customColumnId);
+        if (index == NOT_FOUND || data == null) {
+            return false;
+        }
+        for (ColumnDatum datum : data) {
+            if (datum != null) {
+                int row = getOrAddRow(datum.getUser_id());
+                customData.get(index)[row] = datum.getContent();
+            }
+        }
+        return true;
+    }
+
+    public synchronized void clear() {
+        studentIds = new long[0];
+        finalScores = new double[0];
+        currentScores = new double[0];
+        rowCount = 0;
+        rows = new LongIntMap();
+        assignmentIds = new long[0];
+        assignmentGroupIds = new long[0];
+        pointsPossible = new double[0];
+        columnCount = 0;
+        columns = new LongIntMap();
+        stride = 0;
+        submissionIds = new long[0];
+        scores = new double[0];
+        grades = new int[0];
+        workflowStates = new int[0];
+        flags = new byte[0];
+        strings.clear();
+        strings.add(null);
+        stringCodes.clear();
+        groupIds = new long[0];
+        groupWeights = new double[0];
+        customColumns.clear();
+        customData.clear();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Rows and columns
+    ///////////////////////////////////////////////////////////////////////////
+
+    public synchronized int getStudentCount() {
+        return rowCount;
+    }
+
+    public synchronized int getAssignmentCount() {
+        return columnCount;
+    }
+
+    /**
+     * @return The student's row, or NOT_FOUND.
+     */
+    public synchronized int getRow(long studentId) {
+        return rows.get(studentId, NOT_FOUND);
+    }
+
+    /**
+     * @return The assignment's column, or NOT_FOUND.
+     */
+    public synchronized int getColumn(long assignmentId) {
+        return columns.get(assignmentId, NOT_FOUND);
+    }
+
+    public synchronized long getStudentId(int row) {
+        checkRow(row);
+        return studentIds[row];
+    }
+
+    public synchronized long getAssignmentId(int column) {
+        checkColumn(column);
+        return assignmentIds[column];
+    }
+
+    /**
+     * @return 0 if its assignment group isn't known.
+     */
+    public synchronized long getAssignmentGroupId(int column) {
+        checkColumn(column);
+        return assignmentGroupIds[column];
+    }
+
+    public synchronized double getPointsPossible(int column) {
+        checkColumn(column);
+        return pointsPossible[column];
+    }
+
+    public synchronized double getFinalScore(int row) {
+        checkRow(row);
+        return finalScores[row];
+    }
+
+    public synchronized double getCurrentScore(int row) {
+        checkRow(row);
+        return currentScores[row];
+    }
+
+    public synchronized long[] getAssignmentGroupIds() {
+        return Arrays.copyOf(groupIds, groupIds.length);
+    }
+
+    /**
+     * @return The group's weight, or 0 if it isn't one of setAssignmentGroups().
+     */
+    public synchronized double getAssignmentGroupWeight(long assignmentGroupId) {
+        for (int g = 0; g < groupIds.length; g++) {
+            if (groupIds[g] == assignmentGroupId) {
+                return groupWeights[g];
+            }
+        }
+        return 0;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Cells
+    ///////////////////////////////////////////////////////////////////////////
+
+    public synchronized boolean hasSubmission(int row, int column) {
+        return (flags[cell(row, column)] & HAS_SUBMISSION) != 0;
+    }
+
+    public synchronized long getSubmissionId(int row, int column) {
+        return submissionIds[cell(row, column)];
+    }
+
+    /**
+     * @return NO_SCORE if it isn't graded.
+     */
+    public synchronized double getScore(int row, int column) {
+        return scores[cell(row, column)];
+    }
+
+    public synchronized String getGrade(int row, int column) {
+        return strings.get(grades[cell(row, column)]);
+    }
+
+    public synchronized String getWorkflowState(int row, int column) {
+        return strings.get(workflowStates[cell(row, column)]);
+    }
+
+    public synchronized boolean isLate(int row, int column) {
+        return (flags[cell(row, column)] & LATE) != 0;
+    }
+
+    public synchronized boolean isExcused(int row, int column) {
+        return (flags[cell(row, column)] & EXCUSED) != 0;
+    }
+
+    /**
+     * @return A Submission with what's stored for the cell, or null if there's none. Comments, attachments and
+     * history aren't stored.
+     */
+    public synchronized Submission getSubmission(int row, int column) {
+        int cell = cell(row, column);
+        if ((flags[cell] & HAS_SUBMISSION) == 0) {
+            return null;
+        }
+        Submission submission = new Submission();
+        submission.setId(submissionIds[cell]);
+        submission.setUser_id(studentIds[row]);
+        submission.setAssignment_id(assignmentIds[column]);
+        submission.setScore(Double.isNaN(scores[cell]) ? 0 : scores[cell]);
+        submission.setGrade(strings.get(grades[cell]));
+        submission.setWorkflowState(strings.get(workflowStates[cell]));
+        submission.setLate((flags[cell] & LATE) != 0);
+        submission.setExcused((flags[cell] & EXCUSED) != 0);
+        submission.setGradeMatchesCurrentSubmission((flags[cell] & GRADE_MATCHES_CURRENT_SUBMISSION) != 0);
+        return submission;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Slices
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The student's score in each column, NO_SCORE where there's none.
+     */
+    public synchronized double[] getStudentScores(int row) {
+        checkRow(row);
+        return Arrays.copyOfRange(scores, row * stride, row * stride + columnCount);
+    }
+
+    /**
+     * @return Each student's score on the assignment, by row, NO_SCORE where there's none.
+     */
+    public synchronized double[] getAssignmentScores(int column) {
+        checkColumn(column);
+        double[] slice = new double[rowCount];
+        for (int row = 0, cell = column; row < rowCount; row++, cell += stride) {
+            slice[row] = scores[cell];
+        }
+        return slice;
+    }
+
+    public synchronized boolean[] getStudentExcused(int row) {
+        checkRow(row);
+        boolean[] slice = new boolean[columnCount];
+        for (int column = 0, cell = row * stride; column < columnCount; column++, cell++) {
+            slice[column] = (flags[cell] & EXCUSED) != 0;
+        }
+        return slice;
+    }
+
+    public synchronized String[] getStudentGrades(int row) {
+        checkRow(row);
+        String[] slice = new String[columnCount];
+        for (int column = 0, cell = row * stride; column < columnCount; column++, cell++) {
+            slice[column] = strings.get(grades[cell]);
+        }
+        return slice;
+    }
+
+    public synchronized String[] getAssignmentGrades(int column) {
+        checkColumn(column);
+        String[] slice = new String[rowCount];
+        for (int row = 0, cell = column; row < rowCount; row++, cell += stride) {
+            slice[row] = strings.get(grades[cell]);
+        }
+        return slice;
+    }
+
+    /**
+     * @return How many students have submitted or been graded on the assignment, not counting unsubmitted.
+     */
+    public synchronized int getSubmittedCount(int column) {
+        checkColumn(column);
+        Integer unsubmitted = stringCodes.get("unsubmitted");
+        int count = 0;
+        for (int row = 0, cell = column; row < rowCount; row++, cell += stride) {
+            if ((flags[cell] & HAS_SUBMISSION) != 0 && (unsubmitted == null || workflowStates[cell] != unsubmitted)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Custom columns
+    ///////////////////////////////////////////////////////////////////////////
+
+    public synchronized List<CustomColumn> getCustomColumns() {
+        return new ArrayList<CustomColumn>(customColumns);
+    }
+
+    /**
+     * @return The content for the student, or null.
+     */
+    public synchronized String getColumnDatum(long customColumnId, int row) {
+        checkRow(row);
+        int index = indexOfCustomColumn(customColumnId);
+        return index == NOT_FOUND ? null : customData.get(index)[row];
+    }
+
+    /**
+     * @return Each student's content by row, or null if the column isn't one of setCustomColumns().
+     */
+    public synchronized String[] getColumnData(long customColumnId) {
+        int index = indexOfCustomColumn(customColumnId);
+        return index == NOT_FOUND ? null : Arrays.copyOf(customData.get(index), rowCount);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void setCell(int row, int column, Submission submission) {
+        int cell = row * stride + column;
+        submissionIds[cell] = submission.getId();
+        //Canvas sends a null score, which decodes to 0, when it isn't graded.
+        scores[cell] = submission.getGrade() == null ? NO_SCORE : submission.getScore();
+        grades[cell] = code(submission.getGrade());
+        workflowStates[cell] = code(submission.getWorkflowState());
+        byte cellFlags = HAS_SUBMISSION;
+        if (submission.isLate()) {
+            cellFlags |= LATE;
+        }
+        if (submission.isExcused()) {
+            cellFlags |= EXCUSED;
+        }
+        if (submission.isGradeMatchesCurrentSubmission()) {
+            cellFlags |= GRADE_MATCHES_CURRENT_SUBMISSION;
+        }
+        flags[cell] = cellFlags;
+    }
+
+    private int code(String string) {
+        if (string == null) {
+            return NO_STRING;
+        }
+        Integer code = stringCodes.get(string);
+        if (code == null) {
+            code = strings.size();
+            strings.add(string);
+            stringCodes.put(string, code);
+        }
+        return code;
+    }
+
+    private int getOrAddRow(long studentId) {
+        int row = rows.get(studentId, NOT_FOUND);
+        if (row != NOT_FOUND) {
+            return row;
+        }
+
+        if (rowCount == studentIds.length) {
+            int capacity = Math.max(16, rowCount * 2);
+            studentIds = Arrays.copyOf(studentIds, capacity);
+            finalScores = Arrays.copyOf(finalScores, capacity);
+            currentScores = Arrays.copyOf(currentScores, capacity);
+            for (int i = 0; i < customData.size(); i++) {
+                customData.set(i, Arrays.copyOf(customData.get(i), capacity));
+            }
+            resizeCells(capacity, stride);
+        }
+
+        row = rowCount++;
+        studentIds[row] = studentId;
+        rows.put(studentId, row);
+        return row;
+    }
+
+    private int getOrAddColumn(long assignmentId) {
+        int column = columns.get(assignmentId, NOT_FOUND);
+        if (column != NOT_FOUND) {
+            return column;
+        }
+
+        if (columnCount == stride) {
+            int capacity = Math.max(16, columnCount * 2);
+            assignmentIds = Arrays.copyOf(assignmentIds, capacity);
+            assignmentGroupIds = Arrays.copyOf(assignmentGroupIds, capacity);
+            pointsPossible = Arrays.copyOf(pointsPossible, capacity);
+            resizeCells(studentIds.length, capacity);
+        }
+
+        column = columnCount++;
+        assignmentIds[column] = assignmentId;
+        columns.put(assignmentId, column);
+        return column;
+    }
+
+    //Copies the cells into rowCapacity rows of newStride columns. New cells have no submission.
+    private void resizeCells(int rowCapacity, int newStride) {
+        int size = rowCapacity * newStride;
+        long[] newSubmissionIds = new long[size];
+        double[] newScores = new double[size];
+        Arrays.fill(newScores, NO_SCORE);
+        int[] newGrades = new int[size];
+        int[] newWorkflowStates = new int[size];
+        byte[] newFlags = new byte[size];
+
+        for (int row = 0; row < rowCount; row++) {
+            int from = row * stride;
+            int to = row * newStride;
+            System.arraycopy(submissionIds, from, newSubmissionIds, to, columnCount);
+            System.arraycopy(scores, from, newScores, to, columnCount);
+            System.arraycopy(grades, from, newGrades, to, columnCount);
+            System.arraycopy(workflowStates, from, newWorkflowStates, to, columnCount);
+            System.arraycopy(flags, from, newFlags, to, columnCount);
+        }
+
+        submissionIds = newSubmissionIds;
+        scores = newScores;
+        grades = newGrades;
+        workflowStates = newWorkflowStates;
+        flags = newFlags;
+        stride = newStride;
+    }
+
+    private int indexOfCustomColumn(long customColumnId) {
+        for (int i = 0; i < customColumns.size(); i++) {
+            if (customColumns.get(i).getId() == customColumnId) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private int cell(int row, int column) {
+        checkRow(row);
+        checkColumn(column);
+        return row * stride + column;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("row " + row + " of " + rowCount);
+        }
+    }
+
+    private void checkColumn(int column) {
+        if (column < 0 || column >= columnCount) {
+            throw new IndexOutOfBoundsException("column " + column + " of " + columnCount);
+        }
+    }
+}
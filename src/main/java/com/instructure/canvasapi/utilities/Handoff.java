@@ -0,0 +1,167 @@
+package com.instructure.canvasapi.utilities;
+
+import android.content.Context;
+import android.os.AsyncTask;
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * Handoff passes a model, or an array or list of them, to another component in the same process without
+ * parceling it. Only a handle into CanvasRestAdapter.getHandoffStore() and a small header are parceled:
+ *
+ *      intent.putExtra("discussion", Handoff.of(topic, DiscussionAPI.getFullDiscussionsCacheFilename(canvasContext, id)));
+ *
+ *      Handoff<DiscussionTopic> handoff = getIntent().getParcelableExtra("discussion");
+ *      handoff.load(this, new Handoff.LoadCallback<DiscussionTopic>() { ... });
+ *
+ * If the store no longer has it, because it was dropped to stay under its weight or the process was killed
+ * and restored, load() reads the cache file instead, off the main thread. The model has to be Serializable
+ * for that, like the API caches. get() only looks in the store.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class Handoff<T> implements Parcelable {
+
+    private final long storeId;
+    private final long handle;
+    private final String className;
+    private final String cacheFileName;
+
+    //Still set on the side that made it.
+    private T model;
+
+    public interface LoadCallback<T> {
+        /**
+         * Called on the main thread.
+         * @param model Null if it's gone from both the store and the cache.
+         */
+        public void loaded(T model);
+    }
+
+    private Handoff(T model, long storeId, long handle, String className, String cacheFileName) {
+        this.model = model;
+        this.storeId = storeId;
+        this.handle = handle;
+        this.className = className;
+        this.cacheFileName = cacheFileName;
+    }
+
+    /**
+     * Without a cache file, load() gives null once the store has dropped it.
+     */
+    public static <T> Handoff<T> of(T model) {
+        return of(model, null);
+    }
+
+    /**
+     * @param cacheFileName Where the API cached it, read if the store has dropped it. Can be null.
+     */
+    public static <T> Handoff<T> of(T model, String cacheFileName) {
+        HandoffStore store = CanvasRestAdapter.getHandoffStore();
+        long handle = store.put(model);
+        String className = model == null ? null : model.getClass().getName();
+        return new Handoff<T>(model, store.getStoreId(), handle, className, cacheFileName);
+    }
+
+    /**
+     * Only looks in the store, so it's safe on the main thread.
+     * @return The model, or null if the store doesn't have it anymore.
+     */
+    public T get() {
+        if (model == null) {
+            HandoffStore store = CanvasRestAdapter.getHandoffStore();
+            model = cast(storeId == store.getStoreId() ? store.get(handle) : null);
+        }
+        return model;
+    }
+
+    /**
+     * Gets the model from the store, or if it's been dropped reads the cache file on a background thread.
+     * Like the API calls this has to be called on the main thread.
+     *
+     * @param context For the cache fallback. Can be null to skip it.
+     * @param callback Called right away if the store has it.
+     */
+    public void load(Context context, final LoadCallback<? super T> callback) {
+        if (get() != null || cacheFileName == null || context == null) {
+            callback.loaded(model);
+            return;
+        }
+
+        final Context appContext = context.getApplicationContext() == null ? context : context.getApplicationContext();
+        new AsyncTask<Void, Void, T>() {
+            @Override
+            protected T doInBackground(Void... params) {
+                //The cache file could have been overwritten with something else since, which cast() turns down.
+                return cast(FileUtilities.FileToSerializable(appContext, cacheFileName));
+            }
+
+            @Override
+            protected void onPostExecute(T cached) {
+                if (cached != null) {
+                    model = cached;
+                }
+                callback.loaded(cached);
+            }
+        }.execute();
+    }
+
+    /**
+     * Removes it from the store once no one needs it anymore. Later get()s on other copies miss, and load()s go to the cache.
+     */
+    public void release() {
+        HandoffStore store = CanvasRestAdapter.getHandoffStore();
+        if (storeId == store.getStoreId()) {
+            store.remove(handle);
+        }
+        model = null;
+    }
+
+    public long getHandle() {
+        return handle;
+    }
+
+    public String getCacheFileName() {
+        return cacheFileName;
+    }
+
+    //className is the class of the model this was made from, so anything of that class is a T.
+    @SuppressWarnings("unchecked")
+    private T cast(Object value) {
+        return value != null && value.getClass().getName().equals(className) ? (T) value : null;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Parcelable
+    ///////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeLong(this.storeId);
+        dest.writeLong(this.handle);
+        dest.writeString(this.className);
+        dest.writeString(this.cacheFileName);
+    }
+
+    private Handoff(Parcel in) {
+        this.storeId = in.readLong();
+        this.handle = in.readLong();
+        this.className = in.readString();
+        this.cacheFileName = in.readString();
+    }
+
+    public static final Creator<Handoff<?>> CREATOR = new Creator<Handoff<?>>() {
+        public Handoff<?> createFromParcel(Parcel source) {
+            return new Handoff<Object>(source);
+        }
+
+        public Handoff<?>[] newArray(int size) {
+            return new Handoff<?>[size];
+        }
+    };
+}
@@ -0,0 +1,249 @@
+package com.instructure.canvasapi.utilities;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * HandoffStore keeps models in memory under a handle, so passing them between activities and fragments only
+ * parcels the handle (see Handoff) instead of the models themselves.
+ *
+ * A big discussion or a few hundred courses parceled whole is slow, and past about 1MB the transaction fails
+ * with TransactionTooLargeException. Components in the same process don't need a copy at all.
+ *
+ * The store is bounded by weight, an estimate of how many bytes its models take up: their fields, strings,
+ * arrays and collections, each object counted once. Past the maximum the least recently used models are
+ * dropped. A dropped handle, or one from before the process was killed, misses, and Handoff falls back to the
+ * disk cache.
+ *
+ * Thread safe.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class HandoffStore {
+
+    public final static long NO_HANDLE = 0;
+    public final static int DEFAULT_MAX_WEIGHT = 8 * 1024 * 1024;
+
+    //Handles are only good in the process that made them. A new process gets a new id.
+    private final long storeId = new Random().nextLong();
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true);
+    private long nextHandle = 1;
+    private long weight = 0;
+    private long maxWeight = DEFAULT_MAX_WEIGHT;
+
+    private static class Entry {
+        private final Object model;
+        private final int weight;
+
+        private Entry(Object model, int weight) {
+            this.model = model;
+            this.weight = weight;
+        }
+    }
+
+    public long getStoreId() {
+        return storeId;
+    }
+
+    /**
+     * @return The handle to get it back with. NO_HANDLE for null.
+     */
+    public long put(Object model) {
+        return put(model, weigh(model));
+    }
+
+    /**
+     * @param weight Roughly how many bytes it takes up.
+     */
+    public synchronized long put(Object model, int weight) {
+        if (model == null) {
+            return NO_HANDLE;
+        }
+
+        long handle = nextHandle++;
+        entries.put(handle, new Entry(model, Math.max(1, weight)));
+        this.weight += Math.max(1, weight);
+        trim();
+        return handle;
+    }
+
+    /**
+     * @return The model, or null if it was removed, dropped or never here.
+     */
+    public synchronized Object get(long handle) {
+        Entry entry = entries.get(handle);
+        return entry == null ? null : entry.model;
+    }
+
+    public synchronized void remove(long handle) {
+        Entry entry = entries.remove(handle);
+        if (entry != null) {
+            weight -= entry.weight;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * A model heavier than this on its own is still kept, until the next put().
+     */
+    public synchronized void setMaxWeight(long maxWeight) {
+        this.maxWeight = maxWeight;
+        trim();
+    }
+
+    //Drops the least recently used until it fits, but always keeps the newest.
+    private void trim() {
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (weight > maxWeight && entries.size() > 1 && iterator.hasNext()) {
+            weight -= iterator.next().getValue().weight;
+            iterator.remove();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    private final static int OBJECT_SIZE = 16;
+    private final static int REFERENCE_SIZE = 4;
+
+    //Our own classes are walked field by field. Anything else is only counted as an object.
+    private final static String WALKED_PACKAGE = "com.instructure.canvasapi.";
+
+    private static final HashMap<Class<?>, ClassLayout> layouts = new HashMap<Class<?>, ClassLayout>();
+
+    private static class ClassLayout {
+        private final int size;
+        private final Field[] references;
+
+        private ClassLayout(int size, Field[] references) {
+            this.size = size;
+            this.references = references;
+        }
+    }
+
+    /**
+     * Estimates how many bytes a model takes up, following its references. Shared objects are counted once.
+     * Without recursion, so a very deep discussion can't overflow the stack.
+     */
+    public static int weigh(Object model) {
+        IdentityHashMap<Object, Boolean> seen = new IdentityHashMap<Object, Boolean>();
+        List<Object> stack = new ArrayList<Object>();
+        stack.add(model);
+        long size = 0;
+
+        while (!stack.isEmpty()) {
+            Object object = stack.remove(stack.size() - 1);
+            if (object == null || object instanceof Enum || seen.put(object, Boolean.TRUE) != null) {
+                continue;
+            }
+
+            Class<?> clazz = object.getClass();
+            if (object instanceof String) {
+                size += OBJECT_SIZE * 2 + 8 + 2 * ((String) object).length();
+            } else if (object instanceof Object[]) {
+                Object[] array = (Object[]) object;
+                size += OBJECT_SIZE + REFERENCE_SIZE * array.length;
+                for (Object element : array) {
+                    stack.add(element);
+                }
+            } else if (clazz.isArray()) {
+                size += OBJECT_SIZE + sizeOf(clazz.getComponentType()) * (long) Array.getLength(object);
+            } else if (object instanceof Collection) {
+                Collection<?> collection = (Collection<?>) object;
+                size += OBJECT_SIZE * 2 + 8 * collection.size();
+                stack.addAll(collection);
+            } else if (object instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) object;
+                size += OBJECT_SIZE * 3 + 32 * map.size();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    stack.add(entry.getKey());
+                    stack.add(entry.getValue());
+                }
+            } else if (clazz.getName().startsWith(WALKED_PACKAGE)) {
+                ClassLayout layout = getLayout(clazz);
+                size += layout.size;
+                for (Field field : layout.references) {
+                    try {
+                        stack.add(field.get(object));
+                    } catch (IllegalAccessException E) {
+                        //Counted as a reference already.
+                    }
+                }
+            } else {
+                size += OBJECT_SIZE;
+            }
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    //The shallow size and reference fields of a class, including its superclasses'. Looked up once per class.
+    private static ClassLayout getLayout(Class<?> clazz) {
+        synchronized (layouts) {
+            ClassLayout layout = layouts.get(clazz);
+            if (layout != null) {
+                return layout;
+            }
+
+            int size = OBJECT_SIZE;
+            List<Field> references = new ArrayList<Field>();
+            for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    size += sizeOf(field.getType());
+                    if (!field.getType().isPrimitive()) {
+                        field.setAccessible(true);
+                        references.add(field);
+                    }
+                }
+            }
+
+            layout = new ClassLayout(size, references.toArray(new Field[references.size()]));
+            layouts.put(clazz, layout);
+            return layout;
+        }
+    }
+
+    private static int sizeOf(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE_SIZE;
+    }
+}
@@ -1,15 +0,0 @@
-package com.instructure.canvasapi.utilities;
-
-/**
- * @author Josh Ruesch
- *
- * Copyright (c) 2014 Instructure. All rights reserved.
- */
-public class LinkHeaders {
-
-	//used for pagination
-	public String prevURL;
-	public String nextURL;
-	public String lastURL;
-	public String firstURL;
-}
\ No newline at end of file
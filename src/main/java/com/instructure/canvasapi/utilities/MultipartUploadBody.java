@@ -0,0 +1,78 @@
+package com.instructure.canvasapi.utilities;
+
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.RequestBody;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import okio.Buffer;
+import okio.BufferedSink;
+
+/**
+ * A multipart/form-data body of string fields followed by one file, with its length known up front.
+ *
+ * OkHttp's MultipartBuilder sends its parts chunked, and S3's form POST, where Canvas sends file uploads,
+ * needs a Content-Length. The fields are small, so they're encoded once, and the file is streamed from a
+ * FileRequestBody between them and the closing boundary.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class MultipartUploadBody extends RequestBody {
+
+    private final String boundary = "canvas-upload-" + UUID.randomUUID().toString();
+    private final MediaType contentType = MediaType.parse("multipart/form-data; boundary=" + boundary);
+    private final byte[] head;
+    private final byte[] tail;
+    private final FileRequestBody file;
+
+    /**
+     * @param fields Sent in order before the file. S3 ignores anything after the file.
+     * @param fileField The file's field name, like "file" for S3 or "fileData" for Kaltura.
+     */
+    public MultipartUploadBody(Map<String, String> fields, String fileField, String fileName, FileRequestBody file) {
+        this.file = file;
+
+        Buffer buffer = new Buffer();
+        for (Map.Entry<String, String> field : new LinkedHashMap<String, String>(fields).entrySet()) {
+            buffer.writeUtf8("--").writeUtf8(boundary).writeUtf8("\r\n");
+            buffer.writeUtf8("Content-Disposition: form-data; name=\"").writeUtf8(escape(field.getKey())).writeUtf8("\"\r\n\r\n");
+            buffer.writeUtf8(field.getValue() == null ? "" : field.getValue()).writeUtf8("\r\n");
+        }
+        buffer.writeUtf8("--").writeUtf8(boundary).writeUtf8("\r\n");
+        buffer.writeUtf8("Content-Disposition: form-data; name=\"").writeUtf8(escape(fileField))
+                .writeUtf8("\"; filename=\"").writeUtf8(escape(fileName)).writeUtf8("\"\r\n");
+        if (file.contentType() != null) {
+            buffer.writeUtf8("Content-Type: ").writeUtf8(file.contentType().toString()).writeUtf8("\r\n");
+        }
+        buffer.writeUtf8("\r\n");
+        head = buffer.readByteArray();
+
+        buffer.writeUtf8("\r\n--").writeUtf8(boundary).writeUtf8("--\r\n");
+        tail = buffer.readByteArray();
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return head.length + file.contentLength() + tail.length;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        sink.write(head);
+        file.writeTo(sink);
+        sink.write(tail);
+    }
+
+    //Quotes would end the header value early.
+    private static String escape(String value) {
+        return value == null ? "" : value.replace("\"", "%22").replace("\r", "").replace("\n", "");
+    }
+}
@@ -0,0 +1,60 @@
+package com.instructure.canvasapi.utilities;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.instructure.canvasapi.core.KeyValueStore;
+
+/**
+ * KeyValueStore backed by SharedPreferences.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class SharedPreferencesStore implements KeyValueStore {
+
+    private final SharedPreferences sharedPreferences;
+
+    public SharedPreferencesStore(Context context, String sharedPreferencesName) {
+        this.sharedPreferences = context.getSharedPreferences(sharedPreferencesName, Context.MODE_PRIVATE);
+    }
+
+    @Override
+    public String getString(String key, String defaultValue) {
+        return sharedPreferences.getString(key, defaultValue);
+    }
+
+    @Override
+    public boolean putString(String key, String value) {
+        return sharedPreferences.edit().putString(key, value).commit();
+    }
+
+    @Override
+    public long getLong(String key, long defaultValue) {
+        return sharedPreferences.getLong(key, defaultValue);
+    }
+
+    @Override
+    public boolean putLong(String key, long value) {
+        return sharedPreferences.edit().putLong(key, value).commit();
+    }
+
+    @Override
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return sharedPreferences.getBoolean(key, defaultValue);
+    }
+
+    @Override
+    public boolean putBoolean(String key, boolean value) {
+        return sharedPreferences.edit().putBoolean(key, value).commit();
+    }
+
+    @Override
+    public boolean remove(String key) {
+        return sharedPreferences.edit().remove(key).commit();
+    }
+
+    @Override
+    public boolean clear() {
+        return sharedPreferences.edit().clear().commit();
+    }
+}
@@ -0,0 +1,442 @@
+package com.instructure.canvasapi.utilities;
+
+import android.content.Context;
+
+import com.instructure.canvasapi.api.SubmissionAPI;
+import com.instructure.canvasapi.api.compatibility_synchronous.APIHttpResponse;
+import com.instructure.canvasapi.api.compatibility_synchronous.HttpHelpers;
+import com.instructure.canvasapi.model.Attachment;
+import com.instructure.canvasapi.model.FileUploadParams;
+import com.instructure.canvasapi.model.Submission;
+
+import org.apache.http.message.BasicNameValuePair;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * SubmissionUploader uploads several files for one assignment submission at once and submits them together.
+ *
+ *      SubmissionUploader uploader = new SubmissionUploader(context, courseId, assignmentId);
+ *      uploader.setProgressListener(progressListener);
+ *      SubmissionUploader.Result result = uploader.upload(files, contentTypes);
+ *
+ * Every file goes through the same three steps as UploadFileSynchronousAPI: ask Canvas for upload params,
+ * send the bytes, and confirm the upload to get its Attachment. Up to getMaxConcurrent() files are in the
+ * pipeline at a time, so one file's params and confirm round trips overlap another's bytes.
+ *
+ * Sending bytes is the only step that competes for bandwidth, so it has its own limit. It starts at 2 and
+ * climbs while another concurrent upload makes the whole batch measurably faster, and steps back when it
+ * doesn't. On a slow cell connection that settles on one or two uploads, on wifi it uses all of them.
+ *
+ * postSubmissionAttachments is called once, with the files in the order given, when every file has an
+ * Attachment. If any file fails the rest are cancelled and nothing is submitted.
+ *
+ * Blocks, so call it off the main thread.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class SubmissionUploader {
+
+    public interface ProgressListener {
+        /**
+         * Called on upload threads, one call at a time.
+         * @param bytesUploaded Across all the files.
+         * @param totalBytes Of all the files.
+         * @param filesDone Files that are uploaded and confirmed.
+         */
+        public void onProgress(long bytesUploaded, long totalBytes, int filesDone, int fileCount);
+    }
+
+    /**
+     * The Canvas side of each step. The bytes themselves always go through FileUploader.
+     */
+    public interface Steps {
+        public FileUploadParams requestUploadParams(File file, String contentType) throws Exception;
+        public Attachment confirm(FileUploader.UploadResponse response) throws Exception;
+        public Submission submit(ArrayList<String> attachmentIds) throws Exception;
+    }
+
+    public final static int DEFAULT_MAX_CONCURRENT = 4;
+    private final static int FIRST_UPLOAD_LIMIT = 2;
+
+    //Another upload has to make the batch this much faster to be worth it.
+    private final static double SPEEDUP = 1.1;
+
+    private final Steps steps;
+    private ProgressListener progressListener;
+    private int maxConcurrent = DEFAULT_MAX_CONCURRENT;
+
+    private final List<FileUploader> activeUploaders = new ArrayList<FileUploader>();
+    private volatile boolean cancelled = false;
+    private volatile boolean cancelRequested = false;
+
+    public SubmissionUploader(Context context, long courseId, long assignmentId) {
+        this(new CanvasSteps(context, courseId, assignmentId));
+    }
+
+    public SubmissionUploader(Steps steps) {
+        this.steps = steps;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Getters and Setters
+    ///////////////////////////////////////////////////////////////////////////
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+    }
+
+    /**
+     * @param progressListener Can be null.
+     */
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Stops every file still uploading. upload() returns a Result that isn't successful.
+     */
+    public void cancel() {
+        cancelRequested = true;
+        stopUploads();
+    }
+
+    private void stopUploads() {
+        cancelled = true;
+        synchronized (activeUploaders) {
+            for (FileUploader uploader : activeUploaders) {
+                uploader.cancel();
+            }
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Upload
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param contentTypes One for each file. Can be null to let Canvas guess.
+     * @throws InterruptedException If this thread is interrupted. The uploads are cancelled first.
+     */
+    public Result upload(List<File> files, List<String> contentTypes) throws InterruptedException {
+        cancelled = false;
+        cancelRequested = false;
+        final int fileCount = files.size();
+        final Result result = new Result(fileCount);
+        final Progress progress = new Progress(files);
+        final UploadGate gate = new UploadGate(Math.min(FIRST_UPLOAD_LIMIT, maxConcurrent), maxConcurrent);
+        if (fileCount == 0) {
+            return result;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrent, fileCount), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, "SubmissionUploader");
+            }
+        });
+        try {
+            List<Future<Attachment>> futures = new ArrayList<Future<Attachment>>();
+            for (int i = 0; i < fileCount; i++) {
+                final int index = i;
+                final File file = files.get(i);
+                final String contentType = contentTypes == null ? null : contentTypes.get(i);
+                futures.add(executor.submit(new Callable<Attachment>() {
+                    @Override
+                    public Attachment call() throws Exception {
+                        return uploadOne(index, file, contentType, gate, progress);
+                    }
+                }));
+            }
+
+            for (int i = 0; i < fileCount; i++) {
+                try {
+                    result.attachments[i] = futures.get(i).get();
+                } catch (ExecutionException E) {
+                    Throwable cause = E.getCause();
+                    result.errors[i] = cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+                    //No point finishing the rest, nothing gets submitted.
+                    stopUploads();
+                }
+            }
+        } catch (InterruptedException E) {
+            cancel();
+            throw E;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (cancelled) {
+            result.cancelled = cancelRequested;
+            return result;
+        }
+
+        ArrayList<String> attachmentIds = new ArrayList<String>();
+        for (Attachment attachment : result.attachments) {
+            attachmentIds.add(Long.toString(attachment.getId()));
+        }
+        try {
+            result.submission = steps.submit(attachmentIds);
+        } catch (Exception E) {
+            result.submitError = E;
+        }
+        return result;
+    }
+
+    private Attachment uploadOne(final int index, File file, String contentType, UploadGate gate, final Progress progress) throws Exception {
+        checkCancelled();
+        FileUploadParams params = steps.requestUploadParams(file, contentType);
+        if (params == null || params.getUploadUrl() == null) {
+            throw new IOException("No upload params for " + file.getName());
+        }
+
+        FileUploader uploader = new FileUploader(new FileUploader.ProgressListener() {
+            @Override
+            public void onProgress(long bytesUploaded, long fileSize) {
+                progress.setBytes(index, bytesUploaded);
+            }
+        });
+        FileUploader.UploadResponse response;
+        gate.acquire();
+        boolean uploaded = false;
+        synchronized (activeUploaders) {
+            activeUploaders.add(uploader);
+        }
+        try {
+            //Cancelled while waiting for the gate.
+            if (cancelled) {
+                uploader.cancel();
+            }
+            response = uploader.uploadMultipart(params.getUploadUrl(), params.getUploadParams(), "file", file, contentType);
+            uploaded = true;
+        } finally {
+            synchronized (activeUploaders) {
+                activeUploaders.remove(uploader);
+            }
+            gate.release(uploaded ? file.length() : 0);
+        }
+        if (!response.isSuccessful()) {
+            throw new IOException(file.getName() + " upload failed with " + response.getCode());
+        }
+
+        checkCancelled();
+        Attachment attachment = steps.confirm(response);
+        if (attachment == null) {
+            throw new IOException(file.getName() + " wasn't confirmed");
+        }
+        progress.fileDone(index);
+        return attachment;
+    }
+
+    private void checkCancelled() throws InterruptedIOException {
+        if (cancelled) {
+            throw new InterruptedIOException("Upload cancelled");
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Result
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static class Result {
+        private final Attachment[] attachments;
+        private final Exception[] errors;
+        private Submission submission;
+        private Exception submitError;
+        private boolean cancelled;
+
+        private Result(int fileCount) {
+            attachments = new Attachment[fileCount];
+            errors = new Exception[fileCount];
+        }
+
+        /**
+         * @return true if every file was uploaded and the submission was made.
+         */
+        public boolean isSuccessful() {
+            return submission != null;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public Submission getSubmission() {
+            return submission;
+        }
+
+        /**
+         * @return The file's Attachment, or null if it failed or was cancelled.
+         */
+        public Attachment getAttachment(int index) {
+            return attachments[index];
+        }
+
+        /**
+         * @return Why the file failed, or null. Files stopped because another one failed have an InterruptedIOException.
+         */
+        public Exception getError(int index) {
+            return errors[index];
+        }
+
+        /**
+         * @return Why postSubmissionAttachments failed after every file was uploaded, or null.
+         */
+        public Exception getSubmitError() {
+            return submitError;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Adds up every file's progress for the listener.
+     */
+    private class Progress {
+        private final long[] bytes;
+        private final long totalBytes;
+        private long bytesUploaded = 0;
+        private int filesDone = 0;
+
+        private Progress(List<File> files) {
+            bytes = new long[files.size()];
+            long total = 0;
+            for (File file : files) {
+                total += file.length();
+            }
+            totalBytes = total;
+        }
+
+        private synchronized void setBytes(int index, long fileBytes) {
+            bytesUploaded += fileBytes - bytes[index];
+            bytes[index] = fileBytes;
+            report();
+        }
+
+        private synchronized void fileDone(int index) {
+            filesDone++;
+            report();
+        }
+
+        private void report() {
+            ProgressListener listener = progressListener;
+            if (listener != null) {
+                listener.onProgress(bytesUploaded, totalBytes, filesDone, bytes.length);
+            }
+        }
+    }
+
+    /**
+     * Limits how many files send bytes at once, adjusting the limit by the batch's throughput.
+     *
+     * Each round is as many finished uploads as the limit. If a round was at least SPEEDUP faster than the one
+     * before it the limit keeps moving the same way, otherwise it turns around.
+     */
+    private static class UploadGate {
+        private final int maxLimit;
+        private int limit;
+        private int active = 0;
+        private int direction = 1;
+
+        private int roundUploads = 0;
+        private long roundBytes = 0;
+        private long roundStart = 0;
+        private double lastThroughput = 0;
+
+        private UploadGate(int limit, int maxLimit) {
+            this.limit = limit;
+            this.maxLimit = maxLimit;
+        }
+
+        private synchronized void acquire() throws InterruptedException {
+            while (active >= limit) {
+                wait();
+            }
+            if (roundStart == 0) {
+                roundStart = System.currentTimeMillis();
+            }
+            active++;
+        }
+
+        /**
+         * @param bytes Sent by the upload, 0 if it failed.
+         */
+        private synchronized void release(long bytes) {
+            active--;
+            roundBytes += bytes;
+            if (bytes > 0 && ++roundUploads >= limit) {
+                long now = System.currentTimeMillis();
+                double throughput = roundBytes / (double) Math.max(1, now - roundStart);
+                if (lastThroughput > 0 && throughput < lastThroughput * SPEEDUP) {
+                    direction = -direction;
+                }
+                int next = limit + direction;
+                if (next < 1 || next > maxLimit) {
+                    direction = -direction;
+                    next = Math.max(1, Math.min(maxLimit, limit + direction));
+                }
+                limit = next;
+                lastThroughput = throughput;
+                roundUploads = 0;
+                roundBytes = 0;
+                roundStart = now;
+            }
+            notifyAll();
+        }
+    }
+
+    /**
+     * The steps against Canvas, the same calls as SubmissionAPI's synchronous upload.
+     */
+    public static class CanvasSteps implements Steps {
+        private final Context context;
+        private final long courseId;
+        private final long assignmentId;
+
+        public CanvasSteps(Context context, long courseId, long assignmentId) {
+            this.context = context;
+            this.courseId = courseId;
+            this.assignmentId = assignmentId;
+        }
+
+        @Override
+        public FileUploadParams requestUploadParams(File file, String contentType) {
+            return SubmissionAPI.getFileUploadParams(context, courseId, assignmentId, file.getName(), file.length(), contentType);
+        }
+
+        @Override
+        public Attachment confirm(FileUploader.UploadResponse response) {
+            //S3 redirects to Canvas to confirm. Uploads straight to Canvas answer with the Attachment.
+            String json = response.getBody();
+            if (response.getLocation() != null) {
+                APIHttpResponse confirmResponse = HttpHelpers.httpPost(response.getLocation(), new ArrayList<BasicNameValuePair>(), context);
+                json = confirmResponse.responseBody;
+            }
+            if (json == null) {
+                return null;
+            }
+            return CanvasRestAdapter.getGSONParser().fromJson(json, Attachment.class);
+        }
+
+        @Override
+        public Submission submit(ArrayList<String> attachmentIds) {
+            return SubmissionAPI.postSubmissionAttachments(context, courseId, assignmentId, attachmentIds);
+        }
+    }
+}
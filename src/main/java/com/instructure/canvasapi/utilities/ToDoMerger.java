@@ -0,0 +1,294 @@
+package com.instructure.canvasapi.utilities;
+
+import com.instructure.canvasapi.core.LongHashSet;
+import com.instructure.canvasapi.model.Assignment;
+import com.instructure.canvasapi.model.ScheduleItem;
+import com.instructure.canvasapi.model.ToDo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * ToDoMerger merges any number of to do, upcoming and calendar sources into one list ordered by date, the way
+ * ToDoAPI.mergeToDoUpcoming() merges the to do list with upcoming events.
+ *
+ *      ToDoMerger merger = new ToDoMerger();
+ *      merger.setToDos("todo", todos);
+ *      merger.setScheduleItems("calendar", events);
+ *      merger.setAssignments("upcoming", assignments);
+ *      ArrayList<ToDo> list = merger.getMerged();
+ *
+ * Sources are named, and set again with the same name when they refresh. Only that source's dates are read
+ * and sorted again. The merge itself is a linear pass over the sorted sources.
+ *
+ * The date of an item is its schedule item's start, or else its assignment's due date. Each is read once,
+ * when its source is set. Items without a date go last. On the same date, calendar items come before other
+ * items, then earlier sources before later ones, then source order.
+ *
+ * An item whose assignment is already in an earlier source is left out, so an assignment on both the to do
+ * list and the calendar shows up once, as the to do.
+ *
+ * Made with keepSourceOrder, sources aren't sorted, and the merge takes them in the order given. That's what
+ * ToDoAPI.mergeToDoUpcoming() has always done, so out of order items and items without a date partway through
+ * a source come out where they always have. It's only in date order if every source is.
+ *
+ * Not thread safe.
+ *
+ * Copyright (c) 2014 Instructure. All rights reserved.
+ */
+public class ToDoMerger {
+
+    private final static long NO_DATE = Long.MAX_VALUE;
+    private final static long NO_ASSIGNMENT = Long.MIN_VALUE;
+
+    private static class Source {
+        private final String name;
+        //Sorted, with their keys read once.
+        private ToDo[] items;
+        private long[] dates;
+        private boolean[] calendar;
+        private long[] assignmentIds;
+
+        private Source(String name) {
+            this.name = name;
+        }
+    }
+
+    //In priority order, the order they were first set.
+    private final List<Source> sources = new ArrayList<Source>();
+    private final boolean keepSourceOrder;
+    private ToDo[] merged;
+
+    public ToDoMerger() {
+        this(false);
+    }
+
+    /**
+     * @param keepSourceOrder true to merge sources in the order they're given instead of sorting them first.
+     */
+    public ToDoMerger(boolean keepSourceOrder) {
+        this.keepSourceOrder = keepSourceOrder;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Sources
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Sets or replaces a source of to dos, like ToDoAPI's to do list or upcoming events made with
+     * ToDo.toDoWithScheduleItem().
+     * @param toDos null is the same as empty.
+     */
+    public void setToDos(String source, List<ToDo> toDos) {
+        int size = toDos == null ? 0 : toDos.size();
+        ToDo[] items = new ToDo[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = toDos.get(i);
+        }
+        setItems(source, items);
+    }
+
+    /**
+     * Sets or replaces a source of calendar events. Each is wrapped with ToDo.toDoWithScheduleItem().
+     */
+    public void setScheduleItems(String source, List<ScheduleItem> scheduleItems) {
+        int size = scheduleItems == null ? 0 : scheduleItems.size();
+        ToDo[] items = new ToDo[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = ToDo.toDoWithScheduleItem(scheduleItems.get(i));
+        }
+        setItems(source, items);
+    }
+
+    /**
+     * Sets or replaces a source of assignments, like upcoming assignments. Each is wrapped in an UPCOMING_ASSIGNMENT ToDo.
+     */
+    public void setAssignments(String source, List<Assignment> assignments) {
+        int size = assignments == null ? 0 : assignments.size();
+        ToDo[] items = new ToDo[size];
+        for (int i = 0; i < size; i++) {
+            ToDo toDo = new ToDo();
+            toDo.setAssignment(assignments.get(i));
+            toDo.setType(ToDo.Type.UPCOMING_ASSIGNMENT);
+            toDo.setCourseId(assignments.get(i).getCourseId());
+            items[i] = toDo;
+        }
+        setItems(source, items);
+    }
+
+    public void removeSource(String source) {
+        int index = indexOf(source);
+        if (index != -1) {
+            sources.remove(index);
+            merged = null;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Merging
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return Every source merged. A new list each call. Only merged again after a source changes.
+     */
+    public ArrayList<ToDo> getMerged() {
+        if (merged == null) {
+            merged = merge();
+        }
+        return new ArrayList<ToDo>(Arrays.asList(merged));
+    }
+
+    private ToDo[] merge() {
+        int sourceCount = sources.size();
+
+        //Leave out items whose assignment is in an earlier source. Items in the same source are all kept.
+        boolean[][] kept = new boolean[sourceCount][];
+        LongHashSet earlierAssignments = new LongHashSet();
+        int total = 0;
+        for (int s = 0; s < sourceCount; s++) {
+            Source source = sources.get(s);
+            kept[s] = new boolean[source.items.length];
+            for (int i = 0; i < source.items.length; i++) {
+                long assignmentId = source.assignmentIds[i];
+                kept[s][i] = assignmentId == NO_ASSIGNMENT || !earlierAssignments.contains(assignmentId);
+                if (kept[s][i]) {
+                    total++;
+                }
+            }
+            for (int i = 0; i < source.items.length; i++) {
+                if (source.assignmentIds[i] != NO_ASSIGNMENT) {
+                    earlierAssignments.add(source.assignmentIds[i]);
+                }
+            }
+        }
+
+        //There are only a few sources, so each step scans their heads instead of keeping a heap.
+        ToDo[] result = new ToDo[total];
+        int[] positions = new int[sourceCount];
+        for (int out = 0; out < total; out++) {
+            int best = -1;
+            for (int s = 0; s < sourceCount; s++) {
+                int position = skipDropped(kept[s], positions[s]);
+                positions[s] = position;
+                if (position < kept[s].length && (best == -1 || comesBefore(sources.get(s), position, sources.get(best), positions[best]))) {
+                    best = s;
+                }
+            }
+            result[out] = sources.get(best).items[positions[best]++];
+        }
+        return result;
+    }
+
+    private static int skipDropped(boolean[] kept, int position) {
+        while (position < kept.length && !kept[position]) {
+            position++;
+        }
+        return position;
+    }
+
+    //Ties go to the earlier source, so only strictly before counts.
+    private static boolean comesBefore(Source a, int i, Source b, int j) {
+        if (a.dates[i] != b.dates[j]) {
+            return a.dates[i] < b.dates[j];
+        }
+        return a.calendar[i] && !b.calendar[j];
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Helpers
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void setItems(String name, ToDo[] items) {
+        int index = indexOf(name);
+        Source source;
+        if (index == -1) {
+            source = new Source(name);
+            sources.add(source);
+        } else {
+            source = sources.get(index);
+        }
+
+        final long[] dates = new long[items.length];
+        final boolean[] calendar = new boolean[items.length];
+        long[] assignmentIds = new long[items.length];
+        boolean sorted = true;
+        for (int i = 0; i < items.length; i++) {
+            ToDo toDo = items[i];
+            dates[i] = getDate(toDo);
+            calendar[i] = toDo.getScheduleItem() != null;
+            assignmentIds[i] = getAssignmentId(toDo);
+            if (i > 0 && (dates[i] < dates[i - 1] || (dates[i] == dates[i - 1] && calendar[i] && !calendar[i - 1]))) {
+                sorted = false;
+            }
+        }
+
+        //Canvas sends these already sorted, so usually there's nothing to do.
+        if (!sorted && !keepSourceOrder) {
+            Integer[] order = new Integer[items.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            //Stable, so items on the same date keep their order.
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer a, Integer b) {
+                    if (dates[a] != dates[b]) {
+                        return dates[a] < dates[b] ? -1 : 1;
+                    }
+                    return calendar[a] == calendar[b] ? 0 : (calendar[a] ? -1 : 1);
+                }
+            });
+
+            ToDo[] sortedItems = new ToDo[items.length];
+            long[] sortedDates = new long[items.length];
+            boolean[] sortedCalendar = new boolean[items.length];
+            long[] sortedAssignmentIds = new long[items.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedItems[i] = items[order[i]];
+                sortedDates[i] = dates[order[i]];
+                sortedCalendar[i] = calendar[order[i]];
+                sortedAssignmentIds[i] = assignmentIds[order[i]];
+            }
+            source.items = sortedItems;
+            source.dates = sortedDates;
+            source.calendar = sortedCalendar;
+            source.assignmentIds = sortedAssignmentIds;
+        } else {
+            source.items = items;
+            source.dates = dates;
+            source.calendar = calendar;
+            source.assignmentIds = assignmentIds;
+        }
+        merged = null;
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i).name.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long getDate(ToDo toDo) {
+        Date date = null;
+        if (toDo.getScheduleItem() != null) {
+            date = toDo.getScheduleItem().getStartDate();
+        } else if (toDo.getAssignment() != null) {
+            date = toDo.getAssignment().getDueDate();
+        }
+        return date == null ? NO_DATE : date.getTime();
+    }
+
+    private static long getAssignmentId(ToDo toDo) {
+        Assignment assignment = toDo.getAssignment();
+        if (assignment == null && toDo.getScheduleItem() != null) {
+            assignment = toDo.getScheduleItem().getAssignment();
+        }
+        return assignment == null ? NO_ASSIGNMENT : assignment.getId();
+    }
+}
@@ -1,5 +1,6 @@
 package com.instructure.canvasapi.utilities;
 
+import com.instructure.canvasapi.core.ErrorDelegate;
 import com.instructure.canvasapi.model.User;
 import retrofit.client.Response;
 